@@ -0,0 +1,64 @@
+package org.geogebra.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.awt.GPoint;
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.euclidian.plot.CurvePlotter;
+import org.geogebra.common.euclidian.plot.GeneralPathClippedForCurvePlotter;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Plotting standard functions over the visible x-range of the graphics view.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurvePlotterBenchmark {
+
+	@Param({ "sin(x)", "x^3-3x", "tan(x)", "sqrt(x)", "x sin(1/x)",
+			"floor(x)" })
+	public String function;
+
+	private EuclidianView view;
+	private GeoFunction curve;
+	private GeneralPathClippedForCurvePlotter gp;
+
+	/**
+	 * Creates the function.
+	 */
+	@Setup
+	public void setup() {
+		AppCommon app = AppCommonFactory.create();
+		view = app.getActiveEuclidianView();
+		curve = (GeoFunction) app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand("f(x)=" + function, false)[0];
+		gp = new GeneralPathClippedForCurvePlotter(view);
+	}
+
+	/**
+	 * @return label position
+	 */
+	@Benchmark
+	public GPoint plotCurve() {
+		gp.reset();
+		return CurvePlotter.plotCurve(curve, view.getXmin(), view.getXmax(),
+				view, gp, true, CurvePlotter.Gap.MOVE_TO);
+	}
+}
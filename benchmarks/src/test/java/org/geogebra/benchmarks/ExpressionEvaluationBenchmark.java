@@ -0,0 +1,61 @@
+package org.geogebra.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Evaluation of function expression trees at many points.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionEvaluationBenchmark {
+
+	private static final int POINTS = 1000;
+
+	@Param({ "x^2", "3x^3-2x^2+x-7", "sin(x)^2+cos(2x)/(1+x^2)",
+			"If(x<0,-x,sqrt(x))*exp(-x^2/10)" })
+	public String function;
+
+	private GeoFunction geo;
+
+	/**
+	 * Creates the function.
+	 */
+	@Setup
+	public void setup() {
+		GeoElementND[] result = AppCommonFactory.create().getKernel()
+				.getAlgebraProcessor()
+				.processAlgebraCommand("f(x)=" + function, false);
+		geo = (GeoFunction) result[0];
+	}
+
+	/**
+	 * @return sum of function values
+	 */
+	@Benchmark
+	public double evaluate() {
+		double sum = 0;
+		for (int i = 0; i < POINTS; i++) {
+			sum += geo.value(-10 + 20.0 * i / POINTS);
+		}
+		return sum;
+	}
+}
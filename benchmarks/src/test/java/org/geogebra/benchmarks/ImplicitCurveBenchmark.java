@@ -0,0 +1,77 @@
+package org.geogebra.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.jre.kernel.ForkJoinUpdateExecutor;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.geos.GeoLocus;
+import org.geogebra.common.kernel.implicit.GeoImplicitCurve;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tracing implicit curves with the quad tree, serially and with parallel
+ * cells.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImplicitCurveBenchmark {
+
+	@Param({ "x^4+y^4-3x y=1", "sin(x)+cos(y)=0.5", "x^3+y^3=3x y",
+			"sin(x^2+y^2)=0", "(x^2+y^2)^10-x^3 y^5+x^7 y^2-x^4 y^9=0.5" })
+	public String equation;
+
+	@Param({ "false", "true" })
+	public boolean parallel;
+
+	private GeoImplicitCurve curve;
+	private ForkJoinUpdateExecutor executor;
+
+	/**
+	 * Creates the curve.
+	 */
+	@Setup
+	public void setup() {
+		Kernel kernel = AppCommonFactory.create().getKernel();
+		if (parallel) {
+			executor = new ForkJoinUpdateExecutor();
+			kernel.setUpdateExecutor(executor);
+		}
+		curve = (GeoImplicitCurve) kernel.getAlgebraProcessor()
+				.processAlgebraCommand(equation, false)[0];
+	}
+
+	/**
+	 * Stops the workers.
+	 */
+	@TearDown
+	public void tearDown() {
+		if (executor != null) {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * @return traced locus
+	 */
+	@Benchmark
+	public GeoLocus updatePath() {
+		curve.updatePath();
+		return curve.getLocus();
+	}
+}
@@ -0,0 +1,56 @@
+package org.geogebra.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.kernel.arithmetic.ValidExpression;
+import org.geogebra.common.kernel.parser.ParseException;
+import org.geogebra.common.kernel.parser.Parser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of typical algebra inputs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+	@Param({ "A=(1,2)", "f(x)=3x^2-2x+sin(x)/(1+e^(-x))",
+			"Segment(A,(3,4))", "x^2+y^2=25",
+			"Sequence((k,k^2),k,1,100)" })
+	public String input;
+
+	private Parser parser;
+
+	/**
+	 * Creates the app.
+	 */
+	@Setup
+	public void setup() {
+		parser = AppCommonFactory.create().getKernel().getParser();
+	}
+
+	/**
+	 * @return parsed expression
+	 * @throws ParseException
+	 *             if input is invalid
+	 */
+	@Benchmark
+	public ValidExpression parse() throws ParseException {
+		return parser.parseGeoGebraExpression(input);
+	}
+}
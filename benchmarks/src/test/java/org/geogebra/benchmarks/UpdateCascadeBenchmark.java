@@ -0,0 +1,73 @@
+package org.geogebra.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.kernel.commands.AlgebraProcessor;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Update cascade of a free number with generated dependent objects: either a
+ * chain (each object depends on the previous one) or a fan (all objects depend
+ * on the free number directly).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpdateCascadeBenchmark {
+
+	@Param({ "100", "1000" })
+	public int size;
+
+	@Param({ "chain", "fan" })
+	public String shape;
+
+	private GeoNumeric free;
+	private double value;
+
+	/**
+	 * Creates the construction.
+	 */
+	@Setup
+	public void setup() {
+		AlgebraProcessor processor = AppCommonFactory.create().getKernel()
+				.getAlgebraProcessor();
+		free = (GeoNumeric) processor.processAlgebraCommand("a_{0}=1",
+				false)[0];
+		for (int i = 1; i < size; i++) {
+			String parent = "chain".equals(shape) ? "a_{" + (i - 1) + "}"
+					: "a_{0}";
+			processor.processAlgebraCommand(
+					"a_{" + i + "}=sqrt(" + parent + "^2+1)", false);
+			if (i % 10 == 0) {
+				processor.processAlgebraCommand(
+						"P_{" + i + "}=(a_{" + i + "}, " + parent + ")", false);
+			}
+		}
+	}
+
+	/**
+	 * @return changed value
+	 */
+	@Benchmark
+	public double updateCascade() {
+		value = value > 100 ? 0 : value + 1;
+		free.setValue(value);
+		free.updateCascade();
+		return free.getValue();
+	}
+}
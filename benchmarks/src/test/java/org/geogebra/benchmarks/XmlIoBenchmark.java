@@ -0,0 +1,92 @@
+package org.geogebra.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.jre.io.MyXMLioJre;
+import org.geogebra.common.kernel.commands.AlgebraProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Saving and loading .ggb files of generated constructions with points,
+ * segments, functions and dependent numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XmlIoBenchmark {
+
+	@Param({ "250", "2500" })
+	public int size;
+
+	private MyXMLioJre xmlio;
+	private byte[] file;
+
+	/**
+	 * Creates the construction and its file.
+	 *
+	 * @throws IOException
+	 *             if saving fails
+	 */
+	@Setup
+	public void setup() throws IOException {
+		AppCommon app = AppCommonFactory.create();
+		AlgebraProcessor processor = app.getKernel().getAlgebraProcessor();
+		for (int i = 0; i < size; i++) {
+			processor.processAlgebraCommand(
+					"A_{" + i + "}=(" + i % 50 + "," + i / 50 + ")", false);
+			if (i > 0) {
+				processor.processAlgebraCommand("s_{" + i + "}=Segment(A_{"
+						+ (i - 1) + "},A_{" + i + "})", false);
+				processor.processAlgebraCommand(
+						"d_{" + i + "}=Distance(A_{0},A_{" + i + "})", false);
+			}
+			if (i % 25 == 0) {
+				processor.processAlgebraCommand(
+						"f_{" + i + "}(x)=x(A_{" + i + "}) sin(x)+y(A_{" + i
+								+ "})",
+						false);
+			}
+		}
+		xmlio = (MyXMLioJre) app.getXMLio();
+		file = save();
+	}
+
+	/**
+	 * @return zipped file content
+	 * @throws IOException
+	 *             if saving fails
+	 */
+	@Benchmark
+	public byte[] save() throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		xmlio.writeGeoGebraFile(os, false);
+		return os.toByteArray();
+	}
+
+	/**
+	 * @throws Exception
+	 *             if loading fails
+	 */
+	@Benchmark
+	public void load() throws Exception {
+		xmlio.readZipFromInputStream(new ByteArrayInputStream(file), false);
+	}
+}
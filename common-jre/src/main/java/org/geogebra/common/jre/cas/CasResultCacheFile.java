@@ -0,0 +1,84 @@
+package org.geogebra.common.jre.cas;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+import org.geogebra.common.cas.CasResultCache;
+import org.geogebra.common.jre.util.StreamUtil;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Persists a CAS result cache in a local file between JVM runs.
+ */
+public class CasResultCacheFile {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private final File file;
+
+	/**
+	 * @param file
+	 *            cache file
+	 */
+	public CasResultCacheFile(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Adds entries from the file to the cache; missing file is ignored.
+	 *
+	 * @param cache
+	 *            cache
+	 * @return number of entries read
+	 */
+	public int load(CasResultCache cache) {
+		if (!file.isFile()) {
+			return 0;
+		}
+		InputStream is = null;
+		try {
+			is = new FileInputStream(file);
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = is.read(buffer)) > 0) {
+				bytes.write(buffer, 0, read);
+			}
+			return cache.read(new String(bytes.toByteArray(), UTF_8));
+		} catch (IOException e) {
+			Log.error("Cannot read CAS cache: " + e.getMessage());
+			return 0;
+		} finally {
+			StreamUtil.closeSilent(is);
+		}
+	}
+
+	/**
+	 * Writes all entries of the cache to the file.
+	 *
+	 * @param cache
+	 *            cache
+	 * @return whether writing was successful
+	 */
+	public boolean save(CasResultCache cache) {
+		StringBuilder sb = new StringBuilder();
+		cache.write(sb);
+		OutputStream os = null;
+		try {
+			os = new FileOutputStream(file);
+			os.write(sb.toString().getBytes(UTF_8));
+			return true;
+		} catch (IOException e) {
+			Log.error("Cannot write CAS cache: " + e.getMessage());
+			return false;
+		} finally {
+			StreamUtil.closeSilent(os);
+		}
+	}
+}
@@ -1,23 +1,108 @@
 package org.geogebra.common.jre.io;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 import org.geogebra.common.jre.gui.MyImageJre;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.util.Charsets;
+import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.profiler.Profiler;
+import org.geogebra.common.util.profiler.Profiler.Category;
 
 public final class MyXMLioCommon extends MyXMLioJre {
+	/**
+	 * Images are not loaded, so the construction is always parsed directly
+	 * from the zip.
+	 * 
+	 * @param kernel
+	 *            kernel
+	 * @param cons
+	 *            construction
+	 */
 	public MyXMLioCommon(Kernel kernel, Construction cons) {
 		super(kernel, cons);
+		setStreamingLoad(true);
 	}
 
+	/**
+	 * Reads construction, macros, defaults and JavaScript; images are skipped
+	 * since there is no UI to show them.
+	 */
 	@Override
 	protected void readZip(ZipInputStream zip, boolean isGGTfile)
 			throws Exception {
-		// TODO Auto-generated method stub
+		Profiler profiler = kernel.getProfiler();
+		long start = profiler.start();
+		byte[] xmlFileBuffer = null;
+		byte[] macroXmlFileBuffer = null;
+		byte[] defaults2dXmlFileBuffer = null;
+		String javaScript = null;
+		boolean xmlFound = false;
+		boolean macrosProcessed = false;
+		ZipEntry entry;
+		while ((entry = zip.getNextEntry()) != null) {
+			String name = entry.getName();
+			if (name.equals(XML_FILE)) {
+				xmlFound = true;
+				if (isStreamingLoad() && !isGGTfile) {
+					startLoading(macroXmlFileBuffer, isGGTfile);
+					macrosProcessed = true;
+					processXMLEntry(zip, macroXmlFileBuffer == null);
+				} else {
+					xmlFileBuffer = loadIntoMemory(zip);
+				}
+			} else if (name.equals(XML_FILE_MACRO)) {
+				macroXmlFileBuffer = loadIntoMemory(zip);
+				if (macrosProcessed) {
+					Log.warn("Macros stored after construction");
+					processXMLBuffer(macroXmlFileBuffer, false, true);
+				}
+			} else if (name.equals(XML_FILE_DEFAULTS_2D)) {
+				defaults2dXmlFileBuffer = loadIntoMemory(zip);
+			} else if (name.equals(JAVASCRIPT_FILE)) {
+				javaScript = new String(loadIntoMemory(zip),
+						Charsets.getUtf8());
+			}
+			zip.closeEntry();
+		}
+		zip.close();
+		if (!xmlFound && macroXmlFileBuffer == null) {
+			throw new Exception("No XML data found in file.");
+		}
+
+		if (!macrosProcessed) {
+			startLoading(macroXmlFileBuffer, isGGTfile);
+		}
+		if (!isGGTfile && xmlFileBuffer != null) {
+			processXMLBuffer(xmlFileBuffer, macroXmlFileBuffer == null,
+					false);
+		}
+		if (defaults2dXmlFileBuffer != null) {
+			processXMLBuffer(defaults2dXmlFileBuffer, false, true);
+		}
+		kernel.getConstruction().setFileLoading(false);
+		if (javaScript != null) {
+			kernel.setLibraryJavaScript(javaScript);
+		} else if (!isGGTfile) {
+			kernel.resetLibraryJavaScript();
+		}
+		profiler.stop(Category.LOAD, "readZip", start);
+	}
 
+	private static byte[] loadIntoMemory(InputStream is) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int read;
+		while ((read = is.read(buffer)) > 0) {
+			bytes.write(buffer, 0, read);
+		}
+		return bytes.toByteArray();
 	}
 
 	@Override
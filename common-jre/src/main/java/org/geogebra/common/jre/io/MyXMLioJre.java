@@ -23,6 +23,7 @@ import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -64,6 +65,7 @@ public abstract class MyXMLioJre extends MyXMLio {
 	// private static XMLReaderFactory factory;
 
 	private QDParser xmlParser;
+	private boolean streamingLoad;
 
 	/**
 	 * @param kernel
@@ -152,6 +154,72 @@ public abstract class MyXMLioJre extends MyXMLio {
 		bs.close();
 	}
 
+	/**
+	 * Parses the construction XML directly from the current zip entry, without
+	 * copying it to memory first.
+	 * 
+	 * @param zip
+	 *            zip input stream positioned at the construction entry; stays
+	 *            open
+	 * @param clearConstruction
+	 *            whether to clear construction
+	 * @throws Exception
+	 *             on parsing error
+	 */
+	protected void processXMLEntry(ZipInputStream zip,
+			boolean clearConstruction) throws Exception {
+		doParseXML(new XMLStreamInputStream(new ZipEntryInputStream(zip)),
+				clearConstruction, false, true, true, true);
+	}
+
+	/**
+	 * Removes macros of previously loaded file (unless loading ggt) and
+	 * processes the macros of the new one. File loading stays switched on,
+	 * callers need to switch it off once the construction is processed.
+	 * 
+	 * @param macroXmlFileBuffer
+	 *            macro XML, may be null
+	 * @param isGGTfile
+	 *            true for ggt files
+	 * @throws Exception
+	 *             on parsing error
+	 */
+	protected void startLoading(byte[] macroXmlFileBuffer, boolean isGGTfile)
+			throws Exception {
+		if (!isGGTfile) {
+			// ggb file: remove all macros from kernel before processing
+			kernel.removeAllMacros();
+		}
+		kernel.getConstruction().setFileLoading(true);
+		if (macroXmlFileBuffer != null) {
+			// don't clear kernel for macro files
+			processXMLBuffer(macroXmlFileBuffer, !isGGTfile, isGGTfile);
+		}
+	}
+
+	/**
+	 * In streaming mode the construction XML is parsed while the file is read,
+	 * so it never needs to be held in memory as a whole. This only applies
+	 * when the macros were stored before the construction (as in files saved
+	 * by {@link #writeGeoGebraFile}); otherwise the construction is buffered
+	 * as usual. Images stored after it (as in files saved by the web app) are
+	 * not available while the construction is built, so this should only be
+	 * used when images are not needed.
+	 * 
+	 * @param streamingLoad
+	 *            whether to parse the construction directly from the zip
+	 */
+	public void setStreamingLoad(boolean streamingLoad) {
+		this.streamingLoad = streamingLoad;
+	}
+
+	/**
+	 * @return whether the construction is parsed directly from the zip
+	 */
+	public boolean isStreamingLoad() {
+		return streamingLoad;
+	}
+
 	/**
 	 * Reads from a zipped input stream that includes only the construction
 	 * saved in xml format.
@@ -629,6 +697,22 @@ public abstract class MyXMLioJre extends MyXMLio {
 		return new XMLStreamStringJre(str);
 	}
 
+	/**
+	 * Stream of a single zip entry; closing the XML reader must not close the
+	 * zip, which may have more entries.
+	 */
+	private static class ZipEntryInputStream extends FilterInputStream {
+
+		protected ZipEntryInputStream(ZipInputStream zip) {
+			super(zip);
+		}
+
+		@Override
+		public void close() {
+			// zip is closed after all entries were read
+		}
+	}
+
 	/**
 	 *
 	 */
@@ -0,0 +1,64 @@
+package org.geogebra.common.jre.kernel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.geogebra.common.kernel.UpdateExecutor;
+
+/**
+ * Runs independent components of an update cascade on a fork-join pool.
+ */
+public class ForkJoinUpdateExecutor implements UpdateExecutor {
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * Creates executor with one worker per available processor.
+	 */
+	public ForkJoinUpdateExecutor() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param parallelism
+	 *            number of workers
+	 */
+	public ForkJoinUpdateExecutor(int parallelism) {
+		pool = new ForkJoinPool(parallelism);
+	}
+
+	@Override
+	public void runAll(List<Runnable> tasks) {
+		List<Callable<Object>> callables = new ArrayList<>(tasks.size());
+		for (Runnable task : tasks) {
+			callables.add(Executors.callable(task));
+		}
+		List<Future<Object>> results = pool.invokeAll(callables);
+		for (Future<Object> result : results) {
+			try {
+				result.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				throw new IllegalStateException(cause);
+			}
+		}
+	}
+
+	/**
+	 * Stops the worker threads.
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}
+}
@@ -9,4 +9,9 @@ public abstract class UtilFactoryJre extends UtilFactory  {
 	public Reflection newReflection(Class clazz) {
 		return new ReflectionJre(clazz);
 	}
+
+	@Override
+	public long getNanoTime() {
+		return System.nanoTime();
+	}
 }
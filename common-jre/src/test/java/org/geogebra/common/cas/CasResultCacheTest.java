@@ -0,0 +1,78 @@
+package org.geogebra.common.cas;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.geogebra.common.jre.cas.CasResultCacheFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CasResultCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void normalizedKeysShareEntries() {
+		CasResultCache cache = new CasResultCache();
+		cache.put("Derivative( x^2 , x )", "2x");
+		assertThat(cache.get("Derivative(x^2,x)"), is("2x"));
+		assertThat(cache.get("Derivative(x^2,  x)"), is("2x"));
+		assertThat(cache.get("Derivative(x ^ 2,x)"), is("2x"));
+		assertThat(cache.getHits(), is(3L));
+	}
+
+	@Test
+	public void implicitMultiplicationAndTextAreKept() {
+		assertThat(CasResultCache.normalize("a  b"), is("a b"));
+		assertThat(CasResultCache.normalize("Text(\"a  b\")"),
+				is("Text(\"a  b\")"));
+		assertThat(CasResultCache.normalize("a - b"), is("a - b"));
+		assertThat(CasResultCache.normalize("x (A)"), is("x (A)"));
+		assertThat(CasResultCache.normalize("x(A)"), is("x(A)"));
+		assertThat(CasResultCache.normalize("f( (x) )"), is("f((x))"));
+	}
+
+	@Test
+	public void errorsAreNotCached() {
+		CasResultCache cache = new CasResultCache();
+		cache.put("Solve(x)", "?");
+		cache.put("Integral(x)", null);
+		assertThat(cache.size(), is(0));
+		assertThat(cache.get("Solve(x)"), nullValue());
+		assertThat(cache.getMisses(), is(1L));
+	}
+
+	@Test
+	public void leastRecentlyUsedEntriesAreEvicted() {
+		CasResultCache cache = new CasResultCache(350);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.put("c", "3");
+		cache.get("a");
+		cache.put("d", "4");
+		assertThat(cache.getEvictions(), is(1L));
+		assertThat(cache.get("b"), nullValue());
+		assertThat(cache.get("a"), is("1"));
+		assertThat(cache.getBytes() <= 350, is(true));
+	}
+
+	@Test
+	public void entriesSurviveFileRoundTrip() throws IOException {
+		CasResultCache cache = new CasResultCache();
+		cache.put("Solve(x^2=1)", "{x = -1, x = 1}");
+		cache.put("Text(\"a\tb\")", "\"a\\\nb\"");
+		File file = folder.newFile("cas.cache");
+		new CasResultCacheFile(file).save(cache);
+
+		CasResultCache loaded = new CasResultCache();
+		assertThat(new CasResultCacheFile(file).load(loaded), is(2));
+		assertThat(loaded.get("Solve(x^2=1)"), is("{x = -1, x = 1}"));
+		assertThat(loaded.get("Text(\"a\tb\")"), is("\"a\\\nb\""));
+	}
+}
@@ -0,0 +1,64 @@
+package org.geogebra.common.cas;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.arithmetic.Function;
+import org.geogebra.common.kernel.arithmetic.FunctionNVar;
+import org.geogebra.common.kernel.commands.EvalInfo;
+import org.geogebra.common.kernel.parser.ParseException;
+import org.junit.Test;
+
+public class ParsedCasResultCacheTest extends BaseUnitTest {
+
+	@Test
+	public void hitsShouldReturnIndependentCopies() throws ParseException {
+		ParsedCasResultCache cache = new ParsedCasResultCache(getKernel());
+		Function parsed = getKernel().getParser()
+				.parseFunction("f(x) = x^2 + 1");
+		parsed.initFunction();
+		cache.put("(x) = x^2 + 1", parsed, 1000);
+
+		FunctionNVar first = cache.get("(x) = x^2 + 1");
+		FunctionNVar second = cache.get("(x) = x^2 + 1");
+		assertTrue(first instanceof Function);
+		assertNotSame(first, second);
+		assertNotSame(parsed.getFunctionVariables()[0],
+				first.getFunctionVariables()[0]);
+		assertEquals(10, ((Function) first).value(3), DELTA);
+
+		first.getFunctionVariables()[0].setVarString("t");
+		assertEquals("x", second.getVarString(StringTemplate.defaultTemplate));
+		assertEquals(2, cache.getHits());
+		assertEquals(2000, cache.getSavedParseTime());
+	}
+
+	@Test
+	public void multivariateFunctionsShouldBeCached() throws ParseException {
+		ParsedCasResultCache cache = new ParsedCasResultCache(getKernel());
+		FunctionNVar parsed = getKernel().getParser()
+				.parseFunctionNVar("f(x, y) = x y");
+		parsed.initFunction();
+		cache.put("(x, y) = x y", parsed, 0);
+		FunctionNVar copy = cache.get("(x, y) = x y");
+		assertEquals(6, copy.evaluate(new double[] { 2, 3 }), DELTA);
+		assertNull(cache.get("(x, y) = x + y"));
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	public void functionsWithLabeledElementsShouldNotBeCached()
+			throws ParseException {
+		getElementFactory().create("a = 2");
+		ParsedCasResultCache cache = new ParsedCasResultCache(getKernel());
+		Function parsed = getKernel().getParser().parseFunction("f(x) = a x");
+		parsed.resolveVariables(new EvalInfo(false));
+		parsed.initFunction();
+		cache.put("(x) = a x", parsed, 0);
+		assertEquals(0, cache.size());
+	}
+}
@@ -0,0 +1,53 @@
+package org.geogebra.common.euclidian;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.awt.GPoint;
+import org.geogebra.common.euclidian.event.PointerEventType;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.junit.Test;
+
+public class DrawableIndexTest extends BaseControllerTest {
+
+	@Test
+	public void pointerQueryShouldOnlyTestNearbyDrawables() {
+		addGrid();
+		EuclidianView view = getApp().getActiveEuclidianView();
+		DrawableIndex index = view.getDrawableIndex();
+		// drawables are indexed once painted
+		index.getCandidates(0, 0, 1, 1);
+		assertEquals(100, index.getLastCandidateCount());
+		index.notifyPainted();
+
+		GeoElement p34 = lookup("p34");
+		view.setHits(new GPoint(view.toScreenCoordX(3), view.toScreenCoordY(4)),
+				PointerEventType.MOUSE);
+		assertEquals(1, view.getHits().size());
+		assertTrue(view.getHits().contains(p34));
+		assertTrue(index.getLastCandidateCount() < 10);
+	}
+
+	@Test
+	public void updatedDrawablesShouldBeTestedUntilPainted() {
+		addGrid();
+		EuclidianView view = getApp().getActiveEuclidianView();
+		DrawableIndex index = view.getDrawableIndex();
+		index.getCandidates(0, 0, 1, 1);
+		index.notifyPainted();
+		index.getCandidates(0, 0, 1, 1);
+		int before = index.getLastCandidateCount();
+
+		view.update(lookup("p99"));
+		index.getCandidates(0, 0, 1, 1);
+		assertEquals(before + 1, index.getLastCandidateCount());
+	}
+
+	private void addGrid() {
+		for (int i = 0; i < 10; i++) {
+			for (int j = 0; j < 10; j++) {
+				add("p" + i + j + "=(" + i + "," + j + ")");
+			}
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package org.geogebra.common.euclidian.plot;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.euclidian.draw.DrawParametricCurve;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.junit.Test;
+
+public class CurveSampleCacheTest extends BaseUnitTest {
+
+	@Test
+	public void alignedIntervalContainsInput() {
+		double[] aligned = CurveSampleCache.alignToGrid(-7.3, 9.1);
+		assertThat(aligned[0] <= -7.3, is(true));
+		assertThat(aligned[1] >= 9.1, is(true));
+		assertThat(aligned[1] - aligned[0] <= 16.4 + 2 * aligned[2], is(true));
+		assertThat(aligned[2] <= 16.4 / 8, is(true));
+		double[] panned = CurveSampleCache.alignToGrid(-7.1, 9.3);
+		assertThat(panned[0], is(aligned[0]));
+	}
+
+	@Test
+	public void panReusesPoints() {
+		GeoFunction f = add("f(x)=sin(x)+x^2/10");
+		EuclidianView view = getApp().getActiveEuclidianView();
+		CurveSampleCache cache = ((DrawParametricCurve) view.getDrawableFor(f))
+				.getSampleCache();
+		long evaluated = cache.getEvaluated();
+		assertThat(cache.getReused(), is(0L));
+
+		view.setCoordSystem(view.getXZero() + 30, view.getYZero(),
+				view.getXscale(), view.getYscale());
+
+		assertThat(cache.getReused() > 0, is(true));
+		assertThat(cache.getEvaluated() - evaluated < evaluated, is(true));
+	}
+
+	@Test
+	public void randomFunctionIsNotCached() {
+		GeoFunction f = add("f(x)=x+random()");
+		EuclidianView view = getApp().getActiveEuclidianView();
+		CurveSampleCache cache = ((DrawParametricCurve) view.getDrawableFor(f))
+				.getSampleCache();
+		view.setCoordSystem(view.getXZero() + 30, view.getYZero(),
+				view.getXscale(), view.getYscale());
+		assertThat(cache.getReused(), is(0L));
+		assertThat(cache.getEvaluated(), is(0L));
+	}
+
+	@Test
+	public void changedFunctionIsEvaluatedAgain() {
+		add("a=1");
+		GeoFunction f = add("f(x)=a x");
+		EuclidianView view = getApp().getActiveEuclidianView();
+		CurveSampleCache cache = ((DrawParametricCurve) view.getDrawableFor(f))
+				.getSampleCache();
+		long reused = cache.getReused();
+		long evaluated = cache.getEvaluated();
+		add("SetValue(a,2)");
+		assertThat(cache.getReused(), is(reused));
+		assertThat(cache.getEvaluated() > evaluated, is(true));
+	}
+}
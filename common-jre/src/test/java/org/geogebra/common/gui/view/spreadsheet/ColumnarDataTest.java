@@ -0,0 +1,52 @@
+package org.geogebra.common.gui.view.spreadsheet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoList;
+import org.junit.Test;
+
+public class ColumnarDataTest extends BaseUnitTest {
+
+	@Test
+	public void numbersShouldBeStoredByColumn() {
+		ColumnarData data = DataImport
+				.parseColumnarData("x,y\r\n1,\"2,5\"\r\n3,text\n4\n");
+		assertEquals(4, data.getRowCount());
+		assertEquals(2, data.getColumnCount());
+		assertEquals(2.5, data.getValue(1, 1), DELTA);
+		assertTrue(data.isNumeric(0, 1));
+		assertFalse(data.isNumeric(1, 1));
+		assertArrayEquals(new String[] {"3", "text"}, data.toStringArray()[2]);
+		assertEquals(" ", data.getCellString(3, 1));
+	}
+
+	@Test
+	public void numbersShouldKeepSourceFormat() {
+		ColumnarData data = DataImport
+				.parseColumnarData("0.10,1000000000000000,-0\n2.5,7,1\n");
+		assertArrayEquals(new String[] {"0.10", "1000000000000000", "-0"},
+				data.toStringArray()[0]);
+		assertArrayEquals(new String[] {"2.5", "7", "1"},
+				data.toStringArray()[1]);
+		assertEquals(0.1, data.getValue(0, 0), DELTA);
+		assertTrue(data.isNumeric(1, 0));
+	}
+
+	@Test
+	public void longColumnShouldBecomePackedList() {
+		StringBuilder csv = new StringBuilder("value\n");
+		for (int i = 0; i < 2000; i++) {
+			csv.append(i).append("\t1\n");
+		}
+		ColumnarData data = DataImport.parseColumnarData(csv.toString());
+		GeoList list = data.createList(getConstruction(), 0, 1);
+		assertNotNull(list.getPackedValues());
+		assertEquals(2000, list.size());
+		assertEquals(1999, list.get(1999).evaluateDouble(), DELTA);
+	}
+}
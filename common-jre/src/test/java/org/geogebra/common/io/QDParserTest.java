@@ -0,0 +1,66 @@
+package org.geogebra.common.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.junit.Test;
+
+public class QDParserTest {
+
+	private final List<String> tags = new ArrayList<>();
+	private final List<String> values = new ArrayList<>();
+
+	private final DocHandler handler = new DocHandler() {
+
+		@Override
+		public void startElement(String tag, LinkedHashMap<String, String> h) {
+			tags.add(tag);
+			values.addAll(h.values());
+		}
+
+		@Override
+		public void endElement(String tag) {
+			// not needed
+		}
+
+		@Override
+		public void startDocument() {
+			// not needed
+		}
+
+		@Override
+		public void endDocument() {
+			// not needed
+		}
+
+		@Override
+		public void text(String str) {
+			// not needed
+		}
+	};
+
+	@Test
+	public void shouldParseDocumentLongerThanBuffer() throws Exception {
+		StringBuilder xml = new StringBuilder("<construction>");
+		for (int i = 0; i < 2000; i++) {
+			xml.append("<coords x=\"").append(i).append("\" z=\"1\"/>");
+		}
+		xml.append("</construction>");
+		new QDParser().parse(handler, new StringReader(xml.toString()));
+		assertEquals(2001, tags.size());
+		assertEquals("1999", values.get(values.size() - 2));
+	}
+
+	@Test
+	public void shouldShareRepeatedStrings() throws Exception {
+		new QDParser().parse(handler, new StringReader(
+				"<a><show object=\"true\"/><show object=\"true\"/></a>"));
+		assertSame(tags.get(1), tags.get(2));
+		assertSame(values.get(0), values.get(1));
+	}
+}
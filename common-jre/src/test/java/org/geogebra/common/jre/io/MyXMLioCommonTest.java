@@ -0,0 +1,62 @@
+package org.geogebra.common.jre.io;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.junit.Test;
+
+public class MyXMLioCommonTest extends BaseUnitTest {
+
+	@Test
+	public void savedFileCanBeLoaded() throws Exception {
+		add("A=(1,2)");
+		add("a=x(A)+3");
+		MyXMLioJre xmlio = (MyXMLioJre) getApp().getXMLio();
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		xmlio.writeGeoGebraFile(os, false);
+
+		getKernel().clearConstruction(true);
+		assertThat(lookup("a") == null, is(true));
+		xmlio.readZipFromInputStream(new ByteArrayInputStream(os.toByteArray()),
+				false);
+		assertThat(((GeoNumeric) lookup("a")).getValue(), is(4.0));
+	}
+
+	@Test
+	public void streamingLoadShouldGiveSameConstruction() throws Exception {
+		add("A=(1,2)");
+		add("B=(3,-1)");
+		add("f=Line(A,B)");
+		add("a=Distance(A,B)");
+		add("l1={1,2,a}");
+		add("text1=\"a = \"+a");
+		MyXMLioJre xmlio = (MyXMLioJre) getApp().getXMLio();
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		xmlio.writeGeoGebraFile(os, false);
+		String xml = constructionXML();
+
+		assertThat(xmlio.isStreamingLoad(), is(true));
+		getKernel().clearConstruction(true);
+		xmlio.readZipFromInputStream(new ByteArrayInputStream(os.toByteArray()),
+				false);
+		assertThat(constructionXML(), is(xml));
+
+		xmlio.setStreamingLoad(false);
+		getKernel().clearConstruction(true);
+		xmlio.readZipFromInputStream(new ByteArrayInputStream(os.toByteArray()),
+				false);
+		assertThat(constructionXML(), is(xml));
+		assertThat(getKernel().getConstruction().isFileLoading(), is(false));
+	}
+
+	private String constructionXML() {
+		StringBuilder sb = new StringBuilder();
+		getKernel().getConstruction().getConstructionXML(sb, false);
+		return sb.toString();
+	}
+}
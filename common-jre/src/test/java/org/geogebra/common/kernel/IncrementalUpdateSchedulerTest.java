@@ -0,0 +1,114 @@
+package org.geogebra.common.kernel;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoLocus;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IncrementalUpdateSchedulerTest extends BaseUnitTest {
+
+	private IncrementalUpdateScheduler scheduler;
+
+	@Before
+	public void enableScheduler() {
+		scheduler = getConstruction().getUpdateScheduler();
+		scheduler.setEnabled(true);
+		scheduler.resetCounters();
+	}
+
+	@Test
+	public void propagationStopsAtUnchangedOutput() {
+		GeoNumeric a = add("a=1");
+		add("b=0a");
+		add("c=b+1");
+		GeoNumeric d = add("d=c+a");
+		scheduler.resetCounters();
+
+		a.setValue(2);
+		a.updateCascade();
+
+		assertThat(scheduler.getExecutedUpdates(), is(2L));
+		assertThat(scheduler.getSkippedUpdates(), is(1L));
+		assertThat(scheduler.getUnchangedOutputs(), is(1L));
+		assertThat(d.getValue(), is(3.0));
+	}
+
+	@Test
+	public void changedValuesArePropagated() {
+		GeoNumeric a = add("a=1");
+		add("b=2a");
+		GeoNumeric c = add("c=b+1");
+		scheduler.resetCounters();
+
+		a.setValue(2);
+		a.updateCascade();
+
+		assertThat(scheduler.getExecutedUpdates(), is(2L));
+		assertThat(scheduler.getSkippedUpdates(), is(0L));
+		assertThat(c.getValue(), is(5.0));
+	}
+
+	@Test
+	public void pointDragSkipsUnaffectedBranch() {
+		GeoPoint pt = add("A=(1,1)");
+		add("B=(0,x(A))");
+		GeoNumeric dist = add("d=y(B)+1");
+		scheduler.resetCounters();
+
+		pt.setCoords(1, 5, 1);
+		pt.updateCascade();
+
+		assertThat(scheduler.getSkippedUpdates(), is(1L));
+		assertThat(dist.getValue(), is(2.0));
+
+		pt.setCoords(3, 5, 1);
+		pt.updateCascade();
+		assertThat(dist.getValue(), is(4.0));
+	}
+
+	@Test
+	public void locusShouldFollowFreeAncestors() {
+		GeoNumeric a = add("a=1");
+		add("c:x^2+y^2=1");
+		GeoPoint pt = add("P=Point(c)");
+		pt.setCoords(1, 0, 1);
+		pt.updateCascade();
+		// locus point does not move when a changes, the locus does
+		add("Q=(x(P),a y(P))");
+		GeoLocus locus = add("loc=Locus(Q,P)");
+		assertEquals(1, maxY(locus), 0.01);
+
+		a.setValue(2);
+		a.updateCascade();
+
+		assertEquals(2, maxY(locus), 0.01);
+	}
+
+	private static double maxY(GeoLocus locus) {
+		double max = Double.NEGATIVE_INFINITY;
+		for (MyPoint point : locus.getPoints()) {
+			max = Math.max(max, point.getY());
+		}
+		return max;
+	}
+
+	@Test
+	public void disabledSchedulerUpdatesEverything() {
+		scheduler.setEnabled(false);
+		GeoNumeric a = add("a=1");
+		add("b=0a");
+		GeoNumeric c = add("c=b+a");
+
+		a.setValue(2);
+		a.updateCascade();
+
+		assertThat(scheduler.getExecutedUpdates(), is(0L));
+		assertThat(c.getValue(), is(2.0));
+	}
+}
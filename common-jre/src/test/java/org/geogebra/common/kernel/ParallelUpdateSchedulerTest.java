@@ -0,0 +1,76 @@
+package org.geogebra.common.kernel;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.jre.kernel.ForkJoinUpdateExecutor;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelUpdateSchedulerTest extends BaseUnitTest {
+
+	private ForkJoinUpdateExecutor executor;
+	private ParallelUpdateScheduler scheduler;
+
+	@Before
+	public void enableParallelUpdate() {
+		executor = new ForkJoinUpdateExecutor(4);
+		getKernel().setUpdateExecutor(executor);
+		scheduler = getKernel().getParallelUpdateScheduler();
+		scheduler.setMinAlgos(2);
+	}
+
+	@After
+	public void shutdown() {
+		getKernel().setUpdateExecutor(null);
+		executor.shutdown();
+	}
+
+	@Test
+	public void independentBranchesAreComputedConcurrently() {
+		GeoNumeric a = add("a=1");
+		for (int i = 0; i < 20; i++) {
+			add("b_{" + i + "}=a+" + i);
+			add("c_{" + i + "}=2b_{" + i + "}");
+		}
+
+		a.setValue(5);
+		a.updateCascade();
+
+		assertThat(scheduler.getParallelCascades(), is(1L));
+		assertThat(scheduler.getConcurrentComponents(), is(20L));
+		for (int i = 0; i < 20; i++) {
+			assertThat(((GeoNumeric) lookup("c_{" + i + "}")).getValue(),
+					is(2.0 * (5 + i)));
+		}
+	}
+
+	@Test
+	public void sharedFunctionPreventsConcurrentUpdate() {
+		GeoNumeric a = add("a=1");
+		add("f(x)=x^2");
+		add("b=f(a)");
+		GeoNumeric c = add("c=f(a+1)");
+
+		a.setValue(2);
+		a.updateCascade();
+
+		assertThat(scheduler.getParallelCascades(), is(0L));
+		assertThat(c.getValue(), is(9.0));
+	}
+
+	@Test
+	public void randomAlgosAreNotThreadSafe() {
+		GeoNumeric a = add("a=1");
+		add("b=a+RandomBetween(1,3)");
+		add("c=a+1");
+
+		a.setValue(2);
+		a.updateCascade();
+
+		assertThat(scheduler.getParallelCascades(), is(0L));
+	}
+}
@@ -0,0 +1,98 @@
+package org.geogebra.common.kernel.arithmetic;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.geos.GeoFunctionNVar;
+import org.geogebra.common.plugin.Operation;
+import org.junit.Test;
+
+public class CompiledExpressionTest extends BaseUnitTest {
+
+	private static final double[] ARGUMENTS = { -10, -Math.PI, -2, -1.5, -1,
+			-0.5, -0.1, 0, 1E-9, 0.1, 0.5, 1, Math.PI / 2, 2, Math.E, Math.PI,
+			3 * Math.PI / 2, 7, 10 * Math.PI, Double.NaN,
+			Double.POSITIVE_INFINITY };
+
+	@Test
+	public void compiledValuesMatchTreeWalker() {
+		add("a=3");
+		String[] definitions = { "x^2+3x-1", "sin(x)+cos(2x)", "sqrt(x)/x",
+				"tan(x)", "tan(x^2)+sin(x)", "exp(-x^2/2)", "e^x", "e^(x+1)",
+				"ln(abs(x))", "x^(1/3)", "x^(-2/3)", "x^(2/3)+1", "(x^2)^0.5",
+				"a x^3-x/a", "sin(pi x)", "exp(sin(pi x))", "exp(cos(x))",
+				"abs(sin(x))^x", "0x", "(x+1)(x-1)/(x-1)", "x^x",
+				"If(x>0,x^2,-x)", "sin(x)+If(x>0,x,-x)", "floor(x)+x^2",
+				"(x>1)x" };
+		for (String definition : definitions) {
+			GeoFunction f = add("f(x)=" + definition);
+			Function fun = f.getFunction();
+			FunctionVariable x = fun.getFunctionVariables()[0];
+			CompiledExpression compiled = CompiledExpression
+					.compile(fun.getExpression());
+			if (compiled == null) {
+				continue;
+			}
+			for (double arg : ARGUMENTS) {
+				x.set(arg);
+				assertSameValue(definition + " at " + arg,
+						fun.getExpression().evaluateDouble(),
+						compiled.evaluate());
+			}
+		}
+	}
+
+	@Test
+	public void unsupportedSubtreesAreLeftToTreeWalker() {
+		GeoFunction f = add("f(x)=sin(x)+If(x>0,x,-x)");
+		CompiledExpression compiled = CompiledExpression
+				.compile(f.getFunction().getExpression());
+		assertThat(compiled, notNullValue());
+		assertThat(compiled.getFallbackCount(), is(1));
+		GeoFunction g = add("g(x)=If(x>0,x,-x)");
+		assertThat(CompiledExpression.compile(g.getFunction().getExpression()),
+				nullValue());
+		assertThat(g.value(-2), is(2.0));
+	}
+
+	@Test
+	public void dependenciesAreReadWhenEvaluating() {
+		add("a=1");
+		GeoFunction f = add("f(x)=a x^2");
+		assertThat(f.value(3), is(9.0));
+		assertThat(f.getFunction().getCompiledExpression(), notNullValue());
+		add("SetValue(a,2)");
+		assertThat(f.value(3), is(18.0));
+	}
+
+	@Test
+	public void changedExpressionIsRecompiled() {
+		GeoFunction f = add("f(x)=x^2");
+		Function fun = f.getFunction();
+		assertThat(fun.value(3), is(9.0));
+		CompiledExpression compiled = fun.getCompiledExpression();
+		fun.getExpression().setOperation(Operation.MULTIPLY);
+		assertThat(compiled.isValidFor(fun.getExpression()), is(false));
+		assertThat(fun.value(3), is(6.0));
+		add("f(x)=x^3");
+		assertThat(f.value(2), is(8.0));
+	}
+
+	@Test
+	public void multivariableFunction() {
+		GeoFunctionNVar f = add("f(x,y)=sin(x)y^2+x/y");
+		assertSameValue("f(1,2)", Math.sin(1) * 4 + 0.5, f.evaluate(1, 2));
+		assertSameValue("f(2,3)", Math.sin(2) * 9 + 2.0 / 3,
+				f.evaluate(new double[] { 2, 3 }));
+	}
+
+	private static void assertSameValue(String message, double expected,
+			double actual) {
+		assertThat(message, Double.doubleToLongBits(actual),
+				is(Double.doubleToLongBits(expected)));
+	}
+}
@@ -0,0 +1,76 @@
+package org.geogebra.common.kernel.arithmetic;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.plugin.Operation;
+import org.junit.Test;
+
+public class CompiledNodeTest extends BaseUnitTest {
+
+	@Test
+	public void dependentNumberShouldMatchTreeWalker() {
+		GeoNumeric a = add("a=1");
+		GeoNumeric b = add("b=2a^2-sin(pi a)/3+abs(a-1)");
+		for (int i = -5; i <= 5; i++) {
+			a.setValue(i / 2.0);
+			a.updateCascade();
+			double x = i / 2.0;
+			assertEquals(2 * x * x - MyDouble.sin(Math.PI * x) / 3
+					+ Math.abs(x - 1), b.getValue(), DELTA);
+		}
+		assertThat(b.getDefinition().getCompiled(),
+				instanceOf(CompiledNode.NumberNode.class));
+	}
+
+	@Test
+	public void dependentPointShouldMatchTreeWalker() {
+		GeoNumeric a = add("a=1");
+		GeoPoint point = add("A=(1,2)");
+		GeoPoint dependent = add("B=A+2(a,a^2)-(1;pi/2)/a");
+		for (int i = 1; i <= 5; i++) {
+			a.setValue(i);
+			a.updateCascade();
+			point.setCoords(i, -i, 1);
+			point.updateCascade();
+			assertEquals(i + 2 * i, dependent.getInhomX(), 1E-12);
+			assertEquals(-i + 2 * i * i - 1.0 / i, dependent.getInhomY(),
+					1E-12);
+		}
+		assertThat(dependent.getDefinition().getCompiled(),
+				instanceOf(CompiledNode.VectorNode.class));
+	}
+
+	@Test
+	public void changedTreeShouldBeEvaluatedAgain() {
+		GeoNumeric a = add("a=1");
+		GeoNumeric b = add("b=a+3");
+		for (int i = 0; i < 3; i++) {
+			a.updateCascade();
+		}
+		ExpressionNode definition = b.getDefinition();
+		definition.setOperation(Operation.MULTIPLY);
+		assertThat(definition.getCompiled(), nullValue());
+		a.updateCascade();
+		assertThat(b.getValue(), is(3.0));
+	}
+
+	@Test
+	public void unsupportedOperationsShouldUseTreeWalker() {
+		GeoNumeric a = add("a=1");
+		GeoNumeric b = add("b=floor(a/2)+a");
+		for (int i = 0; i < 5; i++) {
+			a.setValue(i);
+			a.updateCascade();
+			assertThat(b.getValue(), is(i / 2 + (double) i));
+		}
+		assertThat(b.getDefinition().getCompiled(),
+				is(CompiledNode.UNSUPPORTED));
+	}
+}
@@ -1,5 +1,7 @@
 package org.geogebra.common.kernel.commands;
 
+import java.util.ArrayList;
+
 import org.geogebra.common.factories.AwtFactoryCommon;
 import org.geogebra.common.jre.headless.LocalizationCommon;
 import org.geogebra.common.kernel.Kernel;
@@ -358,6 +360,45 @@ public class RedefineTest extends Assert {
 		Assert.assertTrue(get("cb").isDefined());
 	}
 
+	@Test
+	public void redefinitionShouldKeepUnrelatedElements() {
+		t("a=1", "1");
+		t("u=7", "7");
+		t("b=a+1", "2");
+		t("v=u+1", "8");
+		t("c=b*2", "4");
+		GeoElement v = get("v");
+		t("b=a+5", "6");
+		t("c", "12");
+		assertSame(v, get("v"));
+		assertEquals("a,u,v,b,c", constructionOrder());
+		add("SetValue(a, 2)");
+		t("c", "14");
+	}
+
+	@Test
+	public void redefinedPointShouldUpdateDependents() {
+		t("A=(0,0)", "(0, 0)");
+		t("B=(2,0)", "(2, 0)");
+		t("C=(4,4)", "(4, 4)");
+		t("M=Midpoint(A,B)", "(1, 0)");
+		t("N=Midpoint(M,C)", "(2.5, 2)");
+		t("A=Midpoint(B,C)", "(3, 2)");
+		t("M", "(2.5, 1)");
+		t("N", "(3.25, 2.5)");
+		add("SetCoords(B, 0, 0)");
+		t("M", "(1, 1)");
+	}
+
+	private static String constructionOrder() {
+		ArrayList<String> labels = new ArrayList<>();
+		for (GeoElement geo : app.getKernel().getConstruction()
+				.getGeoSetConstructionOrder()) {
+			labels.add(geo.getLabelSimple());
+		}
+		return String.join(",", labels);
+	}
+
 	@Test
 	public void setValueShouldKeepDefinition() {
 		t("a=1", "1");
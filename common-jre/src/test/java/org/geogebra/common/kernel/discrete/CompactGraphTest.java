@@ -0,0 +1,43 @@
+package org.geogebra.common.kernel.discrete;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class CompactGraphTest {
+
+	// 0 - 1 - 2 - 3 and a long edge 0 - 3, vertex 4 isolated
+	private final CompactGraph graph = new CompactGraph(5,
+			new int[] {0, 1, 2, 0}, new int[] {1, 2, 3, 3});
+
+	@Test
+	public void shortestPathShouldUseWeights() {
+		double[] weights = {1, 1, 1, 5};
+		assertArrayEquals(new int[] {0, 1, 2, 3},
+				graph.shortestPath(0, 3, weights));
+		assertArrayEquals(new int[] {3, 0}, graph.shortestPath(3, 0, null));
+	}
+
+	@Test
+	public void unreachableVertexShouldGiveNoPath() {
+		assertNull(graph.shortestPath(0, 4, null));
+	}
+
+	@Test
+	public void spanningTreeShouldConnectNearestPoints() {
+		double[] x = {0, 10, 0, 10, 5};
+		double[] y = {0, 0, 10, 10, 5};
+		int[] parent = CompactGraph.minimumSpanningTree(x, y);
+		double length = 0;
+		for (int i = 0; i < x.length; i++) {
+			if (parent[i] >= 0) {
+				length += Math.hypot(x[i] - x[parent[i]], y[i] - y[parent[i]]);
+			} else {
+				assertEquals(0, i);
+			}
+		}
+		assertEquals(4 * Math.sqrt(50), length, 1E-10);
+	}
+}
@@ -0,0 +1,106 @@
+package org.geogebra.common.kernel.discrete;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.geogebra.common.kernel.discrete.delaunay.DelaunayTriangulation;
+import org.geogebra.common.kernel.discrete.delaunay.PointDt;
+import org.geogebra.common.kernel.discrete.delaunay.TriangleDt;
+import org.junit.Test;
+
+public class IncrementalDelaunayTest {
+
+	private static final int SIZE = 36;
+
+	@Test
+	public void movedPointShouldGiveSameEdgesAsRebuild() {
+		double[] x = new double[SIZE];
+		double[] y = new double[SIZE];
+		Random random = new Random(1);
+		for (int i = 0; i < SIZE; i++) {
+			x[i] = i % 6 + 0.4 * random.nextDouble();
+			y[i] = i / 6 + 0.4 * random.nextDouble();
+		}
+		IncrementalDelaunay triangulation = new IncrementalDelaunay(false);
+		triangulation.update(x, y);
+		// interior point
+		double[] x2 = x.clone();
+		double[] y2 = y.clone();
+		x2[14] += 0.3;
+		y2[14] -= 0.2;
+		DelaunayTriangulation updated = triangulation.update(x2, y2);
+		assertEquals(1, triangulation.getRebuildCount());
+		assertEquals(getEdges(new IncrementalDelaunay(false).update(x2, y2)),
+				getEdges(updated));
+	}
+
+	@Test
+	public void undefinedPointShouldTriggerRebuild() {
+		double[] x = new double[SIZE];
+		double[] y = new double[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			x[i] = i % 6 + 0.01 * i;
+			y[i] = i / 6 + 0.02 * (i % 5);
+		}
+		IncrementalDelaunay triangulation = new IncrementalDelaunay(true);
+		triangulation.update(x, y);
+		double[] x2 = x.clone();
+		x2[14] = Double.NaN;
+		triangulation.update(x2, y);
+		assertEquals(2, triangulation.getRebuildCount());
+	}
+
+	@Test
+	public void randomMovesShouldGiveSameEdgesAsRebuild() {
+		int size = 56;
+		int steps = 500;
+		double[] x = new double[size];
+		double[] y = new double[size];
+		Random random = new Random(7);
+		for (int i = 0; i < size; i++) {
+			x[i] = 10 * random.nextDouble();
+			y[i] = 10 * random.nextDouble();
+		}
+		IncrementalDelaunay triangulation = new IncrementalDelaunay(false);
+		IncrementalDelaunay perturbed = new IncrementalDelaunay(true);
+		triangulation.update(x, y);
+		perturbed.update(x, y);
+		for (int step = 0; step < steps; step++) {
+			x = x.clone();
+			y = y.clone();
+			int moved = random.nextInt(size);
+			x[moved] = 10 * random.nextDouble();
+			y[moved] = 10 * random.nextDouble();
+			DelaunayTriangulation updated = triangulation.update(x, y);
+			perturbed.update(x, y);
+			assertEquals(getEdges(new IncrementalDelaunay(false).update(x, y)),
+					getEdges(updated));
+		}
+		// points on the convex hull need a rebuild, others not
+		assertTrue(triangulation.getRebuildCount() < steps / 2);
+	}
+
+	private static TreeSet<String> getEdges(DelaunayTriangulation dt) {
+		TreeSet<String> edges = new TreeSet<>();
+		Iterator<TriangleDt> it = dt.trianglesIterator();
+		while (it.hasNext()) {
+			TriangleDt triangle = it.next();
+			if (!triangle.isHalfplane()) {
+				addEdge(edges, triangle.p1(), triangle.p2());
+				addEdge(edges, triangle.p2(), triangle.p3());
+				addEdge(edges, triangle.p3(), triangle.p1());
+			}
+		}
+		return edges;
+	}
+
+	private static void addEdge(TreeSet<String> edges, PointDt a, PointDt b) {
+		String p = a.x() + "," + a.y();
+		String q = b.x() + "," + b.y();
+		edges.add(p.compareTo(q) < 0 ? p + ";" + q : q + ";" + p);
+	}
+}
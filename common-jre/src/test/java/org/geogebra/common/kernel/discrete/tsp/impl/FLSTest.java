@@ -0,0 +1,40 @@
+package org.geogebra.common.kernel.discrete.tsp.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class FLSTest {
+
+	@Test
+	public void shuffledCircleShouldGiveConvexTour() {
+		int n = 40;
+		double[] x = new double[n];
+		double[] y = new double[n];
+		for (int i = 0; i < n; i++) {
+			x[i] = Math.cos(2 * Math.PI * i / n);
+			y[i] = Math.sin(2 * Math.PI * i / n);
+		}
+		int[] tour = new int[n];
+		for (int i = 0; i < n; i++) {
+			tour[i] = i;
+		}
+		Random random = new Random(3);
+		for (int i = n - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int tmp = tour[i];
+			tour[i] = tour[j];
+			tour[j] = tmp;
+		}
+		double perimeter = 2 * n * Math.sin(Math.PI / n);
+		assertEquals(perimeter, FLS.optimise(x, y, tour), 1E-9);
+		int[] sorted = tour.clone();
+		Arrays.sort(sorted);
+		for (int i = 0; i < n; i++) {
+			assertEquals(i, sorted[i]);
+		}
+	}
+}
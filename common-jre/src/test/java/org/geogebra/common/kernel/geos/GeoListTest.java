@@ -1,8 +1,13 @@
 package org.geogebra.common.kernel.geos;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.awt.GColor;
 import org.geogebra.common.kernel.StringTemplate;
 import org.junit.Test;
 
@@ -23,4 +28,66 @@ public class GeoListTest extends BaseUnitTest {
 		assertEquals("\\left(\\begin{array}{rr}a&2\\\\a + 2&4\\\\ \\end{array}\\right)",
 				matrix.toLaTeXString(true, StringTemplate.latexTemplate));
 	}
+
+	@Test
+	public void longSequenceShouldBePacked() {
+		GeoList list = add("l1=Sequence(k^2,k,1,2000)");
+		assertNotNull(list.getPackedValues());
+		assertEquals(2000, list.size());
+		GeoNumeric sum = add("Sum(l1)");
+		GeoNumeric mean = add("Mean(l1)");
+		assertEquals(2000.0 * 2001 * 4001 / 6, sum.getValue(), DELTA);
+		assertEquals(2001.0 * 4001 / 6, mean.getValue(), 1E-9);
+		assertNotNull(list.getPackedValues());
+
+		assertEquals(9, list.get(2).evaluateDouble(), DELTA);
+		assertNull(list.getPackedValues());
+		assertEquals(2000, list.size());
+	}
+
+	@Test
+	public void packedListsShouldHaveSameValueString() {
+		GeoList packed = add("Sequence(k/2,k,1,1000)");
+		GeoList plain = add("Sequence(k/2,k,1,999)");
+		assertNotNull(packed.getPackedValues());
+		assertNull(plain.getPackedValues());
+		String plainString = plain.toValueString(StringTemplate.editTemplate);
+		assertEquals(plainString.substring(0, plainString.length() - 1),
+				packed.toValueString(StringTemplate.editTemplate)
+						.substring(0, plainString.length() - 1));
+	}
+
+	@Test
+	public void packedPointsShouldBeFitted() {
+		add("pts=Sequence((k,2k+1),k,1,1000)");
+		assertNotNull(((GeoList) lookup("pts")).getPackedValues());
+		GeoFunction fit = add("FitPoly(pts,1)");
+		assertEquals(7, fit.value(3), 1E-6);
+	}
+
+	@Test
+	public void listArithmeticShouldKeepPackedNumbers() {
+		add("l1=Sequence(k,k,1,1000)");
+		GeoList doubled = add("2l1");
+		assertNotNull(doubled.getPackedValues());
+		assertEquals(2000, doubled.get(999).evaluateDouble(), DELTA);
+	}
+
+	@Test
+	public void packedListsShouldBeCompared() {
+		GeoList list = add("Sequence(k,k,1,1000)");
+		GeoList same = add("Sequence(k+1,k,0,999)");
+		GeoList shifted = add("Sequence(k,k,2,1001)");
+		assertTrue(list.isEqual(same));
+		assertNotNull(shifted.getPackedValues());
+		assertFalse(list.isEqual(shifted));
+	}
+
+	@Test
+	public void packedListShouldPassColorToElements() {
+		GeoList list = add("Sequence((k,k),k,1,1000)");
+		assertNotNull(list.getPackedValues());
+		list.setObjColor(GColor.RED);
+		assertEquals(GColor.RED, list.get(999).getObjectColor());
+	}
 }
@@ -0,0 +1,74 @@
+package org.geogebra.common.kernel.implicit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.jre.kernel.ForkJoinUpdateExecutor;
+import org.geogebra.common.kernel.MyPoint;
+import org.geogebra.common.kernel.UpdateExecutor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class QuadTreeTest extends BaseUnitTest {
+
+	private ForkJoinUpdateExecutor executor;
+	private int batches;
+	private UpdateExecutor countingExecutor = tasks -> {
+		batches++;
+		executor.runAll(tasks);
+	};
+
+	@Before
+	public void createExecutor() {
+		executor = new ForkJoinUpdateExecutor(4);
+	}
+
+	@After
+	public void shutdown() {
+		getKernel().setUpdateExecutor(null);
+		executor.shutdown();
+	}
+
+	@Test
+	public void parallelTracingGivesSamePath() {
+		String[] equations = { "(x^2+y^2-4)^4+x^5 y^3=1",
+				"(x^2+y^2)^4=x^3 y^2+1", "x^8+y^8-x^3 y^4=3x y",
+				"(x^2+y^2)^5-x^4 y^4+x^7 y^2=0.5" };
+		for (String equation : equations) {
+			GeoImplicitCurve curve = add(equation);
+			curve.setAdaptivePlotDepth(false);
+			List<String> serial = trace(curve);
+			getKernel().setUpdateExecutor(countingExecutor);
+			batches = 0;
+			List<String> parallel = trace(curve);
+			getKernel().setUpdateExecutor(null);
+			assertThat(equation, serial.size() > 0, is(true));
+			assertThat(equation, batches > 0, is(true));
+			assertThat(equation, parallel, is(serial));
+		}
+	}
+
+	@Test
+	public void nonPolynomialAndLowDegreeCurvesAreTracedSerially() {
+		getKernel().setUpdateExecutor(countingExecutor);
+		GeoImplicitCurve curve = add("sin(x)+cos(y)=0.5");
+		assertThat(trace(curve).size() > 0, is(true));
+		GeoImplicitCurve cubic = add("x^3+y^3=3x y");
+		assertThat(trace(cubic).size() > 0, is(true));
+		assertThat(batches, is(0));
+	}
+
+	private static List<String> trace(GeoImplicitCurve curve) {
+		curve.updatePath();
+		ArrayList<String> points = new ArrayList<>();
+		for (MyPoint point : curve.getLocus().getPoints()) {
+			points.add(point.x + "," + point.y + "," + point.getLineTo());
+		}
+		return points;
+	}
+}
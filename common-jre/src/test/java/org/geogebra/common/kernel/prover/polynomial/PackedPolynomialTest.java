@@ -0,0 +1,84 @@
+package org.geogebra.common.kernel.prover.polynomial;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+
+import org.geogebra.common.BaseUnitTest;
+import org.junit.Test;
+
+public class PackedPolynomialTest extends BaseUnitTest {
+
+	private PPolynomial variable() {
+		return new PPolynomial(new PVariable(getKernel()));
+	}
+
+	@Test
+	public void productShouldMatchTermwiseProduct() {
+		PPolynomial a = variable();
+		PPolynomial b = variable();
+		PPolynomial c = variable();
+		// (a + 2b - 3)(a - 2b + c)
+		PPolynomial left = a.add(b.multiply(new PPolynomial(2)))
+				.subtract(new PPolynomial(3));
+		PPolynomial right = a.subtract(b.multiply(new PPolynomial(2))).add(c);
+		PPolynomial expected = a.multiply(a)
+				.subtract(b.multiply(b).multiply(new PPolynomial(4)))
+				.add(a.multiply(c))
+				.add(b.multiply(c).multiply(new PPolynomial(2)))
+				.subtract(a.multiply(new PPolynomial(3)))
+				.add(b.multiply(new PPolynomial(6)))
+				.subtract(c.multiply(new PPolynomial(3)));
+		PPolynomial product = PackedPolynomial.of(left)
+				.multiply(PackedPolynomial.of(right)).toPPolynomial();
+		assertEquals(expected, product);
+		assertEquals(expected, left.multiply(right));
+	}
+
+	@Test
+	public void largeCoefficientsShouldNotOverflow() {
+		PVariable x = new PVariable(getKernel());
+		BigInteger big = BigInteger.ONE.shiftLeft(40);
+		PackedPolynomial plus = PackedPolynomial
+				.of(new PPolynomial(big, x).add(new PPolynomial(1)));
+		PackedPolynomial minus = PackedPolynomial
+				.of(new PPolynomial(big, x).subtract(new PPolynomial(1)));
+		PPolynomial expected = new PPolynomial(big.multiply(big), x, 2)
+				.subtract(new PPolynomial(1));
+		assertEquals(expected, plus.multiply(minus).toPPolynomial());
+
+		PackedPolynomial max = PackedPolynomial
+				.of(new PPolynomial(Long.MAX_VALUE));
+		assertEquals(BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(1),
+				max.add(max).getCoefficient(0));
+	}
+
+	@Test
+	public void differenceOfEqualPolynomialsShouldBeZero() {
+		PPolynomial a = variable();
+		PPolynomial b = variable();
+		PackedPolynomial p = PackedPolynomial.of(a.multiply(b).add(a));
+		assertTrue(p.subtract(p).isZero());
+		assertTrue(p.multiply(PackedPolynomial.of(new PPolynomial()))
+				.isZero());
+	}
+
+	@Test
+	public void det4ShouldExpandDeterminant() {
+		PPolynomial[][] matrix = new PPolynomial[4][4];
+		PPolynomial diagonal = new PPolynomial(1);
+		for (int i = 0; i < 4; i++) {
+			for (int j = 0; j < 4; j++) {
+				matrix[i][j] = i == j ? variable() : new PPolynomial();
+			}
+			diagonal = diagonal.multiply(matrix[i][i]);
+		}
+		assertEquals(diagonal, PPolynomial.det4(matrix));
+		// swapping two rows changes the sign
+		PPolynomial[] row = matrix[0];
+		matrix[0] = matrix[1];
+		matrix[1] = row;
+		assertEquals(diagonal.negate(), PPolynomial.det4(matrix));
+	}
+}
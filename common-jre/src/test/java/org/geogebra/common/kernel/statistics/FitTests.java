@@ -11,6 +11,7 @@ import org.geogebra.common.euclidian.EuclidianConstants;
 import org.geogebra.common.euclidian.EuclidianController;
 import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.gui.dialog.options.model.LineEqnModel;
+import org.geogebra.common.jre.kernel.ForkJoinUpdateExecutor;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.geos.DescriptionMode;
 import org.geogebra.common.kernel.geos.GeoElement;
@@ -231,6 +232,30 @@ public class FitTests extends BaseUnitTest {
         Assert.assertTrue(geo instanceof GeoLine);
     }
 
+    @Test
+    public void parallelFitShouldMatchSerialFit() {
+        add("a = 1");
+        add("b = 1");
+        add("pts = Sequence((k / 1000, 3exp(-2k / 1000) + sin(k) / 100), k, 1, 5000)");
+        GeoElement serial = add("Fit(pts, a exp(b x))");
+        ForkJoinUpdateExecutor executor = new ForkJoinUpdateExecutor(4);
+        getKernel().setUpdateExecutor(executor);
+        try {
+            GeoElement parallel = add("Fit(pts, a exp(b x))");
+            assertThat(parallel.toValueString(StringTemplate.maxPrecision),
+                    equalTo(serial.toValueString(StringTemplate.maxPrecision)));
+
+            AlgoFitNL algo = (AlgoFitNL) parallel.getParentAlgorithm();
+            algo.setStartCount(4);
+            algo.compute();
+            Assert.assertTrue(algo.getIterations() > 0);
+            Assert.assertEquals(3, algo.getFitNL().value(0), 0.01);
+        } finally {
+            getKernel().setUpdateExecutor(null);
+            executor.shutdown();
+        }
+    }
+
     private GeoElement[] getFitLineGeoElements() {
         GeoElementFactory factory = getElementFactory();
         GeoLine fitLine = (GeoLine) factory.create("FitLine({(-1,-1),(0,1),(1,1),(2,5)})");
@@ -0,0 +1,62 @@
+package org.geogebra.common.kernel.statistics;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoList;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.junit.Test;
+
+public class ListStatisticsTest extends BaseUnitTest {
+
+	@Test
+	public void statisticsShouldBeSharedUntilListChanges() {
+		GeoNumeric a = add("a=3");
+		GeoList list = add("l1={a,1,2}");
+		ListStatistics stats = list.getStatistics();
+		GeoNumeric median = add("Median(l1)");
+		assertSame(stats, list.getStatistics());
+		assertEquals(2, median.getValue(), DELTA);
+
+		a.setValue(0);
+		a.updateCascade();
+		assertNotSame(stats, list.getStatistics());
+		assertEquals(1, median.getValue(), DELTA);
+	}
+
+	@Test
+	public void tiedValuesShouldHaveAverageRank() {
+		GeoList list = add("{4,1,4,2}");
+		assertArrayEquals(new double[] {3.5, 1, 3.5, 2},
+				list.getStatistics().getRanks(), DELTA);
+		assertArrayEquals(new double[] {1, 2, 4, 4},
+				list.getStatistics().getSorted(), DELTA);
+	}
+
+	@Test
+	public void nonNumericListShouldHaveNoValues() {
+		GeoList list = add("{1,(1,2)}");
+		ListStatistics stats = list.getStatistics();
+		assertEquals(false, stats.isNumeric());
+		assertNull(stats.getSorted());
+		assertEquals(false, stats.isPoints());
+	}
+
+	@Test
+	public void commandsShouldAgreeOnPackedList() {
+		add("l1=Sequence(Mod(7k,11),k,1,2000)");
+		add("l2=Sequence(k,k,1,2000)");
+		assertEquals(5, ((GeoNumeric) add("Median(l1)")).getValue(), DELTA);
+		assertEquals(2, ((GeoNumeric) add("Q1(l1)")).getValue(), DELTA);
+		assertEquals(8, ((GeoNumeric) add("Q3(l1)")).getValue(), DELTA);
+		GeoNumeric spearman = add("Spearman(l2,l2)");
+		assertEquals(1, spearman.getValue(), DELTA);
+		GeoNumeric sxy = add("Sxy(l2,l2)");
+		GeoNumeric sxx = add("Sxx(l2)");
+		assertEquals(sxx.getValue(), sxy.getValue(), 1E-6);
+	}
+}
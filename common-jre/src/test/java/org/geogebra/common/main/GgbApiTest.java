@@ -2,6 +2,7 @@ package org.geogebra.common.main;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -19,6 +20,7 @@ import org.geogebra.common.jre.headless.AppCommon;
 import org.geogebra.common.jre.headless.LocalizationCommon;
 import org.geogebra.common.jre.plugin.ScriptManagerJre;
 import org.geogebra.common.kernel.Path;
+import org.geogebra.common.kernel.geos.GeoBoolean;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoInputBox;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
@@ -293,6 +295,109 @@ public class GgbApiTest {
 		assertEquals(1, dragEndEvents);
 	}
 
+	@Test
+	public void batchShouldUpdateOnceAndDispatchSingleEvent() {
+		api.evalCommand("a=1");
+		api.evalCommand("b=2a");
+		api.evalCommand("A=(1,1)");
+		api.evalCommand("B=A+(a,0)");
+		ScriptManager scriptManager = prepareScriptManager();
+
+		api.beginBatch();
+		api.setValue("a", 3);
+		api.setCoords("A", 2, 2);
+		assertEquals(2, lookup("b").evaluateDouble(), 1E-10);
+		assertTrue(api.commitBatch());
+
+		assertEquals(6, lookup("b").evaluateDouble(), 1E-10);
+		assertEquals(5, api.getXcoord("B"), 1E-10);
+		ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+		Mockito.verify(scriptManager, times(1))
+				.sendEvent(eventCaptor.capture());
+		Event event = eventCaptor.getValue();
+		assertEquals(EventType.BATCH_COMMIT, event.type);
+		assertEquals(4, event.targets.size());
+		assertEquals(2, event.jsonArgument.get("updates"));
+	}
+
+	@Test
+	public void batchShouldCollectRedefinitions() {
+		api.evalCommand("a=1");
+		api.evalCommand("b=a+1");
+		api.evalCommand("c=b*2");
+		api.beginBatch();
+		api.evalCommand("b=a+5");
+		api.evalCommand("c=b*3");
+		assertTrue(api.commitBatch());
+		assertEquals(6, lookup("b").evaluateDouble(), 1E-10);
+		assertEquals(18, lookup("c").evaluateDouble(), 1E-10);
+		api.setValue("a", 2);
+		assertEquals(21, lookup("c").evaluateDouble(), 1E-10);
+	}
+
+	@Test
+	public void batchShouldUpdateValuesWithRedefinitions() {
+		api.evalCommand("a=1");
+		api.evalCommand("b=a+1");
+		api.evalCommand("c=2");
+		api.evalCommand("d=c+1");
+		api.evalCommand("t=true");
+		api.beginBatch();
+		api.setValue("c", 5);
+		api.setValue("t", 0);
+		api.evalCommand("b=a+3");
+		assertTrue(api.commitBatch());
+		assertEquals(4, lookup("b").evaluateDouble(), 1E-10);
+		assertEquals(6, lookup("d").evaluateDouble(), 1E-10);
+		assertFalse(((GeoBoolean) lookup("t")).getBoolean());
+	}
+
+	@Test
+	public void batchShouldReportRemovedObjects() {
+		api.evalCommand("a=1");
+		api.evalCommand("b=2");
+		ScriptManager scriptManager = prepareScriptManager();
+		api.beginBatch();
+		api.deleteObject("a");
+		api.evalCommand("c=3");
+		assertTrue(api.commitBatch());
+		ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+		Mockito.verify(scriptManager, times(1))
+				.sendEvent(eventCaptor.capture());
+		Event event = eventCaptor.getValue();
+		assertEquals(1, event.targets.size());
+		assertArrayEquals(new String[] {"a"},
+				(String[]) event.jsonArgument.get("removed"));
+	}
+
+	@Test
+	public void abortedBatchShouldDropRedefinitions() {
+		api.evalCommand("a=1");
+		api.evalCommand("b=a+1");
+		api.beginBatch();
+		api.evalCommand("b=a+5");
+		api.setValue("a", 3);
+		api.abortBatch();
+		assertFalse(app.getScriptManager().getBatch().isActive());
+		assertEquals(4, lookup("b").evaluateDouble(), 1E-10);
+		api.evalCommand("b=a+5");
+		assertEquals(8, lookup("b").evaluateDouble(), 1E-10);
+	}
+
+	@Test
+	public void clearingConstructionShouldAbortBatch() {
+		api.evalCommand("a=1");
+		api.evalCommand("b=a+1");
+		api.beginBatch();
+		api.evalCommand("b=a+2");
+		app.getKernel().clearConstruction(true);
+		assertFalse(app.getScriptManager().getBatch().isActive());
+		api.evalCommand("b=2");
+		api.evalCommand("c=b+1");
+		api.evalCommand("b=5");
+		assertEquals(6, lookup("c").evaluateDouble(), 1E-10);
+	}
+
 	@Test
 	public void testGetValueString() {
 		app.getLocalization().currentLocale = Locale.FRANCE;
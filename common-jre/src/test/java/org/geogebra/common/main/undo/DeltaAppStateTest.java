@@ -0,0 +1,70 @@
+package org.geogebra.common.main.undo;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.test.UndoRedoTester;
+import org.junit.Test;
+
+public class DeltaAppStateTest extends BaseUnitTest {
+
+	@Test
+	public void deltaRestoresChangedLines() {
+		String base = "<a>\n<b x=\"1\"/>\n<c/>\n<c/>\n<d/>\n</a>";
+		String target = "<a>\n<c/>\n<b x=\"2\"/>\n<c/>\n<d/>\n<e/>\n</a>";
+		LineDelta delta = LineDelta.create(base, target);
+		assertThat(delta.apply(base), is(target));
+		assertThat(delta.isEmpty(), is(false));
+		assertThat(LineDelta.create(target, target).isEmpty(), is(true));
+		assertThat(LineDelta.create("", "x\n").apply(""), is("x\n"));
+	}
+
+	@Test
+	public void fullXmlIsStoredPeriodically() {
+		DeltaAppState state = DeltaAppState.create("0", null, null, 3);
+		assertThat(state.isCheckpoint(), is(true));
+		for (int i = 1; i < 6; i++) {
+			state = DeltaAppState.create("line\n" + i, state, null, 3);
+			assertThat(state.isCheckpoint(), is(i % 3 == 0));
+			assertThat(state.getXml(), is("line\n" + i));
+		}
+	}
+
+	@Test
+	public void unchangedStateIsEqual() {
+		DeltaAppState first = DeltaAppState.create("a\nb", null, null, 3);
+		assertThat(first.equalsTo(DeltaAppState.create("a\nb", first, null, 3)),
+				is(true));
+		assertThat(first.equalsTo(DeltaAppState.create("a\nc", first, null, 3)),
+				is(false));
+	}
+
+	@Test
+	public void undoRedoWithDeltas() {
+		UndoRedoTester undoRedo = new UndoRedoTester(getApp());
+		undoRedo.setupUndoRedo();
+		getApp().storeUndoInfo();
+		for (int i = 0; i < 30; i++) {
+			add("a_{" + i + "}=" + i);
+			getApp().storeUndoInfo();
+		}
+		((GeoNumeric) lookup("a_{3}")).setValue(42);
+		getApp().storeUndoInfo();
+
+		GeoNumeric a3 = undoRedo.getAfterUndo("a_{3}");
+		assertThat(a3.getValue(), is(3.0));
+		for (int i = 0; i < 10; i++) {
+			undoRedo.undo();
+		}
+		assertThat(lookup("a_{20}") == null, is(true));
+		assertThat(((GeoNumeric) lookup("a_{19}")).getValue(), is(19.0));
+		for (int i = 0; i < 10; i++) {
+			undoRedo.redo();
+		}
+		a3 = undoRedo.getAfterRedo("a_{3}");
+		assertThat(a3.getValue(), is(42.0));
+		assertThat(((GeoNumeric) lookup("a_{29}")).getValue(), is(29.0));
+	}
+}
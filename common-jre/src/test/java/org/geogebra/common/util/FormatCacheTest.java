@@ -0,0 +1,66 @@
+package org.geogebra.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.arithmetic.ExpressionNodeConstants.StringType;
+import org.junit.Test;
+
+public class FormatCacheTest extends BaseUnitTest {
+
+	@Test
+	public void cacheShouldBeKeyedByContextAndBits() {
+		FormatCache cache = new FormatCache(100);
+		assertEquals(128, cache.getCapacity());
+		Object context = new Object();
+		cache.put(context, 0.0, "0");
+		assertEquals("0", cache.get(context, 0.0));
+		assertNull(cache.get(context, -0.0));
+		assertNull(cache.get(new Object(), 0.0));
+		assertEquals(1, cache.getHits());
+		assertEquals(2, cache.getMisses());
+		cache.clear();
+		assertNull(cache.get(context, 0.0));
+		assertEquals(0.25, cache.getHitRate(), DELTA);
+	}
+
+	@Test
+	public void formatShouldFollowPrintDecimals() {
+		Kernel kernel = getKernel();
+		StringTemplate tpl = StringTemplate.defaultTemplate;
+		kernel.setPrintDecimals(2);
+		for (int i = 0; i < 500; i++) {
+			assertEquals(i + ".5", kernel.format(i + 0.5, tpl));
+		}
+		kernel.getFormatCache().resetStatistics();
+		assertEquals("3.14", kernel.format(3.14159, tpl));
+		assertEquals("3.14", kernel.format(3.14159, tpl));
+		assertEquals(0.5, kernel.getFormatCache().getHitRate(), DELTA);
+
+		kernel.setPrintDecimals(4);
+		StringBuilder sb = new StringBuilder("x = ");
+		kernel.format(3.14159, tpl, sb);
+		assertEquals("x = 3.1416", sb.toString());
+		kernel.setPrintFigures(2);
+		assertEquals("3.1", kernel.format(3.14159, tpl));
+	}
+
+	@Test
+	public void digitTemplatesShouldBeReused() {
+		Kernel kernel = getKernel();
+		assertSame(StringTemplate.printDecimals(StringType.GEOGEBRA, 3, false),
+				StringTemplate.printDecimals(StringType.GEOGEBRA, 3, false));
+		assertSame(StringTemplate.printFigures(StringType.GEOGEBRA, 3, false),
+				StringTemplate.printFigures(StringType.GEOGEBRA, 3, false));
+		kernel.getFormatCache().resetStatistics();
+		for (int i = 0; i < 10; i++) {
+			assertEquals("3.142", kernel.format(3.14159, StringTemplate
+					.printDecimals(StringType.GEOGEBRA, 3, false)));
+		}
+		assertEquals(0.9, kernel.getFormatCache().getHitRate(), DELTA);
+	}
+}
@@ -0,0 +1,96 @@
+package org.geogebra.common.util.clipper;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.geogebra.common.jre.kernel.ForkJoinUpdateExecutor;
+import org.geogebra.common.util.clipper.Clipper.ClipType;
+import org.geogebra.common.util.clipper.Clipper.PolyType;
+import org.junit.Test;
+
+public class BatchUnionTest {
+
+	private static double[] square(double x, double y, double size,
+			boolean clockwise) {
+		if (clockwise) {
+			return new double[] { x, y, x, y + size, x + size, y + size,
+					x + size, y };
+		}
+		return new double[] { x, y, x + size, y, x + size, y + size, x,
+				y + size };
+	}
+
+	private static double area(Paths paths) {
+		double area = 0;
+		for (Path path : paths) {
+			area += path.area();
+		}
+		return area;
+	}
+
+	@Test
+	public void overlappingSquaresShouldBeUnited() {
+		List<double[]> squares = new ArrayList<>();
+		// 10 x 10 grid of unit squares overlapping by half in x, mixed
+		// orientation
+		for (int i = 0; i < 100; i++) {
+			squares.add(square(0.5 * (i % 10), i / 10, 1, i % 3 == 0));
+		}
+		Paths sequential = BatchUnion.union(squares, null);
+		assertEquals(1, sequential.size());
+		assertEquals(55, area(sequential), 1E-9);
+
+		ForkJoinUpdateExecutor executor = new ForkJoinUpdateExecutor(4);
+		try {
+			Paths parallel = BatchUnion.union(squares, executor);
+			assertEquals(1, parallel.size());
+			assertEquals(55, area(parallel), 1E-9);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void disjointSquaresShouldStaySeparate() {
+		List<double[]> squares = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			squares.add(square(2 * i, 0, 1, false));
+		}
+		Paths union = BatchUnion.union(squares, null);
+		assertEquals(40, union.size());
+		assertEquals(40, area(union), 1E-9);
+	}
+
+	@Test
+	public void packedPathsShouldMatchPointPaths() {
+		double[] subject = square(0, 0, 2, false);
+		double[] clip = square(1, 1, 2, false);
+		DefaultClipper packed = new DefaultClipper(Clipper.STRICTLY_SIMPLE);
+		Paths packedResult = new Paths();
+		DefaultClipper points = new DefaultClipper(Clipper.STRICTLY_SIMPLE);
+		Paths pointResult = new Paths();
+		// second run reuses the pooled edges
+		for (int run = 0; run < 2; run++) {
+			packed.clear();
+			packed.addPath(subject, 4, PolyType.SUBJECT, true);
+			packed.addPath(clip, 4, PolyType.CLIP, true);
+			packed.execute(ClipType.INTERSECTION, packedResult);
+		}
+		points.addPath(toPath(subject), PolyType.SUBJECT, true);
+		points.addPath(toPath(clip), PolyType.CLIP, true);
+		points.execute(ClipType.INTERSECTION, pointResult);
+		assertEquals(1, packedResult.size());
+		assertEquals(1, area(packedResult), 1E-9);
+		assertEquals(pointResult.get(0), packedResult.get(0));
+	}
+
+	private static Path toPath(double[] coords) {
+		Path path = new Path();
+		for (int i = 0; i < coords.length; i += 2) {
+			path.add(new Point.DoublePoint(coords[i], coords[i + 1]));
+		}
+		return path;
+	}
+}
@@ -0,0 +1,70 @@
+package org.geogebra.common.util.profiler;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.algos.AlgoMidpoint;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.move.ggtapi.models.json.JSONObject;
+import org.geogebra.common.util.profiler.Profiler.Category;
+import org.junit.Test;
+
+public class ProfilerTest extends BaseUnitTest {
+
+	@Test
+	public void disabledProfilerRecordsNothing() {
+		Profiler profiler = getKernel().getProfiler();
+		assertThat(profiler.start(), is(Profiler.OFF));
+		add("A=(1,2)");
+		add("B=(3,4)");
+		add("M=Midpoint(A,B)");
+		assertThat(profiler.getStatistics(Category.COMMAND, "Midpoint"),
+				nullValue());
+		assertThat(profiler.toJson().length(), is(1));
+	}
+
+	@Test
+	public void updatesAreGroupedByAlgoAndCommand() throws Exception {
+		Profiler profiler = getKernel().getProfiler();
+		profiler.setEnabled(true);
+		GeoPoint a = add("A=(1,2)");
+		add("B=(3,4)");
+		add("M=Midpoint(A,B)");
+		a.setCoords(2, 2, 1);
+		a.updateCascade();
+
+		assertThat(profiler.getStatistics(Category.COMMAND, "Midpoint")
+				.getCount(), is(1L));
+		assertThat(profiler.getStatistics(Category.ALGO, AlgoMidpoint.class)
+				.getCount(), is(1L));
+		assertThat(profiler.getStatistics(Category.CASCADE, GeoPoint.class),
+				notNullValue());
+
+		JSONObject json = new JSONObject(getApp().getGgbApi()
+				.getProfilingData());
+		assertThat(json.getJSONObject("algo").getJSONObject("AlgoMidpoint")
+				.getLong("count"), is(1L));
+		assertThat(json.getJSONObject("command").has("Midpoint"), is(true));
+
+		getApp().getGgbApi().resetProfilingData();
+		assertThat(profiler.getStatistics(Category.ALGO, AlgoMidpoint.class),
+				nullValue());
+		profiler.setEnabled(false);
+	}
+
+	@Test
+	public void histogramCountsDurations() throws Exception {
+		TimingStatistics stats = new TimingStatistics();
+		stats.add(500);
+		stats.add(3000);
+		stats.add(3000);
+		assertThat(stats.getCount(), is(3L));
+		assertThat(stats.getMax(), is(3000L));
+		JSONObject json = stats.toJson();
+		assertThat(json.getJSONArray("log2MicrosHistogram").toString(),
+				is("[1,2]"));
+	}
+}
@@ -0,0 +1,298 @@
+package org.geogebra.common.cas;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+/**
+ * Thread safe LRU cache for CAS results, bounded by (estimated) memory rather
+ * than by number of entries. Can be shared by several kernels, e.g. on a
+ * server evaluating the same inputs in many sessions.
+ *
+ * Keys are normalized (redundant whitespace removed), failed evaluations are
+ * not cached. Settings that change results (e.g. angle unit) have to be part
+ * of the key, see {@link org.geogebra.common.kernel.Kernel#getCasCacheKey}.
+ */
+public class CasResultCache {
+
+	/** default memory limit in bytes */
+	public static final long DEFAULT_MAX_BYTES = 1 << 20;
+	/** estimated memory of an entry without key and value strings */
+	private static final int ENTRY_OVERHEAD = 96;
+	/**
+	 * + and - may be unary, whitespace around them is kept; whitespace before
+	 * ( is only removed after another operator: x (A) is a product, x(A) a
+	 * function call
+	 */
+	private static final String OPERATOR_CHARS = "()[]{},;*/^=<>!:";
+
+	private final LinkedHashMap<String, String> map = new LinkedHashMap<>(16,
+			0.75f, true);
+	private long maxBytes;
+	private long bytes;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * Creates cache with default size limit.
+	 */
+	public CasResultCache() {
+		this(DEFAULT_MAX_BYTES);
+	}
+
+	/**
+	 * @param maxBytes
+	 *            memory limit in bytes
+	 */
+	public CasResultCache(long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * @param input
+	 *            CAS input
+	 * @return cached result or null
+	 */
+	public synchronized String get(String input) {
+		String result = map.get(normalize(input));
+		if (result == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return result;
+	}
+
+	/**
+	 * Stores result, unless it's an error.
+	 *
+	 * @param input
+	 *            CAS input
+	 * @param result
+	 *            CAS result
+	 */
+	public synchronized void put(String input, String result) {
+		if (result == null || "?".equals(result)) {
+			return;
+		}
+		String key = normalize(input);
+		String old = map.put(key, result);
+		if (old != null) {
+			bytes -= weight(key, old);
+		}
+		bytes += weight(key, result);
+		evict();
+	}
+
+	private void evict() {
+		Iterator<Entry<String, String>> it = map.entrySet().iterator();
+		while (bytes > maxBytes && it.hasNext()) {
+			Entry<String, String> eldest = it.next();
+			bytes -= weight(eldest.getKey(), eldest.getValue());
+			it.remove();
+			evictions++;
+		}
+	}
+
+	private static long weight(String key, String value) {
+		return ENTRY_OVERHEAD + 2L * (key.length() + value.length());
+	}
+
+	/**
+	 * Removes whitespace around operators and collapses other whitespace
+	 * (implicit multiplication) to a single space; quoted text is kept as is.
+	 *
+	 * @param input
+	 *            CAS input
+	 * @return normalized input
+	 */
+	public static String normalize(String input) {
+		StringBuilder sb = null;
+		boolean quoted = false;
+		boolean pendingSpace = false;
+		int length = input.length();
+		for (int i = 0; i < length; i++) {
+			char c = input.charAt(i);
+			if (!quoted && isWhitespace(c)) {
+				if (sb == null) {
+					sb = new StringBuilder(length);
+					sb.append(input, 0, i);
+				}
+				pendingSpace = true;
+				continue;
+			}
+			if (sb != null) {
+				if (pendingSpace && sb.length() > 0
+						&& (c == '(' || !isOperator(c))
+						&& !isOperator(sb.charAt(sb.length() - 1))) {
+					sb.append(' ');
+				}
+				sb.append(c);
+			}
+			pendingSpace = false;
+			if (c == '"') {
+				quoted = !quoted;
+			}
+		}
+		return sb == null ? input : sb.toString();
+	}
+
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+	}
+
+	private static boolean isOperator(char c) {
+		return OPERATOR_CHARS.indexOf(c) >= 0;
+	}
+
+	/**
+	 * Removes all entries; statistics are kept.
+	 */
+	public synchronized void clear() {
+		map.clear();
+		bytes = 0;
+	}
+
+	/**
+	 * @param maxBytes
+	 *            new memory limit in bytes
+	 */
+	public synchronized void setMaxBytes(long maxBytes) {
+		this.maxBytes = maxBytes;
+		evict();
+	}
+
+	/**
+	 * @return number of entries
+	 */
+	public synchronized int size() {
+		return map.size();
+	}
+
+	/**
+	 * @return estimated memory used by entries in bytes
+	 */
+	public synchronized long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * @return number of successful lookups
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return number of failed lookups
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return number of entries removed to stay within memory limit
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * @return ratio of successful lookups, 0 if there were no lookups
+	 */
+	public synchronized double getHitRate() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : hits / (double) lookups;
+	}
+
+	/**
+	 * Serializes entries (least recently used first), one per line, key and
+	 * value separated by tab.
+	 *
+	 * @param sb
+	 *            output builder
+	 */
+	public synchronized void write(StringBuilder sb) {
+		for (Entry<String, String> entry : map.entrySet()) {
+			escape(sb, entry.getKey());
+			sb.append('\t');
+			escape(sb, entry.getValue());
+			sb.append('\n');
+		}
+	}
+
+	/**
+	 * Adds entries serialized by {@link #write(StringBuilder)}, malformed lines
+	 * are skipped.
+	 *
+	 * @param data
+	 *            serialized entries
+	 * @return number of entries read
+	 */
+	public synchronized int read(String data) {
+		int count = 0;
+		for (String line : data.split("\n")) {
+			int tab = line.indexOf('\t');
+			if (tab > 0) {
+				put(unescape(line.substring(0, tab)),
+						unescape(line.substring(tab + 1)));
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static void escape(StringBuilder sb, String str) {
+		for (int i = 0; i < str.length(); i++) {
+			char c = str.charAt(i);
+			switch (c) {
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\t':
+				sb.append("\\t");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			case '\r':
+				sb.append("\\r");
+				break;
+			default:
+				sb.append(c);
+			}
+		}
+	}
+
+	private static String unescape(String str) {
+		if (str.indexOf('\\') < 0) {
+			return str;
+		}
+		StringBuilder sb = new StringBuilder(str.length());
+		for (int i = 0; i < str.length(); i++) {
+			char c = str.charAt(i);
+			if (c == '\\' && i + 1 < str.length()) {
+				i++;
+				char next = str.charAt(i);
+				switch (next) {
+				case 't':
+					sb.append('\t');
+					break;
+				case 'n':
+					sb.append('\n');
+					break;
+				case 'r':
+					sb.append('\r');
+					break;
+				default:
+					sb.append(next);
+				}
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,313 @@
+package org.geogebra.common.cas;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.geogebra.common.cas.giac.CASgiac;
+import org.geogebra.common.factories.UtilFactory;
+import org.geogebra.common.kernel.AsynchronousCommand;
+import org.geogebra.common.kernel.CASException;
+import org.geogebra.common.kernel.CASGenericInterface;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.UpdateExecutor;
+import org.geogebra.common.kernel.arithmetic.Command;
+import org.geogebra.common.kernel.arithmetic.ValidExpression;
+import org.geogebra.common.main.MyError.Errors;
+import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.profiler.Profiler.Category;
+import org.geogebra.common.util.profiler.TimingStatistics;
+
+/**
+ * Collects CAS requests of {@link AsynchronousCommand}s and evaluates them in
+ * batches, e.g. all requests made while a file is loading. Identical inputs
+ * within a batch are evaluated once. With an {@link UpdateExecutor}, Giac
+ * calls are distributed over several Giac instances, each with its own
+ * context; parsing and conversion of the results stay on the calling thread.
+ *
+ * Only inputs that contain values rather than variable names (see
+ * {@link Kernel#evaluateCachedGeoGebraCAS}) may be queued, as they are
+ * evaluated out of order. So far only Limit, LimitAbove and LimitBelow use the
+ * queue, while a file is loading; their results are delivered when loading
+ * ends, before the load call returns.
+ */
+public class CasWorkQueue {
+
+	/** default number of Giac instances used with an executor */
+	public static final int DEFAULT_WORKERS = 4;
+	/** commands with special handling in {@link CASgiac} */
+	private static final String[] DIRECT_COMMANDS = { "KeepInput", "Delete",
+			"Numeric" };
+
+	private final Kernel kernel;
+	private final ArrayList<Request> pending = new ArrayList<>();
+	private final ArrayList<CASGenericInterface> workers = new ArrayList<>();
+	private int workerCount = DEFAULT_WORKERS;
+	private final TimingStatistics latency = new TimingStatistics();
+	private long evaluations;
+
+	private static final class Request {
+		final AsynchronousCommand command;
+		final String input;
+		final long submitted;
+		final long profilerStart;
+
+		Request(AsynchronousCommand command, String input, long submitted,
+				long profilerStart) {
+			this.command = command;
+			this.input = input;
+			this.submitted = submitted;
+			this.profilerStart = profilerStart;
+		}
+	}
+
+	/** requests with the same input */
+	private static final class Batch {
+		final ArrayList<Request> requests = new ArrayList<>();
+		String giacInput;
+		String plainResult;
+		String result;
+		Throwable error;
+	}
+
+	/**
+	 * @param kernel
+	 *            kernel
+	 */
+	public CasWorkQueue(Kernel kernel) {
+		this.kernel = kernel;
+	}
+
+	/**
+	 * @param workerCount
+	 *            maximal number of Giac instances used with an executor
+	 */
+	public void setWorkerCount(int workerCount) {
+		this.workerCount = Math.max(1, workerCount);
+	}
+
+	/**
+	 * Adds a request; cached results are delivered immediately, others on the
+	 * next {@link #flush()}.
+	 *
+	 * @param command
+	 *            command waiting for the result of
+	 *            {@link AsynchronousCommand#getCasInput()}
+	 */
+	public void submit(AsynchronousCommand command) {
+		String input = command.getCasInput();
+		if (command.useCacheing() && kernel.hasCasCache()) {
+			String cached = kernel.getCasCache()
+					.get(kernel.getCasCacheKey(input));
+			if (cached != null) {
+				latency.add(0);
+				command.handleCASoutput(cached, input.hashCode());
+				return;
+			}
+		}
+		pending.add(new Request(command, input, now(),
+				kernel.getProfiler().start()));
+	}
+
+	/**
+	 * @return whether there are requests waiting for {@link #flush()}
+	 */
+	public boolean isEmpty() {
+		return pending.isEmpty();
+	}
+
+	/**
+	 * Evaluates all pending requests and delivers the results.
+	 */
+	public void flush() {
+		if (pending.isEmpty()) {
+			return;
+		}
+		LinkedHashMap<String, Batch> batches = new LinkedHashMap<>();
+		for (Request request : pending) {
+			String key = CasResultCache.normalize(request.input);
+			Batch batch = batches.get(key);
+			if (batch == null) {
+				batch = new Batch();
+				batches.put(key, batch);
+			}
+			batch.requests.add(request);
+		}
+		ArrayList<Request> requests = new ArrayList<>(pending);
+		pending.clear();
+
+		ArrayList<Batch> giacBatches = new ArrayList<>();
+		for (Batch batch : batches.values()) {
+			prepare(batch);
+			if (batch.giacInput != null) {
+				giacBatches.add(batch);
+			}
+		}
+		evaluations += batches.size();
+		evaluate(giacBatches);
+		for (Batch batch : giacBatches) {
+			convertResult(batch);
+		}
+
+		for (Request request : requests) {
+			Batch batch = batches.get(CasResultCache.normalize(request.input));
+			deliver(request, batch);
+		}
+	}
+
+	/**
+	 * Removes the Giac instances used with an executor, including their
+	 * settings listeners. Needed when the kernel stops using the executor,
+	 * otherwise the settings would keep the instances alive.
+	 */
+	public void releaseWorkers() {
+		for (CASGenericInterface worker : workers) {
+			kernel.getApplication().getSettings().getCasSettings()
+					.removeListener(worker);
+		}
+		workers.clear();
+	}
+
+	/**
+	 * @return number of Giac instances used with an executor
+	 */
+	public int getWorkerCount() {
+		return workers.size();
+	}
+
+	/**
+	 * @return latency of delivered requests from submission to delivery
+	 */
+	public TimingStatistics getLatencyStatistics() {
+		return latency;
+	}
+
+	/**
+	 * @return number of CAS evaluations; lower than the number of delivered
+	 *         requests if there were duplicates
+	 */
+	public long getEvaluationCount() {
+		return evaluations;
+	}
+
+	/**
+	 * Translates the input to Giac or, for inputs needing special treatment,
+	 * evaluates it directly.
+	 */
+	private void prepare(Batch batch) {
+		String input = batch.requests.get(0).input;
+		try {
+			CASGenericInterface cas = kernel.getGeoGebraCAS().getCurrentCAS();
+			ValidExpression ve = ((CASparser) kernel.getGeoGebraCAS()
+					.getCASparser()).parseGeoGebraCASInput(input, null);
+			if (!(cas instanceof CASgiac) || isDirect(ve)) {
+				batch.result = kernel.getGeoGebraCAS().evaluateGeoGebraCAS(
+						input, null, StringTemplate.numericNoLocal, kernel);
+				return;
+			}
+			batch.giacInput = ((CASgiac) cas).casParser.translateToCAS(ve,
+					StringTemplate.giacTemplate, cas);
+		} catch (Throwable t) {
+			batch.error = t;
+		}
+	}
+
+	private static boolean isDirect(ValidExpression ve) {
+		Command cmd = ve.getTopLevelCommand();
+		if (cmd != null) {
+			for (String name : DIRECT_COMMANDS) {
+				if (name.equals(cmd.getName())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private void evaluate(final List<Batch> giacBatches) {
+		UpdateExecutor executor = kernel.getUpdateExecutor();
+		int count = Math.min(workerCount, giacBatches.size());
+		if (executor == null || count < 2) {
+			CASGenericInterface cas = kernel.getGeoGebraCAS().getCurrentCAS();
+			for (Batch batch : giacBatches) {
+				evaluate(cas, batch);
+			}
+			return;
+		}
+		while (workers.size() < count) {
+			CASGenericInterface worker = kernel.getApplication()
+					.getCASFactory().newGiac((CASparser) kernel
+							.getGeoGebraCAS().getCASparser(), kernel);
+			kernel.getApplication().getSettings().getCasSettings()
+					.addListener(worker);
+			workers.add(worker);
+		}
+		List<Runnable> tasks = new ArrayList<>(count);
+		for (int w = 0; w < count; w++) {
+			final CASGenericInterface worker = workers.get(w);
+			final int first = w;
+			final int step = count;
+			// each Giac context is used by a single thread
+			tasks.add(new Runnable() {
+				@Override
+				public void run() {
+					for (int i = first; i < giacBatches.size(); i += step) {
+						evaluate(worker, giacBatches.get(i));
+					}
+				}
+			});
+		}
+		executor.runAll(tasks);
+	}
+
+	private static void evaluate(CASGenericInterface cas, Batch batch) {
+		try {
+			batch.plainResult = cas.evaluateCAS(batch.giacInput);
+		} catch (Throwable t) {
+			batch.error = t;
+		}
+	}
+
+	private void convertResult(Batch batch) {
+		if (batch.error != null || batch.plainResult == null
+				|| batch.plainResult.isEmpty()) {
+			return;
+		}
+		try {
+			CASgiac cas = (CASgiac) kernel.getGeoGebraCAS().getCurrentCAS();
+			String result = cas.toGeoGebraString(batch.plainResult, null,
+					StringTemplate.numericNoLocal, kernel);
+			batch.result = Kernel.removeCASVariablePrefix(result, " ");
+		} catch (CASException e) {
+			batch.error = e;
+		}
+	}
+
+	private void deliver(Request request, Batch batch) {
+		int id = request.input.hashCode();
+		try {
+			if (batch.error != null) {
+				request.command.handleException(batch.error, id);
+			} else if (batch.result == null) {
+				request.command.handleException(new CASException(
+						Errors.CASGeneralErrorMessage
+								.getError(kernel.getLocalization())),
+						id);
+			} else {
+				request.command.handleCASoutput(batch.result, id);
+				if (request.command.useCacheing()) {
+					kernel.putToCasCache(request.input, batch.result);
+				}
+			}
+		} catch (RuntimeException e) {
+			Log.debug("CAS result not handled: " + e.getMessage());
+		}
+		latency.add(now() - request.submitted);
+		kernel.getProfiler().stop(Category.CAS, "Queue", request.profilerStart);
+	}
+
+	private static long now() {
+		return UtilFactory.getPrototype().getNanoTime();
+	}
+}
@@ -43,6 +43,8 @@ import org.geogebra.common.main.MyError.Errors;
 import org.geogebra.common.main.error.ErrorHelper;
 import org.geogebra.common.util.MaxSizeHashMap;
 import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.profiler.Profiler;
+import org.geogebra.common.util.profiler.Profiler.Category;
 
 import com.google.j2objc.annotations.Weak;
 
@@ -136,12 +138,19 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 		}
 		String result = null;
 		CASException exception = null;
+		Profiler profiler = app.getKernel().getProfiler();
+		long start = profiler.start();
 		try {
 			result = getCurrentCAS().evaluateGeoGebraCAS(casInput, arbconst,
 					tpl, cell, kernel);
 		} catch (CASException ce) {
 			exception = ce;
 		}
+		if (start != Profiler.OFF) {
+			Command command = casInput.getTopLevelCommand();
+			profiler.stop(Category.CAS,
+					command == null ? "Evaluate" : command.getName(), start);
+		}
 
 		// check if keep input command was successful
 		// e.g. for KeepInput[Substitute[...]]
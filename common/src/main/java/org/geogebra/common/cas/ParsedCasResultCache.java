@@ -0,0 +1,150 @@
+package org.geogebra.common.cas;
+
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.arithmetic.ExpressionNode;
+import org.geogebra.common.kernel.arithmetic.ExpressionValue;
+import org.geogebra.common.kernel.arithmetic.Function;
+import org.geogebra.common.kernel.arithmetic.FunctionNVar;
+import org.geogebra.common.kernel.arithmetic.FunctionVariable;
+import org.geogebra.common.kernel.arithmetic.Inspecting;
+import org.geogebra.common.kernel.arithmetic.Traversing.Replacer;
+import org.geogebra.common.util.MaxSizeHashMap;
+
+/**
+ * Cache for CAS results parsed back into functions, so that repeated
+ * evaluations with the same result (e.g. from {@link CasResultCache}) don't
+ * parse the result string again. Stored functions are never handed out:
+ * {@link #get(String)} returns a deep copy with new function variables.
+ *
+ * Functions referring to labeled or dependent elements are not stored, as
+ * their parsed form depends on the construction.
+ */
+public class ParsedCasResultCache {
+
+	/** default maximal number of entries */
+	public static final int DEFAULT_MAX_SIZE = 500;
+
+	private final Kernel kernel;
+	private final MaxSizeHashMap<String, Entry> map;
+
+	private long hits;
+	private long misses;
+	private long savedNanos;
+
+	private static final class Entry {
+		final FunctionNVar function;
+		final long parseNanos;
+
+		Entry(FunctionNVar function, long parseNanos) {
+			this.function = function;
+			this.parseNanos = parseNanos;
+		}
+	}
+
+	/**
+	 * @param kernel
+	 *            kernel of the cached functions
+	 */
+	public ParsedCasResultCache(Kernel kernel) {
+		this(kernel, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * @param kernel
+	 *            kernel of the cached functions
+	 * @param maxSize
+	 *            maximal number of entries
+	 */
+	public ParsedCasResultCache(Kernel kernel, int maxSize) {
+		this.kernel = kernel;
+		this.map = new MaxSizeHashMap<>(maxSize);
+	}
+
+	/**
+	 * @param key
+	 *            function definition without label, e.g. "(x) = 2x"
+	 * @return copy of the cached function or null
+	 */
+	public synchronized FunctionNVar get(String key) {
+		Entry entry = map.get(key);
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		savedNanos += entry.parseNanos;
+		return copy(entry.function);
+	}
+
+	/**
+	 * Stores a copy of the function unless it depends on construction
+	 * elements.
+	 *
+	 * @param key
+	 *            function definition without label, e.g. "(x) = 2x"
+	 * @param function
+	 *            parsed function
+	 * @param parseNanos
+	 *            time needed to parse the function in nanoseconds
+	 */
+	public synchronized void put(String key, FunctionNVar function,
+			long parseNanos) {
+		if (function == null || function.getFunctionVariables() == null
+				|| function.getExpression()
+						.inspect(Inspecting.dynamicGeosFinder)) {
+			return;
+		}
+		map.put(key, new Entry(copy(function), parseNanos));
+	}
+
+	private FunctionNVar copy(FunctionNVar function) {
+		FunctionVariable[] oldVars = function.getFunctionVariables();
+		FunctionVariable[] vars = new FunctionVariable[oldVars.length];
+		ExpressionValue ev = function.getExpression().getCopy(kernel);
+		for (int i = 0; i < vars.length; i++) {
+			vars[i] = oldVars[i].deepCopy(kernel);
+			ev = ev.traverse(Replacer.getReplacer(oldVars[i], vars[i]));
+		}
+		ExpressionNode expression = ev.wrap();
+		FunctionNVar ret = function instanceof Function
+				? new Function(expression, vars[0])
+				: new FunctionNVar(expression, vars);
+		ret.initFunction();
+		return ret;
+	}
+
+	/**
+	 * Removes all entries; statistics are kept.
+	 */
+	public synchronized void clear() {
+		map.clear();
+	}
+
+	/**
+	 * @return number of entries
+	 */
+	public synchronized int size() {
+		return map.size();
+	}
+
+	/**
+	 * @return number of successful lookups
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return number of failed lookups
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return parse time saved by successful lookups in nanoseconds
+	 */
+	public synchronized long getSavedParseTime() {
+		return savedNanos;
+	}
+}
@@ -0,0 +1,325 @@
+package org.geogebra.common.euclidian;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+import org.geogebra.common.awt.GRectangle;
+
+/**
+ * Uniform grid of the screen bounding boxes of drawables, used to find the
+ * drawables that may be hit near a point or inside a rectangle without
+ * testing all of them.
+ *
+ * Bounds are only taken from drawables that were painted since their last
+ * change, because labels are measured while drawing. Until then (and for
+ * drawables without finite bounds) a drawable is always returned as a
+ * candidate.
+ */
+public class DrawableIndex {
+
+	/** size of a grid cell in pixels */
+	private static final int CELL_SIZE = 64;
+	/** drawables spanning more cells are always tested */
+	private static final int MAX_CELLS = 256;
+	/** below this size all drawables are tested */
+	private static final int MIN_INDEXED = 64;
+	/** extra pixels around the bounds, hit tests may include the stroke */
+	private static final int SLACK = 4;
+
+	private static final Comparator<Entry> BY_POSITION = new Comparator<Entry>() {
+		@Override
+		public int compare(Entry a, Entry b) {
+			return a.position - b.position;
+		}
+	};
+
+	private final DrawableList list;
+	private final HashMap<Integer, ArrayList<Entry>> cells = new HashMap<>();
+	private final HashMap<Drawable, Entry> entries = new HashMap<>();
+	/** entries not in any cell */
+	private final ArrayList<Entry> unbounded = new ArrayList<>();
+	private final ArrayList<Entry> dirty = new ArrayList<>();
+	private final ArrayList<Entry> found = new ArrayList<>();
+	private final ArrayList<Drawable> candidates = new ArrayList<>();
+
+	private int listVersion = -1;
+	private int paintCount;
+	private int queryStamp;
+	private int lastCandidateCount;
+	private long queryCount;
+	private long candidateCount;
+
+	private static final class Entry {
+		final Drawable drawable;
+		int position;
+		boolean isDirty;
+		boolean inCells;
+		int dirtySince;
+		int stamp;
+		int minCol;
+		int minRow;
+		int maxCol;
+		int maxRow;
+
+		Entry(Drawable drawable) {
+			this.drawable = drawable;
+		}
+	}
+
+	/**
+	 * @param list
+	 *            drawables of the view, in drawing order
+	 */
+	public DrawableIndex(DrawableList list) {
+		this.list = list;
+	}
+
+	/**
+	 * Marks the bounds of a drawable as outdated.
+	 *
+	 * @param d
+	 *            updated drawable
+	 */
+	public void markDirty(Drawable d) {
+		Entry entry = entries.get(d);
+		if (entry != null) {
+			markDirty(entry);
+		}
+	}
+
+	/**
+	 * Marks the bounds of all drawables as outdated, e.g. after zooming.
+	 */
+	public void invalidate() {
+		listVersion = -1;
+	}
+
+	/**
+	 * Needs to be called after the drawables were painted.
+	 */
+	public void notifyPainted() {
+		paintCount++;
+	}
+
+	/**
+	 * Returns the drawables whose bounds intersect the given rectangle (or
+	 * that are not indexed), in drawing order. The returned list is reused by
+	 * the next query.
+	 *
+	 * @param x
+	 *            left edge in screen coordinates
+	 * @param y
+	 *            top edge in screen coordinates
+	 * @param width
+	 *            width
+	 * @param height
+	 *            height
+	 * @return candidates for hit testing
+	 */
+	public List<Drawable> getCandidates(int x, int y, int width, int height) {
+		if (list.size() < MIN_INDEXED) {
+			count(list.size());
+			return list;
+		}
+		if (listVersion != list.getVersion()) {
+			rebuild();
+		}
+		refreshDirty();
+		queryStamp++;
+		found.clear();
+		for (Entry entry : unbounded) {
+			addFound(entry);
+		}
+		int maxCol = cell(x + width);
+		int maxRow = cell(y + height);
+		for (int col = cell(x); col <= maxCol; col++) {
+			for (int row = cell(y); row <= maxRow; row++) {
+				ArrayList<Entry> cell = cells.get(key(col, row));
+				if (cell != null) {
+					for (Entry entry : cell) {
+						addFound(entry);
+					}
+				}
+			}
+		}
+		Collections.sort(found, BY_POSITION);
+		candidates.clear();
+		for (Entry entry : found) {
+			candidates.add(entry.drawable);
+		}
+		count(candidates.size());
+		return candidates;
+	}
+
+	/**
+	 * @param rect
+	 *            screen rectangle
+	 * @return candidates for hit testing, see
+	 *         {@link #getCandidates(int, int, int, int)}
+	 */
+	public List<Drawable> getCandidates(GRectangle rect) {
+		return getCandidates((int) Math.floor(rect.getX()),
+				(int) Math.floor(rect.getY()),
+				(int) Math.ceil(rect.getWidth()),
+				(int) Math.ceil(rect.getHeight()));
+	}
+
+	/**
+	 * @return number of drawables returned by the last query
+	 */
+	public int getLastCandidateCount() {
+		return lastCandidateCount;
+	}
+
+	/**
+	 * @return average number of drawables returned per query
+	 */
+	public double getAverageCandidateCount() {
+		return queryCount == 0 ? 0 : candidateCount / (double) queryCount;
+	}
+
+	private void count(int size) {
+		lastCandidateCount = size;
+		queryCount++;
+		candidateCount += size;
+	}
+
+	private void addFound(Entry entry) {
+		if (entry.stamp != queryStamp) {
+			entry.stamp = queryStamp;
+			found.add(entry);
+		}
+	}
+
+	private void rebuild() {
+		cells.clear();
+		entries.clear();
+		unbounded.clear();
+		dirty.clear();
+		for (int i = 0; i < list.size(); i++) {
+			Entry entry = new Entry(list.get(i));
+			entry.position = i;
+			entries.put(entry.drawable, entry);
+			unbounded.add(entry);
+			markDirty(entry);
+		}
+		listVersion = list.getVersion();
+	}
+
+	private void markDirty(Entry entry) {
+		entry.dirtySince = paintCount;
+		if (!entry.isDirty) {
+			entry.isDirty = true;
+			removeFromCells(entry);
+			dirty.add(entry);
+		}
+	}
+
+	private void refreshDirty() {
+		int kept = 0;
+		boolean indexed = false;
+		for (int i = 0; i < dirty.size(); i++) {
+			Entry entry = dirty.get(i);
+			if (entry.dirtySince == paintCount
+					|| entry.drawable.needsUpdate()) {
+				dirty.set(kept++, entry);
+			} else {
+				entry.isDirty = false;
+				indexed = addToCells(entry) || indexed;
+			}
+		}
+		truncate(dirty, kept);
+		if (indexed) {
+			kept = 0;
+			for (int i = 0; i < unbounded.size(); i++) {
+				Entry entry = unbounded.get(i);
+				if (!entry.inCells) {
+					unbounded.set(kept++, entry);
+				}
+			}
+			truncate(unbounded, kept);
+		}
+	}
+
+	private static void truncate(ArrayList<Entry> entryList, int size) {
+		for (int i = entryList.size() - 1; i >= size; i--) {
+			entryList.remove(i);
+		}
+	}
+
+	/**
+	 * @return whether the entry was added to the grid; the caller needs to
+	 *         remove it from the unbounded entries then
+	 */
+	private boolean addToCells(Entry entry) {
+		GRectangle bounds = entry.drawable.getBounds();
+		GRectangle label = entry.drawable.labelRectangle;
+		if (bounds == null) {
+			return false;
+		}
+		double minX = bounds.getX();
+		double minY = bounds.getY();
+		double maxX = minX + bounds.getWidth();
+		double maxY = minY + bounds.getHeight();
+		if (label != null && label.getWidth() > 0) {
+			minX = Math.min(minX, label.getX());
+			minY = Math.min(minY, label.getY());
+			maxX = Math.max(maxX, label.getX() + label.getWidth());
+			maxY = Math.max(maxY, label.getY() + label.getHeight());
+		}
+		int slack = SLACK + entry.drawable.geo.getLineThickness();
+		double cols = (maxX - minX + 2 * slack) / CELL_SIZE + 1;
+		double rows = (maxY - minY + 2 * slack) / CELL_SIZE + 1;
+		// also false for NaN
+		if (!(cols * rows <= MAX_CELLS)) {
+			return false;
+		}
+		entry.inCells = true;
+		entry.minCol = cell((int) Math.floor(minX) - slack);
+		entry.minRow = cell((int) Math.floor(minY) - slack);
+		entry.maxCol = cell((int) Math.ceil(maxX) + slack);
+		entry.maxRow = cell((int) Math.ceil(maxY) + slack);
+		for (int col = entry.minCol; col <= entry.maxCol; col++) {
+			for (int row = entry.minRow; row <= entry.maxRow; row++) {
+				Integer key = key(col, row);
+				ArrayList<Entry> cell = cells.get(key);
+				if (cell == null) {
+					cell = new ArrayList<>(4);
+					cells.put(key, cell);
+				}
+				cell.add(entry);
+			}
+		}
+		return true;
+	}
+
+	private void removeFromCells(Entry entry) {
+		if (!entry.inCells) {
+			return;
+		}
+		entry.inCells = false;
+		for (int col = entry.minCol; col <= entry.maxCol; col++) {
+			for (int row = entry.minRow; row <= entry.maxRow; row++) {
+				ArrayList<Entry> cell = cells.get(key(col, row));
+				if (cell != null) {
+					cell.remove(entry);
+				}
+			}
+		}
+		unbounded.add(entry);
+	}
+
+	private static int cell(int coord) {
+		return coord >= 0 ? coord / CELL_SIZE : -1 - (-1 - coord) / CELL_SIZE;
+	}
+
+	/**
+	 * Cells far apart may share a key, which only adds candidates.
+	 */
+	private static Integer key(int col, int row) {
+		return (col << 16) ^ (row & 0xFFFF);
+	}
+}
@@ -27,6 +27,8 @@ import org.geogebra.common.kernel.geos.GeoPriorityComparator;
 public class DrawableList extends ArrayList<Drawable> {
 
 	private Comparator<Drawable> comparator;
+	/** incremented whenever drawables are added, removed or reordered */
+	private int version;
 
 	/**
 	 * Create a DrawableList with the given GeoPriorityComparator
@@ -55,6 +57,38 @@ public class DrawableList extends ArrayList<Drawable> {
 		return true;
 	}
 
+	@Override
+	public void add(int index, Drawable d) {
+		version++;
+		super.add(index, d);
+	}
+
+	@Override
+	public boolean remove(Object d) {
+		version++;
+		return super.remove(d);
+	}
+
+	@Override
+	public Drawable remove(int index) {
+		version++;
+		return super.remove(index);
+	}
+
+	@Override
+	public void clear() {
+		version++;
+		super.clear();
+	}
+
+	/**
+	 * @return number of structural changes (additions, removals, sorting) so
+	 *         far
+	 */
+	public int getVersion() {
+		return version;
+	}
+
 	/**
 	 * Draws all drawables in the list.
 	 * 
@@ -82,7 +116,11 @@ public class DrawableList extends ArrayList<Drawable> {
 		}
 	}
 
+	/**
+	 * Sorts drawables by priority
+	 */
 	public void sort() {
+		version++;
 		Collections.sort(this, comparator);
 	}
 }
@@ -92,6 +92,8 @@ import org.geogebra.common.util.NumberFormatAdapter;
 import org.geogebra.common.util.StringUtil;
 import org.geogebra.common.util.debug.Log;
 import org.geogebra.common.util.debug.crashlytics.CrashlyticsLogger;
+import org.geogebra.common.util.profiler.Profiler;
+import org.geogebra.common.util.profiler.Profiler.Category;
 
 import com.google.j2objc.annotations.Weak;
 import com.himamis.retex.editor.share.util.Unicode;
@@ -287,6 +289,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	private ArrayList<GeoPointND> stickyPointList = new ArrayList<>();
 
 	private DrawableList allDrawableList;
+	private DrawableIndex drawableIndex;
 
 	// on add: change resetLists()
 	/** list of background images */
@@ -599,6 +602,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		logToCrashlytics("EuclidianView.allDrawableList reinitialized at EuclidianView.init(",
 				"EuclidianController ec, int viewNo, EuclidianSettings settings)");
 		allDrawableList = new DrawableList(cmp);
+		drawableIndex = new DrawableIndex(allDrawableList);
 		bgImageList = new DrawableList(cmp);
 
 		initAxesValues();
@@ -1722,6 +1726,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 			return;
 		}
 		allDrawableList.updateAll();
+		drawableIndex.invalidate();
 		if (repaint) {
 			repaint();
 		}
@@ -1738,6 +1743,13 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		return allDrawableList;
 	}
 
+	/**
+	 * @return index of drawable bounds for hit testing
+	 */
+	public DrawableIndex getDrawableIndex() {
+		return drawableIndex;
+	}
+
 	/**
 	 * Called when the drawing priorities of the objects in the view have changed
 	 */
@@ -1763,6 +1775,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		for (Drawable d : bgImageList) {
 			d.updateForView();
 		}
+		drawableIndex.invalidate();
 		isCrashlyticsLoggingEnabled = false;
 
 		GeoElement focused = app.getSelectionManager().getFocusedGroupElement();
@@ -1791,6 +1804,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		this.batchUpdate = false;
 		if (this.needsAllDrawablesUpdate) {
 			allDrawableList.updateAll();
+			drawableIndex.invalidate();
 			repaint();
 		}
 	}
@@ -1924,6 +1938,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		Object d = drawableMap.get(geo);
 		if (d != null) {
 			((Drawable) d).update();
+			drawableIndex.markDirty((Drawable) d);
 			repaint();
 		}
 	}
@@ -1944,7 +1959,13 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 			} else if (!needsSynchUpdate(geo, d.isTracing())) {
 				d.setNeedsUpdate(true);
 			} else {
+				Profiler profiler = kernel.getProfiler();
+				long start = profiler.start();
 				d.update();
+				profiler.stop(Category.DRAWABLE, d.getClass(), start);
+			}
+			if (d instanceof Drawable) {
+				drawableIndex.markDirty((Drawable) d);
 			}
 			if (geo == app.getSelectionManager().getFocusedGroupElement()
 					&& focusedGroupGeoBoundingBox != null) {
@@ -2418,6 +2439,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		for (Drawable d : allDrawableList) {
 			d.updateFontSize();
 		}
+		drawableIndex.invalidate();
 		repaint();
 	}
 
@@ -3508,6 +3530,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		}
 		adjustObjects();
 		drawMasks(g2);
+		drawableIndex.notifyPainted();
 	}
 
 	/**
@@ -3596,6 +3619,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	 *            graphics
 	 */
 	public void paint(GGraphics2D g2) {
+		long start = kernel.getProfiler().start();
 		synchronized (kernel.getConcurrentModificationLock()) {
 			// synchronized means that no two Threads can simultaneously
 			// enter any blocks locked by the same lock object,
@@ -3606,6 +3630,20 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 			companion.paint(g2);
 			getEuclidianController().getPen().setStyleAndRepaint(g2);
 		}
+		stopRepaintProfiling(start);
+	}
+
+	/**
+	 * Records repaint time of this view, keyed by view ID.
+	 * 
+	 * @param start
+	 *            result of {@link Profiler#start()}
+	 */
+	protected void stopRepaintProfiling(long start) {
+		if (start != Profiler.OFF) {
+			kernel.getProfiler().stop(Category.VIEW, "view" + getViewID(),
+					start);
+		}
 	}
 
 	/**
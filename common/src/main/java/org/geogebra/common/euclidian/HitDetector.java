@@ -42,7 +42,9 @@ public class HitDetector {
 		}
 		boolean hitMask = false;
 
-		for (Drawable d : view.getAllDrawableList()) {
+		for (Drawable d : view.getDrawableIndex().getCandidates(
+				p.x - hitThreshold, p.y - hitThreshold, 2 * hitThreshold,
+				2 * hitThreshold)) {
 			if (d.isEuclidianVisible()) {
 				if (d.hit(p.x, p.y, hitThreshold)) {
 					GeoElement geo = d.getGeoElement();
@@ -170,7 +172,7 @@ public class HitDetector {
 			return;
 		}
 
-		for (Drawable d : view.getAllDrawableList()) {
+		for (Drawable d : view.getDrawableIndex().getCandidates(rect)) {
 			GeoElement geo = d.getGeoElement();
 			if (geo.isEuclidianVisible() && geo.isSelectionAllowed(view)
 					&& filter.check(geo) && !hits.contains(geo)
@@ -201,7 +203,7 @@ public class HitDetector {
 			return;
 		}
 
-		for (Drawable d : view.getAllDrawableList()) {
+		for (Drawable d : view.getDrawableIndex().getCandidates(rect)) {
 			GeoElement geo = d.getGeoElement();
 			if (geo.isEuclidianVisible() && d.isInside(rect)) {
 				hits.add(geo);
@@ -18,6 +18,7 @@ import org.geogebra.common.euclidian.EuclidianStatic;
 import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.euclidian.plot.CurvePlotter;
 import org.geogebra.common.euclidian.plot.CurvePlotter.Gap;
+import org.geogebra.common.euclidian.plot.CurveSampleCache;
 import org.geogebra.common.euclidian.plot.GeneralPathClippedForCurvePlotter;
 import org.geogebra.common.kernel.AlgoCasCellInterface;
 import org.geogebra.common.kernel.arithmetic.Command;
@@ -44,6 +45,7 @@ public class DrawIntegral extends DrawFunctionArea {
 	private boolean isVisible;
 	private boolean labelVisible;
 	private boolean isCasObject;
+	private final CurveSampleCache sampleCache = new CurveSampleCache();
 
 	/**
 	 * Creates new drawable for integral
@@ -89,6 +91,16 @@ public class DrawIntegral extends DrawFunctionArea {
 
 	@Override
 	final public void update() {
+		sampleCache.clear();
+		updatePath();
+	}
+
+	@Override
+	public void updateForView() {
+		updatePath();
+	}
+
+	private void updatePath() {
 		isVisible = geo.isEuclidianVisible();
 		if (!isVisible) {
 			return;
@@ -138,7 +150,8 @@ public class DrawIntegral extends DrawFunctionArea {
 		}
 
 		gp.moveTo(ax, y0);
-		CurvePlotter.plotCurve(f, aRW, bRW, view, gp, false, Gap.LINE_TO);
+		CurvePlotter.plotCurve(f, aRW, bRW, view, gp, false, Gap.LINE_TO,
+				sampleCache, false);
 		gp.lineTo(bx, y0);
 		gp.lineTo(ax, y0);
 
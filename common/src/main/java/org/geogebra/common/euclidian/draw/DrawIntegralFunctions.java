@@ -18,6 +18,7 @@ import org.geogebra.common.euclidian.EuclidianStatic;
 import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.euclidian.plot.CurvePlotter;
 import org.geogebra.common.euclidian.plot.CurvePlotter.Gap;
+import org.geogebra.common.euclidian.plot.CurveSampleCache;
 import org.geogebra.common.euclidian.plot.GeneralPathClippedForCurvePlotter;
 import org.geogebra.common.kernel.AlgoCasCellInterface;
 import org.geogebra.common.kernel.arithmetic.Command;
@@ -45,6 +46,8 @@ public class DrawIntegralFunctions extends DrawFunctionArea {
 	private boolean isVisible;
 	private boolean labelVisible;
 	private boolean isCasObject;
+	private final CurveSampleCache sampleCacheF = new CurveSampleCache();
+	private final CurveSampleCache sampleCacheG = new CurveSampleCache();
 
 	/**
 	 * Creates drawable for integral between two functions
@@ -96,6 +99,17 @@ public class DrawIntegralFunctions extends DrawFunctionArea {
 
 	@Override
 	final public void update() {
+		sampleCacheF.clear();
+		sampleCacheG.clear();
+		updatePath();
+	}
+
+	@Override
+	public void updateForView() {
+		updatePath();
+	}
+
+	private void updatePath() {
 		isVisible = geo.isEuclidianVisible();
 		if (!isVisible) {
 			return;
@@ -142,8 +156,10 @@ public class DrawIntegralFunctions extends DrawFunctionArea {
 		}
 		gp.reset();
 		gp.moveTo(ax, ay);
-		CurvePlotter.plotCurve(f, aRW, bRW, view, gp, false, Gap.LINE_TO);
-		CurvePlotter.plotCurve(g, bRW, aRW, view, gp, false, Gap.LINE_TO);
+		CurvePlotter.plotCurve(f, aRW, bRW, view, gp, false, Gap.LINE_TO,
+				sampleCacheF, false);
+		CurvePlotter.plotCurve(g, bRW, aRW, view, gp, false, Gap.LINE_TO,
+				sampleCacheG, false);
 		gp.closePath();
 
 		// gp on screen?
@@ -24,6 +24,7 @@ import org.geogebra.common.awt.GShape;
 import org.geogebra.common.euclidian.Drawable;
 import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.euclidian.plot.CurvePlotter;
+import org.geogebra.common.euclidian.plot.CurveSampleCache;
 import org.geogebra.common.euclidian.plot.GeneralPathClippedForCurvePlotter;
 import org.geogebra.common.factories.AwtFactory;
 import org.geogebra.common.kernel.StringTemplate;
@@ -69,6 +70,7 @@ public class DrawParametricCurve extends Drawable {
 	private ExpressionNode dataExpression;
 	private FunctionVariable invFV;
 	private ExpressionNode invert;
+	private final CurveSampleCache sampleCache = new CurveSampleCache();
 
 	private static final Inspecting containsLog = new Inspecting() {
 		@Override
@@ -101,6 +103,26 @@ public class DrawParametricCurve extends Drawable {
 
 	@Override
 	final public void update() {
+		sampleCache.clear();
+		updatePath();
+	}
+
+	/**
+	 * Curve is the same, points evaluated for previous view are reused.
+	 */
+	@Override
+	public void updateForView() {
+		updatePath();
+	}
+
+	/**
+	 * @return cache of curve points
+	 */
+	public CurveSampleCache getSampleCache() {
+		return sampleCache;
+	}
+
+	private void updatePath() {
 		isVisible = geo.isEuclidianVisible();
 		if (!isVisible) {
 			return;
@@ -128,6 +150,7 @@ public class DrawParametricCurve extends Drawable {
 		double max = curve.getMaxParameter();
 
 		CurveEvaluable toPlot = curve;
+		boolean rangeFromView = false;
 
 		if (curve.toGeoElement().isGeoFunction()) {
 			GeoFunction function = (GeoFunction) curve.toGeoElement();
@@ -155,6 +178,7 @@ public class DrawParametricCurve extends Drawable {
 			if (max > maxView || Double.isInfinite(max)) {
 				max = maxView;
 			}
+			rangeFromView = !function.hasInterval();
 		}
 		GPoint labelPoint;
 		if (DoubleUtil.isEqual(min, max)) {
@@ -163,9 +187,14 @@ public class DrawParametricCurve extends Drawable {
 			view.toScreenCoords(eval);
 			labelPoint = new GPoint((int) eval[0], (int) eval[1]);
 		} else {
+			// curves for planes depend on the view, inverted functions are
+			// created for each update
+			boolean cacheable = toPlot == curve && curve == geo;
 			labelPoint = CurvePlotter.plotCurve(toPlot, min, max, view, gp,
 					labelVisible, fillCurve ? CurvePlotter.Gap.CORNER
-							: CurvePlotter.Gap.MOVE_TO);
+							: CurvePlotter.Gap.MOVE_TO,
+					cacheable ? sampleCache : null,
+					rangeFromView && !fillCurve);
 		}
 
 		// gp on screen?
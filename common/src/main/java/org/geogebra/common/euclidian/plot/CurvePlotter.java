@@ -87,13 +87,58 @@ public class CurvePlotter {
 	public static GPoint plotCurve(CurveEvaluable curve, double t1,
 			double t2, EuclidianView view, PathPlotter gp, boolean calcLabelPos,
 			Gap moveToAllowed) {
+		return plotCurve(curve, t1, t2, view, gp, calcLabelPos, moveToAllowed,
+				null, false);
+	}
+
+	/**
+	 * Draws a parametric curve (x(t), y(t)) for t in [t1, t2], reusing points
+	 * evaluated by previous plots.
+	 * 
+	 * @param t1
+	 *            min value of parameter
+	 * @param t2
+	 *            max value of parameter
+	 * @param curve
+	 *            curve to be drawn
+	 * @param view
+	 *            Euclidian view to be used
+	 * @param gp
+	 *            generalpath that can be drawn afterwards
+	 * @param calcLabelPos
+	 *            whether label position should be calculated and returned
+	 * @param moveToAllowed
+	 *            whether moveTo() may be used for gp
+	 * @param cache
+	 *            points of previous plots of the same curve, may be null
+	 * @param alignToGrid
+	 *            whether [t1, t2] may be extended to grid cells that are
+	 *            plotted one by one (for more cache hits), only if points
+	 *            outside are clipped
+	 * @return label position as Point
+	 */
+	public static GPoint plotCurve(CurveEvaluable curve, double t1,
+			double t2, EuclidianView view, PathPlotter gp, boolean calcLabelPos,
+			Gap moveToAllowed, CurveSampleCache cache, boolean alignToGrid) {
 
 		// ensure MIN_PLOT_POINTS
 		double minSamplePoints = Math.max(MIN_SAMPLE_POINTS, view.getWidth() / 6);
 		double max_param_step = Math.abs(t2 - t1) / minSamplePoints;
-		// plot Interval [t1, t2]
-		GPoint labelPoint = plotInterval(curve, t1, t2, 0, max_param_step, view,
-				gp, calcLabelPos, moveToAllowed);
+		GPoint labelPoint;
+		if (cache != null && CurveSampleCache.isCacheable(curve)) {
+			CurveEvaluable cached = cache.wrap(curve);
+			if (alignToGrid) {
+				labelPoint = plotCells(cached, t1, t2, max_param_step, view,
+						gp, calcLabelPos, moveToAllowed);
+			} else {
+				labelPoint = plotInterval(cached, t1, t2, 0, max_param_step,
+						view, gp, calcLabelPos, moveToAllowed);
+			}
+		} else {
+			// plot Interval [t1, t2]
+			labelPoint = plotInterval(curve, t1, t2, 0, max_param_step, view,
+					gp, calcLabelPos, moveToAllowed);
+		}
 		if (moveToAllowed == Gap.CORNER) {
 			gp.corner();
 		}
@@ -101,6 +146,44 @@ public class CurvePlotter {
 		return labelPoint;
 	}
 
+	/**
+	 * Plots the grid cells covering [t1, t2] one by one; every cell is
+	 * bisected the same way for every view that contains it, so points
+	 * evaluated before a pan are found in the cache.
+	 */
+	private static GPoint plotCells(CurveEvaluable curve, double t1,
+			double t2, double max_param_step, EuclidianView view,
+			PathPlotter gp, boolean calcLabelPos, Gap moveToAllowed) {
+		double[] grid = CurveSampleCache.alignToGrid(t1, t2);
+		double cell = grid[2];
+		int cells = (int) Math.round((grid[1] - grid[0]) / cell);
+		if (cells < 1) {
+			return plotInterval(curve, t1, t2, 0, max_param_step, view, gp,
+					calcLabelPos, moveToAllowed);
+		}
+		GPoint labelPoint = null;
+		for (int i = 0; i < cells; i++) {
+			double left = grid[0] + i * cell;
+			// defined end of the previous cell is the current point already
+			Gap firstPoint = i == 0 ? moveToAllowed : Gap.LINE_TO;
+			GPoint cellLabel = plotInterval(curve, left, left + cell, 0,
+					max_param_step, view, gp, calcLabelPos && labelPoint == null,
+					moveToAllowed, firstPoint);
+			if (labelPoint == null) {
+				labelPoint = cellLabel;
+			}
+		}
+		return labelPoint;
+	}
+
+	private static GPoint plotInterval(CurveEvaluable curve, double t1,
+			double t2, int intervalDepth, double max_param_step,
+			EuclidianView view, PathPlotter gp, boolean calcLabelPos,
+			Gap moveToAllowed) {
+		return plotInterval(curve, t1, t2, intervalDepth, max_param_step,
+				view, gp, calcLabelPos, moveToAllowed, moveToAllowed);
+	}
+
 	/**
 	 * Draws a parametric curve (x(t), y(t)) for t in [t1, t2].
 	 * 
@@ -112,13 +195,15 @@ public class CurvePlotter {
 	 *            whether label position should be calculated and returned
 	 * @param moveToAllowed
 	 *            whether moveTo() may be used for gp
+	 * @param firstPointGap
+	 *            how to get to the point at t1 if it's defined
 	 * @return label position as Point
 	 * @author Markus Hohenwarter, based on an algori5thm by John Gillam
 	 */
 	private static GPoint plotInterval(CurveEvaluable curve, double t1,
 			double t2, int intervalDepth, double max_param_step,
 			EuclidianView view, PathPlotter gp, boolean calcLabelPos,
-			Gap moveToAllowed) {
+			Gap moveToAllowed, Gap firstPointGap) {
 		// plot interval for t in [t1, t2]
 		// If we run into a problem, i.e. an undefined point f(t), we bisect
 		// the interval and plot both intervals [left, (left + right)/2] and
@@ -157,7 +242,7 @@ public class CurvePlotter {
 		eval1 = Cloner.clone(eval);
 
 		// first point
-		gp.firstPoint(eval0, moveToAllowed);
+		gp.firstPoint(eval0, firstPointGap);
 
 		// TODO
 		// INIT plotting algorithm
@@ -0,0 +1,256 @@
+package org.geogebra.common.euclidian.plot;
+
+import org.geogebra.common.kernel.arithmetic.ExpressionValue;
+import org.geogebra.common.kernel.arithmetic.Function;
+import org.geogebra.common.kernel.arithmetic.Inspecting;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.kernelND.CurveEvaluable;
+import org.geogebra.common.kernel.kernelND.GeoCurveCartesianND;
+import org.geogebra.common.plugin.Operation;
+
+/**
+ * Keeps curve points evaluated by previous plots of a drawable, so that after
+ * panning or zooming only the parameter values that were not sampled before
+ * need to be evaluated. Must be cleared whenever the curve itself changes.
+ *
+ * Parameter values are compared exactly; to get many hits the plotted interval
+ * should be aligned, see {@link #alignToGrid(double, double)}. At most
+ * {@value #MAX_SIZE} points are kept (about 300kB for 3D curves).
+ */
+public class CurveSampleCache {
+
+	/** when the cache gets bigger, it is cleared */
+	private static final int MAX_SIZE = 1 << 12;
+	private static final int INITIAL_CAPACITY = 1 << 10;
+	/** number of grid cells the visible interval spans at least */
+	private static final int GRID_CELLS = 8;
+
+	private static final Inspecting RANDOM_CHECK = new Inspecting() {
+		@Override
+		public boolean check(ExpressionValue v) {
+			return v.isOperation(Operation.RANDOM);
+		}
+	};
+
+	private CurveEvaluable curve;
+	private final CachedCurve cachedCurve = new CachedCurve();
+	private int dimension;
+
+	private long[] keys;
+	private boolean[] used;
+	private double[] values;
+	private int size;
+
+	private long reused;
+	private long evaluated;
+
+	/**
+	 * @param curve
+	 *            curve
+	 * @return curve that evaluates points via this cache
+	 */
+	public CurveEvaluable wrap(CurveEvaluable curve) {
+		if (this.curve != curve) {
+			this.curve = curve;
+			dimension = curve.newDoubleArray().length;
+			clear();
+		}
+		return cachedCurve;
+	}
+
+	/**
+	 * @param curve
+	 *            curve
+	 * @return false if evaluating the curve twice for the same parameter may
+	 *         give different points (random())
+	 */
+	public static boolean isCacheable(CurveEvaluable curve) {
+		GeoElement geo = curve.toGeoElement();
+		if (geo instanceof GeoFunction) {
+			return !containsRandom(((GeoFunction) geo).getFunction());
+		}
+		if (geo instanceof GeoCurveCartesianND) {
+			GeoCurveCartesianND cartesian = (GeoCurveCartesianND) geo;
+			for (int i = 0; i < cartesian.getDimension(); i++) {
+				if (containsRandom(cartesian.getFun(i))) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private static boolean containsRandom(Function fun) {
+		return fun != null && fun.getExpression() != null
+				&& fun.getExpression().inspect(RANDOM_CHECK);
+	}
+
+	/**
+	 * Removes all points; needs to be called when the curve changed.
+	 */
+	public void clear() {
+		keys = null;
+		used = null;
+		values = null;
+		size = 0;
+	}
+
+	/**
+	 * @return number of points taken from the cache
+	 */
+	public long getReused() {
+		return reused;
+	}
+
+	/**
+	 * @return number of points evaluated
+	 */
+	public long getEvaluated() {
+		return evaluated;
+	}
+
+	/**
+	 * Extends interval to the cells of a grid with a power of two as cell
+	 * width, at most one cell on each side. When the cells are plotted one by
+	 * one, after a pan with the same zoom most parameters sampled are the
+	 * same.
+	 *
+	 * @param t1
+	 *            min parameter
+	 * @param t2
+	 *            max parameter
+	 * @return start and end of aligned interval containing [t1, t2], cell
+	 *         width
+	 */
+	public static double[] alignToGrid(double t1, double t2) {
+		double width = t2 - t1;
+		if (!(width > 0) || Double.isInfinite(width)) {
+			return new double[] { t1, t2, t2 - t1 };
+		}
+		double cell = Math.pow(2,
+				Math.floor(Math.log(width / GRID_CELLS) / Math.log(2)));
+		double start = Math.floor(t1 / cell) * cell;
+		double end = Math.ceil(t2 / cell) * cell;
+		if (start == end || start + cell == start) {
+			// cells too small for the magnitude of the parameter
+			return new double[] { t1, t2, t2 - t1 };
+		}
+		return new double[] { start, end, cell };
+	}
+
+	private void evaluate(double t, double[] out) {
+		if (size >= MAX_SIZE) {
+			clear();
+		}
+		if (keys == null) {
+			keys = new long[INITIAL_CAPACITY];
+			used = new boolean[INITIAL_CAPACITY];
+			values = new double[INITIAL_CAPACITY * dimension];
+		}
+		long key = Double.doubleToLongBits(t);
+		int slot = find(key);
+		if (used[slot]) {
+			System.arraycopy(values, slot * dimension, out, 0, dimension);
+			reused++;
+			return;
+		}
+		curve.evaluateCurve(t, out);
+		evaluated++;
+		keys[slot] = key;
+		used[slot] = true;
+		System.arraycopy(out, 0, values, slot * dimension, dimension);
+		size++;
+		if (2 * size > keys.length) {
+			grow();
+		}
+	}
+
+	private int find(long key) {
+		int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+		while (used[slot] && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private static int hash(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	private void grow() {
+		long[] oldKeys = keys;
+		boolean[] oldUsed = used;
+		double[] oldValues = values;
+		keys = new long[2 * oldKeys.length];
+		used = new boolean[keys.length];
+		values = new double[keys.length * dimension];
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldUsed[i]) {
+				int slot = find(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				used[slot] = true;
+				System.arraycopy(oldValues, i * dimension, values,
+						slot * dimension, dimension);
+			}
+		}
+	}
+
+	/**
+	 * Curve delegating to the cached one, evaluations go through the cache.
+	 */
+	private class CachedCurve implements CurveEvaluable {
+
+		@Override
+		public double getMinParameter() {
+			return curve.getMinParameter();
+		}
+
+		@Override
+		public double getMaxParameter() {
+			return curve.getMaxParameter();
+		}
+
+		@Override
+		public double[] newDoubleArray() {
+			return curve.newDoubleArray();
+		}
+
+		@Override
+		public double distanceMax(double[] p1, double[] p2) {
+			return curve.distanceMax(p1, p2);
+		}
+
+		@Override
+		public void evaluateCurve(double t, double[] out) {
+			evaluate(t, out);
+		}
+
+		@Override
+		public double[] getDefinedInterval(double a, double b) {
+			return curve.getDefinedInterval(a, b);
+		}
+
+		@Override
+		public boolean getTrace() {
+			return curve.getTrace();
+		}
+
+		@Override
+		public boolean isClosedPath() {
+			return curve.isClosedPath();
+		}
+
+		@Override
+		public boolean isFunctionInX() {
+			return curve.isFunctionInX();
+		}
+
+		@Override
+		public GeoElement toGeoElement() {
+			return curve.toGeoElement();
+		}
+	}
+}
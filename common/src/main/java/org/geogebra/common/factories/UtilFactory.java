@@ -64,6 +64,14 @@ public abstract class UtilFactory {
 	 */
 	public abstract double getMillisecondTime();
 
+	/**
+	 * @return current time in nanoseconds, only meaningful for measuring
+	 *         elapsed time
+	 */
+	public long getNanoTime() {
+		return (long) (getMillisecondTime() * 1E6);
+	}
+
 	/**
 	 * @param clazz parameter to reflect
 	 * @return new Reflection object
@@ -1158,6 +1158,11 @@ public class GeoPoint3D extends GeoVec4D implements GeoPointND, PathOrPoint,
 		return locateableList != null;
 	}
 
+	@Override
+	public boolean hasDependenciesWithoutAlgorithm() {
+		return locateableList != null && !locateableList.isEmpty();
+	}
+
 	@Override
 	public void setLocateableList(LocateableList locateableList) {
 		this.locateableList = locateableList;
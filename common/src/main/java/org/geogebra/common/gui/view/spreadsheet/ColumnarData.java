@@ -0,0 +1,182 @@
+package org.geogebra.common.gui.view.spreadsheet;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.geos.GeoList;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.PackedListValues;
+
+/**
+ * Imported tabular data stored by column. Numbers are kept in primitive
+ * arrays, other cells as strings; cell strings for numbers are only created
+ * when requested, unless the number would be printed differently than in the
+ * source (e.g. 0.10).
+ *
+ * @see DataImport#parseColumnarData(String)
+ */
+public class ColumnarData {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final ArrayList<Column> columns = new ArrayList<>();
+	private int rowCount;
+	private int capacity = INITIAL_CAPACITY;
+
+	private static final class Column {
+		double[] values;
+		/** cells that are not numbers or not in default format, by row */
+		final HashMap<Integer, String> texts = new HashMap<>();
+
+		Column(int capacity) {
+			values = new double[capacity];
+		}
+	}
+
+	/**
+	 * Appends a row.
+	 *
+	 * @param cells
+	 *            cells of the row
+	 */
+	void addRow(String[] cells) {
+		if (rowCount == capacity) {
+			capacity *= 2;
+			for (Column column : columns) {
+				double[] values = new double[capacity];
+				System.arraycopy(column.values, 0, values, 0, rowCount);
+				column.values = values;
+			}
+		}
+		while (columns.size() < cells.length) {
+			Column column = new Column(capacity);
+			for (int row = 0; row < rowCount; row++) {
+				column.values[row] = Double.NaN;
+			}
+			columns.add(column);
+		}
+		for (int i = 0; i < columns.size(); i++) {
+			Column column = columns.get(i);
+			String cell = i < cells.length
+					? DataImport.adjustNumberString(cells[i]) : "";
+			double value = DataImport.parseNumber(cell);
+			column.values[rowCount] = value;
+			if (Double.isNaN(value) ? cell.length() > 0
+					: !cell.equals(format(value))) {
+				column.texts.put(rowCount, cell);
+			}
+		}
+		rowCount++;
+	}
+
+	/**
+	 * @return number of rows
+	 */
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * @return number of columns
+	 */
+	public int getColumnCount() {
+		return columns.size();
+	}
+
+	/**
+	 * @param row
+	 *            row index
+	 * @param column
+	 *            column index
+	 * @return number in the cell, NaN for text or empty cells
+	 */
+	public double getValue(int row, int column) {
+		return columns.get(column).values[row];
+	}
+
+	/**
+	 * @param column
+	 *            column index
+	 * @param fromRow
+	 *            first row to check, e.g. 1 to skip a header
+	 * @return whether all cells from given row are numbers
+	 */
+	public boolean isNumeric(int column, int fromRow) {
+		Column col = columns.get(column);
+		for (int row = fromRow; row < rowCount; row++) {
+			if (Double.isNaN(col.values[row])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param row
+	 *            row index
+	 * @param column
+	 *            column index
+	 * @return cell content for the spreadsheet, " " for empty cells
+	 */
+	public String getCellString(int row, int column) {
+		Column col = columns.get(column);
+		String text = col.texts.get(row);
+		if (text != null) {
+			return text;
+		}
+		double value = col.values[row];
+		return Double.isNaN(value) ? " " : format(value);
+	}
+
+	private static String format(double value) {
+		if (value == Math.rint(value) && Math.abs(value) < 1E15) {
+			return String.valueOf((long) value);
+		}
+		return String.valueOf(value);
+	}
+
+	/**
+	 * @return cells as strings, see {@link #getCellString(int, int)}
+	 */
+	public String[][] toStringArray() {
+		String[][] data = new String[rowCount][columns.size()];
+		for (int row = 0; row < rowCount; row++) {
+			for (int column = 0; column < columns.size(); column++) {
+				data[row][column] = getCellString(row, column);
+			}
+		}
+		return data;
+	}
+
+	/**
+	 * Creates a list of the numbers in a column without copying them into
+	 * separate elements for long columns.
+	 *
+	 * @param cons
+	 *            construction
+	 * @param column
+	 *            column index
+	 * @param fromRow
+	 *            first row, e.g. 1 to skip a header
+	 * @return list of numbers, text and empty cells are undefined
+	 */
+	public GeoList createList(Construction cons, int column, int fromRow) {
+		Column col = columns.get(column);
+		GeoList list = new GeoList(cons);
+		int size = rowCount - fromRow;
+		if (size >= PackedListValues.MIN_SIZE) {
+			PackedListValues packed = new PackedListValues(
+					new GeoNumeric(cons), size);
+			for (int row = fromRow; row < rowCount; row++) {
+				packed.add(col.values[row]);
+			}
+			list.setPackedValues(packed);
+		} else {
+			for (int row = fromRow; row < rowCount; row++) {
+				list.add(new GeoNumeric(cons, col.values[row]));
+			}
+		}
+		return list;
+	}
+}
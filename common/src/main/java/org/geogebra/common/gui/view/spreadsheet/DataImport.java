@@ -101,6 +101,63 @@ public class DataImport {
 
 	}
 
+	/**
+	 * Parses external non-ggb data by column; numbers are stored without
+	 * creating a string for each cell.
+	 * 
+	 * @param source
+	 *            string to be parsed, comma or tab delimited
+	 * @return parsed data, null if the data could not be parsed
+	 */
+	public static ColumnarData parseColumnarData(String source) {
+		CSVParser parser = source.indexOf('\t') == -1 ? getCommaParser()
+				: getTabParser();
+		ColumnarData data = new ColumnarData();
+		int length = source.length();
+		int start = 0;
+		// scan lines in place rather than splitting the whole source
+		while (start < length) {
+			int end = start;
+			while (end < length && source.charAt(end) != '\n'
+					&& source.charAt(end) != '\r') {
+				end++;
+			}
+			try {
+				String[] cells = parser
+						.parseLineMulti(source.substring(start, end));
+				if (cells != null) {
+					data.addRow(cells);
+				}
+			} catch (CSVException e) {
+				e.printStackTrace();
+				return null;
+			}
+			start = end + 1;
+			if (end + 1 < length && source.charAt(end) == '\r'
+					&& source.charAt(end + 1) == '\n') {
+				start++;
+			}
+		}
+		return data;
+	}
+
+	/**
+	 * @param s
+	 *            cell content, see {@link #adjustNumberString(String)}
+	 * @return value of the cell, NaN if it's not a plain number
+	 */
+	static double parseNumber(String s) {
+		if (!RelativeCopy.isNumber(s)) {
+			return Double.NaN;
+		}
+		try {
+			return Double.parseDouble(s);
+		} catch (NumberFormatException e) {
+			// e.g. percentages
+			return Double.NaN;
+		}
+	}
+
 	private static CSVParser getCommaParser() {
 		if (commaParser == null) {
 			commaParser = new CSVParser();
@@ -185,7 +242,7 @@ public class DataImport {
 	 * if the given string is a number that Geogebra's parser recognizes. If
 	 * cannot be parsed to a number, then the original string is returned.
 	 */
-	private static String adjustNumberString(String s) {
+	static String adjustNumberString(String s) {
 
 		if (s == null || "".equals(s)) {
 			return s;
@@ -1,6 +1,7 @@
 package org.geogebra.common.gui.view.table;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -18,8 +19,7 @@ class SimpleTableValuesModel implements TableValuesModel {
 	@Weak
 	private Kernel kernel;
 
-	private List<Double[]> doubleColumns;
-	private List<String[]> columns;
+	private List<Column> columns;
 	private List<String> header;
 
 	private List<TableValuesListener> listeners;
@@ -41,7 +41,6 @@ class SimpleTableValuesModel implements TableValuesModel {
 		this.builder = new StringBuilder();
 
 		this.columns = new LinkedList<>();
-		this.doubleColumns = new LinkedList<>();
 		this.header = new LinkedList<>();
 		this.values = new double[0];
 
@@ -72,12 +71,12 @@ class SimpleTableValuesModel implements TableValuesModel {
 
 	@Override
 	public String getCellAt(int row, int column) {
-		String[] valuesColumn = columns.get(column);
-		String value = valuesColumn[row];
+		Column valuesColumn = columns.get(column);
+		String value = valuesColumn.getFormatted(row);
 		if (value == null) {
 			double doubleValue = getValueAt(row, column);
 			value = format(doubleValue);
-			valuesColumn[row] = value;
+			valuesColumn.setFormatted(row, value);
 		}
 		return value;
 	}
@@ -90,13 +89,11 @@ class SimpleTableValuesModel implements TableValuesModel {
 	 * @return function value
 	 */
 	double getValueAt(int row, int column) {
-		Double[] valuesColumn = doubleColumns.get(column);
-		Double value = valuesColumn[row];
-		if (value == null) {
-			value = evaluateAt(row, column);
-			valuesColumn[row] = value;
+		Column valuesColumn = columns.get(column);
+		if (!valuesColumn.isEvaluated(row)) {
+			valuesColumn.setValue(row, evaluateAt(row, column));
 		}
-		return value;
+		return valuesColumn.getValue(row);
 	}
 
 	private double evaluateAt(int row, int column) {
@@ -129,8 +126,7 @@ class SimpleTableValuesModel implements TableValuesModel {
 			evaluatables.add(idx, evaluatable);
 			ensureIncreasingIndices(idx);
 			int column = idx + 1;
-			columns.add(column, new String[values.length]);
-			doubleColumns.add(column, new Double[values.length]);
+			columns.add(column, new Column(values.length));
 			header.add(column, getHeaderName(evaluatable));
 			notifyColumnAdded(evaluatable, column);
 		}
@@ -168,7 +164,6 @@ class SimpleTableValuesModel implements TableValuesModel {
 			evaluatables.remove(evaluatable);
 			int column = index + 1;
 			columns.remove(column);
-			doubleColumns.remove(column);
 			header.remove(column);
 			for (int i = 0; i < evaluatables.size(); i++) {
 				evaluatables.get(i).setTableColumn(i + 1);
@@ -185,8 +180,7 @@ class SimpleTableValuesModel implements TableValuesModel {
 	void updateEvaluatable(GeoEvaluatable evaluatable) {
 		if (evaluatables.contains(evaluatable)) {
 			int index = evaluatables.indexOf(evaluatable);
-			columns.set(index + 1, new String[values.length]);
-			doubleColumns.set(index + 1, new Double[values.length]);
+			columns.set(index + 1, new Column(values.length));
 			notifyColumnChanged(evaluatable, index + 1);
 		}
 	}
@@ -236,23 +230,15 @@ class SimpleTableValuesModel implements TableValuesModel {
 	 */
 	void setValues(double[] values) {
 		this.values = values;
-		for (int i = 0; i < columns.size(); i++) {
-			columns.set(i, new String[values.length]);
-		}
-		Double[] valuesColumn = new Double[values.length];
-		for (int i = 0; i < values.length; i++) {
-			valuesColumn[i] = values[i];
-		}
-		doubleColumns.set(0, valuesColumn);
-		for (int i = 1; i < doubleColumns.size(); i++) {
-			doubleColumns.set(i, new Double[values.length]);
+		columns.set(0, new Column(values));
+		for (int i = 1; i < columns.size(); i++) {
+			columns.set(i, new Column(values.length));
 		}
 		notifyDatasetChanged();
 	}
 
 	private void initializeModel() {
-		columns.add(new String[0]);
-		doubleColumns.add(new Double[0]);
+		columns.add(new Column(new double[0]));
 		header.add("x");
 	}
 
@@ -261,7 +247,6 @@ class SimpleTableValuesModel implements TableValuesModel {
 	 */
 	void clearModel() {
 		columns.clear();
-		doubleColumns.clear();
 		header.clear();
 		evaluatables.clear();
 		initializeModel();
@@ -332,4 +317,72 @@ class SimpleTableValuesModel implements TableValuesModel {
 			}
 		}
 	}
+
+	/**
+	 * Values of a column in primitive arrays, evaluated on demand. Formatted
+	 * values are only cached for a window of rows, so that long tables do not
+	 * keep a string for each row.
+	 */
+	private static final class Column {
+
+		private static final int FORMATTED_CACHE_SIZE = 256;
+
+		private final double[] values;
+		private final boolean[] evaluated;
+		private final String[] formatted;
+		private final int[] formattedRows;
+
+		/**
+		 * Column with values that still need to be evaluated.
+		 *
+		 * @param rows
+		 *            number of rows
+		 */
+		Column(int rows) {
+			this(new double[rows], new boolean[rows]);
+		}
+
+		/**
+		 * Column with known values.
+		 *
+		 * @param values
+		 *            values, not copied
+		 */
+		Column(double[] values) {
+			this(values, null);
+		}
+
+		private Column(double[] values, boolean[] evaluated) {
+			this.values = values;
+			this.evaluated = evaluated;
+			int cacheSize = Math.min(values.length, FORMATTED_CACHE_SIZE);
+			this.formatted = new String[cacheSize];
+			this.formattedRows = new int[cacheSize];
+			Arrays.fill(formattedRows, -1);
+		}
+
+		boolean isEvaluated(int row) {
+			return evaluated == null || evaluated[row];
+		}
+
+		double getValue(int row) {
+			return values[row];
+		}
+
+		void setValue(int row, double value) {
+			values[row] = value;
+			evaluated[row] = true;
+		}
+
+		String getFormatted(int row) {
+			int slot = row % formatted.length;
+			return formattedRows[slot] == row ? formatted[slot] : null;
+		}
+
+		void setFormatted(int row, String value) {
+			int slot = row % formatted.length;
+			formattedRows[slot] = row;
+			formatted[slot] = value;
+		}
+	}
 }
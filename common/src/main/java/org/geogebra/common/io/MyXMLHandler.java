@@ -164,6 +164,9 @@ public class MyXMLHandler implements DocHandler {
 	/** construction */
 	@Weak
 	protected Construction cons;
+	// construction (main or macro) with deferred protocol updates
+	@Weak
+	private Construction deferringCons;
 
 	Parser parser;
 	private Parser origParser;
@@ -277,6 +280,19 @@ public class MyXMLHandler implements DocHandler {
 		return consStep;
 	}
 
+	/**
+	 * Stops deferring protocol updates in the construction that started it,
+	 * e.g. when parsing stopped with an error before the end of the
+	 * construction.
+	 */
+	public void stopDeferringProtocolUpdates() {
+		if (deferringCons != null) {
+			Construction deferred = deferringCons;
+			deferringCons = null;
+			deferred.setProtocolUpdatesDeferred(false);
+		}
+	}
+
 	// ===============================================
 	// SAX ContentHandler methods
 	// ===============================================
@@ -2591,6 +2607,9 @@ public class MyXMLHandler implements DocHandler {
 	// <construction>
 	// ====================================
 	private void handleConstruction(LinkedHashMap<String, String> attrs) {
+		stopDeferringProtocolUpdates();
+		deferringCons = cons;
+		cons.setProtocolUpdatesDeferred(true);
 		try {
 			if (!(kernel instanceof MacroKernel)) {
 				app.updateAppCodeSuite(subAppCode, tmp_perspective);
@@ -3005,6 +3024,7 @@ public class MyXMLHandler implements DocHandler {
 				this.geoHandler.processLists();
 				cons.getLayerManager().updateList();
 				processEvSizes();
+				stopDeferringProtocolUpdates();
 
 				if (kernel == origKernel) {
 					mode = MODE_GEOGEBRA;
@@ -28,6 +28,8 @@ import org.geogebra.common.kernel.geos.GeoPolygon;
 import org.geogebra.common.main.App;
 import org.geogebra.common.main.AppConfig;
 import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.profiler.Profiler;
+import org.geogebra.common.util.profiler.Profiler.Category;
 
 import com.google.j2objc.annotations.Weak;
 
@@ -416,6 +418,8 @@ public abstract class MyXMLio {
 			kernel.clearConstruction(false);
 		}
 
+		Profiler profiler = kernel.getProfiler();
+		long start = profiler.start();
 		try {
 			kernel.setLoadingMode(true);
 			if (settingsBatch && !isGGTOrDefaults) {
@@ -430,6 +434,8 @@ public abstract class MyXMLio {
 			}
 			resetXMLParser();
 			kernel.setLoadingMode(false);
+			profiler.stop(Category.LOAD,
+					isGGTOrDefaults ? "parseDefaults" : "parse", start);
 
 			if (app.isWhiteboardActive()) {
 				for (GeoElement geo : cons.getGeoSetConstructionOrder()) {
@@ -446,10 +452,15 @@ public abstract class MyXMLio {
 				throw e;
 			}
 		} finally {
+			handler.stopDeferringProtocolUpdates();
 			kernel.setUseInternalCommandNames(oldVal2);
 			if (!isGGTOrDefaults && mayZoom) {
+				start = profiler.start();
 				kernel.updateConstruction(randomize, 1);
+				profiler.stop(Category.LOAD, "updateConstruction", start);
+				start = profiler.start();
 				kernel.setNotifyViewsActive(oldVal);
+				profiler.stop(Category.LOAD, "notifyViews", start);
 			}
 
 			// #2153
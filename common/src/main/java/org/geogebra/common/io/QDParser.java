@@ -19,6 +19,7 @@
 
 package org.geogebra.common.io;
 
+import java.io.IOException;
 import java.io.Reader;
 import java.util.LinkedHashMap;
 import java.util.Stack;
@@ -46,11 +47,18 @@ public class QDParser {
 	private final static int DOCTYPE = 14;
 	private final static int PRE = 15;
 	private final static int CDATA = 16;
+	private final static int BUFFER_SIZE = 8192;
+	/** longer attribute values are not pooled */
+	private final static int MAX_POOLED_VALUE_LENGTH = 16;
 
 	private LinkedHashMap<String, String> attrs;
 	private Stack<Integer> stack;
 	private StringBuilder sb;
 	private StringBuilder etag;
+	private final StringPool pool = new StringPool();
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private int bufferPos;
+	private int bufferLength;
 
 	/**
 	 * Creates new parser
@@ -106,11 +114,13 @@ public class QDParser {
 
 		// attrs = new LinkedHashMap();
 		attrs.clear();
+		bufferPos = 0;
+		bufferLength = 0;
 
 		doc.startDocument();
 		int line = 1, col = 0;
 		boolean eol = false;
-		while ((c = r.read()) != -1) {
+		while ((c = read(r)) != -1) {
 
 			// We need to map \r, \r\n, and \n to \n
 			// See XML spec section 2.11
@@ -162,7 +172,7 @@ public class QDParser {
 				switch (c) {
 				case '>':
 					mode = popMode(stack);
-					tagName = sb.toString();
+					tagName = pool.get(sb);
 					sb.setLength(0);
 					depth--;
 					if (depth == 0) {
@@ -276,7 +286,7 @@ public class QDParser {
 			// and are looking for the final >.
 			case SINGLE_TAG:
 				if (tagName == null) {
-					tagName = sb.toString();
+					tagName = pool.get(sb);
 				}
 				if (c != '>') {
 					exc("Expected > for tag: <" + tagName + "/>", line, col);
@@ -301,7 +311,7 @@ public class QDParser {
 				switch (c) {
 				case '>':
 					if (tagName == null) {
-						tagName = sb.toString();
+						tagName = pool.get(sb);
 					}
 					sb.setLength(0);
 					depth++;
@@ -340,7 +350,7 @@ public class QDParser {
 
 				default:
 					if (StringUtil.isWhitespace((char) c)) {
-						tagName = sb.toString();
+						tagName = pool.get(sb);
 						sb.setLength(0);
 						mode = IN_TAG;
 					} else {
@@ -353,7 +363,8 @@ public class QDParser {
 			// of an element's attribute.
 			case QUOTE:
 				if (c == quotec) {
-					rvalue = sb.toString();
+					rvalue = sb.length() <= MAX_POOLED_VALUE_LENGTH
+							? pool.get(sb) : sb.toString();
 					sb.setLength(0);
 					attrs.put(lvalue, rvalue);
 					mode = IN_TAG;
@@ -389,11 +400,11 @@ public class QDParser {
 
 			case ATTRIBUTE_LVALUE:
 				if (StringUtil.isWhitespace((char) c)) {
-					lvalue = sb.toString();
+					lvalue = pool.get(sb);
 					sb.setLength(0);
 					mode = ATTRIBUTE_EQUAL;
 				} else if (c == '=') {
-					lvalue = sb.toString();
+					lvalue = pool.get(sb);
 					sb.setLength(0);
 					mode = ATTRIBUTE_RVALUE;
 				} else {
@@ -442,7 +453,77 @@ public class QDParser {
 
 	}
 
+	/**
+	 * Reads blocks of characters: read() of a reader is synchronized and
+	 * would be called for every character otherwise.
+	 */
+	private int read(Reader r) throws IOException {
+		if (bufferPos == bufferLength) {
+			bufferLength = r.read(buffer, 0, BUFFER_SIZE);
+			bufferPos = 0;
+			if (bufferLength <= 0) {
+				bufferLength = 0;
+				return -1;
+			}
+		}
+		return buffer[bufferPos++];
+	}
+
 	private static void exc(String s, int line, int col) throws Exception {
 		throw new Exception(s + " near line " + line + ", column " + col);
 	}
+
+	/**
+	 * Shares the strings for tag names, attribute names and short values, so
+	 * that the many repeated ones (e.g. "x", "true", "0") are neither
+	 * allocated again nor kept in memory in several copies.
+	 */
+	private static final class StringPool {
+		private static final int CAPACITY = 1 << 12;
+
+		private final String[] strings = new String[CAPACITY];
+		private int size;
+
+		/**
+		 * @param sb
+		 *            characters
+		 * @return pooled string equal to the content of the builder
+		 */
+		String get(StringBuilder sb) {
+			int length = sb.length();
+			int hash = 0;
+			for (int i = 0; i < length; i++) {
+				hash = 31 * hash + sb.charAt(i);
+			}
+			int mask = CAPACITY - 1;
+			int slot = (hash ^ (hash >>> 16)) & mask;
+			String pooled;
+			while ((pooled = strings[slot]) != null) {
+				if (pooled.hashCode() == hash && contentEquals(pooled, sb)) {
+					return pooled;
+				}
+				slot = (slot + 1) & mask;
+			}
+			String str = sb.toString();
+			// keep the table sparse so that lookups stay short
+			if (size < CAPACITY / 2) {
+				strings[slot] = str;
+				size++;
+			}
+			return str;
+		}
+
+		private static boolean contentEquals(String str, StringBuilder sb) {
+			int length = str.length();
+			if (length != sb.length()) {
+				return false;
+			}
+			for (int i = 0; i < length; i++) {
+				if (str.charAt(i) != sb.charAt(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
 }
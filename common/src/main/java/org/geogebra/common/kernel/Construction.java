@@ -5,6 +5,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -12,6 +13,7 @@ import java.util.Stack;
 import java.util.TreeMap;
 import java.util.TreeSet;
 
+import org.geogebra.common.GeoGebraConstants;
 import org.geogebra.common.euclidian.EuclidianConstants;
 import org.geogebra.common.euclidian.LayerManager;
 import org.geogebra.common.euclidian.event.PointerEventType;
@@ -115,6 +117,11 @@ public class Construction {
 	// can be added
 	private boolean supressLabelCreation = false;
 
+	// while reading the construction XML, algos depending on the
+	// construction protocol are only updated once at the end
+	private boolean protocolUpdatesDeferred;
+	private boolean protocolUpdatePending;
+
 	// a map for sets with all labeled GeoElements in alphabetical order of
 	// specific types
 	// (points, lines, etc.)
@@ -151,6 +158,7 @@ public class Construction {
 	private TreeSet<GeoElement> randomElements;
 	/** algo set currently updated by GeoElement.updateDependentObjects() */
 	private AlgorithmSet algoSetCurrentlyUpdated;
+	private IncrementalUpdateScheduler updateScheduler;
 
 	private final TreeSet<String> casDummies = new TreeSet<>();
 
@@ -826,7 +834,33 @@ public class Construction {
 			updateCasCellRows();
 		}
 
-		updateAllConstructionProtocolAlgorithms();
+		updateConstructionProtocolAlgorithmsUnlessDeferred();
+	}
+
+	private void updateConstructionProtocolAlgorithmsUnlessDeferred() {
+		if (protocolUpdatesDeferred) {
+			protocolUpdatePending = true;
+		} else {
+			updateAllConstructionProtocolAlgorithms();
+		}
+	}
+
+	/**
+	 * Defers the update of algorithms depending on the construction protocol
+	 * (e.g. ConstructionStep) when elements are added or removed; used while
+	 * the construction is read from XML, where every element would otherwise
+	 * trigger a scan of all algorithms.
+	 * 
+	 * @param deferred
+	 *            true to start deferring, false to stop and run the pending
+	 *            update
+	 */
+	public void setProtocolUpdatesDeferred(boolean deferred) {
+		protocolUpdatesDeferred = deferred;
+		if (!deferred && protocolUpdatePending) {
+			protocolUpdatePending = false;
+			updateAllConstructionProtocolAlgorithms();
+		}
 	}
 
 	/**
@@ -931,7 +965,11 @@ public class Construction {
 	 *            ConstuctionElement to be removed
 	 */
 	public void removeFromConstructionList(ConstructionElement ce) {
-
+		// elements of the list always have their index set; avoids a linear
+		// search e.g. for every temporary number created while loading
+		if (!ce.isInConstructionList()) {
+			return;
+		}
 		int pos = ceList.indexOf(ce);
 		if (pos == -1) {
 			return;
@@ -964,7 +1002,7 @@ public class Construction {
 			updateCasCellRows();
 		}
 
-		updateAllConstructionProtocolAlgorithms();
+		updateConstructionProtocolAlgorithmsUnlessDeferred();
 	}
 
 	/**
@@ -1521,7 +1559,8 @@ public class Construction {
 	public void startCollectingRedefineCalls() {
 		collectRedefineCalls = true;
 		if (redefineMap == null) {
-			redefineMap = new HashMap<>();
+			// keep the order of redefinitions for the XML replacement
+			redefineMap = new LinkedHashMap<>();
 		}
 		redefineMap.clear();
 	}
@@ -1538,6 +1577,14 @@ public class Construction {
 		}
 	}
 
+	/**
+	 * @return number of redefinitions collected since
+	 *         {@link #startCollectingRedefineCalls()}
+	 */
+	public int getCollectedRedefineCallCount() {
+		return redefineMap == null ? 0 : redefineMap.size();
+	}
+
 	/**
 	 * Replaces oldGeo by newGeo in the current construction. This may change
 	 * the logic of the construction and is a very powerful operation
@@ -1688,18 +1735,21 @@ public class Construction {
 			oldSelection = selection.getSelectedGeos().get(0)
 					.getLabel(StringTemplate.defaultTemplate);
 		}
-		// get current construction XML
-		isGettingXMLForReplace = true;
-		StringBuilder consXML = getCurrentUndoXML(false);
-		isGettingXMLForReplace = false;
+		// 3) rebuild only oldGeo and its dependent algos if possible
+		if (!replaceLocally(oldGeo, newGeo)) {
+			// get current construction XML
+			isGettingXMLForReplace = true;
+			StringBuilder consXML = getCurrentUndoXML(false);
+			isGettingXMLForReplace = false;
 
-		// 3) replace oldGeo by newGeo in XML
-		String oldXML = consXML.toString();
-		doReplaceInXML(consXML, oldGeo, newGeo);
-		// moveDependencies(oldGeo,newGeo);
+			// replace oldGeo by newGeo in XML
+			String oldXML = consXML.toString();
+			doReplaceInXML(consXML, oldGeo, newGeo);
+			// moveDependencies(oldGeo,newGeo);
 
-		// 4) build new construction
-		buildConstructionWithGlobalListeners(consXML, oldXML, info);
+			// 4) build new construction
+			buildConstructionWithGlobalListeners(consXML, oldXML, info);
+		}
 		if (moveMode) {
 			GeoElement selGeo = kernel.lookupLabel(oldSelection);
 			selection.addSelectedGeo(selGeo, false, true);
@@ -1711,6 +1761,144 @@ public class Construction {
 		app.getCompanion().recallViewCreators();
 	}
 
+	/**
+	 * Replaces oldGeo by newGeo without rebuilding the whole construction:
+	 * newGeo takes the place of oldGeo in the construction list, the
+	 * algorithms depending on oldGeo are removed and created again from their
+	 * XML at their old positions.
+	 * 
+	 * @param oldGeo
+	 *            replaced element
+	 * @param newGeo
+	 *            unlabeled replacement
+	 * @return false if the whole construction has to be rebuilt, e.g. for type
+	 *         changes or if other elements refer to the replaced ones without
+	 *         an algorithm
+	 * @throws Exception
+	 *             if the dependent algorithms could not be created again
+	 */
+	private boolean replaceLocally(GeoElement oldGeo, GeoElement newGeo)
+			throws Exception {
+		AlgorithmSet dependentAlgos = oldGeo.getAlgoUpdateSet();
+		if (!canReplaceLocally(oldGeo, newGeo, dependentAlgos)) {
+			return false;
+		}
+		AlgoElement newGeoAlgo = newGeo.getParentAlgorithm();
+		ConstructionElement newCe = newGeoAlgo == null ? newGeo : newGeoAlgo;
+		int index = oldGeo.isIndependent() ? oldGeo.getConstructionIndex()
+				: oldGeo.getParentAlgorithm().getConstructionIndex();
+
+		// consecutive dependent algos are created again in one batch, right
+		// after the element that preceded them
+		ArrayList<ConstructionElement> anchors = new ArrayList<>();
+		ArrayList<StringBuilder> batches = new ArrayList<>();
+		ConstructionElement anchor = newCe;
+		StringBuilder batch = null;
+		isGettingXMLForReplace = true;
+		for (int i = index + 1; i < ceList.size(); i++) {
+			ConstructionElement ce = ceList.get(i);
+			if (ce instanceof AlgoElement
+					&& dependentAlgos.contains((AlgoElement) ce)) {
+				if (batch == null) {
+					batch = new StringBuilder();
+					batches.add(batch);
+					anchors.add(anchor);
+				}
+				ce.getXML(false, batch);
+			} else {
+				anchor = ce;
+				batch = null;
+			}
+		}
+		isGettingXMLForReplace = false;
+		// without undo info the old state has to be rebuilt from XML
+		String oldXML = canRestoreUndoInfo() ? null
+				: getCurrentUndoXML(false).toString();
+
+		String oldGeoLabel = oldGeo.getLabelSimple();
+		isRemovingGeoToReplaceIt = true;
+		oldGeo.remove();
+		isRemovingGeoToReplaceIt = false;
+
+		copyStyleForRedefine(oldGeo, newGeo);
+		// NEAR-TO-RELATION for dependent new geo, see doReplaceInXML
+		if (newGeoAlgo != null && newGeoAlgo.isNearToAlgorithm()) {
+			try {
+				newGeo.set(oldGeo);
+				newGeoAlgo.update();
+			} catch (Exception e) {
+				// do nothing
+			}
+		}
+		addToConstructionList(newCe, index);
+		if (newGeoAlgo != null) {
+			newGeoAlgo.resetLabels(oldGeoLabel);
+		}
+		newGeo.setLoadedLabel(oldGeoLabel);
+
+		MyXMLio xmlio = getXMLio();
+		try {
+			setFileLoading(true);
+			try {
+				for (int i = 0; i < batches.size(); i++) {
+					// new elements are inserted at step + 1
+					step = anchors.get(i).getConstructionIndex();
+					xmlio.processXMLString(
+							wrapConstructionXML(batches.get(i)), false, false,
+							false, false);
+				}
+			} finally {
+				step = ceList.size() - 1;
+				setFileLoading(false);
+			}
+		} catch (Exception | MyError e) {
+			restoreAfterRedefine(oldXML);
+			throw e;
+		}
+		if (xmlio.hasErrors()) {
+			restoreAfterRedefine(oldXML);
+			throw new MyError(getApplication().getLocalization(),
+					Errors.ReplaceFailed);
+		}
+		updateConstructionProtocolAlgorithmsUnlessDeferred();
+		newGeo.updateRepaint();
+		return true;
+	}
+
+	private boolean canReplaceLocally(GeoElement oldGeo, GeoElement newGeo,
+			AlgorithmSet dependentAlgos) {
+		if (kernel.getConstruction() != this || newGeo.isLabelSet()
+				|| newGeo.getGeoClassType() != oldGeo.getGeoClassType()
+				|| step != ceList.size() - 1
+				|| getApplication().showConsProtNavigation()
+				|| oldGeo.getCorrespondingCasCell() != null
+				|| oldGeo.getParentGroup() != null
+				|| oldGeo.hasDependenciesWithoutAlgorithm()) {
+			return false;
+		}
+		for (AlgoElement algo : dependentAlgos) {
+			if (algo instanceof AlgoCasCellInterface) {
+				return false;
+			}
+			for (int i = 0; i < algo.getOutputLength(); i++) {
+				GeoElement geo = algo.getOutput(i);
+				if (geo.hasDependenciesWithoutAlgorithm()
+						|| geo.getParentGroup() != null
+						|| geo.getCorrespondingCasCell() != null) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private static String wrapConstructionXML(StringBuilder elementsXML) {
+		return "<?xml version=\"1.0\" encoding=\"utf-8\"?>\n"
+				+ "<geogebra format=\"" + GeoGebraConstants.XML_FILE_FORMAT
+				+ "\">\n<construction>\n" + elementsXML
+				+ "</construction>\n</geogebra>\n";
+	}
+
 	private void buildConstructionWithGlobalListeners(
 			StringBuilder consXML, String oldXML,
 			EvalInfo info) throws Exception {
@@ -2968,13 +3156,17 @@ public class Construction {
 		// if (getApplication().isApplet()) return;
 		collectRedefineCalls = false;
 
-		if (undoManager != null && undoManager.getHistorySize() >= 0) {
+		if (canRestoreUndoInfo()) {
 			undoManager.restoreCurrentUndoInfo();
 			return true;
 		}
 		return false;
 	}
 
+	private boolean canRestoreUndoInfo() {
+		return undoManager != null && undoManager.getHistorySize() >= 0;
+	}
+
 	/**
 	 * Redoes last undone step
 	 */
@@ -3264,6 +3456,10 @@ public class Construction {
 	 */
 	public void setFileLoading(boolean b) {
 		fileLoading = b;
+		if (!b && !kernel.getCasWorkQueue().isEmpty()) {
+			// CAS requests made while loading are evaluated in one batch
+			kernel.getCasWorkQueue().flush();
+		}
 	}
 
 	/**
@@ -3370,6 +3566,16 @@ public class Construction {
 		return algoSetCurrentlyUpdated;
 	}
 
+	/**
+	 * @return scheduler for update cascades of this construction
+	 */
+	public IncrementalUpdateScheduler getUpdateScheduler() {
+		if (updateScheduler == null) {
+			updateScheduler = new IncrementalUpdateScheduler();
+		}
+		return updateScheduler;
+	}
+
 	/**
 	 * @param b
 	 *            new value of update construction flag
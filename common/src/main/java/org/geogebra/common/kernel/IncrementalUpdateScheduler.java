@@ -0,0 +1,259 @@
+/*
+GeoGebra - Dynamic Mathematics for Everyone
+http://www.geogebra.org
+
+This file is part of GeoGebra.
+
+This program is free software; you can redistribute it and/or modify it
+under the terms of the GNU General Public License as published by
+the Free Software Foundation.
+
+ */
+
+package org.geogebra.common.kernel;
+
+import java.util.Collection;
+import java.util.HashSet;
+
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.geos.GeoBoolean;
+import org.geogebra.common.kernel.geos.GeoConic;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.GeoVec3D;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+
+/**
+ * Dirty-flag scheduler for update cascades. Algorithms are visited in the
+ * topological order given by the update set (construction index order); an
+ * algorithm is only recomputed if at least one of its inputs changed during
+ * this cascade, and its outputs are only marked as changed if their value
+ * differs from the value before the update. This stops propagation at
+ * unchanged outputs, e.g. a = 1, b = 0 a, c = b + 1: dragging a recomputes b
+ * but skips c.
+ *
+ * Disabled by default; when disabled the cascade is identical to
+ * {@link org.geogebra.common.kernel.algos.AlgorithmSet#updateAll()}.
+ *
+ * Cascades and counters are synchronized, so the counters stay consistent
+ * when elements are updated from the workers of a parallel update.
+ */
+public class IncrementalUpdateScheduler {
+
+	/** maximal number of doubles needed to fingerprint one element */
+	private static final int FINGERPRINT_SIZE = 8;
+	/** returned when the value of an element cannot be fingerprinted */
+	private static final int NOT_SUPPORTED = -1;
+
+	private boolean enabled = false;
+	private boolean running = false;
+	private final HashSet<GeoElementND> changed = new HashSet<>();
+	private double[] before = new double[FINGERPRINT_SIZE];
+	private final double[] after = new double[FINGERPRINT_SIZE];
+
+	private long executedUpdates;
+	private long skippedUpdates;
+	private long unchangedOutputs;
+
+	/**
+	 * @return whether incremental updating is enabled
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @param enabled
+	 *            whether to skip algos with unchanged inputs
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * @return whether the scheduler may be used for a new cascade (enabled
+	 *         and not already running)
+	 */
+	public boolean isAvailable() {
+		return enabled && !running;
+	}
+
+	/**
+	 * Updates algorithms that (transitively) depend on the given root.
+	 *
+	 * @param root
+	 *            element that was changed
+	 * @param algos
+	 *            algorithms in topological order
+	 */
+	public synchronized void updateAll(GeoElementND root,
+			Iterable<AlgoElement> algos) {
+		running = true;
+		try {
+			changed.clear();
+			changed.add(root);
+			doUpdate(algos);
+		} finally {
+			changed.clear();
+			running = false;
+		}
+	}
+
+	/**
+	 * Updates algorithms that (transitively) depend on any of the roots.
+	 *
+	 * @param roots
+	 *            elements that were changed
+	 * @param algos
+	 *            algorithms in topological order
+	 */
+	public synchronized void updateAll(
+			Collection<? extends GeoElementND> roots,
+			Iterable<AlgoElement> algos) {
+		running = true;
+		try {
+			changed.clear();
+			changed.addAll(roots);
+			doUpdate(algos);
+		} finally {
+			changed.clear();
+			running = false;
+		}
+	}
+
+	private void doUpdate(Iterable<AlgoElement> algos) {
+		for (AlgoElement algo : algos) {
+			if (!needsUpdate(algo)) {
+				skippedUpdates++;
+				continue;
+			}
+			int outputLength = algo.getOutputLength();
+			ensureCapacity(outputLength);
+			for (int i = 0; i < outputLength; i++) {
+				fingerprint(algo.getOutput(i), before, i * FINGERPRINT_SIZE);
+			}
+
+			algo.update();
+			executedUpdates++;
+
+			for (int i = 0; i < outputLength; i++) {
+				GeoElement out = algo.getOutput(i);
+				if (sameValue(out, i * FINGERPRINT_SIZE)) {
+					unchangedOutputs++;
+				} else {
+					changed.add(out);
+				}
+			}
+		}
+	}
+
+	private boolean needsUpdate(AlgoElement algo) {
+		// algos join the cascade through the efficient input if there is one
+		GeoElementND[] input = algo.getEfficientInput();
+		if (input == null) {
+			input = algo.getInput();
+		}
+		if (input == null) {
+			return true;
+		}
+		for (GeoElementND geo : input) {
+			// unlabeled inputs may be random or updated outside of the cascade
+			if (!geo.isLabelSet() || changed.contains(geo)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void ensureCapacity(int outputLength) {
+		if (before.length < outputLength * FINGERPRINT_SIZE) {
+			before = new double[outputLength * FINGERPRINT_SIZE];
+		}
+	}
+
+	private boolean sameValue(GeoElement geo, int offset) {
+		int length = fingerprint(geo, after, 0);
+		if (length == NOT_SUPPORTED
+				|| before[offset] != length) {
+			return false;
+		}
+		for (int i = 1; i < length; i++) {
+			if (Double.compare(before[offset + i], after[i]) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Stores the value of geo in buffer (first entry is the number of entries
+	 * used, second the defined flag).
+	 *
+	 * @return number of entries used or NOT_SUPPORTED
+	 */
+	private static int fingerprint(GeoElement geo, double[] buffer,
+			int offset) {
+		int length;
+		switch (geo.getGeoClassType()) {
+		case NUMERIC:
+		case ANGLE:
+			buffer[offset + 2] = ((GeoNumeric) geo).getValue();
+			length = 3;
+			break;
+		case BOOLEAN:
+			buffer[offset + 2] = ((GeoBoolean) geo).getBoolean() ? 1 : 0;
+			length = 3;
+			break;
+		case POINT:
+		case VECTOR:
+		case LINE:
+			GeoVec3D vec = (GeoVec3D) geo;
+			buffer[offset + 2] = vec.x;
+			buffer[offset + 3] = vec.y;
+			buffer[offset + 4] = vec.z;
+			length = 5;
+			break;
+		case CONIC:
+			double[] matrix = ((GeoConic) geo).getMatrix();
+			System.arraycopy(matrix, 0, buffer, offset + 2, 6);
+			length = 8;
+			break;
+		default:
+			buffer[offset] = NOT_SUPPORTED;
+			return NOT_SUPPORTED;
+		}
+		buffer[offset] = length;
+		buffer[offset + 1] = geo.isDefined() ? 1 : 0;
+		return length;
+	}
+
+	/**
+	 * @return number of algo updates executed since last reset
+	 */
+	public synchronized long getExecutedUpdates() {
+		return executedUpdates;
+	}
+
+	/**
+	 * @return number of algo updates skipped since last reset
+	 */
+	public synchronized long getSkippedUpdates() {
+		return skippedUpdates;
+	}
+
+	/**
+	 * @return number of outputs of executed algos whose value did not change
+	 */
+	public synchronized long getUnchangedOutputs() {
+		return unchangedOutputs;
+	}
+
+	/**
+	 * Resets all counters.
+	 */
+	public synchronized void resetCounters() {
+		executedUpdates = 0;
+		skippedUpdates = 0;
+		unchangedOutputs = 0;
+	}
+}
@@ -3,13 +3,15 @@ package org.geogebra.common.kernel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.TreeSet;
 
 import org.geogebra.common.GeoGebraConstants;
+import org.geogebra.common.cas.CasResultCache;
+import org.geogebra.common.cas.CasWorkQueue;
 import org.geogebra.common.cas.GeoGebraCAS;
+import org.geogebra.common.cas.ParsedCasResultCache;
 import org.geogebra.common.euclidian.EmbedManager;
 import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.euclidian.EuclidianViewInterfaceCommon;
@@ -85,13 +87,13 @@ import org.geogebra.common.plugin.GeoClass;
 import org.geogebra.common.plugin.script.GgbScript;
 import org.geogebra.common.plugin.script.Script;
 import org.geogebra.common.util.DoubleUtil;
-import org.geogebra.common.util.LRUMap;
-import org.geogebra.common.util.MaxSizeHashMap;
+import org.geogebra.common.util.FormatCache;
 import org.geogebra.common.util.MyMath;
 import org.geogebra.common.util.NumberFormatAdapter;
 import org.geogebra.common.util.ScientificFormatAdapter;
 import org.geogebra.common.util.StringUtil;
 import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.profiler.Profiler;
 
 import com.google.j2objc.annotations.Weak;
 import com.himamis.retex.editor.share.util.Unicode;
@@ -285,6 +287,9 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	/** maximum axes can zoom to */
 	private final static double AXES_PRECISION = 1E-14;
 
+	/** default number of cached results of {@link #formatRaw} */
+	public final static int FORMAT_CACHE_CAPACITY = 4096;
+
 	// private String stringTemplate.getPi(); // for pi
 
 	// before May 23, 2005 the function acos(), asin() and atan()
@@ -374,7 +379,13 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	private String libraryJavaScript = defaultLibraryJavaScript;
 
 	private boolean isSaving;
-	private MaxSizeHashMap<String, String> ggbCasCache;
+	private CasResultCache ggbCasCache;
+	private boolean sharedCasCache;
+	private CasWorkQueue casWorkQueue;
+	private ParsedCasResultCache parsedCasCache;
+	private ParallelUpdateScheduler parallelUpdateScheduler;
+	private UpdateExecutor updateExecutor;
+	private final Profiler profiler = new Profiler();
 	/** min real world x for all views */
 	protected double[] xmin = new double[1];
 	/** max real world x for all views */
@@ -393,7 +404,9 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	private boolean notifyViewsActive = true;
 
 	// MOB-1304 cache axes numbers
-	private final HashMap<StringTemplate, LRUMap<Double, String>> formatterMaps = new HashMap<>();
+	private final FormatCache piFormatCache = new FormatCache(256);
+	/** results of formatRaw() for screen output */
+	private FormatCache formatCache = new FormatCache(FORMAT_CACHE_CAPACITY);
 
 	/**
 	 * @param app
@@ -1114,7 +1127,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 				abs = temp[vars.length];
 			}
 			sbBuildImplicitEquation.append(sign);
-			sbBuildImplicitEquation.append(format(abs, tpl));
+			format(abs, tpl, sbBuildImplicitEquation);
 		}
 
 		sbBuildImplicitEquation.append(' ');
@@ -1123,9 +1136,9 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 
 		if (implicit) {
 			// temp is set by buildImplicitVarPart
-			sbBuildImplicitEquation.append(format(-temp[vars.length], tpl));
+			format(-temp[vars.length], tpl, sbBuildImplicitEquation);
 		} else {
-			sbBuildImplicitEquation.append(format(0.0, tpl));
+			format(0.0, tpl, sbBuildImplicitEquation);
 		}
 		return sbBuildImplicitEquation;
 	}
@@ -1164,11 +1177,11 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 			StringTemplate tpl) {
 		if (x >= 0.0d) {
 			sb.append("+ ");
-			sb.append(format(x, tpl));
+			format(x, tpl, sb);
 			return;
 		}
 		sb.append("- ");
-		sb.append(format(-x, tpl));
+		format(-x, tpl, sb);
 	}
 
 	/**
@@ -1206,34 +1219,24 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 
 		if (x >= 0.0d) {
 			sb.append(STRING_PLUS_MINUS);
-			sb.append(format(x, tpl));
+			format(x, tpl, sb);
 			return;
 		}
 		sb.append(STRING_MINUS_PLUS);
-		sb.append(format(-x, tpl));
+		format(-x, tpl, sb);
 	}
 
 	final private String formatPiERaw(double x, NumberFormatAdapter numF,
 			StringTemplate tpl) {
 
-		LRUMap<Double, String> formatterMap = formatterMaps.get(tpl);
-		if (formatterMap == null) {
-			formatterMap = new LRUMap<>();
-			formatterMaps.put(tpl, formatterMap);
-		} else {
-			String ret = formatterMap.get(x);
-			if (ret != null) {
-				// Log.debug("found " + x + " " + ret);
-				return ret;
-			}
-
-			// Log.debug("not found " + x);
+		String ret = piFormatCache.get(tpl, x);
+		if (ret != null) {
+			return ret;
 		}
 
 		// PI
 		if (x == Math.PI && tpl.allowPiHack()) {
-			formatterMap.put(x, tpl.getPi());
-			return tpl.getPi();
+			return piFormatCache.put(tpl, x, tpl.getPi());
 		}
 
 		// MULTIPLES OF PI/2
@@ -1247,31 +1250,26 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 		if (DoubleUtil.isEqual(a, aint, AXES_PRECISION)) {
 			switch (aint) {
 			case 0:
-				formatterMap.put(x, "0");
-				return "0";
+				return piFormatCache.put(tpl, x, "0");
 
 			case 1: // pi/2
 				sbFormat.append(tpl.getPi());
 				sbFormat.append("/2");
-				formatterMap.put(x, sbFormat.toString());
-				return sbFormat.toString();
+				return piFormatCache.put(tpl, x, sbFormat.toString());
 
 			case -1: // -pi/2
 				sbFormat.append('-');
 				sbFormat.append(tpl.getPi());
 				sbFormat.append("/2");
-				formatterMap.put(x, sbFormat.toString());
-				return sbFormat.toString();
+				return piFormatCache.put(tpl, x, sbFormat.toString());
 
 			case 2: // 2pi/2 = pi
-				formatterMap.put(x, tpl.getPi());
-				return tpl.getPi();
+				return piFormatCache.put(tpl, x, tpl.getPi());
 
 			case -2: // -2pi/2 = -pi
 				sbFormat.append('-');
 				sbFormat.append(tpl.getPi());
-				formatterMap.put(x, sbFormat.toString());
-				return sbFormat.toString();
+				return piFormatCache.put(tpl, x, sbFormat.toString());
 
 			default:
 				// even
@@ -1283,8 +1281,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 						sbFormat.append("*");
 					}
 					sbFormat.append(tpl.getPi());
-					formatterMap.put(x, sbFormat.toString());
-					return sbFormat.toString();
+					return piFormatCache.put(tpl, x, sbFormat.toString());
 				}
 				// odd
 				// aint * pi/2
@@ -1294,8 +1291,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 				}
 				sbFormat.append(tpl.getPi());
 				sbFormat.append("/2");
-				formatterMap.put(x, sbFormat.toString());
-				return sbFormat.toString();
+				return piFormatCache.put(tpl, x, sbFormat.toString());
 			}
 		}
 		// STANDARD CASE
@@ -1308,8 +1304,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 		if (str.endsWith("E0")) {
 			sbFormat.setLength(sbFormat.length() - 2);
 		}
-		formatterMap.put(x, sbFormat.toString());
-		return sbFormat.toString();
+		return piFormatCache.put(tpl, x, sbFormat.toString());
 	}
 
 	/**
@@ -1409,25 +1404,40 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 				return tpl.getPi();
 			}
 
-			boolean useSF = tpl.useScientific(useSignificantFigures);
-
-			// ROUNDING hack
-			// NumberFormat and SignificantFigures use ROUND_HALF_EVEN as
-			// default which is not changeable, so we need to hack this
-			// to get ROUND_HALF_UP like in schools: increase abs(x) slightly
-			// x = x * ROUND_HALF_UP_FACTOR;
-			// We don't do this for large numbers as
-			if (!isLongInteger && tpl.getPrecision(nf) > 1E-6) {
-				double abs = Math.abs(x);
-				// increase abs(x) slightly to round up
-				x = x * tpl.getRoundHalfUpFactor(abs, nf, sf, useSF);
+			String ret = formatCache.get(tpl, number);
+			if (ret == null) {
+				ret = formatCache.put(tpl, number,
+						formatRounded(x, isLongInteger, tpl));
 			}
+			return ret;
+		}
+	}
 
-			if (useSF) {
-				return formatSF(x, tpl);
-			}
-			return formatNF(x, tpl);
+	/**
+	 * Formats a number for screen output using current NumberFormat or
+	 * ScientificFormat.
+	 */
+	final private String formatRounded(double number, boolean isLongInteger,
+			StringTemplate tpl) {
+		double x = number;
+		boolean useSF = tpl.useScientific(useSignificantFigures);
+
+		// ROUNDING hack
+		// NumberFormat and SignificantFigures use ROUND_HALF_EVEN as
+		// default which is not changeable, so we need to hack this
+		// to get ROUND_HALF_UP like in schools: increase abs(x) slightly
+		// x = x * ROUND_HALF_UP_FACTOR;
+		// We don't do this for large numbers as
+		if (!isLongInteger && tpl.getPrecision(nf) > 1E-6) {
+			double abs = Math.abs(x);
+			// increase abs(x) slightly to round up
+			x = x * tpl.getRoundHalfUpFactor(abs, nf, sf, useSF);
+		}
+
+		if (useSF) {
+			return formatSF(x, tpl);
 		}
+		return formatNF(x, tpl);
 	}
 
 	/**
@@ -1473,6 +1483,26 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 		return ret;
 	}
 
+	/**
+	 * Appends x formatted like {@link #format(double, StringTemplate)}.
+	 * 
+	 * @param x
+	 *            number
+	 * @param tpl
+	 *            string template
+	 * @param sb
+	 *            output buffer
+	 */
+	final public void format(double x, StringTemplate tpl, StringBuilder sb) {
+		String ret = formatRaw(x, tpl);
+
+		if (app.getLocalization().getZero() != '0') {
+			appendInternationalizedDigits(ret, tpl, sb);
+		} else {
+			sb.append(ret);
+		}
+	}
+
 	/**
 	 * swaps the digits in num to the current locale's
 	 * 
@@ -1494,7 +1524,22 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 		} else {
 			formatSB.setLength(0);
 		}
+		appendLocalizedDigits(num, tpl, formatSB);
+		return formatSB.toString();
+	}
+
+	private void appendInternationalizedDigits(String num, StringTemplate tpl,
+			StringBuilder sb) {
+		if (!tpl.internationalizeDigits()
+				|| !getLocalization().isUsingLocalizedDigits()) {
+			sb.append(num);
+		} else {
+			appendLocalizedDigits(num, tpl, sb);
+		}
+	}
 
+	private void appendLocalizedDigits(String num, StringTemplate tpl,
+			StringBuilder sb) {
 		boolean negative = num.charAt(0) == '-';
 
 		int start = 0;
@@ -1503,9 +1548,9 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 		boolean RTL = getLocalization().isRightToLeftDigits(tpl);
 
 		if (RTL) {
-			formatSB.append(Unicode.RIGHT_TO_LEFT_MARK);
+			sb.append(Unicode.RIGHT_TO_LEFT_MARK);
 			if (negative) {
-				formatSB.append(Unicode.RIGHT_TO_LEFT_UNARY_MINUS_SIGN);
+				sb.append(Unicode.RIGHT_TO_LEFT_UNARY_MINUS_SIGN);
 				start = 1;
 			}
 		}
@@ -1522,14 +1567,12 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 				c += app.getLocalization().getZero() - '0';
 			}
 
-			formatSB.append(c);
+			sb.append(c);
 		}
 
 		if (RTL) {
-			formatSB.append(Unicode.RIGHT_TO_LEFT_MARK);
+			sb.append(Unicode.RIGHT_TO_LEFT_MARK);
 		}
-
-		return formatSB.toString();
 	}
 
 	/**
@@ -1729,7 +1772,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 			sb.append(' ');
 			sb.append(sign(coeff));
 			sb.append(' ');
-			sb.append(format(Math.abs(coeff), tpl));
+			format(Math.abs(coeff), tpl, sb);
 		}
 	}
 
@@ -1804,7 +1847,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 				double coeff = numbers[vars.length];
 				if ((Math.abs(coeff) >= tpl.getPrecision(nf))
 						|| useSignificantFigures) {
-					sbBuildImplicitVarPart.append(format(coeff, tpl));
+					format(coeff, tpl, sbBuildImplicitVarPart);
 				} else {
 					sbBuildImplicitVarPart.append("0");
 				}
@@ -1913,7 +1956,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 		} else if (leadingNonZero == (numbers.length - 1)) {
 			// only constant coeff
 			d = -numbers[leadingNonZero] / q;
-			sbBuildExplicitConicEquation.append(format(d, tpl));
+			format(d, tpl, sbBuildExplicitConicEquation);
 			return sbBuildExplicitConicEquation;
 		} else {
 			// leading coeff
@@ -1945,7 +1988,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 				sbBuildExplicitConicEquation.append(' ');
 				sbBuildExplicitConicEquation.append(sign(d));
 				sbBuildExplicitConicEquation.append(' ');
-				sbBuildExplicitConicEquation.append(format(dabs, tpl));
+				format(dabs, tpl, sbBuildExplicitConicEquation);
 			}
 
 			// Application.debug(sbBuildExplicitConicEquation.toString());
@@ -1986,14 +2029,14 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 			sbBuildVertexformEquation.append(" ");
 			sbBuildVertexformEquation.append(sign(h));
 			sbBuildVertexformEquation.append(' ');
-			sbBuildVertexformEquation.append(format(Math.abs(h), tpl));
+			format(Math.abs(h), tpl, sbBuildVertexformEquation);
 			sbBuildVertexformEquation.append(")");
 			sbBuildVertexformEquation.append(tpl.squared());
 		}
 		if (k != 0) {
 			sbBuildVertexformEquation.append(" ");
 			sbBuildVertexformEquation.append(sign(k));
-			sbBuildVertexformEquation.append(format(Math.abs(k), tpl));
+			format(Math.abs(k), tpl, sbBuildVertexformEquation);
 		}
 		return sbBuildVertexformEquation;
 	}
@@ -2136,7 +2179,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 				formatSignedPlusMinus(y, sbBuildValueString, tpl);
 			}
 		} else {
-			sbBuildValueString.append(format(x, tpl));
+			format(x, tpl, sbBuildValueString);
 
 			if (!isZeroFigure(y, tpl)) {
 				sbBuildValueString.append(" ");
@@ -2220,11 +2263,10 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 			sbBuildExplicitLineEquation.append(' ');
 
 			if (explicit) {
-				sbBuildExplicitLineEquation
-						.append(format(-numbers[2] / numbers[0], tpl));
+				format(-numbers[2] / numbers[0], tpl, sbBuildExplicitLineEquation);
 			} else {
 				Log.debug("HHH");
-				sbBuildExplicitLineEquation.append(format(0.0, tpl));
+				format(0.0, tpl, sbBuildExplicitLineEquation);
 			}
 
 			return sbBuildExplicitLineEquation;
@@ -2248,7 +2290,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 			dabs = Math.abs(d);
 			sbBuildExplicitLineEquation.append(sign(d));
 			sbBuildExplicitLineEquation.append(' ');
-			sbBuildExplicitLineEquation.append(format(dabs, tpl));
+			format(dabs, tpl, sbBuildExplicitLineEquation);
 			sbBuildExplicitLineEquation.append(' ');
 			sbBuildExplicitLineEquation.append(op);
 			sbBuildExplicitLineEquation.append(formatCoeff(0.0, tpl));
@@ -2275,11 +2317,11 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 				sbBuildExplicitLineEquation.append(' ');
 				sbBuildExplicitLineEquation.append(sign(d));
 				sbBuildExplicitLineEquation.append(' ');
-				sbBuildExplicitLineEquation.append(format(dabs, tpl));
+				format(dabs, tpl, sbBuildExplicitLineEquation);
 			}
 		} else {
 			// only constant
-			sbBuildExplicitLineEquation.append(format(-numbers[2] / q, tpl));
+			format(-numbers[2] / q, tpl, sbBuildExplicitLineEquation);
 		}
 		return sbBuildExplicitLineEquation;
 	}
@@ -2405,7 +2447,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 			}
 
 			// RADIANS
-			sbFormatAngle.append(format(phi, tpl));
+			format(phi, tpl, sbFormatAngle);
 
 			switch (tpl.getStringType()) {
 
@@ -2588,6 +2630,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 			useSignificantFigures = true;
 			sf.setSigDigits(figures);
 			sf.setMaxWidth(16); // for scientific notation
+			formatCache.clear();
 		}
 	}
 
@@ -2601,9 +2644,25 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 		if (decimals >= 0) {
 			useSignificantFigures = false;
 			nf = FormatFactory.getPrototype().getNumberFormat(decimals);
+			formatCache.clear();
 		}
 	}
 
+	/**
+	 * @return cache of formatted numbers, for statistics
+	 */
+	public FormatCache getFormatCache() {
+		return formatCache;
+	}
+
+	/**
+	 * @param capacity
+	 *            number of formatted numbers to be cached
+	 */
+	public void setFormatCacheCapacity(int capacity) {
+		formatCache = new FormatCache(capacity);
+	}
+
 	/**
 	 * @return print decimals; defaults to 5
 	 */
@@ -2794,7 +2853,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 			throws CASException {
 		String result = null;
 		if (useCaching && hasCasCache()) {
-			result = getCasCache().get(exp);
+			result = getCasCache().get(getCasCacheKey(exp));
 			if (result != null) {
 				// caching worked
 				return result;
@@ -2805,7 +2864,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 		result = getGeoGebraCAS().evaluateGeoGebraCAS(exp, arbconst, tpl, this);
 
 		if (useCaching) {
-			getCasCache().put(exp, result);
+			putToCasCache(exp, result);
 		}
 		return result;
 	}
@@ -2820,7 +2879,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	public String evaluateRawGeoGebraCAS(String exp) throws Throwable {
 		String result = null;
 		if (hasCasCache()) {
-			result = getCasCache().get(exp);
+			result = getCasCache().get(getCasCacheKey(exp));
 			if (result != null) {
 				// Log.debug("result from cache " + result);
 				// caching worked
@@ -2831,7 +2890,7 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 		// evaluate in GeoGebraCAS
 		result = getGeoGebraCAS().evaluateRaw(exp);
 
-		getCasCache().put(exp, result);
+		putToCasCache(exp, result);
 
 		return result;
 	}
@@ -2843,7 +2902,21 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 *            result
 	 */
 	public void putToCasCache(String exp, String result) {
-		getCasCache().put(exp, result);
+		getCasCache().put(getCasCacheKey(exp), result);
+	}
+
+	/**
+	 * The CAS cache may be shared with kernels using different settings, so
+	 * the settings that change CAS results are part of the key.
+	 * 
+	 * @param exp
+	 *            CAS expression
+	 * @return key for the CAS cache
+	 */
+	public String getCasCacheKey(String exp) {
+		return getAngleUnit() + ","
+				+ app.getSettings().getCasSettings().getShowExpAsRoots() + ":"
+				+ exp;
 	}
 
 	/**
@@ -2891,16 +2964,86 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	}
 
 	/**
-	 * @return Hash map for caching CAS results.
+	 * Enables parallel update of independent parts of update cascades and
+	 * parallel tracing of implicit curves.
+	 * 
+	 * @param executor
+	 *            executor for independent components; null for serial update
+	 */
+	public void setUpdateExecutor(UpdateExecutor executor) {
+		if (casWorkQueue != null && executor != updateExecutor) {
+			casWorkQueue.releaseWorkers();
+		}
+		updateExecutor = executor;
+		parallelUpdateScheduler = executor == null ? null
+				: new ParallelUpdateScheduler(executor);
+	}
+
+	/**
+	 * @return executor for independent computations, null if parallel update
+	 *         is off
+	 */
+	public UpdateExecutor getUpdateExecutor() {
+		return updateExecutor;
+	}
+
+	/**
+	 * @return profiler for updates, commands, CAS calls and repaints; disabled
+	 *         by default
 	 */
-	public MaxSizeHashMap<String, String> getCasCache() {
+	public Profiler getProfiler() {
+		return profiler;
+	}
+
+	/**
+	 * @return scheduler for parallel updates, null if parallel update is off
+	 */
+	public ParallelUpdateScheduler getParallelUpdateScheduler() {
+		return parallelUpdateScheduler;
+	}
+
+	/**
+	 * @return cache for CAS results.
+	 */
+	public CasResultCache getCasCache() {
 		if (ggbCasCache == null) {
-			ggbCasCache = new MaxSizeHashMap<>(
-					GEOGEBRA_CAS_CACHE_SIZE);
+			ggbCasCache = new CasResultCache();
 		}
 		return ggbCasCache;
 	}
 
+	/**
+	 * @return cache for CAS results parsed into functions
+	 */
+	public synchronized ParsedCasResultCache getParsedCasCache() {
+		if (parsedCasCache == null) {
+			parsedCasCache = new ParsedCasResultCache(this);
+		}
+		return parsedCasCache;
+	}
+
+	/**
+	 * @return queue for CAS requests evaluated in batches
+	 */
+	public CasWorkQueue getCasWorkQueue() {
+		if (casWorkQueue == null) {
+			casWorkQueue = new CasWorkQueue(this);
+		}
+		return casWorkQueue;
+	}
+
+	/**
+	 * Use a cache shared with other kernels; a shared cache is not cleared by
+	 * {@link #clearCasCache()}.
+	 * 
+	 * @param cache
+	 *            shared cache, null to go back to a cache owned by this kernel
+	 */
+	public void setSharedCasCache(CasResultCache cache) {
+		ggbCasCache = cache;
+		sharedCasCache = cache != null;
+	}
+
 	/**
 	 * @return Whether kernel is already using CAS caching.
 	 */
@@ -4896,9 +5039,12 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	 * clear cache (needed in web when CAS loaded)
 	 */
 	public synchronized void clearCasCache() {
-		if (ggbCasCache != null) {
+		if (ggbCasCache != null && !sharedCasCache) {
 			ggbCasCache.clear();
 		}
+		if (parsedCasCache != null) {
+			parsedCasCache.clear();
+		}
 		if (ggbCAS != null) {
 			ggbCAS.clearCache();
 		}
@@ -0,0 +1,245 @@
+/*
+GeoGebra - Dynamic Mathematics for Everyone
+http://www.geogebra.org
+
+This file is part of GeoGebra.
+
+This program is free software; you can redistribute it and/or modify it
+under the terms of the GNU General Public License as published by
+the Free Software Foundation.
+
+ */
+
+package org.geogebra.common.kernel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+
+/**
+ * Updates independent branches of an update cascade concurrently.
+ *
+ * The algorithms are partitioned into connected components: two algos are
+ * connected if they share an output or an input, except for inputs of simple
+ * value types (numbers, booleans, points, vectors, lines) that are not
+ * recomputed in this cascade, since reading those is thread safe. Components
+ * that only contain thread safe algos ({@link AlgoElement#isThreadSafe()})
+ * are computed by the {@link UpdateExecutor}; after all of them finished,
+ * outputs are updated and views notified from the calling thread in
+ * construction order. Other components are updated serially at that point.
+ */
+public class ParallelUpdateScheduler {
+
+	/** cascades with fewer algos are updated serially */
+	public static final int DEFAULT_MIN_ALGOS = 32;
+
+	private final UpdateExecutor executor;
+	private int minAlgos = DEFAULT_MIN_ALGOS;
+	private boolean running = false;
+
+	private long parallelCascades;
+	private long concurrentComponents;
+
+	/**
+	 * @param executor
+	 *            executor for independent components
+	 */
+	public ParallelUpdateScheduler(UpdateExecutor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * @param minAlgos
+	 *            minimal number of algos for parallel update
+	 */
+	public void setMinAlgos(int minAlgos) {
+		this.minAlgos = minAlgos;
+	}
+
+	/**
+	 * @return whether the scheduler may be used for a new cascade (no nested
+	 *         cascades are run in parallel)
+	 */
+	public boolean isAvailable() {
+		return !running;
+	}
+
+	/**
+	 * Updates all algorithms.
+	 *
+	 * @param algos
+	 *            algorithms in topological order
+	 */
+	public void updateAll(Iterable<AlgoElement> algos) {
+		ArrayList<AlgoElement> list = new ArrayList<>();
+		for (AlgoElement algo : algos) {
+			list.add(algo);
+		}
+		if (list.size() < minAlgos) {
+			updateSerially(list);
+			return;
+		}
+		running = true;
+		try {
+			updateComponents(list);
+		} finally {
+			running = false;
+		}
+	}
+
+	private static void updateSerially(List<AlgoElement> list) {
+		for (AlgoElement algo : list) {
+			algo.update();
+		}
+	}
+
+	private void updateComponents(final ArrayList<AlgoElement> list) {
+		int size = list.size();
+		int[] component = findComponents(list);
+
+		// group algos by component, keeping construction order
+		HashMap<Integer, ArrayList<AlgoElement>> groups = new HashMap<>();
+		HashMap<Integer, Boolean> safe = new HashMap<>();
+		for (int i = 0; i < size; i++) {
+			AlgoElement algo = list.get(i);
+			ArrayList<AlgoElement> group = groups.get(component[i]);
+			if (group == null) {
+				group = new ArrayList<>();
+				groups.put(component[i], group);
+				safe.put(component[i], true);
+			}
+			group.add(algo);
+			if (!algo.isThreadSafe()) {
+				safe.put(component[i], false);
+			}
+		}
+
+		ArrayList<Runnable> tasks = new ArrayList<>();
+		for (Integer key : groups.keySet()) {
+			if (safe.get(key)) {
+				tasks.add(new ComputeTask(groups.get(key)));
+			}
+		}
+		if (tasks.size() < 2) {
+			updateSerially(list);
+			return;
+		}
+
+		executor.runAll(tasks);
+		parallelCascades++;
+		concurrentComponents += tasks.size();
+
+		// barrier passed: update outputs and notify views in this thread
+		for (int i = 0; i < size; i++) {
+			if (safe.get(component[i])) {
+				list.get(i).updateAfterCompute();
+			} else {
+				list.get(i).update();
+			}
+		}
+	}
+
+	/**
+	 * @return component representative for each algo
+	 */
+	private static int[] findComponents(ArrayList<AlgoElement> list) {
+		int size = list.size();
+		int[] parent = new int[size];
+		for (int i = 0; i < size; i++) {
+			parent[i] = i;
+		}
+		HashMap<GeoElementND, Integer> owner = new HashMap<>();
+		for (int i = 0; i < size; i++) {
+			AlgoElement algo = list.get(i);
+			for (GeoElement out : algo.getOutput()) {
+				link(owner, parent, out, i);
+			}
+			GeoElement[] input = algo.getInput();
+			if (input == null) {
+				continue;
+			}
+			for (GeoElement in : input) {
+				// inputs computed in this cascade were registered as output
+				if (owner.containsKey(in) || !isSharedReadSafe(in)) {
+					link(owner, parent, in, i);
+				}
+			}
+		}
+		for (int i = 0; i < size; i++) {
+			parent[i] = find(parent, i);
+		}
+		return parent;
+	}
+
+	private static void link(HashMap<GeoElementND, Integer> owner,
+			int[] parent, GeoElementND geo, int algoIndex) {
+		Integer other = owner.get(geo);
+		if (other == null) {
+			owner.put(geo, algoIndex);
+		} else {
+			parent[find(parent, other)] = find(parent, algoIndex);
+		}
+	}
+
+	private static int find(int[] parent, int i) {
+		int root = i;
+		while (parent[root] != root) {
+			root = parent[root];
+		}
+		// path compression
+		int current = i;
+		while (parent[current] != root) {
+			int next = parent[current];
+			parent[current] = root;
+			current = next;
+		}
+		return root;
+	}
+
+	private static boolean isSharedReadSafe(GeoElement geo) {
+		switch (geo.getGeoClassType()) {
+		case NUMERIC:
+		case ANGLE:
+		case BOOLEAN:
+		case POINT:
+		case VECTOR:
+		case LINE:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * @return number of cascades that were computed concurrently
+	 */
+	public long getParallelCascades() {
+		return parallelCascades;
+	}
+
+	/**
+	 * @return total number of components computed concurrently
+	 */
+	public long getConcurrentComponents() {
+		return concurrentComponents;
+	}
+
+	private static class ComputeTask implements Runnable {
+		private final ArrayList<AlgoElement> algos;
+
+		protected ComputeTask(ArrayList<AlgoElement> algos) {
+			this.algos = algos;
+		}
+
+		@Override
+		public void run() {
+			for (AlgoElement algo : algos) {
+				algo.computeOnly();
+			}
+		}
+	}
+}
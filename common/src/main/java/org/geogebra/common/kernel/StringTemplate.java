@@ -1,5 +1,7 @@
 package org.geogebra.common.kernel;
 
+import java.util.HashMap;
+
 import org.geogebra.common.cas.GeoGebraCAS;
 import org.geogebra.common.export.MathmlTemplate;
 import org.geogebra.common.factories.FormatFactory;
@@ -35,6 +37,13 @@ public class StringTemplate implements ExpressionNodeConstants {
 	// rounding hack, see Kernel.format()
 	private static final double ROUND_HALF_UP_FACTOR = 1.0 + 1E-15;
 	private static final String RAD = "rad";
+	/**
+	 * Templates with given number of digits, reused so that the kernel's
+	 * format cache (keyed by template identity) gets hits for them.
+	 */
+	private static final HashMap<String, StringTemplate> digitTemplates =
+			new HashMap<>();
+	private static final int MAX_CACHED_DIGITS = 20;
 
 	private final String name;
 
@@ -687,13 +696,18 @@ public class StringTemplate implements ExpressionNodeConstants {
 	 */
 	public static StringTemplate printDecimals(StringType type, int decimals,
 			boolean allowMore) {
-		StringTemplate tpl = new StringTemplate("TemplateFor:" + type
-				+ ",Decimals:" + decimals + "," + allowMore);
+		String name = "TemplateFor:" + type + ",Decimals:" + decimals + ","
+				+ allowMore;
+		StringTemplate tpl = getDigitTemplate(name);
+		if (tpl != null) {
+			return tpl;
+		}
+		tpl = new StringTemplate(name);
 		tpl.forceNF = true;
 		tpl.allowMoreDigits = allowMore;
 		tpl.setType(type);
 		tpl.nf = FormatFactory.getPrototype().getNumberFormat(decimals);
-		return tpl;
+		return putDigitTemplate(tpl, decimals);
 	}
 
 	/**
@@ -707,14 +721,41 @@ public class StringTemplate implements ExpressionNodeConstants {
 	 */
 	public static StringTemplate printFigures(StringType type, int decimals,
 			boolean allowMore) {
-		StringTemplate tpl = new StringTemplate("TemplateFor:" + type
-				+ ",Figures:" + decimals + "," + allowMore);
+		String name = "TemplateFor:" + type + ",Figures:" + decimals + ","
+				+ allowMore;
+		StringTemplate tpl = getDigitTemplate(name);
+		if (tpl != null) {
+			return tpl;
+		}
+		tpl = new StringTemplate(name);
 		tpl.forceSF = true;
 		tpl.allowMoreDigits = allowMore;
 		tpl.setType(type);
 		tpl.sf = FormatFactory.getPrototype().getScientificFormat(decimals, 20,
 				false);
-		return tpl;
+		return putDigitTemplate(tpl, decimals);
+	}
+
+	private static StringTemplate getDigitTemplate(String name) {
+		synchronized (digitTemplates) {
+			return digitTemplates.get(name);
+		}
+	}
+
+	private static StringTemplate putDigitTemplate(StringTemplate tpl,
+			int digits) {
+		// any number of digits may come from user input, keep the map small
+		if (digits < 0 || digits > MAX_CACHED_DIGITS) {
+			return tpl;
+		}
+		synchronized (digitTemplates) {
+			StringTemplate old = digitTemplates.get(tpl.name);
+			if (old != null) {
+				return old;
+			}
+			digitTemplates.put(tpl.name, tpl);
+			return tpl;
+		}
 	}
 
 	/**
@@ -748,14 +789,19 @@ public class StringTemplate implements ExpressionNodeConstants {
 	 */
 	public static StringTemplate printScientific(StringType type, int decimals,
 			boolean allowMore) {
-		StringTemplate tpl = new StringTemplate("TemplateForScientific:" + type
-				+ ",Decimals:" + decimals + "," + allowMore);
+		String name = "TemplateForScientific:" + type + ",Decimals:" + decimals
+				+ "," + allowMore;
+		StringTemplate tpl = getDigitTemplate(name);
+		if (tpl != null) {
+			return tpl;
+		}
+		tpl = new StringTemplate(name);
 		tpl.forceSF = true;
 		tpl.allowMoreDigits = allowMore;
 		tpl.setType(type);
 		tpl.sf = FormatFactory.getPrototype().getScientificFormat(decimals, 20,
 				true);
-		return tpl;
+		return putDigitTemplate(tpl, decimals);
 	}
 
 	/**
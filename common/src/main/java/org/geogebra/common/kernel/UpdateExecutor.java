@@ -0,0 +1,18 @@
+package org.geogebra.common.kernel;
+
+import java.util.List;
+
+/**
+ * Runs independent parts of an update cascade, possibly concurrently.
+ * Platforms without threads (web) do not provide an implementation.
+ */
+public interface UpdateExecutor {
+
+	/**
+	 * Runs all tasks and returns after all of them finished.
+	 *
+	 * @param tasks
+	 *            tasks that do not share any mutable state
+	 */
+	void runAll(List<Runnable> tasks);
+}
@@ -20,6 +20,7 @@ import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.PackedListValues;
 import org.geogebra.common.util.debug.Log;
 
 /**
@@ -175,8 +176,9 @@ public class AlgoZip extends AlgoElement {
 		// for the list again, but just to set their new values
 		boolean setValuesOnly = (minOverSize() == last_length);
 
-		// setValues does not work for functions
-		setValuesOnly = setValuesOnly && !expIsFunctionOrCurve;
+		// setValues does not work for functions, packed lists have no items
+		setValuesOnly = setValuesOnly && !expIsFunctionOrCurve
+				&& list.getPackedValues() == null;
 
 		// avoid label creation, might happen e.g. in
 		boolean oldSuppressLabels = cons.isSuppressLabelsActive();
@@ -202,7 +204,10 @@ public class AlgoZip extends AlgoElement {
 		if (!isEmpty) {
 			// needed capacity
 			int n = minOverSize();
-			list.ensureCapacity(n);
+			PackedListValues packed = createPackedValues(n);
+			if (packed == null) {
+				list.ensureCapacity(n);
+			}
 
 			// create the sequence
 			int currentVal = 0;
@@ -220,11 +225,18 @@ public class AlgoZip extends AlgoElement {
 				// set local var value
 				updateLocalVar(currentVal);
 
-				addElement(i);
+				if (packed == null) {
+					addElement(i);
+				} else {
+					packed.add(expression);
+				}
 
 				currentVal += 1;
 				i++;
 			}
+			if (packed != null) {
+				list.setPackedValues(packed);
+			}
 		}
 
 		// if the old list was longer than the new one
@@ -276,6 +288,18 @@ public class AlgoZip extends AlgoElement {
 		list.add(listElement);
 	}
 
+	/**
+	 * Long lists of numbers or points are stored without creating an element
+	 * per item.
+	 */
+	private PackedListValues createPackedValues(int n) {
+		if (n < PackedListValues.MIN_SIZE || expIsFunctionOrCurve
+				|| !PackedListValues.canPack(expression)) {
+			return null;
+		}
+		return new PackedListValues(createNewListElement(), n);
+	}
+
 	private GeoElement createNewListElement() {
 		GeoElement listElement = expression.copyInternal(cons);
 		listElement.setParentAlgorithm(this);
@@ -375,7 +399,10 @@ public class AlgoZip extends AlgoElement {
 	private void updateLocalVar(int index) {
 		// set local variable to given value
 		for (int i = 0; i < listCount; i++) {
-			vars[i].set(over[i].get(index));
+			PackedListValues packed = over[i].getPackedValues();
+			if (packed == null || !packed.setValue(vars[i], index)) {
+				vars[i].set(over[i].get(index));
+			}
 		}
 		if (varCount > listCount) {
 			((GeoNumeric) vars[varCount - 1]).setValue(index + 1);
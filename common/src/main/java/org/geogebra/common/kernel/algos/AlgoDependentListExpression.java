@@ -42,6 +42,7 @@ import org.geogebra.common.kernel.geos.GeoNumeric;
 import org.geogebra.common.kernel.geos.GeoPoint;
 import org.geogebra.common.kernel.geos.GeoText;
 import org.geogebra.common.kernel.geos.GeoVec2D;
+import org.geogebra.common.kernel.geos.PackedListValues;
 import org.geogebra.common.kernel.kernelND.Geo3DVecInterface;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
@@ -135,6 +136,11 @@ public class AlgoDependentListExpression extends AlgoElement
 
 		list.clear();
 
+		if (evalListSize >= PackedListValues.MIN_SIZE
+				&& setPackedNumbers(myList, evalListSize)) {
+			return;
+		}
+
 		for (int i = 0; i < evalListSize; i++) {
 			ExpressionValue element = myList.getListElement(i)
 					.evaluate(StringTemplate.defaultTemplate);
@@ -149,6 +155,28 @@ public class AlgoDependentListExpression extends AlgoElement
 		}
 	}
 
+	/**
+	 * Stores long lists of plain numbers without creating an element per item.
+	 * 
+	 * @return false if some item is not a number
+	 */
+	private boolean setPackedNumbers(MyList myList, int size) {
+		PackedListValues packed = new PackedListValues(new GeoNumeric(cons),
+				size);
+		for (int i = 0; i < size; i++) {
+			ExpressionValue element = myList.getListElement(i)
+					.evaluate(StringTemplate.defaultTemplate);
+			// numbers with definition need an element to keep it, see toGeo
+			if (!(element instanceof NumberValue) || (element.isGeoElement()
+					&& ((GeoElement) element).getDefinition() != null)) {
+				return false;
+			}
+			packed.add(element.evaluateDouble());
+		}
+		list.setPackedValues(packed);
+		return true;
+	}
+
 	private static GeoElementND toGeo(ExpressionValue element,
 			GeoElement cachedGeo, Construction cons) {
 		GeoElementND geo = null;
@@ -180,6 +180,11 @@ public class AlgoDependentNumber extends AlgoElement
 		return number.getDefinition();
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return number instanceof GeoNumeric && hasThreadSafeInputOutput();
+	}
+
 	// calc the current value of the arithmetic tree
 	@Override
 	public final void compute() {
@@ -187,12 +192,14 @@ public class AlgoDependentNumber extends AlgoElement
 			return;
 		}
 		try {
-			NumberValue nv = (NumberValue) number.getDefinition()
-					.evaluate(StringTemplate.defaultTemplate);
 			ExpressionNode def = number.getDefinition();
 			if (number instanceof GeoNumeric) {
-				((GeoNumeric) number).setValue(nv.getDouble());
+				// compiled after a few updates, see ExpressionNodeEvaluator
+				((GeoNumeric) number).setValue(
+						kernel.getExpressionNodeEvaluator().evaluateDouble(def));
 			} else {
+				NumberValue nv = (NumberValue) def
+						.evaluate(StringTemplate.defaultTemplate);
 				number.set(nv.toGeoElement(cons));
 			}
 			number.setDefinition(def);
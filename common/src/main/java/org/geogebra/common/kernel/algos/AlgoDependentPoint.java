@@ -22,7 +22,6 @@ import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
-import org.geogebra.common.kernel.arithmetic.VectorValue;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoPoint;
 import org.geogebra.common.kernel.geos.GeoVec2D;
@@ -46,6 +45,8 @@ public class AlgoDependentPoint extends AlgoElement
 	private PPolynomial[] botanaPolynomials;
 
 	private GeoVec2D temp;
+	/** reused by compiled evaluation of the definition */
+	private final GeoVec2D coords;
 
 	/**
 	 * Creates new dependent point algo
@@ -76,6 +77,7 @@ public class AlgoDependentPoint extends AlgoElement
 	public AlgoDependentPoint(Construction cons, ExpressionNode root,
 			boolean complex) {
 		super(cons);
+		coords = new GeoVec2D(kernel);
 
 		P = new GeoPoint(cons);
 		P.setDefinition(root);
@@ -115,12 +117,17 @@ public class AlgoDependentPoint extends AlgoElement
 		return P.getDefinition();
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return hasThreadSafeInputOutput();
+	}
+
 	// calc the current value of the arithmetic tree
 	@Override
 	public final void compute() {
 		try {
-			temp = ((VectorValue) P.getDefinition()
-					.evaluate(StringTemplate.defaultTemplate)).getVector();
+			temp = kernel.getExpressionNodeEvaluator()
+					.evaluateVector(P.getDefinition(), coords);
 			if (Double.isInfinite(temp.getX())
 					|| Double.isInfinite(temp.getY())) {
 				P.setUndefined();
@@ -94,6 +94,11 @@ public class AlgoDistancePoints extends AlgoElement
 	 * GeoPoint getP() { return P; } GeoPoint getQ() { return Q; }
 	 */
 
+	@Override
+	public boolean isThreadSafe() {
+		return hasThreadSafeInputOutput();
+	}
+
 	// calc length of vector v
 	@Override
 	public final void compute() {
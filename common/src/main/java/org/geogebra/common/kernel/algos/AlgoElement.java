@@ -23,6 +23,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.TreeSet;
 
+import org.geogebra.common.kernel.AlgoCasCellInterface;
+import org.geogebra.common.kernel.AsynchronousCommand;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.EuclidianViewCE;
 import org.geogebra.common.kernel.GTemplate;
@@ -34,6 +36,7 @@ import org.geogebra.common.kernel.arithmetic.ExpressionNode;
 import org.geogebra.common.kernel.arithmetic.FunctionalNVar;
 import org.geogebra.common.kernel.arithmetic.Inspecting;
 import org.geogebra.common.kernel.arithmetic.SymbolicMode;
+import org.geogebra.common.kernel.cas.UsesCAS;
 import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.geos.CasEvaluableFunction;
 import org.geogebra.common.kernel.geos.GeoElement;
@@ -41,10 +44,13 @@ import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoScriptAction;
 import org.geogebra.common.kernel.geos.GeoText;
 import org.geogebra.common.kernel.geos.LabelManager;
+import org.geogebra.common.kernel.kernelND.GeoConicND;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
 import org.geogebra.common.plugin.GeoClass;
 import org.geogebra.common.util.StringUtil;
+import org.geogebra.common.util.profiler.Profiler;
+import org.geogebra.common.util.profiler.Profiler.Category;
 
 /**
  * AlgoElement is the superclass of all algorithms.
@@ -579,10 +585,6 @@ public abstract class AlgoElement extends ConstructionElement
 		return false;
 	}
 
-	// public static double startTime, endTime;
-	// public static double computeTime, updateTime;
-	// public static double counter;
-
 	@Override
 	public void update() {
 		if (stopUpdateCascade) {
@@ -591,20 +593,85 @@ public abstract class AlgoElement extends ConstructionElement
 
 		updateUnlabeledRandomGeos();
 
-		// counter++;
-		// startTime = System.currentTimeMillis();
-
 		// compute output from input
+		computeProfiled();
+
+		updateDependentGeos();
+	}
+
+	/**
+	 * Computes the output without updating the output elements; used when
+	 * independent algos are computed concurrently.
+	 * {@link #updateAfterCompute()} needs to be called afterwards.
+	 */
+	public void computeOnly() {
+		if (!stopUpdateCascade) {
+			computeProfiled();
+		}
+	}
+
+	private void computeProfiled() {
+		Profiler profiler = kernel.getProfiler();
+		long start = profiler.start();
 		compute();
+		profiler.stop(Category.ALGO, getClass(), start);
+	}
 
-		// endTime = System.currentTimeMillis();
-		// computeTime += (endTime - startTime);
-		// startTime = System.currentTimeMillis();
+	/**
+	 * Updates output elements after {@link #computeOnly()}.
+	 */
+	public void updateAfterCompute() {
+		if (!stopUpdateCascade) {
+			updateDependentGeos();
+		}
+	}
 
-		updateDependentGeos();
+	/**
+	 * Algos are computed concurrently with other algos only if they opt in,
+	 * after checking that compute() only reads input and writes output and
+	 * that update() is not overridden.
+	 * 
+	 * @return whether compute() only reads input and writes output
+	 */
+	public boolean isThreadSafe() {
+		return false;
+	}
+
+	/**
+	 * Algos that use CAS, random numbers or views must not be computed
+	 * concurrently with other algos. Conics are excluded because their update
+	 * invalidates path parameters of points on them.
+	 * 
+	 * @return whether input and output allow concurrent computation of an algo
+	 *         with thread safe compute()
+	 */
+	protected boolean hasThreadSafeInputOutput() {
+		if (hasUnlabeledRandomInput() || this instanceof UsesCAS
+				|| this instanceof AlgoCasCellInterface
+				|| this instanceof AsynchronousCommand) {
+			return false;
+		}
+		for (int i = 0; i < getOutputLength(); i++) {
+			GeoElement out = getOutput(i);
+			if (out.isRandomGeo() || out instanceof GeoConicND) {
+				return false;
+			}
+		}
+		return true;
+	}
 
-		// endTime = System.currentTimeMillis();
-		// updateTime += (endTime - startTime );
+	private boolean hasUnlabeledRandomInput() {
+		if (!mayHaveRandomAncestors || input == null) {
+			return false;
+		}
+		for (int i = 0; i < input.length; i++) {
+			if (!input[i].isLabelSet() && (input[i].isRandomGeo()
+					|| (input[i].getParentAlgorithm() != null && input[i]
+							.getParentAlgorithm().hasUnlabeledRandomInput()))) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -709,6 +776,14 @@ public abstract class AlgoElement extends ConstructionElement
 		return input;
 	}
 
+	/**
+	 * @return elements whose update set contains this algo if they differ
+	 *         from input (e.g. free ancestors for locus), null otherwise
+	 */
+	final public GeoElementND[] getEfficientInput() {
+		return efficientInput;
+	}
+
 	/**
 	 * Note : maybe overridden for xOy plane additionnal input
 	 * 
@@ -130,6 +130,11 @@ public class AlgoJoinPoints extends AlgoElement
 		return Q;
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return hasThreadSafeInputOutput();
+	}
+
 	// calc the line g through P and Q
 	@Override
 	public final void compute() {
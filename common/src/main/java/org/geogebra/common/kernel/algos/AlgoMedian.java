@@ -12,7 +12,6 @@ the Free Software Foundation.
 
 package org.geogebra.common.kernel.algos;
 
-import java.util.Arrays;
 import java.util.TreeMap;
 
 import org.geogebra.common.kernel.Construction;
@@ -104,22 +103,13 @@ public class AlgoMedian extends AlgoElement {
 		// CASE 1: raw data
 		// ========================================
 		if (freqList == null) {
-			double[] sortList = new double[size];
-
-			// copy inputList into an array
-			for (int i = 0; i < size; i++) {
-				GeoElement geo = inputList.get(i);
-				if (geo instanceof NumberValue) {
-					sortList[i] = geo.evaluateDouble();
-				} else {
-					median.setUndefined();
-					return;
-				}
+			// sorted copy, shared with other commands using this list
+			double[] sortList = inputList.getStatistics().getSorted();
+			if (sortList == null) {
+				median.setUndefined();
+				return;
 			}
 
-			// do the sorting
-			Arrays.sort(sortList);
-
 			if (MyDouble.exactEqual(Math.floor((double) size / 2),
 					size / 2.0)) {
 				median.setValue(
@@ -55,6 +55,11 @@ public class AlgoMidpoint extends AlgoMidpointND
 		super(cons, P, Q);
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return hasThreadSafeInputOutput();
+	}
+
 	@Override
 	protected GeoPointND newGeoPoint(Construction cons1) {
 		return new GeoPoint(cons1);
@@ -54,9 +54,12 @@ public abstract class AlgoPolygonOperation extends AlgoElement {
 	/** output segments */
 	protected OutputHandler<GeoSegment> outputSegments;
 
-	private Path subject;
-	private Path clip;
+	/** packed coordinates of the input polygons */
+	private double[] subject;
+	private double[] clip;
 	private Paths solution;
+	/** reused, so that its edges are reused too */
+	private DefaultClipper clipper;
 	/**
 	 * whether labels were suppressed during constructor; in such case never
 	 * label outputs.
@@ -120,8 +123,6 @@ public abstract class AlgoPolygonOperation extends AlgoElement {
 
 		this.operationType = opType;
 
-		subject = new Path(inPoly0.getPointsLength());
-		clip = new Path(inPoly1.getPointsLength());
 		solution = new Paths();
 
 		createOutput();
@@ -177,8 +178,6 @@ public abstract class AlgoPolygonOperation extends AlgoElement {
 
 		this.labels = labels;
 
-		subject = new Path(inPoly0.getPointsLength());
-		clip = new Path(inPoly1.getPointsLength());
 		solution = new Paths();
 		silent = cons.isSuppressLabelsActive();
 
@@ -349,24 +348,18 @@ public abstract class AlgoPolygonOperation extends AlgoElement {
 
 	private void compute(boolean updateLabels) {
 
-		// add subject polygon
-		subject.clear();
-		for (int i = 0; i < inPoly0.getPointsLength(); i++) {
-			DoublePoint point = convert(inPoly0.getPoint(i));
-			subject.add(point);
-		}
-
-		// add clip polygon
-		clip.clear();
-		for (int i = 0; i < inPoly1.getPointsLength(); i++) {
-			DoublePoint point = convert(inPoly1.getPoint(i));
-			clip.add(point);
-		}
+		subject = convert(inPoly0, subject);
+		clip = convert(inPoly1, clip);
 
 		// initializing clipper
-		DefaultClipper clipper = new DefaultClipper(Clipper.STRICTLY_SIMPLE);
-		clipper.addPath(clip, PolyType.CLIP, true);
-		clipper.addPath(subject, PolyType.SUBJECT, true);
+		if (clipper == null) {
+			clipper = new DefaultClipper(Clipper.STRICTLY_SIMPLE);
+		} else {
+			clipper.clear();
+		}
+		clipper.addPath(clip, inPoly1.getPointsLength(), PolyType.CLIP, true);
+		clipper.addPath(subject, inPoly0.getPointsLength(), PolyType.SUBJECT,
+				true);
 
 		boolean solutionValid = false;
 		solution.clear();
@@ -475,9 +468,23 @@ public abstract class AlgoPolygonOperation extends AlgoElement {
 
 	}
 
-	private static DoublePoint convert(GeoPoint point) {
-		return new DoublePoint(point.getX() / point.getZ(),
-				point.getY() / point.getZ());
+	/**
+	 * @param poly
+	 *            polygon
+	 * @param coords
+	 *            array to reuse, may be null
+	 * @return packed inhomogeneous coordinates of the polygon vertices
+	 */
+	private static double[] convert(GeoPolygon poly, double[] coords) {
+		int length = poly.getPointsLength();
+		double[] ret = coords == null || coords.length < 2 * length
+				? new double[2 * length] : coords;
+		for (int i = 0; i < length; i++) {
+			GeoPoint point = poly.getPoint(i);
+			ret[2 * i] = point.getX() / point.getZ();
+			ret[2 * i + 1] = point.getY() / point.getZ();
+		}
+		return ret;
 	}
 
 }
\ No newline at end of file
@@ -26,6 +26,7 @@ import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumberValue;
 import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.PackedListValues;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.debug.Log;
@@ -215,8 +216,9 @@ public class AlgoSequence extends AlgoElement {
 		boolean setValuesOnly = (from == last_from && to == last_to
 				&& step == last_step);
 
-		// setValues does not work for functions
-		setValuesOnly = setValuesOnly && !expIsFunctionOrCurve;
+		// setValues does not work for functions, packed lists have no items
+		setValuesOnly = setValuesOnly && !expIsFunctionOrCurve
+				&& list.getPackedValues() == null;
 
 		// avoid label creation, might happen e.g. in
 		boolean oldSuppressLabels = cons.isSuppressLabelsActive();
@@ -247,7 +249,10 @@ public class AlgoSequence extends AlgoElement {
 				return;
 			}
 			int n = (int) Math.ceil((to - from) / step) + 1;
-			list.ensureCapacity(n);
+			PackedListValues packed = createPackedValues(n);
+			if (packed == null) {
+				list.ensureCapacity(n);
+			}
 
 			// create the sequence
 			double currentVal = from;
@@ -266,13 +271,20 @@ public class AlgoSequence extends AlgoElement {
 
 				// set local var value
 				updateLocalVar(currentVal);
-				addElement(i);
+				if (packed == null) {
+					addElement(i);
+				} else {
+					packed.add(expression);
+				}
 				currentVal += step;
 				if (DoubleUtil.isInteger(currentVal)) {
 					currentVal = Math.round(currentVal);
 				}
 				i++;
 			}
+			if (packed != null) {
+				list.setPackedValues(packed);
+			}
 		}
 
 		// if the old list was longer than the new one
@@ -340,6 +352,18 @@ public class AlgoSequence extends AlgoElement {
 
 	}
 
+	/**
+	 * Long lists of numbers or points are stored without creating an element
+	 * per item.
+	 */
+	private PackedListValues createPackedValues(int n) {
+		if (n < PackedListValues.MIN_SIZE || expIsFunctionOrCurve
+				|| !PackedListValues.canPack(expression)) {
+			return null;
+		}
+		return new PackedListValues(createNewListElement(), n);
+	}
+
 	private GeoElement createNewListElement() {
 		GeoElement listElement = expression.copyInternal(cons);
 		listElement.setParentAlgorithm(this);
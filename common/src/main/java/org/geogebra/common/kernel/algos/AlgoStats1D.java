@@ -21,6 +21,7 @@ import org.geogebra.common.kernel.geos.GeoAngle.AngleStyle;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.statistics.ListStatistics;
 
 /**
  * Mean, variance, sum, sum of squares, standard deviation of a list adapted
@@ -79,7 +80,9 @@ public abstract class AlgoStats1D extends AlgoElement {
 		this.stat = stat;
 		this.Truncate = truncate;
 
-		if (geoList.size() > 0 && geoList.get(0).isAngle()) {
+		// packed lists never contain angles
+		if (geoList.getPackedValues() == null && geoList.size() > 0
+				&& geoList.get(0).isAngle()) {
 			result = new GeoAngle(cons);
 
 			// allow unbounded angles (from ggb44). This could break old files
@@ -191,19 +194,32 @@ public abstract class AlgoStats1D extends AlgoElement {
 		boolean useMidpoint = false;
 		double n = 0;
 
+		ListStatistics stats = null;
+		// variance of long lists from Welford's algorithm
+		boolean streamed = false;
+		double centralSquares = 0;
+
 		// list of numbers only, no frequencies
 		if (geoList2 == null) {
-			double val;
-			for (int i = 0; i < size; i++) {
-				geo = geoList.get(i);
-				if (geo instanceof NumberValue) {
-					val = geo.evaluateDouble();
+			stats = geoList.getStatistics();
+			if (!stats.isNumeric()) {
+				result.setUndefined();
+				return;
+			}
+			if (size == stats.size()) {
+				sumVal = stats.getSum();
+				sumSquares = stats.getSumSquares();
+				product = stats.getProduct();
+				streamed = stats.isStreaming();
+				centralSquares = stats.getCentralSumSquares();
+			} else {
+				double[] values = stats.getValues();
+				double val;
+				for (int i = 0; i < size; i++) {
+					val = values[i];
 					sumVal += val;
 					sumSquares += val * val;
 					product *= val;
-				} else {
-					result.setUndefined();
-					return;
 				}
 			}
 
@@ -269,11 +285,9 @@ public abstract class AlgoStats1D extends AlgoElement {
 
 			double sumAbsoluteDeviation = 0;
 			if (geoList2 == null) {
-				double val;
+				double[] values = stats.getValues();
 				for (int i = 0; i < size; i++) {
-					geo = geoList.get(i);
-					val = geo.evaluateDouble();
-					sumAbsoluteDeviation += Math.abs(mu - val);
+					sumAbsoluteDeviation += Math.abs(mu - values[i]);
 				}
 			}
 			// list of numbers with list of frequencies
@@ -311,23 +325,26 @@ public abstract class AlgoStats1D extends AlgoElement {
 			result.setValue(mu);
 			break;
 		case STATS_SD:
-			var = sumSquares / n - mu * mu;
+			var = streamed ? centralSquares / n : sumSquares / n - mu * mu;
 			result.setValue(Math.sqrt(var));
 			break;
 		case STATS_SAMPLE_SD:
-			var = (sumSquares - sumVal * sumVal / n) / (n - 1);
+			var = streamed ? centralSquares / (n - 1)
+					: (sumSquares - sumVal * sumVal / n) / (n - 1);
 			result.setValue(Math.sqrt(var));
 			break;
 		case STATS_VARIANCE:
-			var = sumSquares / n - mu * mu;
+			var = streamed ? centralSquares / n : sumSquares / n - mu * mu;
 			result.setValue(var);
 			break;
 		case STATS_SAMPLE_VARIANCE:
-			var = (sumSquares - sumVal * sumVal / n) / (n - 1);
+			var = streamed ? centralSquares / (n - 1)
+					: (sumSquares - sumVal * sumVal / n) / (n - 1);
 			result.setValue(var);
 			break;
 		case STATS_SXX:
-			var = sumSquares - (sumVal * sumVal) / n;
+			var = streamed ? centralSquares
+					: sumSquares - (sumVal * sumVal) / n;
 			result.setValue(var);
 			break;
 		case STATS_SIGMAX:
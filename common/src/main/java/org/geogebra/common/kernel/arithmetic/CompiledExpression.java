@@ -0,0 +1,351 @@
+package org.geogebra.common.kernel.arithmetic;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.kernel.geos.GeoDummyVariable;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.plugin.Operation;
+
+/**
+ * Real valued expression translated to a flat postfix program working on a
+ * stack of doubles, so that repeated evaluation (plotting, root finding) does
+ * not walk the tree nor allocate intermediate MyDouble objects.
+ *
+ * The program gives the same results as the tree walker: operations with a
+ * fast path in {@link ExpressionNode#evaluateDouble()} are compiled to plain
+ * arithmetic, below other operations the rules of
+ * {@link ExpressionNodeEvaluator} and {@link MyDouble} apply (e.g. sin(pi) is
+ * 0). Subtrees with unsupported
+ * operations are evaluated by the tree walker. Numbers and variables are read
+ * when the program runs, changes of the tree structure are detected by
+ * {@link #isValidFor(ExpressionNode)}.
+ */
+public final class CompiledExpression {
+
+	private static final int LOAD = 0;
+	private static final int TREE = 1;
+	private static final int ADD = 2;
+	private static final int SUB = 3;
+	private static final int MUL = 4;
+	private static final int DIV = 5;
+	private static final int POW = 6;
+	private static final int POW_CHECKED = 7;
+	private static final int SIN = 8;
+	private static final int SIN_CHECKED = 9;
+	private static final int COS = 10;
+	private static final int COS_CHECKED = 11;
+	private static final int TAN_CHECKED = 12;
+	private static final int SQRT = 13;
+	private static final int EXP = 14;
+	private static final int LOG = 15;
+	private static final int ABS = 16;
+
+	private final ExpressionNode root;
+	/** opcodes, LOAD, TREE and powers are followed by an operand index */
+	private final int[] code;
+	private final NumberValue[] numbers;
+	private final ExpressionNode[] subtrees;
+	private final ExpressionNode[] exponents;
+	private final ExpressionNode[] nodes;
+	private final Operation[] operations;
+	private final ExpressionValue[] lefts;
+	private final ExpressionValue[] rights;
+	private final double[] stack;
+
+	private CompiledExpression(Compiler compiler) {
+		root = compiler.root;
+		code = new int[compiler.code.size()];
+		for (int i = 0; i < code.length; i++) {
+			code[i] = compiler.code.get(i);
+		}
+		numbers = compiler.numbers.toArray(new NumberValue[0]);
+		subtrees = compiler.subtrees.toArray(new ExpressionNode[0]);
+		exponents = compiler.exponents.toArray(new ExpressionNode[0]);
+		int size = compiler.nodes.size();
+		nodes = compiler.nodes.toArray(new ExpressionNode[size]);
+		operations = new Operation[size];
+		lefts = new ExpressionValue[size];
+		rights = new ExpressionValue[size];
+		for (int i = 0; i < size; i++) {
+			operations[i] = nodes[i].getOperation();
+			lefts[i] = nodes[i].getLeft();
+			rights[i] = nodes[i].getRight();
+		}
+		stack = new double[compiler.maxDepth];
+	}
+
+	/**
+	 * @param expression
+	 *            real valued expression
+	 * @return compiled expression or null if the expression cannot be
+	 *         evaluated faster than by the tree walker
+	 */
+	public static CompiledExpression compile(ExpressionNode expression) {
+		if (expression == null) {
+			return null;
+		}
+		Compiler compiler = new Compiler(expression);
+		if (!compiler.compile(expression, true) || compiler.nodes.isEmpty()) {
+			return null;
+		}
+		return new CompiledExpression(compiler);
+	}
+
+	/**
+	 * @param expression
+	 *            expression
+	 * @return whether this was compiled from given expression and none of the
+	 *         compiled nodes was changed since
+	 */
+	public boolean isValidFor(ExpressionNode expression) {
+		if (expression != root) {
+			return false;
+		}
+		for (int i = 0; i < nodes.length; i++) {
+			ExpressionNode node = nodes[i];
+			if (node.getOperation() != operations[i]
+					|| node.getLeft() != lefts[i]
+					|| node.getRight() != rights[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Evaluates the program; not thread safe, same as setting the function
+	 * variables is not.
+	 *
+	 * @return value of the expression
+	 */
+	public double evaluate() {
+		double[] st = stack;
+		int[] program = code;
+		int top = -1;
+		int pc = 0;
+		while (pc < program.length) {
+			switch (program[pc++]) {
+			case LOAD:
+				st[++top] = numbers[program[pc++]].getDouble();
+				break;
+			case TREE:
+				st[++top] = subtrees[program[pc++]].evaluateDouble();
+				break;
+			case ADD:
+				top--;
+				st[top] += st[top + 1];
+				break;
+			case SUB:
+				top--;
+				st[top] -= st[top + 1];
+				break;
+			case MUL:
+				top--;
+				st[top] *= st[top + 1];
+				break;
+			case DIV:
+				top--;
+				st[top] /= st[top + 1];
+				break;
+			case POW:
+				top--;
+				st[top] = power(st[top], st[top + 1], program[pc++]);
+				break;
+			case POW_CHECKED:
+				top--;
+				st[top] = powerChecked(st[top], st[top + 1], program[pc++]);
+				break;
+			case SIN:
+				st[top] = Math.sin(st[top]);
+				break;
+			case SIN_CHECKED:
+				st[top] = MyDouble.sin(st[top]);
+				break;
+			case COS:
+				st[top] = Math.cos(st[top]);
+				break;
+			case COS_CHECKED:
+				st[top] = MyDouble.cos(st[top]);
+				break;
+			case TAN_CHECKED:
+				st[top] = MyDouble.tan(st[top]);
+				break;
+			case SQRT:
+				st[top] = Math.sqrt(st[top]);
+				break;
+			case EXP:
+				st[top] = Math.exp(st[top]);
+				break;
+			case LOG:
+				st[top] = Math.log(st[top]);
+				break;
+			case ABS:
+				st[top] = Math.abs(st[top]);
+				break;
+			default:
+				return Double.NaN;
+			}
+		}
+		return st[0];
+	}
+
+	/**
+	 * @return number of compiled nodes
+	 */
+	public int getCompiledNodeCount() {
+		return nodes.length;
+	}
+
+	/**
+	 * @return number of subtrees left to the tree walker
+	 */
+	public int getFallbackCount() {
+		return subtrees.length;
+	}
+
+	private double power(double base, double exponent, int exponentNode) {
+		if (base < 0 && exponentNode >= 0) {
+			Double negPower = exponents[exponentNode].calculateNegPower(base);
+			if (negPower != null) {
+				return negPower;
+			}
+		}
+		return Math.pow(base, exponent);
+	}
+
+	private double powerChecked(double base, double exponent,
+			int exponentNode) {
+		if (MyDouble.exactEqual(base, Math.E)) {
+			return Math.exp(exponent);
+		}
+		if (base < 0 && exponentNode >= 0) {
+			Double negPower = exponents[exponentNode].calculateNegPower(base);
+			if (negPower != null) {
+				return negPower;
+			}
+		}
+		return MyDouble.pow(base, exponent);
+	}
+
+	/**
+	 * Translates the tree; "fast" nodes follow
+	 * {@link ExpressionNode#evaluateDouble()}, all nodes below a node without
+	 * fast path follow {@link ExpressionNodeEvaluator}.
+	 */
+	private static class Compiler {
+		final ExpressionNode root;
+		final ArrayList<Integer> code = new ArrayList<>();
+		final ArrayList<NumberValue> numbers = new ArrayList<>();
+		final ArrayList<ExpressionNode> subtrees = new ArrayList<>();
+		final ArrayList<ExpressionNode> exponents = new ArrayList<>();
+		final ArrayList<ExpressionNode> nodes = new ArrayList<>();
+		int depth;
+		int maxDepth;
+
+		Compiler(ExpressionNode root) {
+			this.root = root;
+		}
+
+		boolean compile(ExpressionValue value, boolean fast) {
+			if (value instanceof ExpressionNode) {
+				return compileNode((ExpressionNode) value, fast);
+			}
+			if (value instanceof MyDouble || (value instanceof GeoNumeric
+					&& !(value instanceof GeoDummyVariable))) {
+				emit(LOAD, numbers.size());
+				numbers.add((NumberValue) value);
+				push();
+				return true;
+			}
+			return false;
+		}
+
+		private boolean compileNode(ExpressionNode node, boolean fast) {
+			nodes.add(node);
+			ExpressionValue left = node.getLeft();
+			ExpressionValue right = node.getRight();
+			if (node.isLeaf() || node.getOperation() == Operation.NO_OPERATION) {
+				return compile(left, fast);
+			}
+			switch (node.getOperation()) {
+			case PLUS:
+				return binary(left, right, fast, ADD);
+			case MINUS:
+				return binary(left, right, fast, SUB);
+			case MULTIPLY:
+				return binary(left, right, fast, MUL);
+			case DIVIDE:
+				return binary(left, right, fast, DIV);
+			case POWER:
+				boolean fastPower = fast && left.evaluatesToNumber(false);
+				if (!binary(left, right, fastPower, -1)) {
+					return false;
+				}
+				int exponentNode = -1;
+				if (right.isExpressionNode()) {
+					exponentNode = exponents.size();
+					exponents.add((ExpressionNode) right);
+				}
+				emit(fastPower ? POW : POW_CHECKED, exponentNode);
+				return true;
+			case SIN:
+				return unary(left, fast, fast ? SIN : SIN_CHECKED);
+			case COS:
+				return unary(left, fast, fast ? COS : COS_CHECKED);
+			case SQRT:
+				return unary(left, fast, SQRT);
+			case TAN:
+				return unary(left, false, TAN_CHECKED);
+			case EXP:
+				return unary(left, false, EXP);
+			case LOG:
+				return unary(left, false, LOG);
+			case ABS:
+				return unary(left, false, ABS);
+			default:
+				nodes.remove(nodes.size() - 1);
+				return fallback(node);
+			}
+		}
+
+		private boolean binary(ExpressionValue left, ExpressionValue right,
+				boolean fast, int opcode) {
+			if (!compile(left, fast) || !compile(right, fast)) {
+				return false;
+			}
+			depth--;
+			if (opcode >= 0) {
+				code.add(opcode);
+			}
+			return true;
+		}
+
+		private boolean unary(ExpressionValue left, boolean fast, int opcode) {
+			if (!compile(left, fast)) {
+				return false;
+			}
+			code.add(opcode);
+			return true;
+		}
+
+		private boolean fallback(ExpressionNode node) {
+			if (!node.evaluatesToNumber(false)) {
+				return false;
+			}
+			emit(TREE, subtrees.size());
+			subtrees.add(node);
+			push();
+			return true;
+		}
+
+		private void emit(int opcode, int operand) {
+			code.add(opcode);
+			code.add(operand);
+		}
+
+		private void push() {
+			depth++;
+			maxDepth = Math.max(maxDepth, depth);
+		}
+	}
+}
@@ -0,0 +1,581 @@
+package org.geogebra.common.kernel.arithmetic;
+
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.geos.GeoAngle;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.kernel.geos.GeoVector;
+import org.geogebra.common.plugin.Operation;
+
+/**
+ * Numeric or 2D vector expression compiled for repeated evaluation, see
+ * {@link ExpressionNodeEvaluator#evaluateDouble(ExpressionNode)}. The handler
+ * of each operation is chosen once, when the tree is compiled, and vector
+ * nodes write their result into their own coordinates, so evaluation does not
+ * create any {@link MyDouble} or {@link org.geogebra.common.kernel.geos.GeoVec2D}
+ * objects.
+ *
+ * Only operands whose value is a plain number or 2D vector are supported:
+ * constants, numbers, angles, points, vectors and coordinate pairs. A
+ * compiled tree is valid as long as all its expression nodes keep their
+ * operations and operands.
+ */
+abstract class CompiledNode {
+
+	/** expression was evaluated once, it is compiled on the next evaluation */
+	static final CompiledNode PENDING = new Marker();
+	/** expression contains unsupported operations or operands */
+	static final CompiledNode UNSUPPORTED = new Marker();
+
+	/**
+	 * @return whether the expression nodes still have the operations and
+	 *         operands this was compiled from
+	 */
+	abstract boolean isUnchanged();
+
+	/**
+	 * @param node
+	 *            expression that evaluated to a number or vector
+	 * @return compiled expression or {@link #UNSUPPORTED}
+	 */
+	static CompiledNode compile(ExpressionNode node) {
+		CompiledNode compiled = compileNode(node);
+		return compiled == null ? UNSUPPORTED : compiled;
+	}
+
+	private static CompiledNode compileOperand(ExpressionValue ev) {
+		if (ev instanceof ExpressionNode) {
+			return compileNode((ExpressionNode) ev);
+		}
+		if (ev.getClass() == MyDouble.class || ev instanceof MySpecialDouble) {
+			return new Constant((MyDouble) ev);
+		}
+		if (ev.getClass() == GeoNumeric.class || ev instanceof GeoAngle) {
+			return new Numeric((GeoNumeric) ev);
+		}
+		if (ev.getClass() == GeoPoint.class) {
+			return new Point((GeoPoint) ev);
+		}
+		if (ev.getClass() == GeoVector.class) {
+			return new Vector((GeoVector) ev);
+		}
+		if (ev.getClass() == MyVecNode.class) {
+			MyVecNode vec = (MyVecNode) ev;
+			CompiledNode x = compileOperand(vec.getX());
+			CompiledNode y = compileOperand(vec.getY());
+			if (x instanceof NumberNode && y instanceof NumberNode) {
+				return new Coordinates(vec, (NumberNode) x, (NumberNode) y);
+			}
+		}
+		return null;
+	}
+
+	private static CompiledNode compileNode(ExpressionNode node) {
+		Shape shape = new Shape(node);
+		CompiledNode left = compileOperand(node.getLeft());
+		Operation operation = node.getOperation();
+		if (left == null) {
+			return null;
+		}
+		if (node.leaf || operation == Operation.NO_OPERATION) {
+			return left instanceof NumberNode
+					? new NumberLeaf(shape, (NumberNode) left)
+					: new VectorLeaf(shape, (VectorNode) left);
+		}
+		if (left instanceof VectorNode && (operation == Operation.XCOORD
+				|| operation == Operation.YCOORD)) {
+			return new VectorCoord(shape, (VectorNode) left,
+					operation == Operation.XCOORD);
+		}
+		if (isFunction(operation)) {
+			return left instanceof NumberNode
+					? new Unary(shape, (NumberNode) left, operation) : null;
+		}
+
+		CompiledNode right = compileOperand(node.getRight());
+		if (left instanceof NumberNode && right instanceof NumberNode) {
+			if (operation == Operation.POWER) {
+				return new Power(shape, (NumberNode) left, (NumberNode) right);
+			}
+			return isOperator(operation)
+					? new Binary(shape, (NumberNode) left, (NumberNode) right,
+							operation)
+					: null;
+		}
+		if (left instanceof VectorNode && right instanceof VectorNode
+				&& (operation == Operation.PLUS
+						|| operation == Operation.MINUS)) {
+			return new VectorSum(shape, (VectorNode) left,
+					(VectorNode) right, operation == Operation.MINUS);
+		}
+		if (left instanceof NumberNode && right instanceof VectorNode
+				&& operation == Operation.MULTIPLY) {
+			return new VectorScale(shape, (VectorNode) right,
+					(NumberNode) left, false);
+		}
+		if (left instanceof VectorNode && right instanceof NumberNode
+				&& (operation == Operation.MULTIPLY
+						|| operation == Operation.DIVIDE)) {
+			return new VectorScale(shape, (VectorNode) left,
+					(NumberNode) right, operation == Operation.DIVIDE);
+		}
+		return null;
+	}
+
+	/**
+	 * @return whether {@link Binary} supports the operation
+	 */
+	private static boolean isOperator(Operation operation) {
+		switch (operation) {
+		case PLUS:
+		case MINUS:
+		case MULTIPLY:
+		case DIVIDE:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * @return whether {@link Unary} supports the operation
+	 */
+	private static boolean isFunction(Operation operation) {
+		switch (operation) {
+		case SIN:
+		case COS:
+		case TAN:
+		case SQRT:
+		case SQRT_SHORT:
+		case EXP:
+		case ABS:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Compiled expression with numeric value.
+	 */
+	abstract static class NumberNode extends CompiledNode {
+		/**
+		 * @return value of the expression
+		 */
+		abstract double evaluate();
+	}
+
+	/**
+	 * Compiled expression with 2D vector value, stored in x and y.
+	 */
+	abstract static class VectorNode extends CompiledNode {
+		/** x-coordinate of the last result */
+		double x;
+		/** y-coordinate of the last result */
+		double y;
+
+		/**
+		 * Evaluates the expression into x and y.
+		 */
+		abstract void evaluate();
+	}
+
+	private static final class Marker extends CompiledNode {
+		@Override
+		boolean isUnchanged() {
+			return false;
+		}
+	}
+
+	/**
+	 * Operation and operands of an expression node at compile time.
+	 */
+	private static final class Shape {
+		private final ExpressionNode node;
+		private final Operation operation;
+		private final ExpressionValue left;
+		private final ExpressionValue right;
+		private final boolean leaf;
+
+		Shape(ExpressionNode node) {
+			this.node = node;
+			this.operation = node.getOperation();
+			this.left = node.getLeft();
+			this.right = node.getRight();
+			this.leaf = node.leaf;
+		}
+
+		boolean isUnchanged() {
+			return node.getOperation() == operation && node.getLeft() == left
+					&& node.getRight() == right && node.leaf == leaf;
+		}
+	}
+
+	private static final class Constant extends NumberNode {
+		private final MyDouble number;
+
+		Constant(MyDouble number) {
+			this.number = number;
+		}
+
+		@Override
+		boolean isUnchanged() {
+			return true;
+		}
+
+		@Override
+		double evaluate() {
+			return number.getDouble();
+		}
+	}
+
+	private static final class Numeric extends NumberNode {
+		private final GeoNumeric number;
+
+		Numeric(GeoNumeric number) {
+			this.number = number;
+		}
+
+		@Override
+		boolean isUnchanged() {
+			return true;
+		}
+
+		@Override
+		double evaluate() {
+			return number.getDouble();
+		}
+	}
+
+	private static final class Point extends VectorNode {
+		private final GeoPoint point;
+
+		Point(GeoPoint point) {
+			this.point = point;
+		}
+
+		@Override
+		boolean isUnchanged() {
+			return true;
+		}
+
+		@Override
+		void evaluate() {
+			x = point.getInhomX();
+			y = point.getInhomY();
+		}
+	}
+
+	private static final class Vector extends VectorNode {
+		private final GeoVector vector;
+
+		Vector(GeoVector vector) {
+			this.vector = vector;
+		}
+
+		@Override
+		boolean isUnchanged() {
+			return true;
+		}
+
+		@Override
+		void evaluate() {
+			x = vector.getX();
+			y = vector.getY();
+		}
+	}
+
+	/**
+	 * Same result as {@link MyVecNode#getCoords()}.
+	 */
+	private static final class Coordinates extends VectorNode {
+		private final MyVecNode vec;
+		private final ExpressionValue vecX;
+		private final ExpressionValue vecY;
+		private final NumberNode first;
+		private final NumberNode second;
+
+		Coordinates(MyVecNode vec, NumberNode first, NumberNode second) {
+			this.vec = vec;
+			this.vecX = vec.getX();
+			this.vecY = vec.getY();
+			this.first = first;
+			this.second = second;
+		}
+
+		@Override
+		boolean isUnchanged() {
+			int mode = vec.getToStringMode();
+			return vec.getX() == vecX && vec.getY() == vecY
+					&& (mode == Kernel.COORD_CARTESIAN
+							|| mode == Kernel.COORD_POLAR
+							|| mode == Kernel.COORD_COMPLEX)
+					&& first.isUnchanged() && second.isUnchanged();
+		}
+
+		@Override
+		void evaluate() {
+			if (vec.getToStringMode() == Kernel.COORD_POLAR) {
+				double r = first.evaluate();
+				double phi = second.evaluate();
+				x = r * Math.cos(phi);
+				y = r * Math.sin(phi);
+			} else {
+				x = first.evaluate();
+				y = second.evaluate();
+			}
+		}
+	}
+
+	private static final class NumberLeaf extends NumberNode {
+		private final Shape shape;
+		private final NumberNode value;
+
+		NumberLeaf(Shape shape, NumberNode value) {
+			this.shape = shape;
+			this.value = value;
+		}
+
+		@Override
+		boolean isUnchanged() {
+			return shape.isUnchanged() && value.isUnchanged();
+		}
+
+		@Override
+		double evaluate() {
+			return value.evaluate();
+		}
+	}
+
+	private static final class VectorLeaf extends VectorNode {
+		private final Shape shape;
+		private final VectorNode value;
+
+		VectorLeaf(Shape shape, VectorNode value) {
+			this.shape = shape;
+			this.value = value;
+		}
+
+		@Override
+		boolean isUnchanged() {
+			return shape.isUnchanged() && value.isUnchanged();
+		}
+
+		@Override
+		void evaluate() {
+			value.evaluate();
+			x = value.x;
+			y = value.y;
+		}
+	}
+
+	/**
+	 * Same results as the corresponding cases of
+	 * {@link ExpressionNodeEvaluator#handlePlus}, handleMinus, handleMult and
+	 * handleDivide for two numbers.
+	 */
+	private static final class Binary extends NumberNode {
+		private final Shape shape;
+		private final NumberNode left;
+		private final NumberNode right;
+		private final Operation operation;
+
+		Binary(Shape shape, NumberNode left, NumberNode right,
+				Operation operation) {
+			this.shape = shape;
+			this.left = left;
+			this.right = right;
+			this.operation = operation;
+		}
+
+		@Override
+		boolean isUnchanged() {
+			return shape.isUnchanged() && left.isUnchanged()
+					&& right.isUnchanged();
+		}
+
+		@Override
+		double evaluate() {
+			double a = left.evaluate();
+			double b = right.evaluate();
+			switch (operation) {
+			case PLUS:
+				return a + b;
+			case MINUS:
+				return a - b;
+			case MULTIPLY:
+				return a * b;
+			default:
+				return a / b;
+			}
+		}
+	}
+
+	/**
+	 * Same result as {@link ExpressionNodeEvaluator#handlePower} for two
+	 * numbers.
+	 */
+	private static final class Power extends NumberNode {
+		private final Shape shape;
+		private final NumberNode base;
+		private final NumberNode exponent;
+
+		Power(Shape shape, NumberNode base, NumberNode exponent) {
+			this.shape = shape;
+			this.base = base;
+			this.exponent = exponent;
+		}
+
+		@Override
+		boolean isUnchanged() {
+			return shape.isUnchanged() && base.isUnchanged()
+					&& exponent.isUnchanged();
+		}
+
+		@Override
+		double evaluate() {
+			double a = base.evaluate();
+			double b = exponent.evaluate();
+			if (MyDouble.exactEqual(a, Math.E)) {
+				return Math.exp(b);
+			}
+			if (a < 0 && shape.right.isExpressionNode()) {
+				Double negPower = shape.right.wrap().calculateNegPower(a);
+				if (negPower != null) {
+					return negPower;
+				}
+			}
+			return MyDouble.pow(a, b);
+		}
+	}
+
+	/**
+	 * Same results as the corresponding methods of {@link MyDouble}.
+	 */
+	private static final class Unary extends NumberNode {
+		private final Shape shape;
+		private final NumberNode argument;
+		private final Operation operation;
+
+		Unary(Shape shape, NumberNode argument, Operation operation) {
+			this.shape = shape;
+			this.argument = argument;
+			this.operation = operation;
+		}
+
+		@Override
+		boolean isUnchanged() {
+			return shape.isUnchanged() && argument.isUnchanged();
+		}
+
+		@Override
+		double evaluate() {
+			double a = argument.evaluate();
+			switch (operation) {
+			case SIN:
+				return MyDouble.sin(a);
+			case COS:
+				return MyDouble.cos(a);
+			case TAN:
+				return MyDouble.tan(a);
+			case EXP:
+				return Math.exp(a);
+			case ABS:
+				return Math.abs(a);
+			default:
+				return Math.sqrt(a);
+			}
+		}
+	}
+
+	private static final class VectorCoord extends NumberNode {
+		private final Shape shape;
+		private final VectorNode vector;
+		private final boolean xCoord;
+
+		VectorCoord(Shape shape, VectorNode vector, boolean xCoord) {
+			this.shape = shape;
+			this.vector = vector;
+			this.xCoord = xCoord;
+		}
+
+		@Override
+		boolean isUnchanged() {
+			return shape.isUnchanged() && vector.isUnchanged();
+		}
+
+		@Override
+		double evaluate() {
+			vector.evaluate();
+			return xCoord ? vector.x : vector.y;
+		}
+	}
+
+	private static final class VectorSum extends VectorNode {
+		private final Shape shape;
+		private final VectorNode left;
+		private final VectorNode right;
+		private final boolean subtract;
+
+		VectorSum(Shape shape, VectorNode left, VectorNode right,
+				boolean subtract) {
+			this.shape = shape;
+			this.left = left;
+			this.right = right;
+			this.subtract = subtract;
+		}
+
+		@Override
+		boolean isUnchanged() {
+			return shape.isUnchanged() && left.isUnchanged()
+					&& right.isUnchanged();
+		}
+
+		@Override
+		void evaluate() {
+			left.evaluate();
+			right.evaluate();
+			if (subtract) {
+				x = left.x - right.x;
+				y = left.y - right.y;
+			} else {
+				x = left.x + right.x;
+				y = left.y + right.y;
+			}
+		}
+	}
+
+	private static final class VectorScale extends VectorNode {
+		private final Shape shape;
+		private final VectorNode vector;
+		private final NumberNode factor;
+		private final boolean divide;
+
+		VectorScale(Shape shape, VectorNode vector, NumberNode factor,
+				boolean divide) {
+			this.shape = shape;
+			this.vector = vector;
+			this.factor = factor;
+			this.divide = divide;
+		}
+
+		@Override
+		boolean isUnchanged() {
+			return shape.isUnchanged() && vector.isUnchanged()
+					&& factor.isUnchanged();
+		}
+
+		@Override
+		void evaluate() {
+			vector.evaluate();
+			double f = factor.evaluate();
+			if (divide) {
+				x = vector.x / f;
+				y = vector.y / f;
+			} else {
+				x = vector.x * f;
+				y = vector.y * f;
+			}
+		}
+	}
+}
@@ -84,6 +84,8 @@ public class ExpressionNode extends ValidExpression
 	// used by NDerivative / NIntegral / NInvert commands
 	// (answer not displayed in Algebra View)
 	private AlgoElement secretMaskingAlgo;
+	/** see ExpressionNodeEvaluator#evaluateDouble(ExpressionNode) */
+	private CompiledNode compiled;
 
 	/**
 	 * Creates dummy expression node
@@ -184,6 +186,7 @@ public class ExpressionNode extends ValidExpression
 	 */
 	public void setOperation(Operation op) {
 		operation = op;
+		compiled = null;
 	}
 
 	/**
@@ -194,6 +197,21 @@ public class ExpressionNode extends ValidExpression
 		holdsLaTeXtext = flag;
 	}
 
+	/**
+	 * @return compiled form of this expression, may be null
+	 */
+	CompiledNode getCompiled() {
+		return compiled;
+	}
+
+	/**
+	 * @param compiled
+	 *            compiled form of this expression
+	 */
+	void setCompiled(CompiledNode compiled) {
+		this.compiled = compiled;
+	}
+
 	/**
 	 * @return left subexpression
 	 */
@@ -207,6 +225,7 @@ public class ExpressionNode extends ValidExpression
 	 */
 	final public void setLeft(ExpressionValue l) {
 		left = l;
+		compiled = null;
 		left.setInTree(true); // needed fot list operations eg k=2 then k {1,2}
 	}
 
@@ -236,6 +255,7 @@ public class ExpressionNode extends ValidExpression
 	 */
 	final public void setRight(ExpressionValue r) {
 		right = r;
+		compiled = null;
 		if (right != null) {
 			right.setInTree(true); // needed for list operations eg k=2 then k
 			// {1,2}
@@ -116,6 +116,71 @@ public class ExpressionNodeEvaluator implements ExpressionNodeConstants {
 		return handleOp(operation, lt, rt, left, right, tpl, holdsLaTeXtext);
 	}
 
+	/**
+	 * Evaluates an expression that is expected to be numeric, e.g. the
+	 * definition of a dependent number. When an expression with supported
+	 * operations and operands is evaluated repeatedly, it is compiled and
+	 * further evaluations do not create intermediate values.
+	 * 
+	 * @param expressionNode
+	 *            expression
+	 * @return value of the expression, NaN if it is not numeric
+	 */
+	public double evaluateDouble(ExpressionNode expressionNode) {
+		CompiledNode compiled = expressionNode.getCompiled();
+		if (compiled instanceof CompiledNode.NumberNode
+				&& compiled.isUnchanged()) {
+			return ((CompiledNode.NumberNode) compiled).evaluate();
+		}
+		ExpressionValue result = expressionNode
+				.evaluate(StringTemplate.defaultTemplate);
+		if (!(result instanceof NumberValue)) {
+			return Double.NaN;
+		}
+		updateCompiled(expressionNode, compiled);
+		return ((NumberValue) result).getDouble();
+	}
+
+	/**
+	 * Evaluates an expression that is expected to be a 2D vector, e.g. the
+	 * definition of a dependent point. Compiled like
+	 * {@link #evaluateDouble(ExpressionNode)}.
+	 * 
+	 * @param expressionNode
+	 *            expression
+	 * @param result
+	 *            holder for the result of compiled evaluation
+	 * @return result or a new vector
+	 */
+	public GeoVec2D evaluateVector(ExpressionNode expressionNode,
+			GeoVec2D result) {
+		CompiledNode compiled = expressionNode.getCompiled();
+		if (compiled instanceof CompiledNode.VectorNode
+				&& compiled.isUnchanged()) {
+			CompiledNode.VectorNode vector = (CompiledNode.VectorNode) compiled;
+			vector.evaluate();
+			result.setCoords(vector.x, vector.y);
+			return result;
+		}
+		GeoVec2D ret = ((VectorValue) expressionNode
+				.evaluate(StringTemplate.defaultTemplate)).getVector();
+		updateCompiled(expressionNode, compiled);
+		return ret;
+	}
+
+	/**
+	 * Compiles an expression on its second evaluation, expressions that are
+	 * evaluated only once are not worth compiling.
+	 */
+	private void updateCompiled(ExpressionNode expressionNode,
+			CompiledNode compiled) {
+		if (filter != null || compiled == CompiledNode.UNSUPPORTED) {
+			return;
+		}
+		expressionNode.setCompiled(compiled == CompiledNode.PENDING
+				? CompiledNode.compile(expressionNode) : CompiledNode.PENDING);
+	}
+
 	/**
 	 * @param op
 	 *            operation
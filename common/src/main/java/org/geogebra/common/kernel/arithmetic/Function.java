@@ -215,7 +215,7 @@ public class Function extends FunctionNVar
 		}
 		// NumberValue
 		fVars[0].set(x);
-		return expression.evaluateDouble();
+		return evaluateExpression();
 
 	}
 
@@ -18,6 +18,8 @@ import java.util.Map.Entry;
 import java.util.TreeMap;
 import java.util.TreeSet;
 
+import org.geogebra.common.cas.ParsedCasResultCache;
+import org.geogebra.common.factories.UtilFactory;
 import org.geogebra.common.kernel.ConstructionDefaults;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.StringTemplate;
@@ -68,12 +70,20 @@ public class FunctionNVar extends ValidExpression
 	@Weak
 	protected Kernel kernel;
 	private final static int MAX_CAS_EVAL_MAP_SIZE = 100;
+	/**
+	 * CAS results for this function, saved in the file as casMap so that they
+	 * are available before the CAS is loaded. Not stored in the kernel's
+	 * CasResultCache: entries read from a file are not computed by our CAS and
+	 * must not get into a cache shared with other constructions.
+	 */
 	private MaxSizeHashMap<String, FunctionNVar> casEvalMap;
 	private String shortLHS;
 	private ExpressionNode casEvalExpression;
 	private String casEvalStringSymbolic;
 
 	private boolean forceInequality;
+	private CompiledExpression compiledExpression;
+	private ExpressionNode uncompilableExpression;
 
 	private static ArrayList<ExpressionNode> undecided = new ArrayList<>();
 
@@ -505,7 +515,7 @@ public class FunctionNVar extends ValidExpression
 				fVars[i].set(vals[i]);
 			}
 		}
-		return expression.evaluateDouble();
+		return evaluateExpression();
 	}
 
 	@Override
@@ -519,7 +529,36 @@ public class FunctionNVar extends ValidExpression
 		fVars[0].set(x);
 		fVars[1].set(y);
 
-		return expression.evaluateDouble();
+		return evaluateExpression();
+	}
+
+	/**
+	 * Evaluates the expression for current values of function variables,
+	 * using compiled expression when possible.
+	 * 
+	 * @return value of the expression
+	 */
+	protected double evaluateExpression() {
+		CompiledExpression compiled = getCompiledExpression();
+		return compiled == null ? expression.evaluateDouble()
+				: compiled.evaluate();
+	}
+
+	/**
+	 * @return expression compiled for fast evaluation, null if not possible
+	 */
+	CompiledExpression getCompiledExpression() {
+		if (compiledExpression != null
+				&& compiledExpression.isValidFor(expression)) {
+			return compiledExpression;
+		}
+		compiledExpression = null;
+		if (expression != uncompilableExpression) {
+			compiledExpression = CompiledExpression.compile(expression);
+			uncompilableExpression = compiledExpression == null ? expression
+					: null;
+		}
+		return compiledExpression;
 	}
 
 	/**
@@ -660,25 +699,35 @@ public class FunctionNVar extends ValidExpression
 			// System.out.println("evaluateGeoGebraCAS: " + casString + " -> " +
 			// result);
 
-			// parse CAS result back into GeoGebra
-			String tmpLabel = kernel.getConstruction().getConstructionDefaults()
-					.getDefaultGeo(ConstructionDefaults.DEFAULT_FUNCTION_NVAR).getFreeLabel("f");
+			// parse CAS result back into GeoGebra, unless parsed before
 			sb.setLength(0);
-			sb.append(tmpLabel); // this name is never used, just needed for parsing
 			sb.append("(");
 			sb.append(getVarString(StringTemplate.defaultTemplate));
 			sb.append(") = ");
 			sb.append(result);
-
-			// parse result
-			if (getVarNumber() == 1) {
-				resultFun = (kernel.getParser().parseFunction(sb.toString()));
-			} else {
-				resultFun = (kernel.getParser()
-						.parseFunctionNVar(sb.toString()));
-				resultFun = ensureVarsAreNotNull(resultFun);
+			String definition = sb.toString();
+			ParsedCasResultCache parsedCache = kernel.getParsedCasCache();
+			resultFun = parsedCache.get(definition);
+			if (resultFun == null) {
+				long start = UtilFactory.getPrototype().getNanoTime();
+				String tmpLabel = kernel.getConstruction()
+						.getConstructionDefaults()
+						.getDefaultGeo(ConstructionDefaults.DEFAULT_FUNCTION_NVAR)
+						.getFreeLabel("f");
+				// this name is never used, just needed for parsing
+				String labeled = tmpLabel + definition;
+
+				// parse result
+				if (getVarNumber() == 1) {
+					resultFun = (kernel.getParser().parseFunction(labeled));
+				} else {
+					resultFun = (kernel.getParser().parseFunctionNVar(labeled));
+					resultFun = ensureVarsAreNotNull(resultFun);
+				}
+				resultFun.initFunction();
+				parsedCache.put(definition, resultFun,
+						UtilFactory.getPrototype().getNanoTime() - start);
 			}
-			resultFun.initFunction();
 		} catch (Throwable e) {
 			e.printStackTrace();
 			resultFun = null;
@@ -708,6 +757,9 @@ public class FunctionNVar extends ValidExpression
 	}
 
 	/**
+	 * Numeric CAS results are also cached by the kernel's CasResultCache and
+	 * parsed results by ParsedCasResultCache; this map keeps the ones that are
+	 * saved with this function.
 	 * 
 	 * @return CAS map command -> result
 	 */
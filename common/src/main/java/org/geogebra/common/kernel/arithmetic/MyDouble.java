@@ -358,34 +358,43 @@ public class MyDouble extends ValidExpression
 	 * @return cos(this)
 	 */
 	final public MyDouble cos() {
-		set(Math.cos(val));
+		set(cos(val));
 		angleDim = 0;
-		checkZero();
 		return this;
 	}
 
+	/**
+	 * @param x
+	 *            argument
+	 * @return cos(x), rounded to zero when close to zero
+	 */
+	public static double cos(double x) {
+		// make sure cos(2790 deg) gives zero
+		return checkZero(Math.cos(x));
+	}
+
 	/**
 	 * @return sin(this)
 	 */
 	final public MyDouble sin() {
-		boolean large = Math.abs(val) > 0.1;
-
-		set(Math.sin(val));
+		set(sin(val));
 		angleDim = 0;
-		// don't want this for eg sin(1.23*10^-9) but we do for eg sin(10pi)
-		if (large) {
-			checkZero();
-		}
 		return this;
 	}
 
-	/*
-	 * make sure cos(2790 deg) gives zero
+	/**
+	 * @param x
+	 *            argument
+	 * @return sin(x), rounded to zero when close to zero for large x
 	 */
-	private void checkZero() {
-		if (DoubleUtil.isZero(val)) {
-			set(0);
-		}
+	public static double sin(double x) {
+		double ret = Math.sin(x);
+		// don't want this for eg sin(1.23*10^-9) but we do for eg sin(10pi)
+		return Math.abs(x) > 0.1 ? checkZero(ret) : ret;
+	}
+
+	private static double checkZero(double x) {
+		return DoubleUtil.isZero(x) ? 0 : x;
 	}
 
 	/**
@@ -394,21 +403,24 @@ public class MyDouble extends ValidExpression
 	 * @return tangens of value
 	 */
 	final public MyDouble tan() {
-		boolean large = Math.abs(val) > 0.1;
+		set(tan(val));
+		angleDim = 0;
+		return this;
+	}
 
+	/**
+	 * @param x
+	 *            argument
+	 * @return tan(x), undefined for pi/2 + k*pi
+	 */
+	public static double tan(double x) {
 		// Math.tan() gives a very large number for tan(pi/2)
 		// but should be undefined for pi/2, 3pi/2, 5pi/2, etc.
-		if (DoubleUtil.isEqual(Math.abs(val) % Math.PI, Kernel.PI_HALF)) {
-			set(Double.NaN);
-		} else {
-			set(Math.tan(val));
-			// don't want this for eg tan(1.23*10^-9) but we do for eg tan(10pi)
-			if (large) {
-				checkZero();
-			}
+		if (DoubleUtil.isEqual(Math.abs(x) % Math.PI, Kernel.PI_HALF)) {
+			return Double.NaN;
 		}
-		angleDim = 0;
-		return this;
+		// don't want this for eg tan(1.23*10^-9) but we do for eg tan(10pi)
+		return Math.abs(x) > 0.1 ? checkZero(Math.tan(x)) : Math.tan(x);
 	}
 
 	/**
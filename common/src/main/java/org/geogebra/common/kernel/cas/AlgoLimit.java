@@ -38,6 +38,8 @@ public class AlgoLimit extends AlgoElement
 	/** result */
 	protected GeoNumeric outNum;
 	private String limitString;
+	/** whether the last request went to the CAS work queue */
+	private boolean queued;
 	private MyArbitraryConstant arbconst = new MyArbitraryConstant(this);
 
 	/**
@@ -99,6 +101,14 @@ public class AlgoLimit extends AlgoElement
 		}
 		limitString = f.getLimit(num.getDouble(), getDirection());
 
+		queued = cons.isFileLoading();
+		if (queued) {
+			// evaluated with other requests when loading is finished
+			outNum.setUndefined();
+			kernel.getCasWorkQueue().submit(this);
+			return;
+		}
+
 		try {
 			String numStr = kernel.evaluateCachedGeoGebraCAS(limitString,
 					arbconst);
@@ -130,11 +140,13 @@ public class AlgoLimit extends AlgoElement
 
 	@Override
 	public void handleCASoutput(String output, int requestID) {
-
+		if (isOutdated(requestID)) {
+			return;
+		}
 		NumberValue nv = kernel.getAlgebraProcessor().evaluateToNumeric(output,
 				ErrorHelper.silent());
 		outNum.setValue(nv.getDouble());
-		if (USE_ASYNCHRONOUS) {
+		if (USE_ASYNCHRONOUS || queued) {
 			outNum.updateCascade();
 		}
 
@@ -142,8 +154,23 @@ public class AlgoLimit extends AlgoElement
 
 	@Override
 	public void handleException(Throwable exception, int id) {
+		if (isOutdated(id)) {
+			return;
+		}
 		outNum.setUndefined();
+		if (queued) {
+			outNum.updateCascade();
+		}
+	}
 
+	/**
+	 * @param requestID
+	 *            request number
+	 * @return whether the input changed since a queued request was made
+	 */
+	private boolean isOutdated(int requestID) {
+		return queued && (limitString == null
+				|| limitString.hashCode() != requestID);
 	}
 
 	@Override
@@ -32,6 +32,8 @@ import org.geogebra.common.main.Localization;
 import org.geogebra.common.main.MyError;
 import org.geogebra.common.main.MyError.Errors;
 import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.profiler.Profiler;
+import org.geogebra.common.util.profiler.Profiler.Category;
 
 import com.google.j2objc.annotations.Weak;
 
@@ -196,7 +198,13 @@ public abstract class CommandDispatcher {
 			}
 			throw new CommandNotFoundError(app.getLocalization(), c);
 		}
-		return process(cmdProc, c, info);
+		Profiler profiler = kernel.getProfiler();
+		long start = profiler.start();
+		try {
+			return process(cmdProc, c, info);
+		} finally {
+			profiler.stop(Category.COMMAND, c.getName(), start);
+		}
 	}
 
 	/**
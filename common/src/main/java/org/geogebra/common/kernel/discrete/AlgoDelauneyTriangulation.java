@@ -11,11 +11,8 @@ import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.discrete.delaunay.DelaunayTriangulation;
-import org.geogebra.common.kernel.discrete.delaunay.PointDt;
 import org.geogebra.common.kernel.discrete.delaunay.TriangleDt;
-import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
-import org.geogebra.common.kernel.kernelND.GeoPointND;
 import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.debug.Log;
 
@@ -24,6 +21,7 @@ import org.geogebra.common.util.debug.Log;
  */
 public class AlgoDelauneyTriangulation extends AlgoDiscrete {
 	private static Comparator<MyLine> lineComparator;
+	private IncrementalDelaunay triangulation;
 
 	/**
 	 * @param cons
@@ -52,22 +50,10 @@ public class AlgoDelauneyTriangulation extends AlgoDiscrete {
 				return;
 			}
 
-			double[] inhom = new double[2];
-
-			PointDt[] points = new PointDt[size];
-
-			for (int i = 0; i < size; i++) {
-				GeoElement geo = inputList.get(i);
-				if (geo.isDefined() && geo.isGeoPoint()) {
-					GeoPointND p = (GeoPointND) geo;
-					p.getInhomCoords(inhom);
-
-					points[i] = new PointDt(inhom[0], inhom[1]);
-
-				}
+			if (triangulation == null) {
+				triangulation = new IncrementalDelaunay(false);
 			}
-
-			DelaunayTriangulation dt = new DelaunayTriangulation(points);
+			DelaunayTriangulation dt = updateTriangulation(triangulation);
 
 			if (dt.allCollinear) {
 				locus.setUndefined();
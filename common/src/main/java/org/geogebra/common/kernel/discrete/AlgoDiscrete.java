@@ -18,9 +18,11 @@ import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.GraphAlgo;
 import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.discrete.delaunay.DelaunayTriangulation;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoLocus;
+import org.geogebra.common.kernel.kernelND.GeoPointND;
 
 /**
  * 
@@ -72,4 +74,31 @@ public abstract class AlgoDiscrete extends AlgoElement implements GraphAlgo {
 		return locus;
 	}
 
+	/**
+	 * Updates the triangulation of the input points; undefined elements and
+	 * elements that are not points are passed as NaN.
+	 *
+	 * @param triangulation
+	 *            triangulation of the previous input
+	 * @return triangulation of the current input
+	 */
+	DelaunayTriangulation updateTriangulation(
+			IncrementalDelaunay triangulation) {
+		double[] inhom = new double[2];
+		double[] x = new double[size];
+		double[] y = new double[size];
+		for (int i = 0; i < size; i++) {
+			GeoElement geo = inputList.get(i);
+			if (geo.isDefined() && geo.isGeoPoint()) {
+				((GeoPointND) geo).getInhomCoords(inhom);
+				x[i] = inhom[0];
+				y[i] = inhom[1];
+			} else {
+				x[i] = Double.NaN;
+				y[i] = Double.NaN;
+			}
+		}
+		return triangulation.update(x, y);
+	}
+
 }
@@ -1,40 +1,21 @@
 package org.geogebra.common.kernel.discrete;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.Arrays;
 
-import org.apache.commons.collections15.Transformer;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.commands.Commands;
+import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
-import org.geogebra.common.kernel.matrix.Coords;
-
-import edu.uci.ics.jung.algorithms.shortestpath.MinimumSpanningForest2;
-import edu.uci.ics.jung.graph.DelegateForest;
-import edu.uci.ics.jung.graph.DelegateTree;
-import edu.uci.ics.jung.graph.Forest;
-import edu.uci.ics.jung.graph.UndirectedSparseMultigraph;
-import edu.uci.ics.jung.graph.util.EdgeType;
 
 /**
  * Minimum spanning tree algo
  */
 public class AlgoMinimumSpanningTree extends AlgoDiscrete {
 
-	/** number of edges */
-	protected int edgeCount;
-
-	private static Transformer<MyLink, Double> wtTransformer = new Transformer<MyLink, Double>() {
-		@Override
-		public Double transform(MyLink link) {
-			return link.weight;
-		}
-	};
-
 	/**
 	 * @param cons
 	 *            construction
@@ -62,99 +43,38 @@ public class AlgoMinimumSpanningTree extends AlgoDiscrete {
 			return;
 		}
 
-		edgeCount = 0;
-
-		HashMap<GeoPointND, MyNode> nodes = new HashMap<>();
-		MyNode node1, node2;
-		UndirectedSparseMultigraph<MyNode, MyLink> g = new UndirectedSparseMultigraph<>();
-
-		for (int i = 0; i < size - 1; i++) {
-			GeoPointND p1 = (GeoPointND) inputList.get(i);
-			for (int j = i + 1; j < size; j++) {
-				GeoPointND p2 = (GeoPointND) inputList.get(j);
-
-				node1 = nodes.get(p1);
-				node2 = nodes.get(p2);
-				if (node1 == null) {
-					node1 = new MyNode(p1);
-					nodes.put(p1, node1);
-				}
-				if (node2 == null) {
-					node2 = new MyNode(p2);
-					nodes.put(p2, node2);
-				}
-
-				g.addEdge(
-						new MyLink(p1.distance(p2), node1, node2, edgeCount++),
-						node1,
-						node2, EdgeType.UNDIRECTED);
-
-			}
-
-			MinimumSpanningForest2<MyNode, MyLink> prim = new MinimumSpanningForest2<>(
-					g, new DelegateForest<MyNode, MyLink>(),
-					DelegateTree.<MyNode, MyLink> getFactory(), wtTransformer);
-
-			Forest<MyNode, MyLink> tree = prim.getForest();
-
-			Iterator<MyLink> it = tree.getEdges().iterator();
-
-			if (al == null) {
-				al = new ArrayList<>();
-			} else {
-				al.clear();
+		double[] inhom = new double[2];
+		double[] x = new double[size];
+		double[] y = new double[size];
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			GeoElement geo = inputList.get(i);
+			if (geo.isDefined() && geo.isGeoPoint()) {
+				((GeoPointND) geo).getInhomCoords(inhom);
+				x[count] = inhom[0];
+				y[count] = inhom[1];
+				count++;
 			}
+		}
 
-			while (it.hasNext()) {
-				MyLink edge = it.next();
+		if (al == null) {
+			al = new ArrayList<>();
+		} else {
+			al.clear();
+		}
 
-				Coords coords = edge.n1.id.getInhomCoordsInD2();
-				al.add(new MyPoint(coords.get(1), coords.get(2),
+		// the complete graph has O(n^2) edges, so they are not stored
+		int[] parent = CompactGraph.minimumSpanningTree(
+				Arrays.copyOf(x, count), Arrays.copyOf(y, count));
+		for (int i = 0; i < count; i++) {
+			if (parent[i] >= 0) {
+				al.add(new MyPoint(x[parent[i]], y[parent[i]],
 						SegmentType.MOVE_TO));
-				coords = edge.n2.id.getInhomCoordsInD2();
-				al.add(new MyPoint(coords.get(1), coords.get(2),
-						SegmentType.LINE_TO));
-
+				al.add(new MyPoint(x[i], y[i], SegmentType.LINE_TO));
 			}
-
-			locus.setPoints(al);
-			locus.setDefined(true);
-
 		}
 
-	}
-
-	/** Graph edge */
-	static class MyLink {
-		/** start point */
-		protected MyNode n1;
-		/** end point */
-		protected MyNode n2;
-		/** length */
-		double weight;
-		/** identifier */
-		int id;
-
-		/**
-		 * @param weight
-		 *            length
-		 * @param n1
-		 *            start point
-		 * @param n2
-		 *            end point
-		 * @param id
-		 *            identifier
-		 */
-		public MyLink(double weight, MyNode n1, MyNode n2, int id) {
-			this.id = id; // This is defined in the outer class.
-			this.weight = weight;
-			this.n1 = n1;
-			this.n2 = n2;
-		}
-
-		@Override
-		public String toString() { // Always good for debugging
-			return "Edge" + id;
-		}
+		locus.setPoints(al);
+		locus.setDefined(true);
 	}
 }
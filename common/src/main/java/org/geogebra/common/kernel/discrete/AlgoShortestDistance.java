@@ -2,16 +2,13 @@ package org.geogebra.common.kernel.discrete;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 
-import org.apache.commons.collections15.Transformer;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.GraphAlgo;
 import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.commands.Commands;
-import org.geogebra.common.kernel.discrete.AlgoMinimumSpanningTree.MyLink;
 import org.geogebra.common.kernel.geos.GeoBoolean;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
@@ -19,10 +16,6 @@ import org.geogebra.common.kernel.geos.GeoLocus;
 import org.geogebra.common.kernel.geos.GeoSegment;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
 
-import edu.uci.ics.jung.algorithms.shortestpath.DijkstraShortestPath;
-import edu.uci.ics.jung.graph.SparseMultigraph;
-import edu.uci.ics.jung.graph.util.EdgeType;
-
 /**
  * Shortest path in graph
  */
@@ -33,7 +26,11 @@ public class AlgoShortestDistance extends AlgoElement implements GraphAlgo {
 	private GeoLocus locus;
 	private GeoBoolean weighted;
 	private ArrayList<MyPoint> al;
-	private int edgeCount = 0;
+	/** segments of the input list the graph was built from */
+	private GeoSegment[] segments;
+	/** graph vertices, i.e. segment endpoints */
+	private GeoPointND[] vertices;
+	private CompactGraph graph;
 
 	/**
 	 * @param cons
@@ -90,15 +87,6 @@ public class AlgoShortestDistance extends AlgoElement implements GraphAlgo {
 		return Commands.ShortestDistance;
 	}
 
-	// weighted Shortest Path
-	// use length of segments to weight
-	private Transformer<MyLink, Double> wtTransformer = new Transformer<MyLink, Double>() {
-		@Override
-		public Double transform(MyLink link) {
-			return link.weight;
-		}
-	};
-
 	@Override
 	public final void compute() {
 
@@ -108,51 +96,8 @@ public class AlgoShortestDistance extends AlgoElement implements GraphAlgo {
 			return;
 		}
 
-		edgeCount = 0;
-
-		HashMap<GeoPointND, MyNode> nodes = new HashMap<>();
-
-		SparseMultigraph<MyNode, MyLink> g = new SparseMultigraph<>();
-
-		MyNode node1, node2, startNode = null, endNode = null;
-
-		for (int i = 0; i < size; i++) {
-			GeoElement geo = inputList.get(i);
-			if (geo.isDefined() && geo.isGeoSegment()) {
-				GeoSegment seg = (GeoSegment) geo;
-				GeoPointND p1 = seg.getStartPoint();
-				GeoPointND p2 = seg.getEndPoint();
-				node1 = nodes.get(p1);
-				node2 = nodes.get(p2);
-				if (node1 == null) {
-					node1 = new MyNode(p1);
-					nodes.put(p1, node1);
-				}
-				if (node2 == null) {
-					node2 = new MyNode(p2);
-					nodes.put(p2, node2);
-				}
-
-				// take note of start and end points
-				if (p1 == start) {
-					startNode = node1;
-				} else if (p1 == end) {
-					endNode = node1;
-				}
-
-				if (p2 == start) {
-					startNode = node2;
-				} else if (p2 == end) {
-					endNode = node2;
-				}
-
-				// add edge to graph
-				g.addEdge(
-						new MyLink(seg.getLength(), node1, node2, edgeCount++),
-						node1,
-						node2, EdgeType.UNDIRECTED);
-
-			}
+		if (!isGraphCurrent(size)) {
+			buildGraph();
 		}
 
 		if (al == null) {
@@ -161,67 +106,99 @@ public class AlgoShortestDistance extends AlgoElement implements GraphAlgo {
 			al.clear();
 		}
 
-		if (startNode == null || endNode == null) {
+		int startIndex = -1;
+		int endIndex = -1;
+		for (int i = 0; i < vertices.length; i++) {
+			if (vertices[i] == start) {
+				startIndex = i;
+			} else if (vertices[i] == end) {
+				endIndex = i;
+			}
+		}
+
+		int[] path = null;
+		if (startIndex >= 0 && endIndex >= 0) {
+			double[] weights = null;
+			if (weighted.getBoolean()) {
+				// use length of segments to weight
+				weights = new double[segments.length];
+				for (int i = 0; i < segments.length; i++) {
+					weights[i] = segments[i].getLength();
+				}
+			}
+			path = graph.shortestPath(startIndex, endIndex, weights);
+		}
+
+		if (path == null) {
 			locus.setPoints(al);
 			locus.setDefined(false);
 			return;
 		}
 
-		DijkstraShortestPath<MyNode, MyLink> alg;
-
-		if (weighted.getBoolean()) {
-			alg = new DijkstraShortestPath<>(g, wtTransformer);
-		} else {
-			// Unweighted Shortest Path
-			alg = new DijkstraShortestPath<>(g);
+		double[] inhom = new double[2];
+		for (int i = 0; i < path.length; i++) {
+			vertices[path[i]].getInhomCoords(inhom);
+			al.add(new MyPoint(inhom[0], inhom[1],
+					i == 0 ? SegmentType.MOVE_TO : SegmentType.LINE_TO));
 		}
 
-		List<MyLink> list = alg.getPath(startNode, endNode);
-
-		double[] inhom1 = new double[2];
-		double[] inhom2 = new double[2];
-		double[] inhomLast = new double[2];
-
-		MyNode n1, n2;
-		MyLink link = list.get(0);
-		n1 = link.n1;
-		n2 = link.n2;
-
-		// nodes may not be in the right order, might need n1 or n2
-		if (n1 == startNode) {
-			n1.id.getInhomCoords(inhomLast);
-		} else if (n2 == startNode) {
-			n2.id.getInhomCoords(inhomLast);
-		} else if (n1 == endNode) {
-			n1.id.getInhomCoords(inhomLast);
-		} else if (n2 == endNode) {
-			n2.id.getInhomCoords(inhomLast);
-		}
+		locus.setPoints(al);
+		locus.setDefined(true);
+	}
 
-		MyPoint pt = new MyPoint(inhomLast[0], inhomLast[1],
-				SegmentType.MOVE_TO);
-		al.add(pt);
-
-		for (int i = 0; i < list.size(); i++) {
-			link = list.get(i);
-			link.n1.id.getInhomCoords(inhom1);
-			link.n2.id.getInhomCoords(inhom2);
-
-			// nodes may not be in the right order, might need n1 or n2
-			if (inhom1[1] == inhomLast[1] && inhom1[0] == inhomLast[0]) {
-				pt = new MyPoint(inhom2[0], inhom2[1], SegmentType.LINE_TO);
-				inhomLast[0] = inhom2[0];
-				inhomLast[1] = inhom2[1];
-			} else {
-				pt = new MyPoint(inhom1[0], inhom1[1], SegmentType.LINE_TO);
-				inhomLast[0] = inhom1[0];
-				inhomLast[1] = inhom1[1];
+	/**
+	 * @return whether the graph was built from the same segments
+	 */
+	private boolean isGraphCurrent(int size) {
+		if (segments == null) {
+			return false;
+		}
+		int edge = 0;
+		for (int i = 0; i < size; i++) {
+			GeoElement geo = inputList.get(i);
+			if (geo.isDefined() && geo.isGeoSegment()) {
+				if (edge >= segments.length || segments[edge] != geo) {
+					return false;
+				}
+				edge++;
 			}
+		}
+		return edge == segments.length;
+	}
 
-			al.add(pt);
+	private void buildGraph() {
+		ArrayList<GeoSegment> segmentList = new ArrayList<>();
+		for (int i = 0; i < inputList.size(); i++) {
+			GeoElement geo = inputList.get(i);
+			if (geo.isDefined() && geo.isGeoSegment()) {
+				segmentList.add((GeoSegment) geo);
+			}
+		}
+		segments = segmentList.toArray(new GeoSegment[0]);
+
+		HashMap<GeoPointND, Integer> indices = new HashMap<>();
+		ArrayList<GeoPointND> vertexList = new ArrayList<>();
+		int[] from = new int[segments.length];
+		int[] to = new int[segments.length];
+		for (int i = 0; i < segments.length; i++) {
+			from[i] = getVertexIndex(segments[i].getStartPoint(), indices,
+					vertexList);
+			to[i] = getVertexIndex(segments[i].getEndPoint(), indices,
+					vertexList);
 		}
+		vertices = vertexList.toArray(new GeoPointND[0]);
+		graph = new CompactGraph(vertices.length, from, to);
+	}
 
-		locus.setPoints(al);
-		locus.setDefined(true);
+	private static int getVertexIndex(GeoPointND point,
+			HashMap<GeoPointND, Integer> indices,
+			ArrayList<GeoPointND> vertexList) {
+		Integer index = indices.get(point);
+		if (index == null) {
+			index = vertexList.size();
+			indices.put(point, index);
+			vertexList.add(point);
+		}
+		return index;
 	}
 }
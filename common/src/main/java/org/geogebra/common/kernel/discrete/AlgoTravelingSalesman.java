@@ -1,6 +1,7 @@
 package org.geogebra.common.kernel.discrete;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.MyPoint;
@@ -49,21 +50,38 @@ public class AlgoTravelingSalesman extends AlgoDiscrete {
 		// Opt3 opt3 = new Opt3();
 		// final BranchBound construction = new BranchBound(500, opt3);
 
-		MyPoint[] nodes = new MyPoint[size];
+		double[] x = new double[size];
+		double[] y = new double[size];
+		int count = 0;
 
 		for (int i = 0; i < size; i++) {
 			GeoElement geo = inputList.get(i);
 			if (geo.isDefined() && geo.isGeoPoint()) {
 				GeoPointND p = (GeoPointND) geo;
 				p.getInhomCoords(inhom);
-				nodes[i] = new MyPoint(inhom[0], inhom[1]);
-				// Log.error(i + " " + nodes[i].toString());
+				x[count] = inhom[0];
+				y[count] = inhom[1];
+				count++;
 			}
 		}
 
-		final TSP tsp = new TSPSolver();
+		if (count < 3) {
+			locus.setUndefined();
+			return;
+		}
+		if (count < size) {
+			x = Arrays.copyOf(x, count);
+			y = Arrays.copyOf(y, count);
+		}
 
-		tsp.solve(nodes);
+		int[] tour = new int[count];
+		for (int i = 0; i < count; i++) {
+			tour[i] = i;
+		}
+
+		final TSP tsp = new TSPSolver(kernel.getUpdateExecutor());
+
+		tsp.solve(x, y, tour);
 
 		if (al == null) {
 			al = new ArrayList<>();
@@ -71,15 +89,13 @@ public class AlgoTravelingSalesman extends AlgoDiscrete {
 			al.clear();
 		}
 
-		for (int i = 0; i < size; i++) {
-			// Log.error(i + " " + nodes[i].toString());
-			nodes[i].setLineTo(i != 0);
-			al.add(nodes[i]);
+		for (int i = 0; i < count; i++) {
+			al.add(new MyPoint(x[tour[i]], y[tour[i]],
+					i == 0 ? SegmentType.MOVE_TO : SegmentType.LINE_TO));
 		}
 
 		// // join up
-		MyPoint n = nodes[0];
-		al.add(new MyPoint(n.getX(), n.getY(), SegmentType.LINE_TO));
+		al.add(new MyPoint(x[tour[0]], y[tour[0]], SegmentType.LINE_TO));
 
 		locus.setPoints(al);
 		locus.setDefined(true);
@@ -13,9 +13,7 @@ import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.discrete.delaunay.DelaunayTriangulation;
 import org.geogebra.common.kernel.discrete.delaunay.PointDt;
 import org.geogebra.common.kernel.discrete.delaunay.TriangleDt;
-import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
-import org.geogebra.common.kernel.kernelND.GeoPointND;
 import org.geogebra.common.util.DoubleUtil;
 
 /**
@@ -23,6 +21,7 @@ import org.geogebra.common.util.DoubleUtil;
  */
 public class AlgoVoronoi extends AlgoDiscrete {
 	private static Comparator<GPoint2D> pointComparator;
+	private IncrementalDelaunay triangulation;
 
 	/**
 	 * @param cons
@@ -50,55 +49,12 @@ public class AlgoVoronoi extends AlgoDiscrete {
 			return;
 		}
 
-		double[] inhom = new double[2];
-
-		ArrayList<Double> xcoords = new ArrayList<>();
-		ArrayList<Double> ycoords = new ArrayList<>();
-
-		final double delta = 0.0000001;
-
-		// add to TreeSet to remove duplicates (from touching triangles)
-		TreeSet<GPoint2D> pointTree = new TreeSet<>(
-				getPointComparator());
-
-		for (int i = 0; i < size; i++) {
-			GeoElement geo = inputList.get(i);
-			if (geo.isDefined() && geo.isGeoPoint()) {
-				GeoPointND p = (GeoPointND) geo;
-				p.getInhomCoords(inhom);
-
-				pointTree.add(new GPoint2D(inhom[0], inhom[1]));
-
-			}
+		if (triangulation == null) {
+			// perturbation works around a bug in the algorithm for points
+			// with an equal x or y coordinate
+			triangulation = new IncrementalDelaunay(true);
 		}
-
-		PointDt[] points = new PointDt[pointTree.size()];
-		int indx = 0;
-
-		Iterator<GPoint2D> it3 = pointTree.iterator();
-
-		while (it3.hasNext()) {
-			GPoint2D p = it3.next();
-			double x = p.getX();
-			double y = p.getY();
-
-			while (xcoords.contains(x)) {
-				x += delta;
-			}
-			while (ycoords.contains(y)) {
-				y += delta;
-			}
-
-			// work around a bug in the algorithm for Points with an equal x or
-			// y coordinate
-			xcoords.add(x);
-			ycoords.add(y);
-
-			points[indx++] = new PointDt(x, y);
-
-		}
-
-		DelaunayTriangulation dt = new DelaunayTriangulation(points);
+		DelaunayTriangulation dt = updateTriangulation(triangulation);
 
 		if (dt.allCollinear) {
 			locus.setUndefined();
@@ -0,0 +1,246 @@
+package org.geogebra.common.kernel.discrete;
+
+import java.util.Arrays;
+
+/**
+ * Undirected multigraph stored in adjacency arrays (compressed sparse rows):
+ * the neighbours of vertex v are {@code targets[offsets[v]]} to
+ * {@code targets[offsets[v + 1] - 1]}, reached by the edges with the same
+ * indices in {@code edges}. Vertices and edges are numbered from 0.
+ */
+public final class CompactGraph {
+
+	private final int vertexCount;
+	private final int edgeCount;
+	private final int[] offsets;
+	private final int[] targets;
+	private final int[] edges;
+
+	/**
+	 * @param vertexCount
+	 *            number of vertices
+	 * @param from
+	 *            first vertex of each edge
+	 * @param to
+	 *            second vertex of each edge
+	 */
+	public CompactGraph(int vertexCount, int[] from, int[] to) {
+		this.vertexCount = vertexCount;
+		this.edgeCount = from.length;
+		offsets = new int[vertexCount + 1];
+		for (int e = 0; e < edgeCount; e++) {
+			offsets[from[e] + 1]++;
+			offsets[to[e] + 1]++;
+		}
+		for (int v = 0; v < vertexCount; v++) {
+			offsets[v + 1] += offsets[v];
+		}
+		targets = new int[2 * edgeCount];
+		edges = new int[2 * edgeCount];
+		int[] fill = Arrays.copyOf(offsets, vertexCount);
+		for (int e = 0; e < edgeCount; e++) {
+			int k = fill[from[e]]++;
+			targets[k] = to[e];
+			edges[k] = e;
+			k = fill[to[e]]++;
+			targets[k] = from[e];
+			edges[k] = e;
+		}
+	}
+
+	/**
+	 * @return number of vertices
+	 */
+	public int getVertexCount() {
+		return vertexCount;
+	}
+
+	/**
+	 * @return number of edges
+	 */
+	public int getEdgeCount() {
+		return edgeCount;
+	}
+
+	/**
+	 * Shortest path using Dijkstra's algorithm.
+	 *
+	 * @param start
+	 *            start vertex
+	 * @param end
+	 *            end vertex
+	 * @param weights
+	 *            non-negative weight of each edge, null to count edges
+	 * @return vertices of the path from start to end (both included), null if
+	 *         end can't be reached
+	 */
+	public int[] shortestPath(int start, int end, double[] weights) {
+		double[] dist = new double[vertexCount];
+		Arrays.fill(dist, Double.POSITIVE_INFINITY);
+		int[] previous = new int[vertexCount];
+		Arrays.fill(previous, -1);
+		IndexedHeap heap = new IndexedHeap(vertexCount);
+		dist[start] = 0;
+		heap.update(start, 0);
+		while (!heap.isEmpty()) {
+			int v = heap.poll();
+			if (v == end) {
+				break;
+			}
+			for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+				int w = targets[k];
+				double d = dist[v] + (weights == null ? 1 : weights[edges[k]]);
+				if (d < dist[w]) {
+					dist[w] = d;
+					previous[w] = v;
+					heap.update(w, d);
+				}
+			}
+		}
+		if (dist[end] == Double.POSITIVE_INFINITY) {
+			return null;
+		}
+		int length = 1;
+		for (int v = end; v != start; v = previous[v]) {
+			length++;
+		}
+		int[] path = new int[length];
+		int v = end;
+		for (int i = length - 1; i >= 0; i--) {
+			path[i] = v;
+			v = previous[v];
+		}
+		return path;
+	}
+
+	/**
+	 * Minimum spanning tree of the complete graph on given points with
+	 * Euclidean weights, using Prim's algorithm on the distance matrix without
+	 * storing it (O(n^2) time, O(n) memory).
+	 *
+	 * @param x
+	 *            x-coordinates of the points
+	 * @param y
+	 *            y-coordinates of the points
+	 * @return parent of each point in the tree, -1 for the root (point 0)
+	 */
+	public static int[] minimumSpanningTree(double[] x, double[] y) {
+		int n = x.length;
+		int[] parent = new int[n];
+		Arrays.fill(parent, -1);
+		// squared distance to the tree, preserves the order of distances
+		double[] best = new double[n];
+		Arrays.fill(best, Double.POSITIVE_INFINITY);
+		boolean[] inTree = new boolean[n];
+		int current = 0;
+		for (int added = 1; added < n; added++) {
+			inTree[current] = true;
+			int next = -1;
+			for (int v = 0; v < n; v++) {
+				if (inTree[v]) {
+					continue;
+				}
+				double dx = x[v] - x[current];
+				double dy = y[v] - y[current];
+				double d = dx * dx + dy * dy;
+				if (d < best[v]) {
+					best[v] = d;
+					parent[v] = current;
+				}
+				if (next < 0 || best[v] < best[next]) {
+					next = v;
+				}
+			}
+			current = next;
+		}
+		return parent;
+	}
+
+	/**
+	 * Binary min-heap of vertices with priorities that can be decreased.
+	 */
+	private static final class IndexedHeap {
+		private final int[] heap;
+		/** position of each vertex in the heap, -1 if not in the heap */
+		private final int[] position;
+		private final double[] priority;
+		private int size;
+
+		IndexedHeap(int capacity) {
+			heap = new int[capacity];
+			position = new int[capacity];
+			Arrays.fill(position, -1);
+			priority = new double[capacity];
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		/**
+		 * Inserts a vertex or decreases its priority.
+		 */
+		void update(int v, double p) {
+			priority[v] = p;
+			int i = position[v];
+			if (i < 0) {
+				i = size++;
+				heap[i] = v;
+				position[v] = i;
+			}
+			siftUp(i);
+		}
+
+		int poll() {
+			int top = heap[0];
+			position[top] = -1;
+			size--;
+			if (size > 0) {
+				heap[0] = heap[size];
+				position[heap[0]] = 0;
+				siftDown(0);
+			}
+			return top;
+		}
+
+		private void siftUp(int start) {
+			int i = start;
+			int v = heap[i];
+			while (i > 0) {
+				int parent = (i - 1) >> 1;
+				if (priority[heap[parent]] <= priority[v]) {
+					break;
+				}
+				move(heap[parent], i);
+				i = parent;
+			}
+			move(v, i);
+		}
+
+		private void siftDown(int start) {
+			int i = start;
+			int v = heap[i];
+			while (true) {
+				int child = 2 * i + 1;
+				if (child >= size) {
+					break;
+				}
+				if (child + 1 < size
+						&& priority[heap[child + 1]] < priority[heap[child]]) {
+					child++;
+				}
+				if (priority[heap[child]] >= priority[v]) {
+					break;
+				}
+				move(heap[child], i);
+				i = child;
+			}
+			move(v, i);
+		}
+
+		private void move(int v, int i) {
+			heap[i] = v;
+			position[v] = i;
+		}
+	}
+}
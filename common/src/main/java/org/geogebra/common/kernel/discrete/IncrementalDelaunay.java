@@ -0,0 +1,195 @@
+package org.geogebra.common.kernel.discrete;
+
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.TreeSet;
+
+import org.geogebra.common.awt.GPoint2D;
+import org.geogebra.common.kernel.discrete.delaunay.DelaunayTriangulation;
+import org.geogebra.common.kernel.discrete.delaunay.PointDt;
+import org.geogebra.common.kernel.discrete.delaunay.TriangleDt;
+import org.geogebra.common.util.DoubleUtil;
+
+/**
+ * Delaunay triangulation of the points of a list, kept between updates of the
+ * list: points that moved are deleted from the triangulation and inserted
+ * again, as are points added to or removed from the end of the list. The
+ * triangulation is rebuilt when most points changed, when the list contains
+ * undefined or duplicate points, or when a point cannot be deleted (points on
+ * the convex hull, or if rounding errors prevent filling the hole).
+ */
+final class IncrementalDelaunay {
+
+	/** smaller triangulations are always rebuilt */
+	static final int MIN_SIZE = 16;
+	private static final double DELTA = 0.0000001;
+
+	private final boolean perturb;
+	private DelaunayTriangulation dt;
+	private boolean incremental;
+	private double[] xs = new double[0];
+	private double[] ys = new double[0];
+	/** inserted points by list index */
+	private PointDt[] inserted = new PointDt[0];
+	private final HashSet<Double> usedX = new HashSet<>();
+	private final HashSet<Double> usedY = new HashSet<>();
+	private int rebuildCount;
+
+	/**
+	 * @param perturb
+	 *            whether to remove duplicates and move points so that no two
+	 *            share an x- or y-coordinate (works around a bug in the
+	 *            Voronoi cells for such points)
+	 */
+	IncrementalDelaunay(boolean perturb) {
+		this.perturb = perturb;
+	}
+
+	/**
+	 * @param x
+	 *            x-coordinates of the list items, NaN for undefined items
+	 * @param y
+	 *            y-coordinates of the list items, NaN for undefined items
+	 * @return triangulation of the points
+	 */
+	DelaunayTriangulation update(double[] x, double[] y) {
+		if (!tryUpdate(x, y)) {
+			rebuild(x, y);
+		}
+		xs = x;
+		ys = y;
+		return dt;
+	}
+
+	/**
+	 * @return number of full rebuilds so far
+	 */
+	int getRebuildCount() {
+		return rebuildCount;
+	}
+
+	private boolean tryUpdate(double[] x, double[] y) {
+		if (!incremental || dt == null || dt.allCollinear
+				|| x.length < MIN_SIZE) {
+			return false;
+		}
+		int common = Math.min(x.length, xs.length);
+		int changed = Math.abs(x.length - xs.length);
+		for (int i = 0; i < x.length; i++) {
+			if (Double.isNaN(x[i]) || Double.isNaN(y[i])) {
+				return false;
+			}
+			if (i < common && (x[i] != xs[i] || y[i] != ys[i])) {
+				changed++;
+			}
+		}
+		if (2 * changed > x.length) {
+			return false;
+		}
+		for (int i = 0; i < xs.length; i++) {
+			if (i >= x.length || x[i] != xs[i] || y[i] != ys[i]) {
+				PointDt old = inserted[i];
+				int size = dt.size();
+				dt.deletePoint(old);
+				if (dt.size() == size) {
+					return false;
+				}
+				usedX.remove(old.x());
+				usedY.remove(old.y());
+			}
+		}
+		PointDt[] newInserted = new PointDt[x.length];
+		System.arraycopy(inserted, 0, newInserted, 0, common);
+		inserted = newInserted;
+		for (int i = 0; i < x.length; i++) {
+			if (i >= xs.length || x[i] != xs[i] || y[i] != ys[i]) {
+				PointDt p = createPoint(x[i], y[i]);
+				if (perturb && hasCloseVertex(p)) {
+					return false;
+				}
+				int size = dt.size();
+				dt.insertPoint(p);
+				if (dt.size() == size) {
+					// duplicate
+					return false;
+				}
+				inserted[i] = p;
+			}
+		}
+		return true;
+	}
+
+	private PointDt createPoint(double x0, double y0) {
+		double x = x0;
+		double y = y0;
+		if (perturb) {
+			while (usedX.contains(x)) {
+				x += DELTA;
+			}
+			while (usedY.contains(y)) {
+				y += DELTA;
+			}
+			usedX.add(x);
+			usedY.add(y);
+		}
+		return new PointDt(x, y);
+	}
+
+	private boolean hasCloseVertex(PointDt p) {
+		TriangleDt triangle = dt.find(p);
+		for (int i = 0; i < 3; i++) {
+			PointDt corner = triangle.getCorner(i);
+			if (corner != null && DoubleUtil.isEqual(corner.x(), p.x())
+					&& DoubleUtil.isEqual(corner.y(), p.y())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void rebuild(double[] x, double[] y) {
+		rebuildCount++;
+		usedX.clear();
+		usedY.clear();
+		inserted = new PointDt[x.length];
+		int defined = 0;
+		PointDt[] points;
+		if (perturb) {
+			// sorted, without duplicates
+			TreeSet<GPoint2D> pointTree = new TreeSet<>(
+					AlgoVoronoi.getPointComparator());
+			IdentityHashMap<GPoint2D, Integer> indices = new IdentityHashMap<>();
+			for (int i = 0; i < x.length; i++) {
+				if (!Double.isNaN(x[i]) && !Double.isNaN(y[i])) {
+					GPoint2D point = new GPoint2D(x[i], y[i]);
+					indices.put(point, i);
+					pointTree.add(point);
+					defined++;
+				}
+			}
+			points = new PointDt[pointTree.size()];
+			int indx = 0;
+			Iterator<GPoint2D> it = pointTree.iterator();
+			while (it.hasNext()) {
+				GPoint2D point = it.next();
+				points[indx] = createPoint(point.getX(), point.getY());
+				inserted[indices.get(point)] = points[indx];
+				indx++;
+			}
+		} else {
+			points = new PointDt[x.length];
+			for (int i = 0; i < x.length; i++) {
+				if (!Double.isNaN(x[i]) && !Double.isNaN(y[i])) {
+					points[i] = new PointDt(x[i], y[i]);
+					inserted[i] = points[i];
+					defined++;
+				}
+			}
+		}
+		dt = new DelaunayTriangulation(points);
+		// the constructor stops at the first undefined point
+		// and ignores duplicates
+		incremental = defined == x.length && dt.size() == x.length;
+	}
+}
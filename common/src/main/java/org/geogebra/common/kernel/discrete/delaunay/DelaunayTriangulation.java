@@ -1,5 +1,6 @@
 package org.geogebra.common.kernel.discrete.delaunay;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
@@ -167,7 +168,9 @@ public class DelaunayTriangulation {
 	 * Deletes the given point from this.
 	 * 
 	 * @param pointToDelete
-	 *            The given point to delete.
+	 *            The given point to delete. If it cannot be deleted (e.g. it's
+	 *            on the convex hull or rounding errors prevent closing the
+	 *            hole), the triangulation stays unchanged.
 	 * 
 	 *            Implementation of the Mostafavia, Gold &amp; Dakowicz
 	 *            algorithm (2002).
@@ -182,20 +185,37 @@ public class DelaunayTriangulation {
 			return;
 		}
 
-		while (pointsVec.size() >= 3) {
-			// Getting a triangle to add, and saving it.
-			TriangleDt triangle = findTriangle(pointsVec, pointToDelete);
-			addedTriangles.add(triangle);
-
-			// Finding the point on the diagonal (pointToDelete,p)
-			PointDt p = findDiagonal(triangle, pointToDelete);
-
-			for (PointDt tmpP : pointsVec) {
-				if (tmpP.equals(p)) {
-					pointsVec.removeElement(tmpP);
-					break;
-				}
+		// the neighbors must surround the point, otherwise it's on the
+		// perimeter (the walk around it may skip half planes)
+		int size = pointsVec.size();
+		int turns = 0;
+		for (int i = 0; i < size; i++) {
+			turns += (int) Math.signum(calcDet(pointToDelete, pointsVec.get(i),
+					pointsVec.get((i + 1) % size)));
+		}
+		if (Math.abs(turns) != size || deletedTriangles.size() != size) {
+			cancelDelete();
+			return;
+		}
+		// fill the hole by cutting off ears, counterclockwise
+		if (turns < 0) {
+			Collections.reverse(pointsVec);
+		}
+		while (pointsVec.size() > 3) {
+			int ear = findEar(pointsVec, pointToDelete);
+			if (ear < 0) {
+				cancelDelete();
+				return;
 			}
+			size = pointsVec.size();
+			addedTriangles.add(new TriangleDt(
+					pointsVec.get((ear + size - 1) % size),
+					pointsVec.get(ear), pointsVec.get((ear + 1) % size)));
+			pointsVec.remove(ear);
+		}
+		if (pointsVec.size() == 3) {
+			addedTriangles.add(new TriangleDt(pointsVec.get(0),
+					pointsVec.get(1), pointsVec.get(2)));
 		}
 		// updating the trangulation
 		deleteUpdate(pointToDelete);
@@ -213,6 +233,12 @@ public class DelaunayTriangulation {
 		deletedTriangles.removeAllElements();
 	}
 
+	private void cancelDelete() {
+		Log.debug("deletePoint: could not fill the hole, point kept");
+		addedTriangles.removeAllElements();
+		deletedTriangles.removeAllElements();
+	}
+
 	/**
 	 * return a point from the trangulation that is close to pointToDelete
 	 * 
@@ -606,31 +632,6 @@ public class DelaunayTriangulation {
 		}
 	}
 
-	// finds the a point on the triangle that if connect it to "point" (creating
-	// a segment)
-	// the other two points of the triangle will be to the left and to the right
-	// of the segment
-	// by Doron Ganel & Eyal Roth(2009)
-	private static PointDt findDiagonal(TriangleDt triangle, PointDt point) {
-		PointDt p1 = triangle.p1();
-		PointDt p2 = triangle.p2();
-		PointDt p3 = triangle.p3();
-
-		if ((p1.pointLineTest(point, p3) == PointDt.LEFT)
-				&& (p2.pointLineTest(point, p3) == PointDt.RIGHT)) {
-			return p3;
-		}
-		if ((p3.pointLineTest(point, p2) == PointDt.LEFT)
-				&& (p1.pointLineTest(point, p2) == PointDt.RIGHT)) {
-			return p2;
-		}
-		if ((p2.pointLineTest(point, p1) == PointDt.LEFT)
-				&& (p3.pointLineTest(point, p1) == PointDt.RIGHT)) {
-			return p1;
-		}
-		return null;
-	}
-
 	/**
 	 * Calculates a Voronoi cell for a given neighborhood in this triangulation.
 	 * A neighborhood is defined by a triangle and one of its corner points.
@@ -1278,57 +1279,28 @@ public class DelaunayTriangulation {
 	}
 
 	/*
-	 * find triangle to be added to the triangulation
-	 * 
-	 * By: Doron Ganel & Eyal Roth
+	 * Finds a vertex of the hole (counterclockwise polygon around p) that can
+	 * be cut off: the triangle with its neighbors is convex, lies inside the
+	 * hole and its circumcircle contains no other vertex of the hole.
 	 * 
+	 * Returns index of the vertex or -1 if there is none (rounding errors).
 	 */
-	private static TriangleDt findTriangle(Vector<PointDt> pointsVec,
-			PointDt p) {
+	private static int findEar(Vector<PointDt> pointsVec, PointDt p) {
 		PointDt[] arrayPoints = new PointDt[pointsVec.size()];
 		pointsVec.toArray(arrayPoints);
-
 		int size = arrayPoints.length;
-		if (size < 3) {
-			return null;
-		}
-		// if we left with 3 points we return the triangle
-		else if (size == 3) {
-			return new TriangleDt(arrayPoints[0], arrayPoints[1],
-					arrayPoints[2]);
-		} else {
-			for (int i = 0; i <= size - 1; i++) {
-				PointDt p1 = arrayPoints[i];
-				int j = i + 1;
-				int k = i + 2;
-				if (j >= size) {
-					j = 0;
-					k = 1;
-				}
-				// check IndexOutOfBound
-				else if (k >= size) {
-					k = 0;
-				}
-				PointDt p2 = arrayPoints[j];
-				PointDt p3 = arrayPoints[k];
-				// check if the triangle is not re-entrant and not encloses p
-				TriangleDt t = new TriangleDt(p1, p2, p3);
-				if ((calcDet(p1, p2, p3) >= 0) && !t.contains(p)) {
-					if (!t.fallInsideCircumcircle(arrayPoints)) {
-						return t;
-					}
-				}
-				// if there are only 4 points use contains that refers to point
-				// on boundary as outside
-				if (size == 4 && (calcDet(p1, p2, p3) >= 0)
-						&& !t.contains_BoundaryIsOutside(p)) {
-					if (!t.fallInsideCircumcircle(arrayPoints)) {
-						return t;
-					}
-				}
-			}
-		}
-		return null;
+		for (int i = 0; i < size; i++) {
+			PointDt p1 = arrayPoints[(i + size - 1) % size];
+			PointDt p2 = arrayPoints[i];
+			PointDt p3 = arrayPoints[(i + 1) % size];
+			// convex and the diagonal p1 p3 separates p2 from p
+			if (calcDet(p1, p2, p3) > 0 && calcDet(p1, p3, p) >= 0
+					&& !new TriangleDt(p1, p2, p3)
+							.fallInsideCircumcircle(arrayPoints)) {
+				return i;
+			}
+		}
+		return -1;
 	}
 
 	// TODO: Move this to triangle.
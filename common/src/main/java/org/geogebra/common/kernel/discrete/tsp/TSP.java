@@ -1,7 +1,14 @@
 package org.geogebra.common.kernel.discrete.tsp;
 
-import org.geogebra.common.kernel.MyPoint;
-
 public interface TSP {
-	double solve(MyPoint[] points);
+	/**
+	 * @param x
+	 *            x-coordinates of the cities
+	 * @param y
+	 *            y-coordinates of the cities
+	 * @param tour
+	 *            order of the cities; initial tour, replaced by the result
+	 * @return length of the resulting tour
+	 */
+	double solve(double[] x, double[] y, int[] tour);
 }
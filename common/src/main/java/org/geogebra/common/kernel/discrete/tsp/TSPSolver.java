@@ -1,12 +1,56 @@
 package org.geogebra.common.kernel.discrete.tsp;
 
-import org.geogebra.common.kernel.MyPoint;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.geogebra.common.kernel.UpdateExecutor;
 import org.geogebra.common.kernel.discrete.tsp.impl.FLS;
 
 public final class TSPSolver implements TSP {
 
+	private final UpdateExecutor executor;
+
+	/**
+	 * Solver improving the initial tour only.
+	 */
+	public TSPSolver() {
+		this(null);
+	}
+
+	/**
+	 * @param executor
+	 *            executor to improve a nearest neighbour tour concurrently
+	 *            with the initial one, keeping the shorter result; may be null
+	 */
+	public TSPSolver(UpdateExecutor executor) {
+		this.executor = executor;
+	}
+
 	@Override
-	public double solve(final MyPoint[] points) {
-		return FLS.optimise(points);
+	public double solve(final double[] x, final double[] y, final int[] tour) {
+		if (executor == null) {
+			return FLS.optimise(x, y, tour);
+		}
+		final int[] other = FLS.nearestNeighbourTour(x, y);
+		final double[] lengths = new double[2];
+		List<Runnable> tasks = new ArrayList<>(2);
+		tasks.add(new Runnable() {
+			@Override
+			public void run() {
+				lengths[0] = FLS.optimise(x, y, tour);
+			}
+		});
+		tasks.add(new Runnable() {
+			@Override
+			public void run() {
+				lengths[1] = FLS.optimise(x, y, other);
+			}
+		});
+		executor.runAll(tasks);
+		if (lengths[1] < lengths[0]) {
+			System.arraycopy(other, 0, tour, 0, tour.length);
+			return lengths[1];
+		}
+		return lengths[0];
 	}
 }
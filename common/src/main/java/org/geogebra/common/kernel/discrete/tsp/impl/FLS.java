@@ -1,10 +1,16 @@
 package org.geogebra.common.kernel.discrete.tsp.impl;
 
-import org.geogebra.common.kernel.MyPoint;
+import java.util.Arrays;
 
-// Fast Local Search, 2-Opt "Dont look bits"
+// Fast Local Search, 2-Opt and Or-Opt "Dont look bits"
+// cities are indices into coordinate arrays, a tour is an array of cities
 public final class FLS {
 
+	/** or-opt moves segments of up to this many cities */
+	private static final int OR_OPT_MAX_LENGTH = 3;
+	/** minimal improvement of an or-opt move, avoids cycling on rounding */
+	private static final double EPSILON = 1E-10;
+
 	/**
 	 * 2-Opt a tour. removes 2 edges, then reconstructs a tour. in general (from
 	 * http://en.wikipedia.org/wiki/2-opt): 1. take route[0] to route[i-1] and
@@ -24,9 +30,25 @@ public final class FLS {
 	 * this implementation currently reverses whatever subtour does not wrap
 	 * around -which could be the larger of the two.
 	 */
-	private static void reverse(final MyPoint[] x, final int from, final int to) {
+	private static void reverse(final int[] x, final int from, final int to) {
 		for (int i = from, j = to; i < j; i++, j--) {
-			final MyPoint tmp = x[i];
+			final int tmp = x[i];
+			x[i] = x[j];
+			x[j] = tmp;
+		}
+	}
+
+	/**
+	 * reverse the part of the tour from position from to position to
+	 * (inclusive), wrapping around the end of the array.
+	 */
+	private static void reverseWrapped(final int[] x, final int from,
+			final int to) {
+		final int n = x.length;
+		final int len = wrap(to - from, n) + 1;
+		for (int k = 0, i = from, j = to; k < len / 2; k++, i = wrap(i + 1, n),
+				j = wrap(j - 1, n)) {
+			final int tmp = x[i];
 			x[i] = x[j];
 			x[j] = tmp;
 		}
@@ -55,14 +77,14 @@ public final class FLS {
 	 * longer edges, avoid 4 square root operations by comparing squares. this
 	 * results in a 40% speed up in this code.
 	 */
-	private static double moveCost(final MyPoint a, final MyPoint b, final MyPoint c,
-			final MyPoint d) {
+	private static double moveCost(final double[] x, final double[] y,
+			final int a, final int b, final int c, final int d) {
 
 		// original edges (ab) (cd)
-		final double _ab = a.distanceSq(b), _cd = c.distanceSq(d);
+		final double _ab = distanceSq(x, y, a, b), _cd = distanceSq(x, y, c, d);
 
 		// candidate edges (ac) (bd)
-		final double _ac = a.distanceSq(c), _bd = b.distanceSq(d);
+		final double _ac = distanceSq(x, y, a, c), _bd = distanceSq(x, y, b, d);
 
 		// triangle of inequality: at least 1 edge will be shorter.
 		// if both will be longer, there will be no improvement.
@@ -79,12 +101,12 @@ public final class FLS {
 	/**
 	 * set active bits for 4 vertices making up edges ab, cd.
 	 */
-	private static void activate(final MyPoint a, final MyPoint b, final MyPoint c,
-			final MyPoint d) {
-		a.setActive(true);
-		b.setActive(true);
-		c.setActive(true);
-		d.setActive(true);
+	private static void activate(final boolean[] active, final int a,
+			final int b, final int c, final int d) {
+		active[a] = true;
+		active[b] = true;
+		active[c] = true;
+		active[d] = true;
 	}
 
 	/**
@@ -94,14 +116,15 @@ public final class FLS {
 	 * (currentPoint,nextPoint) are compared to all over edges (c,d), starting
 	 * at (c=currentPoint+2, d=currentPoint+3) until an improvement is found.
 	 */
-	private static double findMove(final int current, final MyPoint currentPoint,
-			final MyPoint[] points, final int numCities) {
+	private static double findMove(final double[] x, final double[] y,
+			final boolean[] active, final int current, final int currentPoint,
+			final int[] points, final int numCities) {
 
-		// previous and next city index and point object.
+		// previous and next position and city.
 		final int prev = wrap(current - 1, numCities);
 		final int next = wrap(current + 1, numCities);
-		final MyPoint prevPoint = points[prev];
-		final MyPoint nextPoint = points[next];
+		final int prevPoint = points[prev];
+		final int nextPoint = points[next];
 
 		// iterate through pairs (i,j) where i = current+2 j = current+3
 		// until i = current+numCities-2, j = current+numCities-1.
@@ -110,8 +133,8 @@ public final class FLS {
 		for (int i = wrap(current + 2, numCities), j = wrap(current + 3,
 				numCities); j != current; i = j, j = wrap(j + 1, numCities)) {
 
-			final MyPoint c = points[i];
-			final MyPoint d = points[j];
+			final int c = points[i];
+			final int d = points[j];
 
 			// previous edge:
 			// see if swaping the current 2 edges:
@@ -120,9 +143,9 @@ public final class FLS {
 			// will result in an improvement. if so, set active bits for
 			// the 4 vertices involved and reverse everything between:
 			// (currentPoint, c).
-			final double delta1 = moveCost(prevPoint, currentPoint, c, d);
+			final double delta1 = moveCost(x, y, prevPoint, currentPoint, c, d);
 			if (delta1 < 0) {
-				activate(prevPoint, currentPoint, c, d);
+				activate(active, prevPoint, currentPoint, c, d);
 				reverse(points, Math.min(prev, i) + 1, Math.max(prev, i));
 				return delta1;
 			}
@@ -134,9 +157,9 @@ public final class FLS {
 			// will result in an improvement. if so, set active bits for
 			// the 4 vertices involved and reverse everything between:
 			// (nextPoint, c).
-			final double delta2 = moveCost(currentPoint, nextPoint, c, d);
+			final double delta2 = moveCost(x, y, currentPoint, nextPoint, c, d);
 			if (delta2 < 0) {
-				activate(currentPoint, nextPoint, c, d);
+				activate(active, currentPoint, nextPoint, c, d);
 				reverse(points, Math.min(current, i) + 1, Math.max(current, i));
 				return delta2;
 			}
@@ -145,20 +168,86 @@ public final class FLS {
 		return 0.0;
 	}
 
+	/**
+	 * try to find an or-opt move from the current city: move the segment of
+	 * 1 to 3 cities starting at the current position between two other
+	 * adjacent cities, in either orientation. with p, q the cities before and
+	 * after the segment s0..sL and (a, b) the edge where it is inserted, the
+	 * tour changes from p s0..sL q .. a b to p q .. a s0..sL b (or a sL..s0
+	 * b). this is done with 2 or 3 reversals.
+	 */
+	private static double findOrMove(final double[] x, final double[] y,
+			final boolean[] active, final int current, final int[] points,
+			final int numCities) {
+		for (int len = 1; len <= OR_OPT_MAX_LENGTH
+				&& len + 3 <= numCities; len++) {
+			final int last = wrap(current + len - 1, numCities);
+			final int prev = wrap(current - 1, numCities);
+			final int next = wrap(current + len, numCities);
+			final int p = points[prev];
+			final int q = points[next];
+			final int s0 = points[current];
+			final int sL = points[last];
+			final double removeGain = distance(x, y, p, s0)
+					+ distance(x, y, sL, q) - distance(x, y, p, q);
+			if (removeGain <= EPSILON) {
+				continue;
+			}
+			// insert between positions i, i + 1 for i from next to prev - 1
+			for (int i = next; i != prev; i = wrap(i + 1, numCities)) {
+				final int j = wrap(i + 1, numCities);
+				final int a = points[i];
+				final int b = points[j];
+				final double ab = distance(x, y, a, b);
+				final double reversed = distance(x, y, a, sL)
+						+ distance(x, y, s0, b) - ab;
+				final double forward = distance(x, y, a, s0)
+						+ distance(x, y, sL, b) - ab;
+				final double delta = Math.min(reversed, forward) - removeGain;
+				if (delta < -EPSILON) {
+					activate(active, p, q, s0, sL);
+					active[a] = true;
+					active[b] = true;
+					// p [s0..sL q..a] b -> p [a..q sL..s0] b
+					reverseWrapped(points, current, i);
+					// -> p [q..a] [sL..s0] b
+					final int blockLength = wrap(i - next, numCities) + 1;
+					final int blockEnd = wrap(current + blockLength - 1,
+							numCities);
+					reverseWrapped(points, current, blockEnd);
+					if (forward < reversed) {
+						reverseWrapped(points, wrap(blockEnd + 1, numCities),
+								i);
+					}
+					return delta;
+				}
+			}
+		}
+		return 0.0;
+	}
+
 	/**
 	 * optimise a tour.
-	 * 
-	 * @return a 2-Optimal tour.
+	 *
+	 * @param x
+	 *            x-coordinates of the cities
+	 * @param y
+	 *            y-coordinates of the cities
+	 * @param points
+	 *            tour, modified in place
+	 * @return length of a tour that is optimal with respect to 2-opt and
+	 *         or-opt moves.
 	 */
-	public static double optimise(final MyPoint[] points) {
+	public static double optimise(final double[] x, final double[] y,
+			final int[] points) {
 
 		// total tour distance
-		double best = distance(points);
-
-		// System.out.printf("tour length = %.4f\n", best);
+		double best = distance(x, y, points);
 
 		// total number of cities in the tour
 		final int numCities = points.length;
+		final boolean[] active = new boolean[x.length];
+		Arrays.fill(active, true);
 
 		// numCities - visited = total number of active cities.
 		// current = current city being explored.
@@ -169,12 +258,16 @@ public final class FLS {
 		// the resulting tour (points) will be "2-Optimal" -that is, no further
 		// imrovements are possible (local optima).
 		while (visited < numCities) {
-			final MyPoint currentPoint = points[current];
-			if (currentPoint.isActive()) {
+			final int currentPoint = points[current];
+			if (active[currentPoint]) {
 
 				// from the current city, try to find a move.
-				final double modified = findMove(current, currentPoint, points,
-						numCities);
+				double modified = findMove(x, y, active, current, currentPoint,
+						points, numCities);
+				if (modified >= 0) {
+					modified = findOrMove(x, y, active, current, points,
+							numCities);
+				}
 
 				// if a move was found, go to previous city.
 				// best is += modified delta.
@@ -184,7 +277,7 @@ public final class FLS {
 					best += modified;
 					continue;
 				}
-				currentPoint.setActive(false);
+				active[currentPoint] = false;
 			}
 
 			// if city is inactive or no moves found, go to next city.
@@ -194,16 +287,64 @@ public final class FLS {
 		return best;
 	}
 
+	/**
+	 * tour visiting the nearest unvisited city next, starting at city 0.
+	 *
+	 * @param x
+	 *            x-coordinates of the cities
+	 * @param y
+	 *            y-coordinates of the cities
+	 * @return tour
+	 */
+	public static int[] nearestNeighbourTour(final double[] x,
+			final double[] y) {
+		final int n = x.length;
+		final int[] tour = new int[n];
+		final boolean[] visited = new boolean[n];
+		int current = 0;
+		visited[0] = true;
+		for (int k = 1; k < n; k++) {
+			int nearest = -1;
+			double min = Double.POSITIVE_INFINITY;
+			for (int c = 0; c < n; c++) {
+				if (!visited[c]) {
+					final double d = distanceSq(x, y, current, c);
+					if (nearest < 0 || d < min) {
+						nearest = c;
+						min = d;
+					}
+				}
+			}
+			tour[k] = nearest;
+			visited[nearest] = true;
+			current = nearest;
+		}
+		return tour;
+	}
+
 	/**
 	 * Euclidean distance. tour wraps around N-1 to 0.
 	 */
-	private static double distance(final MyPoint[] points) {
+	private static double distance(final double[] x, final double[] y,
+			final int[] points) {
 		final int len = points.length;
-		double d = points[len - 1].distance(points[0]);
+		double d = distance(x, y, points[len - 1], points[0]);
 		for (int i = 1; i < len; i++) {
-			d += points[i - 1].distance(points[i]);
+			d += distance(x, y, points[i - 1], points[i]);
 		}
 		return d;
 	}
 
+	private static double distance(final double[] x, final double[] y,
+			final int a, final int b) {
+		return Math.sqrt(distanceSq(x, y, a, b));
+	}
+
+	private static double distanceSq(final double[] x, final double[] y,
+			final int a, final int b) {
+		final double dx = x[a] - x[b];
+		final double dy = y[a] - y[b];
+		return dx * dx + dy * dy;
+	}
+
 }
@@ -393,6 +393,11 @@ public class GeoBoolean extends GeoElement implements BooleanValue,
 		return true;
 	}
 
+	@Override
+	public boolean hasDependenciesWithoutAlgorithm() {
+		return !conditionals.isEmpty();
+	}
+
 	@Override
 	public void moveDependencies(GeoElement oldGeo) {
 		if (!oldGeo.isGeoBoolean()) {
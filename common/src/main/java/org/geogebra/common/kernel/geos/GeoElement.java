@@ -50,8 +50,10 @@ import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.ConstructionDefaults;
 import org.geogebra.common.kernel.GTemplate;
 import org.geogebra.common.kernel.GraphAlgo;
+import org.geogebra.common.kernel.IncrementalUpdateScheduler;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.Locateable;
+import org.geogebra.common.kernel.ParallelUpdateScheduler;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.algos.AlgoAttachCopyToView;
 import org.geogebra.common.kernel.algos.AlgoBarChart;
@@ -110,9 +112,10 @@ import org.geogebra.common.util.MyMath;
 import org.geogebra.common.util.NumberFormatAdapter;
 import org.geogebra.common.util.SpreadsheetTraceSettings;
 import org.geogebra.common.util.StringUtil;
-import org.geogebra.common.util.debug.GeoGebraProfiler;
 import org.geogebra.common.util.debug.Log;
 import org.geogebra.common.util.lang.Language;
+import org.geogebra.common.util.profiler.Profiler;
+import org.geogebra.common.util.profiler.Profiler.Category;
 
 import com.google.j2objc.annotations.Weak;
 import com.google.j2objc.annotations.ZeroingWeak;
@@ -3174,11 +3177,12 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 *            whether this was triggered by drag
 	 */
 	public void updateCascade(boolean dragging) {
-		long l = System.currentTimeMillis();
+		Profiler profiler = kernel.getProfiler();
+		long start = profiler.start();
 		kernel.notifyBatchUpdate();
 		update(dragging);
 		updateDependentObjects();
-		GeoGebraProfiler.addUpdateCascade(System.currentTimeMillis() - l);
+		profiler.stop(Category.CASCADE, getClass(), start);
 		kernel.notifyEndBatchUpdate();
 	}
 
@@ -3193,7 +3197,16 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 		} else if (algoUpdateSet != null) {
 			// update all algorithms in the algorithm set of this GeoElement
 			cons.setAlgoSetCurrentlyUpdated(algoUpdateSet);
-			algoUpdateSet.updateAll();
+			IncrementalUpdateScheduler scheduler = cons.getUpdateScheduler();
+			ParallelUpdateScheduler parallel = kernel
+					.getParallelUpdateScheduler();
+			if (scheduler.isAvailable()) {
+				scheduler.updateAll(this, algoUpdateSet);
+			} else if (parallel != null && parallel.isAvailable()) {
+				parallel.updateAll(algoUpdateSet);
+			} else {
+				algoUpdateSet.updateAll();
+			}
 			cons.setAlgoSetCurrentlyUpdated(null);
 		}
 	}
@@ -3297,8 +3310,18 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 		// now we have one nice algorithm set that we can update
 		if (tempSet1.size() > 0) {
-			for (AlgoElement algo : tempSet1) {
-				algo.update();
+			Construction cons = geos.get(0).getConstruction();
+			IncrementalUpdateScheduler scheduler = cons.getUpdateScheduler();
+			ParallelUpdateScheduler parallel = cons.getKernel()
+					.getParallelUpdateScheduler();
+			if (scheduler.isAvailable()) {
+				scheduler.updateAll(geos, tempSet1);
+			} else if (parallel != null && parallel.isAvailable()) {
+				parallel.updateAll(tempSet1);
+			} else {
+				for (AlgoElement algo : tempSet1) {
+					algo.update();
+				}
 			}
 		}
 
@@ -6225,6 +6248,15 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 		// GeoBoolean
 	}
 
+	/**
+	 * @return whether other elements depend on this one without an algorithm
+	 *         (conditional visibility, min, max, start points, dynamic colors
+	 *         and captions, EV bounds)
+	 */
+	public boolean hasDependenciesWithoutAlgorithm() {
+		return false;
+	}
+
 	/**
 	 * Randomize for probability chacking overriden in subclasses that allow
 	 * randomization
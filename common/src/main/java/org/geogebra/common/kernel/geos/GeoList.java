@@ -41,6 +41,7 @@ import org.geogebra.common.kernel.arithmetic.ExpressionNodeConstants.StringType;
 import org.geogebra.common.kernel.arithmetic.ExpressionValue;
 import org.geogebra.common.kernel.arithmetic.FunctionalNVar;
 import org.geogebra.common.kernel.arithmetic.ListValue;
+import org.geogebra.common.kernel.arithmetic.MyDouble;
 import org.geogebra.common.kernel.arithmetic.MyList;
 import org.geogebra.common.kernel.arithmetic.NumberValue;
 import org.geogebra.common.kernel.arithmetic.ValidExpression;
@@ -53,6 +54,7 @@ import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
 import org.geogebra.common.kernel.kernelND.GeoQuadricND;
 import org.geogebra.common.kernel.matrix.Coords;
+import org.geogebra.common.kernel.statistics.ListStatistics;
 import org.geogebra.common.main.Localization;
 import org.geogebra.common.plugin.EuclidianStyleConstants;
 import org.geogebra.common.plugin.GeoClass;
@@ -75,6 +77,10 @@ public class GeoList extends GeoElement
 
 	// GeoElement list members
 	private final ArrayList<GeoElement> elements;
+	// long lists of numbers or points may be stored without elements
+	private PackedListValues packedValues;
+	// values of the elements for statistics commands, reset on change
+	private ListStatistics statistics;
 
 	// lists will often grow and shrink dynamically,
 	// so we keep a cacheList of all old list elements
@@ -201,8 +207,8 @@ public class GeoList extends GeoElement
 	public GeoList deepCopyGeo() {
 		GeoList ret = new GeoList(cons);
 
-		for (int i = 0; i < elements.size(); i++) {
-			ret.add(elements.get(i).deepCopyGeo());
+		for (int i = 0; i < elements().size(); i++) {
+			ret.add(elements().get(i).deepCopyGeo());
 		}
 
 		return ret;
@@ -210,6 +216,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public void set(final GeoElementND geo) {
+		statistics = null;
 		reuseDefinition(geo);
 		if (geo.isGeoNumeric()) { // eg SetValue[list, 2]
 			// 1 -> first element
@@ -254,7 +261,7 @@ public class GeoList extends GeoElement
 	private void copyListElements(final GeoList otherList) {
 		final int otherListSize = otherList.size();
 		ensureCapacity(otherListSize);
-		elements.clear();
+		elements().clear();
 
 		for (int i = 0; i < otherListSize; i++) {
 			final GeoElement otherElement = otherList.get(i);
@@ -363,13 +370,13 @@ public class GeoList extends GeoElement
 		}
 		super.removeColorFunction();
 
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return;
 		}
 
-		final int size = elements.size();
+		final int size = elements().size();
 		for (int i = 0; i < size; i++) {
-			final GeoElement geo = elements.get(i);
+			final GeoElement geo = elements().get(i);
 			if (!geo.isLabelSet()) {
 				geo.removeColorFunction();
 			}
@@ -380,13 +387,13 @@ public class GeoList extends GeoElement
 	public final void setColorFunction(final GeoList col) {
 		super.setColorFunction(col);
 
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return;
 		}
 
-		final int size = elements.size();
+		final int size = elements().size();
 		for (int i = 0; i < size; i++) {
-			final GeoElement geo = elements.get(i);
+			final GeoElement geo = elements().get(i);
 			if (!geo.isLabelSet()) {
 				geo.setColorFunction(col);
 			}
@@ -398,13 +405,13 @@ public class GeoList extends GeoElement
 	public final void setColorSpace(final int colorSpace) {
 		super.setColorSpace(colorSpace);
 
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return;
 		}
 
-		final int size = elements.size();
+		final int size = elements().size();
 		for (int i = 0; i < size; i++) {
-			final GeoElement geo = elements.get(i);
+			final GeoElement geo = elements().get(i);
 			if (!geo.isLabelSet()) {
 				geo.setColorSpace(colorSpace);
 			}
@@ -422,13 +429,13 @@ public class GeoList extends GeoElement
 			throws CircularDefinitionException {
 		super.setShowObjectCondition(bool);
 
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return;
 		}
 
-		final int size = elements.size();
+		final int size = elements().size();
 		for (int i = 0; i < size; i++) {
-			final GeoElement geo = elements.get(i);
+			final GeoElement geo = elements().get(i);
 			if (!geo.isLabelSet()) {
 				geo.setShowObjectCondition(bool);
 			}
@@ -448,12 +455,12 @@ public class GeoList extends GeoElement
 		}
 
 		// set visual style
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return;
 		}
-		final int size = elements.size();
+		final int size = elements().size();
 		for (int i = 0; i < size; i++) {
-			final GeoElement geo = elements.get(i);
+			final GeoElement geo = elements().get(i);
 			if (!geo.isLabelSet()) {
 				geo.setVisualStyle(style, setAuxiliaryProperty);
 			}
@@ -463,11 +470,11 @@ public class GeoList extends GeoElement
 	@Override
 	public void setObjColor(final GColor color) {
 		super.setObjColor(color);
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return;
 		}
 
-		final int size = elements.size();
+		final int size = elements().size();
 		for (int i = 0; i < size; i++) {
 			final GeoElement geo = get(i);
 			if (!geo.isLabelSet()) {
@@ -480,11 +487,11 @@ public class GeoList extends GeoElement
 	public void setBackgroundColor(final GColor color) {
 		super.setBackgroundColor(color);
 
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return;
 		}
 
-		final int size = elements.size();
+		final int size = elements().size();
 		for (int i = 0; i < size; i++) {
 			final GeoElement geo = get(i);
 			if (!geo.isLabelSet()) {
@@ -497,7 +504,7 @@ public class GeoList extends GeoElement
 	public void setEuclidianVisible(final boolean visible) {
 		super.setEuclidianVisible(visible);
 
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return;
 		}
 
@@ -505,7 +512,7 @@ public class GeoList extends GeoElement
 				&& labelOffsetY == 0) {
 			initScreenLocation();
 		}
-		final int size = elements.size();
+		final int size = elements().size();
 		for (int i = 0; i < size; i++) {
 			final GeoElement geo = get(i);
 			setElementEuclidianVisible(geo, visible);
@@ -556,11 +563,11 @@ public class GeoList extends GeoElement
 	@Override
 	public void setVisibility(int viewId, boolean setVisible) {
 		super.setVisibility(viewId, setVisible);
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return;
 		}
 
-		final int size = elements.size();
+		final int size = elements().size();
 		for (int i = 0; i < size; i++) {
 			final GeoElement geo = get(i);
 			if (!geo.isLabelSet()) {
@@ -574,7 +581,7 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	public MyList getMyList() {
-		final int size = elements.size();
+		final int size = size();
 		final MyList myList = new MyList(kernel, size);
 		copyListElements(myList);
 		return myList;
@@ -584,7 +591,14 @@ public class GeoList extends GeoElement
 	 * @param myList list to copy into
 	 */
 	public void copyListElements(MyList myList) {
-		for (GeoElement element : elements) {
+		if (packedValues != null && !packedValues.isPoints()) {
+			for (int i = 0; i < packedValues.size(); i++) {
+				myList.addListElement(new ExpressionNode(kernel,
+						new MyDouble(kernel, packedValues.getValue(i))));
+			}
+			return;
+		}
+		for (GeoElement element : elements()) {
 			myList.addListElement(new ExpressionNode(kernel, element));
 		}
 	}
@@ -603,9 +617,9 @@ public class GeoList extends GeoElement
 
 		if (!isDefined) {
 
-			final int size = elements.size();
+			final int size = elements().size();
 			for (int i = 0; i < size; i++) {
-				final GeoElement geo = elements.get(i);
+				final GeoElement geo = elements().get(i);
 				if (!geo.isLabelSet()) {
 					geo.setUndefined();
 				}
@@ -641,9 +655,60 @@ public class GeoList extends GeoElement
 	 * Clear the list
 	 */
 	public final void clear() {
+		packedValues = null;
+		statistics = null;
 		elements.clear();
 	}
 
+	/**
+	 * Replaces the content of this list by packed values; the elements are
+	 * only created when needed.
+	 *
+	 * @param values
+	 *            numbers or points
+	 */
+	public final void setPackedValues(PackedListValues values) {
+		clear();
+		packedValues = values;
+		GeoElement template = values.getTemplate();
+		setTypeStringForXML(template.getXMLtypeString());
+		elementType = template.getGeoClassType();
+		isDrawable = true;
+		updateDrawableFlag(template);
+	}
+
+	/**
+	 * @return values of this list if they were not turned into elements yet,
+	 *         null otherwise
+	 */
+	public final PackedListValues getPackedValues() {
+		return packedValues;
+	}
+
+	/**
+	 * @return values of this list for statistics commands, shared by all
+	 *         commands until the list changes
+	 */
+	public final ListStatistics getStatistics() {
+		if (statistics == null) {
+			statistics = new ListStatistics(this);
+		}
+		return statistics;
+	}
+
+	private ArrayList<GeoElement> elements() {
+		if (packedValues != null) {
+			PackedListValues values = packedValues;
+			packedValues = null;
+			ensureCapacity(values.size());
+			for (int i = 0; i < values.size(); i++) {
+				add(values.createElement(i,
+						i < cacheList.size() ? cacheList.get(i) : null));
+			}
+		}
+		return elements;
+	}
+
 	/**
 	 * free up memory and set undefined
 	 */
@@ -669,9 +734,10 @@ public class GeoList extends GeoElement
 	 */
 	public final void add(final GeoElementND geo) {
 		// add geo to end of list
-		elements.add(geo.toGeoElement());
+		elements().add(geo.toGeoElement());
+		statistics = null;
 
-		if (elements.size() == 1) {
+		if (elements().size() == 1) {
 			setTypeStringForXML(geo.getXMLtypeString());
 		}
 
@@ -685,7 +751,7 @@ public class GeoList extends GeoElement
 		 */
 
 		// add to cache
-		final int pos = elements.size() - 1;
+		final int pos = elements().size() - 1;
 		if (pos < cacheList.size()) {
 			cacheList.set(pos, geo);
 		} else {
@@ -731,8 +797,8 @@ public class GeoList extends GeoElement
 	 *            element to be removed
 	 */
 	public final void remove(final GeoElement geo) {
-		elements.remove(geo);
-
+		elements().remove(geo);
+		statistics = null;
 	}
 
 	/**
@@ -757,8 +823,8 @@ public class GeoList extends GeoElement
 	 *            position of element to be removed
 	 */
 	public final void remove(final int index) {
-		elements.remove(index);
-
+		elements().remove(index);
+		statistics = null;
 	}
 
 	/**
@@ -769,7 +835,7 @@ public class GeoList extends GeoElement
 	 * @return the element at the specified position in this list.
 	 */
 	final public GeoElement get(final int index) {
-		return elements.get(index);
+		return elements().get(index);
 	}
 
 	/**
@@ -782,7 +848,7 @@ public class GeoList extends GeoElement
 	 * @return the element at the specified position in this (2D) list.
 	 */
 	final public GeoElement get(final int index, final int index2) {
-		return ((GeoList) elements.get(index)).get(index2);
+		return ((GeoList) elements().get(index)).get(index2);
 	}
 
 	/**
@@ -792,11 +858,14 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	public double[] toDouble(int offset) {
-		int length = elements.size();
+		if (packedValues != null && !packedValues.isPoints()) {
+			return packedValues.toDouble(offset);
+		}
+		int length = elements().size();
 		try {
 			final double[] valueArray = new double[length - offset];
 			for (int i = offset; i < length; i++) {
-				valueArray[i - offset] = elements.get(i).evaluateDouble();
+				valueArray[i - offset] = elements().get(i).evaluateDouble();
 			}
 			return valueArray;
 		} catch (final Exception e) {
@@ -811,13 +880,17 @@ public class GeoList extends GeoElement
 	 *            capcity to ensure
 	 */
 	final public void ensureCapacity(final int size) {
-		elements.ensureCapacity(size);
+		elements().ensureCapacity(size);
 		cacheList.ensureCapacity(size);
 	}
 
 	@Override
 	final public int size() {
-		return elements.size();
+		if (packedValues != null) {
+			return packedValues.size();
+		}
+		// null when styles are set in constructor
+		return elements == null ? 0 : elements.size();
 	}
 
 	/**
@@ -858,10 +931,10 @@ public class GeoList extends GeoElement
 		}
 
 		// first (n-1) elements
-		final int lastIndex = elements.size() - 1;
+		final int lastIndex = elements().size() - 1;
 		if (lastIndex > -1) {
 			for (int i = 0; i < lastIndex; i++) {
-				final GeoElement geo = elements.get(i);
+				final GeoElement geo = elements().get(i);
 
 				sbBuildValueString
 						.append(geo.getAlgebraDescriptionRegrOut(tpl));
@@ -869,7 +942,7 @@ public class GeoList extends GeoElement
 			}
 
 			// last element
-			final GeoElement geo = elements.get(lastIndex);
+			final GeoElement geo = elements().get(lastIndex);
 			sbBuildValueString.append(geo.getAlgebraDescriptionRegrOut(tpl));
 		}
 
@@ -891,18 +964,16 @@ public class GeoList extends GeoElement
 		tpl.leftCurlyBracket(sbBuildValueString);
 
 		// first (n-1) elements
-		final int lastIndex = elements.size() - 1;
+		final int lastIndex = size() - 1;
 		if (lastIndex > -1) {
 			for (int i = 0; i < lastIndex; i++) {
-				final GeoElement geo = elements.get(i);
-				sbBuildValueString.append(geo.toOutputValueString(tpl));
+				sbBuildValueString.append(getOutputValueString(i, tpl));
 				sbBuildValueString.append(getLoc().getComma());
 				tpl.appendOptionalSpace(sbBuildValueString);
 			}
 
 			// last element
-			final GeoElement geo = elements.get(lastIndex);
-			sbBuildValueString.append(geo.toOutputValueString(tpl));
+			sbBuildValueString.append(getOutputValueString(lastIndex, tpl));
 		}
 
 		tpl.rightCurlyBracket(sbBuildValueString);
@@ -910,6 +981,13 @@ public class GeoList extends GeoElement
 		return sbBuildValueString;
 	}
 
+	private String getOutputValueString(int i, StringTemplate tpl) {
+		if (packedValues != null) {
+			return packedValues.toOutputValueString(i, tpl);
+		}
+		return elements.get(i).toOutputValueString(tpl);
+	}
+
 	@Override
 	public boolean isGeoList() {
 		return true;
@@ -1052,12 +1130,19 @@ public class GeoList extends GeoElement
 		}
 	}
 
+	@Override
+	public boolean hasDependenciesWithoutAlgorithm() {
+		return colorFunctionListener != null
+				&& !colorFunctionListener.isEmpty();
+	}
+
 	/**
 	 * Calls super.update() and update() for all registered condition listener
 	 * geos. // Michael Borcherds 2008-04-02
 	 */
 	@Override
 	public void update(boolean drag) {
+		statistics = null;
 		super.update(drag);
 
 		// update information on whether this path is fit for AlgoLocus
@@ -1115,13 +1200,13 @@ public class GeoList extends GeoElement
 		final GeoList list = (GeoList) geo;
 
 		// check sizes
-		if (elements.size() != list.size()) {
+		if (elements().size() != list.size()) {
 			return false;
 		}
 
 		// check each element
-		for (int i = 0; i < list.elements.size(); i++) {
-			final GeoElement geoA = elements.get(i);
+		for (int i = 0; i < list.size(); i++) {
+			final GeoElement geoA = get(i);
 			final GeoElement geoB = list.get(i);
 
 			if (!geoA.isEqual(geoB)) {
@@ -1135,19 +1220,19 @@ public class GeoList extends GeoElement
 
 	@Override
 	public void setZero() {
-		elements.clear();
+		elements().clear();
 	}
 
 	@Override
 	public void setLineThickness(final int thickness) {
 		super.setLineThickness(thickness);
 
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (!geo.isLabelSet()) {
 				geo.setLineThickness(thickness);
 			}
@@ -1162,12 +1247,12 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	public int getMinimumLineThickness() {
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return 1;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (!geo.isLabelSet()) {
 				if (geo.getMinimumLineThickness() == 1) {
 					return 1;
@@ -1182,12 +1267,12 @@ public class GeoList extends GeoElement
 	public void setLineType(final int type) {
 		super.setLineType(type);
 
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (!geo.isLabelSet()) {
 				geo.setLineType(type);
 			}
@@ -1199,12 +1284,12 @@ public class GeoList extends GeoElement
 	public void setLineTypeHidden(final int type) {
 		super.setLineTypeHidden(type);
 
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (!geo.isLabelSet()) {
 				geo.setLineTypeHidden(type);
 			}
@@ -1215,12 +1300,12 @@ public class GeoList extends GeoElement
 	@Override
 	public void setPointSize(final int size) {
 		pointSize = size;
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (!geo.isLabelSet() && (geo instanceof PointProperties)) {
 				((PointProperties) geo).setPointSize(size);
 			}
@@ -1236,12 +1321,12 @@ public class GeoList extends GeoElement
 	public void setPointStyle(final int style) {
 		pointStyle = style;
 
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (!geo.isLabelSet() && (geo instanceof PointProperties)) {
 				((PointProperties) geo).setPointStyle(style);
 			}
@@ -1254,10 +1339,10 @@ public class GeoList extends GeoElement
 			// no alphaValue set
 			// so we need to set it to that of the first element, if there is
 			// one
-			if ((elements != null) && (elements.size() > 0)) {
+			if (size() > 0) {
 
 				// get alpha value of first element
-				final double alpha = elements.get(0).getAlphaValue();
+				final double alpha = elements().get(0).getAlphaValue();
 
 				// Application.debug("setting list alpha to "+alpha);
 
@@ -1265,9 +1350,9 @@ public class GeoList extends GeoElement
 
 				// set all the other elements in the list
 				// if appropriate
-				if (elements.size() > 1) {
-					for (int i = 1; i < elements.size(); i++) {
-						final GeoElement geo = elements.get(i);
+				if (elements().size() > 1) {
+					for (int i = 1; i < elements().size(); i++) {
+						final GeoElement geo = elements().get(i);
 						if (!geo.isLabelSet()) {
 							geo.setAlphaValue(alpha);
 						}
@@ -1293,12 +1378,12 @@ public class GeoList extends GeoElement
 
 		super.setAlphaValue(alpha);
 
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (!geo.isLabelSet()) {
 				geo.setAlphaValue(alpha);
 			}
@@ -1313,15 +1398,15 @@ public class GeoList extends GeoElement
 
 	@Override
 	public boolean isFillable() {
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return false;
 		}
 
 		boolean someFillable = false;
 		boolean allLabelsSet = true;
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (geo.isFillable()) {
 				someFillable = true;
 			}
@@ -1335,7 +1420,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public GeoElement getGeoElementForPropertiesDialog() {
-		if ((elements.size() > 0) && (elementType != ELEMENT_TYPE_MIXED)) {
+		if ((size() > 0) && (elementType != ELEMENT_TYPE_MIXED)) {
 			return get(0).getGeoElementForPropertiesDialog(); // getGeoElementForPropertiesDialog()
 			// to cope with
 			// lists of
@@ -1393,12 +1478,12 @@ public class GeoList extends GeoElement
 	public void setFontSizeMultiplier(final double size) {
 		fontSizeD = size;
 
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if ((geo instanceof TextProperties) && !geo.isLabelSet()) {
 				((TextProperties) geo).setFontSizeMultiplier(size);
 			}
@@ -1414,12 +1499,12 @@ public class GeoList extends GeoElement
 	public void setFontStyle(final int fontStyle) {
 		this.fontStyle = fontStyle;
 
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if ((geo instanceof TextProperties) && !geo.isLabelSet()) {
 				((TextProperties) geo).setFontStyle(fontStyle);
 			}
@@ -1440,8 +1525,8 @@ public class GeoList extends GeoElement
 	public void setPrintDecimals(final int printDecimals,
 			final boolean update) {
 		this.printDecimals = printDecimals;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if ((geo instanceof TextProperties) && !geo.isLabelSet()) {
 				((TextProperties) geo).setPrintDecimals(printDecimals, update);
 			}
@@ -1451,8 +1536,8 @@ public class GeoList extends GeoElement
 	@Override
 	public void setPrintFigures(final int printFigures, final boolean update) {
 		this.printFigures = printFigures;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if ((geo instanceof TextProperties) && !geo.isLabelSet()) {
 				((TextProperties) geo).setPrintFigures(printFigures, update);
 			}
@@ -1473,8 +1558,8 @@ public class GeoList extends GeoElement
 	@Override
 	public void setSerifFont(final boolean serifFont) {
 		this.serifFont = serifFont;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if ((geo instanceof TextProperties) && !geo.isLabelSet()) {
 				((TextProperties) geo).setSerifFont(serifFont);
 			}
@@ -1484,8 +1569,8 @@ public class GeoList extends GeoElement
 	@Override
 	public void setHatchingAngle(final int angle) {
 		super.setHatchingAngle(angle);
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (!geo.isLabelSet()) {
 				geo.setHatchingAngle(angle);
 			}
@@ -1495,8 +1580,8 @@ public class GeoList extends GeoElement
 	@Override
 	public void setHatchingDistance(final int distance) {
 		super.setHatchingDistance(distance);
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (!geo.isLabelSet()) {
 				geo.setHatchingDistance(distance);
 			}
@@ -1506,8 +1591,8 @@ public class GeoList extends GeoElement
 	@Override
 	public void setFillType(final FillType type) {
 		super.setFillType(type);
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (!geo.isLabelSet()) {
 				geo.setFillType(type);
 			}
@@ -1517,8 +1602,8 @@ public class GeoList extends GeoElement
 	@Override
 	public void setFillImage(final String filename) {
 		super.setFillImage(filename);
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (!geo.isLabelSet()) {
 				geo.setFillImage(filename);
 			}
@@ -1528,8 +1613,8 @@ public class GeoList extends GeoElement
 	@Override
 	public void setImageFileName(final String filename) {
 		super.setImageFileName(filename);
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (!geo.isLabelSet()) {
 				geo.setImageFileName(filename);
 			}
@@ -1548,8 +1633,8 @@ public class GeoList extends GeoElement
 			return true;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (geo.showLineProperties() && !geo.isLabelSet()) {
 				return true;
 			}
@@ -1570,8 +1655,8 @@ public class GeoList extends GeoElement
 			return true;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if ((geo instanceof PointProperties)
 					&& ((PointProperties) geo).showPointProperties() && !geo.isLabelSet()) {
 				return true;
@@ -1712,7 +1797,7 @@ public class GeoList extends GeoElement
 
 		// update closestPointIndex
 		getNearestPoint(P);
-		if (elements.size() == 0) {
+		if (size() == 0) {
 			if (P.isDefined()) {
 				P.setUndefined();
 			}
@@ -1777,8 +1862,8 @@ public class GeoList extends GeoElement
 		closestPointIndex = 0; // default - first object
 
 		// double closestIndex = -1;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (geo instanceof PathOrPoint) {
 				final double d = p.distanceToPath((PathOrPoint) geo);
 
@@ -1798,8 +1883,8 @@ public class GeoList extends GeoElement
 	@Override
 	public double distance(final GeoPoint p) {
 		double distance = Double.POSITIVE_INFINITY;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			final double d = geo.distance(p);
 			if (d < distance) {
 				distance = d;
@@ -1812,8 +1897,8 @@ public class GeoList extends GeoElement
 	@Override
 	public double distance(final GeoPointND p) {
 		double distance = Double.POSITIVE_INFINITY;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			final double d = geo.distance(p);
 			if (d < distance) {
 				distance = d;
@@ -1904,8 +1989,8 @@ public class GeoList extends GeoElement
 	@Override
 	public boolean isOnPath(final GeoPointND PI, final double eps) {
 		// Application.debug("isOnPath",1);
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (((PathOrPoint) geo).isOnPath(PI, eps)) {
 				return true;
 			}
@@ -1920,7 +2005,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public double getMaxParameter() {
-		return elements.size();
+		return elements().size();
 	}
 
 	@Override
@@ -1941,8 +2026,8 @@ public class GeoList extends GeoElement
 				|| (getParentAlgorithm() instanceof AlgoDependentList))) {
 			return false;
 		}
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 
 			if (geo.isGeoPoint()) {
 				if (!geo.isMoveable()) {
@@ -1968,8 +2053,8 @@ public class GeoList extends GeoElement
 			final EuclidianViewInterfaceSlim view) {
 		final ArrayList<GeoPointND> al = new ArrayList<>();
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 
 			if (geo.isGeoPoint()) {
 				final GeoPoint p = (GeoPoint) geo;
@@ -2060,7 +2145,7 @@ public class GeoList extends GeoElement
 		if (elements == null) {
 			return true;
 		}
-		return elements.contains(geo);
+		return elements().contains(geo);
 	}
 
 	@Override
@@ -2083,8 +2168,8 @@ public class GeoList extends GeoElement
 			return false;
 		}
 		boolean ret = true;
-		for (int i = 0; i < elements.size(); i++) {
-			GeoElement geo1 = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			GeoElement geo1 = elements().get(i);
 			if (!geo1.isLaTeXDrawableGeo()) {
 				return false;
 			}
@@ -2096,8 +2181,8 @@ public class GeoList extends GeoElement
 	public void updateColumnHeadingsForTraceValues() {
 		resetSpreadsheetColumnHeadings();
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (geo instanceof SpreadsheetTraceable) {
 				final ArrayList<GeoText> geoHead = geo.getColumnHeadings();
 				for (int j = 0; j < geoHead.size(); j++) {
@@ -2183,7 +2268,7 @@ public class GeoList extends GeoElement
 		if (getParentAlgorithm() != null
 				&& (getParentAlgorithm() instanceof AlgoDependentList)) {
 			// list = {A, B} : traceModes is computed from A, B
-			traceModes = getTraceModes(elements);
+			traceModes = getTraceModes(elements());
 		} else {
 			// e.g. Sequence[...] is only copied
 			traceModes = TraceModesEnum.ONLY_COPY;
@@ -2205,7 +2290,7 @@ public class GeoList extends GeoElement
 				&& (getParentAlgorithm() instanceof AlgoDependentList)) {
 			// list = {A, B} : names for A, B
 			boolean notFirst = false;
-			for (GeoElement geo : elements) {
+			for (GeoElement geo : elements()) {
 				if (notFirst) {
 					sb.append(", ");
 				}
@@ -2228,8 +2313,8 @@ public class GeoList extends GeoElement
 	public void addToSpreadsheetTraceList(
 			ArrayList<GeoNumeric> spreadsheetTraceList) {
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (geo instanceof SpreadsheetTraceable) {
 				((SpreadsheetTraceable) geo)
 						.addToSpreadsheetTraceList(spreadsheetTraceList);
@@ -2269,7 +2354,7 @@ public class GeoList extends GeoElement
 	 * @return position of needle in this list or -1 when not found
 	 */
 	public int find(GeoElement needle) {
-		return elements.indexOf(needle);
+		return elements().indexOf(needle);
 	}
 
 	/**
@@ -2383,11 +2468,6 @@ public class GeoList extends GeoElement
 	 * @return boolean true if AlgoLocusList should be used.
 	 */
 	public boolean shouldUseAlgoLocusList(boolean locusCalling) {
-		GeoPointND[] minParArray = new GeoPoint[this.size()];
-		GeoPointND[] maxParArray = new GeoPoint[this.size()];
-		GeoPointND[] minParStatic = new GeoPoint[this.size()];
-		GeoPointND[] maxParStatic = new GeoPoint[this.size()];
-
 		// if there is no locus using this, the answer is not important
 		if (!locusCalledAlgoLocusList && !locusCalling) {
 			directionInfoArray = null;
@@ -2397,6 +2477,10 @@ public class GeoList extends GeoElement
 		if (size() == 0) {
 			return false;
 		}
+		GeoPointND[] minParArray = new GeoPoint[this.size()];
+		GeoPointND[] maxParArray = new GeoPoint[this.size()];
+		GeoPointND[] minParStatic = new GeoPoint[this.size()];
+		GeoPointND[] maxParStatic = new GeoPoint[this.size()];
 		directionInfoArray = new boolean[this.size()];
 		directionInfoOrdering = new int[this.size()];
 		shouldUseAlgoLocusList = true;
@@ -2577,8 +2661,8 @@ public class GeoList extends GeoElement
 	public void setShowOnAxis(boolean showOnAxis) {
 		this.showOnAxis = showOnAxis;
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (!geo.isLabelSet() && (geo instanceof InequalityProperties)) {
 				((InequalityProperties) geo).setShowOnAxis(showOnAxis);
 			}
@@ -2589,7 +2673,7 @@ public class GeoList extends GeoElement
 	 * @return true if this list contains a 3D geo
 	 */
 	public boolean containsGeoElement3D() {
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : elements()) {
 			boolean contains = false;
 			if (geo.isGeoList()) {
 				contains = ((GeoList) geo).containsGeoElement3D();
@@ -2606,10 +2690,10 @@ public class GeoList extends GeoElement
 
 	@Override
 	final public Coords getMainDirection() {
-		if (elements.size() <= closestPointIndex) {
+		if (elements().size() <= closestPointIndex) {
 			return Coords.VX;
 		}
-		return elements.get(closestPointIndex).getMainDirection();
+		return elements().get(closestPointIndex).getMainDirection();
 	}
 
 	@Override
@@ -2654,7 +2738,7 @@ public class GeoList extends GeoElement
 			newAngleStyle = AngleStyle.ANTICLOCKWISE;
 		}
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : elements()) {
 			if (!geo.isLabelSet() && (geo instanceof AngleProperties)) {
 				((AngleProperties) geo).setAngleStyle(angleStyle);
 			}
@@ -2703,7 +2787,7 @@ public class GeoList extends GeoElement
 			setAngleStyle(AngleStyle.NOTREFLEX);
 		}
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : elements()) {
 			if (!geo.isLabelSet() && (geo instanceof AngleProperties)) {
 				((AngleProperties) geo).setAllowReflexAngle(allowReflexAngle);
 			}
@@ -2721,7 +2805,7 @@ public class GeoList extends GeoElement
 	public void setEmphasizeRightAngle(boolean emphasizeRightAngle) {
 		this.emphasizeRightAngle = emphasizeRightAngle;
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : elements()) {
 			if (!geo.isLabelSet() && (geo instanceof AngleProperties)) {
 				((AngleProperties) geo)
 						.setEmphasizeRightAngle(emphasizeRightAngle);
@@ -2744,7 +2828,7 @@ public class GeoList extends GeoElement
 			setAngleStyle(AngleStyle.ANTICLOCKWISE);
 		}
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : elements()) {
 			if (!geo.isLabelSet() && (geo instanceof AngleProperties)) {
 				((AngleProperties) geo).setForceReflexAngle(forceReflexAngle);
 			}
@@ -2756,7 +2840,7 @@ public class GeoList extends GeoElement
 		setDecorationType(type, GeoAngle.getDecoTypes().length);
 
 		if (elements != null) {
-			for (GeoElement geo : elements) {
+			for (GeoElement geo : elements()) {
 				if (!geo.isLabelSet()) {
 					if (geo instanceof AngleProperties) {
 						((AngleProperties) geo).setDecorationType(type);
@@ -2779,7 +2863,7 @@ public class GeoList extends GeoElement
 	public void setArcSize(int i) {
 		arcSize = i;
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : elements()) {
 			if (!geo.isLabelSet() && (geo instanceof AngleProperties)) {
 				((AngleProperties) geo).setArcSize(i);
 			}
@@ -2941,12 +3025,12 @@ public class GeoList extends GeoElement
 	public void setLineOpacity(int lineOpacity) {
 		this.lineOpacity = lineOpacity;
 
-		if ((elements == null) || (elements.size() == 0)) {
+		if (size() == 0) {
 			return;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < elements().size(); i++) {
+			final GeoElement geo = elements().get(i);
 			if (!geo.isLabelSet()) {
 				geo.setLineOpacity(lineOpacity);
 			}
@@ -3017,7 +3101,7 @@ public class GeoList extends GeoElement
 			return DescriptionMode.DEFINITION_VALUE;
 		}
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : elements()) {
 			if (geo.getDescriptionMode() == DescriptionMode.DEFINITION_VALUE
 					&& !Equation.isAlgebraEquation(geo)) {
 				return DescriptionMode.DEFINITION_VALUE;
@@ -3075,7 +3159,7 @@ public class GeoList extends GeoElement
 	public void resetDefinition() {
 		super.resetDefinition();
 		for (int i = 0; i < size(); i++) {
-			this.elements.get(i).resetDefinition();
+			elements().get(i).resetDefinition();
 		}
 	}
 
@@ -3119,7 +3203,7 @@ public class GeoList extends GeoElement
 	 *            new element
 	 */
 	public void setListElement(int i, GeoElement element) {
-		this.elements.set(i, element);
+		elements().set(i, element);
 		this.applyVisualStyle(element);
 		// this.elementType = element.getGeoClassType();
 		isDrawable = true;
@@ -3341,7 +3425,7 @@ public class GeoList extends GeoElement
 	 * @return new array with elements
 	 */
 	public GeoElement[] elementsAsArray() {
-		return elements.toArray(new GeoElement[size()]);
+		return elements().toArray(new GeoElement[size()]);
 	}
 
 	@Override
@@ -1597,6 +1597,12 @@ public class GeoNumeric extends GeoElement
 		}
 	}
 
+	@Override
+	public boolean hasDependenciesWithoutAlgorithm() {
+		return minMaxListeners != null && !minMaxListeners.isEmpty()
+				|| evListeners != null && !evListeners.isEmpty();
+	}
+
 	@Override
 	public void moveDependencies(GeoElement oldGeo) {
 		if (!oldGeo.isGeoNumeric()) {
@@ -2747,6 +2747,11 @@ public class GeoPoint extends GeoVec3D implements VectorValue, PathOrPoint,
 		return locateableList != null;
 	}
 
+	@Override
+	public boolean hasDependenciesWithoutAlgorithm() {
+		return locateableList != null && !locateableList.isEmpty();
+	}
+
 	@Override
 	public void setLocateableList(LocateableList locateableList) {
 		this.locateableList = locateableList;
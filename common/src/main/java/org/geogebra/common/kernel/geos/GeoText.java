@@ -1535,6 +1535,11 @@ public class GeoText extends GeoElement
 		updateListeners.remove(geo);
 	}
 
+	@Override
+	public boolean hasDependenciesWithoutAlgorithm() {
+		return !updateListeners.isEmpty();
+	}
+
 	@Override
 	public void moveDependencies(GeoElement oldGeo) {
 		if (!oldGeo.isGeoText()) {
@@ -0,0 +1,218 @@
+package org.geogebra.common.kernel.geos;
+
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.algos.DrawInformationAlgo;
+import org.geogebra.common.kernel.arithmetic.ExpressionNode;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.geogebra.common.plugin.GeoClass;
+
+/**
+ * Values of a long list of plain numbers or 2D points, stored in a double
+ * array instead of one GeoElement per item. The GeoElements are only created
+ * (as copies of a template) once some code needs the list items.
+ */
+public final class PackedListValues {
+
+	/** shorter lists are not worth packing */
+	public static final int MIN_SIZE = 1000;
+
+	private final GeoElement template;
+	private final int dimension;
+	private double[] values;
+	private int size;
+
+	/**
+	 * @param template
+	 *            number or point that items are copied from, see
+	 *            {@link #canPack(GeoElementND)}
+	 * @param capacity
+	 *            expected number of items
+	 */
+	public PackedListValues(GeoElement template, int capacity) {
+		this.template = template;
+		this.dimension = template.isGeoPoint() ? 2 : 1;
+		this.values = new double[Math.max(capacity, 1) * dimension];
+	}
+
+	/**
+	 * @param geo
+	 *            list item
+	 * @return whether items with the type and properties of given element may
+	 *         be stored packed
+	 */
+	public static boolean canPack(GeoElementND geo) {
+		// copies would keep the definition, see GeoElement.reuseDefinition
+		ExpressionNode definition = geo.getDefinition();
+		if (definition != null
+				&& (geo.isIndependent() || definition.isConstant())) {
+			return false;
+		}
+		if (geo.getGeoClassType() == GeoClass.NUMERIC) {
+			AlgoElement drawAlgo = geo.toGeoElement().getDrawAlgorithm();
+			return !((GeoNumeric) geo).isSlider()
+					&& !(drawAlgo instanceof DrawInformationAlgo);
+		}
+		if (geo.getGeoClassType() == GeoClass.POINT) {
+			GeoPoint point = (GeoPoint) geo;
+			return !point.isPointOnPath() && !point.hasRegion();
+		}
+		return false;
+	}
+
+	/**
+	 * Appends the current value of a number or point.
+	 *
+	 * @param geo
+	 *            element of the same type as the template
+	 */
+	public void add(GeoElementND geo) {
+		if (dimension == 1) {
+			add(geo.isDefined() ? geo.evaluateDouble() : Double.NaN);
+		} else if (geo.isDefined()) {
+			GeoPoint point = (GeoPoint) geo;
+			add(point.getInhomX(), point.getInhomY());
+		} else {
+			add(Double.NaN, Double.NaN);
+		}
+	}
+
+	/**
+	 * @param value
+	 *            number to append
+	 */
+	public void add(double value) {
+		ensureCapacity();
+		values[size++] = value;
+	}
+
+	/**
+	 * @param x
+	 *            x-coordinate of point to append
+	 * @param y
+	 *            y-coordinate of point to append
+	 */
+	public void add(double x, double y) {
+		ensureCapacity();
+		values[2 * size] = x;
+		values[2 * size + 1] = y;
+		size++;
+	}
+
+	private void ensureCapacity() {
+		if ((size + 1) * dimension > values.length) {
+			double[] newValues = new double[2 * values.length];
+			System.arraycopy(values, 0, newValues, 0, size * dimension);
+			values = newValues;
+		}
+	}
+
+	/**
+	 * @return element that list items are copied from
+	 */
+	GeoElement getTemplate() {
+		return template;
+	}
+
+	/**
+	 * @return number of items
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return whether the items are points
+	 */
+	public boolean isPoints() {
+		return dimension == 2;
+	}
+
+	/**
+	 * @param i
+	 *            index
+	 * @return number at given index, or x-coordinate for points
+	 */
+	public double getValue(int i) {
+		return values[i * dimension];
+	}
+
+	/**
+	 * @param i
+	 *            index
+	 * @return y-coordinate of the point at given index
+	 */
+	public double getY(int i) {
+		return values[2 * i + 1];
+	}
+
+	/**
+	 * Copies the numbers to an array.
+	 *
+	 * @param offset
+	 *            index of first copied item
+	 * @return numbers from offset to the end
+	 */
+	public double[] toDouble(int offset) {
+		double[] ret = new double[size - offset];
+		System.arraycopy(values, offset, ret, 0, size - offset);
+		return ret;
+	}
+
+	/**
+	 * @param i
+	 *            index
+	 * @param tpl
+	 *            template
+	 * @return value string of the item, as it would be for the GeoElement
+	 */
+	public String toOutputValueString(int i, StringTemplate tpl) {
+		setValue(template, i);
+		return template.toOutputValueString(tpl);
+	}
+
+	/**
+	 * Sets a number or point to the value of an item.
+	 *
+	 * @param geo
+	 *            element of the same type as the items
+	 * @param i
+	 *            index
+	 * @return false if the element has a different type
+	 */
+	public boolean setValue(GeoElementND geo, int i) {
+		if (geo.getGeoClassType() != template.getGeoClassType()) {
+			return false;
+		}
+		if (dimension == 1) {
+			((GeoNumeric) geo).setValue(values[i]);
+		} else if (Double.isNaN(values[2 * i])) {
+			geo.setUndefined();
+		} else {
+			((GeoPoint) geo).setCoords(values[2 * i], values[2 * i + 1], 1);
+		}
+		return true;
+	}
+
+	/**
+	 * @param i
+	 *            index
+	 * @param cached
+	 *            unused element from the list's cache, may be null
+	 * @return GeoElement for the item
+	 */
+	GeoElement createElement(int i, GeoElementND cached) {
+		GeoElement element;
+		if (cached != null && !cached.isLabelSet()
+				&& cached.getGeoClassType() == template.getGeoClassType()) {
+			element = cached.toGeoElement();
+		} else {
+			element = template.copyInternal(template.getConstruction());
+			element.setParentAlgorithm(template.getParentAlgorithm());
+			element.setConstructionDefaults();
+			element.setUseVisualDefaults(false);
+		}
+		setValue(element, i);
+		return element;
+	}
+}
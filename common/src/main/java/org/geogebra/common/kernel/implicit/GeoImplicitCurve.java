@@ -16,6 +16,7 @@ import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.PathMover;
 import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.UpdateExecutor;
 import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.algos.AlgoPointOnPath;
 import org.geogebra.common.kernel.arithmetic.Equation;
@@ -74,6 +75,10 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 	 * Border mask
 	 */
 	static final int[] MASK = { 0x9, 0xC, 0x6, 0x3 };
+	/**
+	 * Polynomials with fewer coefficients are traced by a single thread
+	 */
+	private static final int MIN_PARALLEL_COEFFICIENTS = 64;
 
 	/* The input expression. */
 	private FunctionNVar expression;
@@ -111,6 +116,8 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 
 	private double[] eval = new double[2];
 	private boolean calcPath = true;
+	/** whether plot depth depends on the time needed for tracing */
+	private boolean adaptivePlotDepth = true;
 
 	/**
 	 * Construct an empty Implicit Curve Object
@@ -1668,6 +1675,33 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 		}
 	}
 
+	/**
+	 * By default the plot depth is reduced on slow devices. Tracing with fixed
+	 * depth gives the same path independent of timing, e.g. in tests.
+	 * 
+	 * @param adaptive
+	 *            whether plot depth should depend on time needed for tracing
+	 */
+	void setAdaptivePlotDepth(boolean adaptive) {
+		adaptivePlotDepth = adaptive;
+	}
+
+	/**
+	 * @return whether tracing should use several threads: only polynomials
+	 *         can be evaluated concurrently, and only for polynomials of high
+	 *         degree the work per cell outweighs the overhead
+	 */
+	private boolean isParallelTracingWorthwhile() {
+		if (coeff == null || coeffSquarefree == null) {
+			return false;
+		}
+		int coefficients = 0;
+		for (double[] row : coeff) {
+			coefficients += row == null ? 0 : row.length;
+		}
+		return coefficients >= MIN_PARALLEL_COEFFICIENTS;
+	}
+
 	/**
 	 * @author GSoCImplicitCurve-2015
 	 */
@@ -1679,6 +1713,11 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 		private int sw;
 		private int sh;
 		private Rect[][] grid;
+		/**
+		 * marks for the row below, collected per row while rows are plotted
+		 * in parallel; null when plotting sequentially
+		 */
+		private boolean[][] marksBelow;
 		private Timer timer = Timer.newTimer();
 
 		public WebExperimentalQuadTree() {
@@ -1687,6 +1726,8 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 
 		@Override
 		public void updatePath() {
+			UpdateExecutor executor = isParallelTracingWorthwhile()
+					? kernel.getUpdateExecutor() : null;
 			for (int factor = 0; factor < factorLength(); ++factor) {
 				try {
 					evaluateImplicitCurve(0, 0, factor);
@@ -1704,10 +1745,8 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 				double frx = w / sw;
 				double fry = h / sh;
 
-				double[] vertices = new double[sw + 1];
 				double[] xcoords = new double[sw + 1];
 				double[] ycoords = new double[sh + 1];
-				double cur, prev;
 
 				for (int i = 0; i <= sw; i++) {
 					xcoords[i] = x + i * frx;
@@ -1717,49 +1756,13 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 					ycoords[i] = y + i * fry;
 				}
 
-				for (int i = 0; i <= sw; i++) {
-					vertices[i] = evaluateImplicitCurve(xcoords[i], ycoords[0],
-							factor);
-				}
-
 				// initialize grid configuration at the search depth
-				int i, j;
-				double dx, dy, fx, fy;
 				// debug = true;
 				timer.reset();
-				for (i = 1; i <= sh; i++) {
-					prev = evaluateImplicitCurve(xcoords[0], ycoords[i],
-							factor);
-					fy = ycoords[i] - 0.5 * fry;
-					for (j = 1; j <= sw; j++) {
-						cur = evaluateImplicitCurve(xcoords[j], ycoords[i],
-								factor);
-						Rect rect = new Rect(j - 1, i - 1, frx, fry, false);
-						rect.coords.val[0] = xcoords[j - 1];
-						rect.coords.val[1] = ycoords[i - 1];
-						rect.evals[0] = vertices[j - 1];
-						rect.evals[1] = vertices[j];
-						rect.evals[2] = cur;
-						rect.evals[3] = prev;
-						rect.status = edgeConfig(rect);
-						rect.shares = 0xff;
-						fx = xcoords[j] - 0.5 * frx;
-						dx = derivativeX(fx, fy);
-						dy = derivativeY(fx, fy);
-						dx = Math.abs(dx) + Math.abs(dy);
-						if (DoubleUtil.isZero(dx, 0.001)) {
-							rect.singular = true;
-						}
-						this.grid[i - 1][j - 1] = rect;
-						vertices[j - 1] = prev;
-						prev = cur;
-					}
-					vertices[sw] = prev;
-				}
-
+				initGrid(xcoords, ycoords, frx, fry, factor, executor);
 				timer.record();
 
-				if (timer.elapse <= 10) {
+				if (!adaptivePlotDepth || timer.elapse <= 10) {
 					// Fast device optimize for UX
 					plotDepth = 3;
 					segmentCheckDepth = 2;
@@ -1771,16 +1774,25 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 					LIST_THRESHOLD = 24;
 				}
 
-				for (i = 0; i < sh; i++) {
-					for (j = 0; j < sw; j++) {
-						if (grid[i][j].status != EMPTY) {
-							plot(grid[i][j], 0, factor);
+				if (executor == null) {
+					SegmentBuffer buffer = new SegmentBuffer();
+					for (int i = 0; i < sh; i++) {
+						for (int j = 0; j < sw; j++) {
+							if (grid[i][j].status != EMPTY) {
+								plot(grid[i][j], 0, factor, buffer);
+								flush(buffer);
+							}
 						}
 					}
+				} else {
+					plotParallel(factor, executor);
 				}
 
 				timer.record();
 
+				if (!adaptivePlotDepth) {
+					continue;
+				}
 				if (timer.elapse >= 500) {
 					// I can't do anything more. I've been working for 500 ms
 					// Therefore I am tired
@@ -1793,41 +1805,148 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 			}
 		}
 
-		public void createTree(Rect r, int depth, int factor) {
+		private void initGrid(final double[] xcoords, final double[] ycoords,
+				final double frx, final double fry, final int factor,
+				UpdateExecutor executor) {
+			final double[][] values = new double[sh + 1][sw + 1];
+			runRows(sh + 1, executor, new RowTask() {
+				@Override
+				public void run(int i) {
+					for (int j = 0; j <= sw; j++) {
+						values[i][j] = evaluateImplicitCurve(xcoords[j],
+								ycoords[i], factor);
+					}
+				}
+			});
+			runRows(sh, executor, new RowTask() {
+				@Override
+				public void run(int i) {
+					initRow(i, xcoords, ycoords, frx, fry, values);
+				}
+			});
+		}
+
+		private void initRow(int i, double[] xcoords, double[] ycoords,
+				double frx, double fry, double[][] values) {
+			double fy = ycoords[i + 1] - 0.5 * fry;
+			for (int j = 0; j < sw; j++) {
+				Rect rect = new Rect(j, i, frx, fry, false);
+				rect.coords.val[0] = xcoords[j];
+				rect.coords.val[1] = ycoords[i];
+				rect.evals[0] = values[i][j];
+				rect.evals[1] = values[i][j + 1];
+				rect.evals[2] = values[i + 1][j + 1];
+				rect.evals[3] = values[i + 1][j];
+				rect.status = edgeConfig(rect);
+				rect.shares = 0xff;
+				double fx = xcoords[j + 1] - 0.5 * frx;
+				double dx = derivativeX(fx, fy);
+				double dy = derivativeY(fx, fy);
+				dx = Math.abs(dx) + Math.abs(dy);
+				if (DoubleUtil.isZero(dx, 0.001)) {
+					rect.singular = true;
+				}
+				grid[i][j] = rect;
+			}
+		}
+
+		/**
+		 * Plots the cells on the executor, a task per row. Cells are plotted
+		 * when marked by their left or top neighbor, as in the sequential
+		 * loop. A task only changes its own row; marks for the row below are
+		 * applied after each round, and rounds are repeated until no marked
+		 * cell is left. The segments are joined in the same order as in the
+		 * sequential loop.
+		 */
+		private void plotParallel(final int factor, UpdateExecutor executor) {
+			final SegmentBuffer[][] buffers = new SegmentBuffer[sh][sw];
+			final boolean[][] plotted = new boolean[sh][sw];
+			RowTask plotRow = new RowTask() {
+				@Override
+				public void run(int i) {
+					for (int j = 0; j < sw; j++) {
+						if (!plotted[i][j] && grid[i][j].status != EMPTY) {
+							plotted[i][j] = true;
+							buffers[i][j] = new SegmentBuffer();
+							plot(grid[i][j], 0, factor, buffers[i][j]);
+						}
+					}
+				}
+			};
+			marksBelow = new boolean[sh][sw];
+			try {
+				do {
+					runRows(sh, executor, plotRow);
+					applyMarksBelow();
+				} while (hasMarkedCells(plotted));
+			} finally {
+				marksBelow = null;
+			}
+			for (int i = 0; i < sh; i++) {
+				for (int j = 0; j < sw; j++) {
+					if (buffers[i][j] != null) {
+						flush(buffers[i][j]);
+					}
+				}
+			}
+		}
+
+		private void applyMarksBelow() {
+			for (int i = 0; i + 1 < sh; i++) {
+				for (int j = 0; j < sw; j++) {
+					if (marksBelow[i][j]) {
+						marksBelow[i][j] = false;
+						nonempty(i + 1, j);
+					}
+				}
+			}
+		}
+
+		private boolean hasMarkedCells(boolean[][] plotted) {
+			for (int i = 0; i < sh; i++) {
+				for (int j = 0; j < sw; j++) {
+					if (!plotted[i][j] && grid[i][j].status != EMPTY) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+
+		public void createTree(Rect r, int depth, int factor,
+				SegmentBuffer buffer) {
 			Rect[] n = r.split(GeoImplicitCurve.this, factor);
-			plot(n[0], depth, factor);
-			plot(n[1], depth, factor);
-			plot(n[2], depth, factor);
-			plot(n[3], depth, factor);
+			plot(n[0], depth, factor, buffer);
+			plot(n[1], depth, factor, buffer);
+			plot(n[2], depth, factor, buffer);
+			plot(n[3], depth, factor, buffer);
 		}
 
-		public void plot(Rect r, int depth, int factor) {
+		public void plot(Rect r, int depth, int factor, SegmentBuffer buffer) {
 			if (depth < segmentCheckDepth) {
-				createTree(r, depth + 1, factor);
+				createTree(r, depth + 1, factor, buffer);
 				return;
 			}
 			int e = edgeConfig(r);
 			if (grid[r.y][r.x].singular || e != EMPTY) {
 				if (depth >= plotDepth) {
-					if (addSegment(r, factor) == T0101) {
-						createTree(r, depth + 1, factor);
+					if (addSegment(r, factor, buffer) == T0101) {
+						createTree(r, depth + 1, factor, buffer);
 						return;
 					}
-					if (r.x != 0 && (e & r.shares & 0x1) != 0) {
-						nonempty(r.y, r.x - 1);
-
-					}
+					// left and top neighbors were visited before
 					if (r.x + 1 != sw && (e & r.shares & 0x4) != 0) {
 						nonempty(r.y, r.x + 1);
 					}
-					if (r.y != 0 && (e & r.shares & 0x8) != 0) {
-						nonempty(r.y - 1, r.x);
-					}
 					if (r.y + 1 != sh && (e & r.shares & 0x2) != 0) {
-						nonempty(r.y + 1, r.x);
+						if (marksBelow == null) {
+							nonempty(r.y + 1, r.x);
+						} else {
+							marksBelow[r.y][r.x] = true;
+						}
 					}
 				} else {
-					createTree(r, depth + 1, factor);
+					createTree(r, depth + 1, factor, buffer);
 				}
 			}
 		}
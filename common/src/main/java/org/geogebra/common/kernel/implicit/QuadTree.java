@@ -1,12 +1,11 @@
 package org.geogebra.common.kernel.implicit;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
 
 import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.SegmentType;
+import org.geogebra.common.kernel.UpdateExecutor;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
 import org.geogebra.common.kernel.matrix.Coords;
 import org.geogebra.common.util.DoubleUtil;
@@ -79,13 +78,8 @@ abstract class QuadTree {
 	protected double scaleX;
 	protected double scaleY;
 	protected ArrayList<MyPoint> locusPoints;
-	private LinkedList<PointList> openList = new LinkedList<>();
-	private MyPoint[] pts = new MyPoint[2];
-	private PointList p1;
-	private PointList p2;
-	private MyPoint temp;
-	private ListIterator<PointList> itr1;
-	private ListIterator<PointList> itr2;
+	/** open point lists, the most recent one is last */
+	private final ArrayList<PointList> openList = new ArrayList<>();
 
 	public QuadTree(GeoImplicitCurve geoImplicitCurve) {
 		this.geoImplicitCurve = geoImplicitCurve;
@@ -118,66 +112,100 @@ abstract class QuadTree {
 	}
 
 	public void abortList() {
-		itr1 = openList.listIterator();
-		while (itr1.hasNext()) {
-			p1 = itr1.next();
-			locusPoints.add(p1.start);
-			locusPoints.addAll(p1.pts);
-			locusPoints.add(p1.end);
+		for (int i = openList.size() - 1; i >= 0; i--) {
+			openList.get(i).addTo(locusPoints);
 		}
 		openList.clear();
 	}
 
-	private static boolean equal(MyPoint q1, MyPoint q2) {
-		return DoubleUtil.isEqual(q1.x, q2.x, 1e-10)
-				&& DoubleUtil.isEqual(q1.y, q2.y, 1e-10);
+	private static boolean equal(double x1, double y1, double x2, double y2) {
+		return DoubleUtil.isEqual(x1, x2, 1e-10)
+				&& DoubleUtil.isEqual(y1, y2, 1e-10);
 	}
 
-	public int addSegment(Rect r, int factor) {
-		int status = createSegment(r, factor);
+	/**
+	 * Computes the segment of the curve in given cell and stores it in the
+	 * buffer; cells may be processed concurrently if each thread uses its own
+	 * buffer and the curve can be evaluated concurrently.
+	 * 
+	 * @param r
+	 *            cell
+	 * @param factor
+	 *            squarefree factor
+	 * @param buffer
+	 *            buffer for the segment
+	 * @return status
+	 */
+	public int addSegment(Rect r, int factor, SegmentBuffer buffer) {
+		int status = createSegment(r, factor, buffer.segment);
 		if (status == VALID) {
-			if (pts[0].x > pts[1].x) {
-				temp = pts[0];
-				pts[0] = pts[1];
-				pts[1] = temp;
-			}
-			itr1 = openList.listIterator();
-			itr2 = openList.listIterator();
-			boolean flag1 = false, flag2 = false;
-			while (itr1.hasNext()) {
-				p1 = itr1.next();
-				if (equal(pts[1], p1.start)) {
-					flag1 = true;
-					break;
-				}
-			}
+			buffer.add();
+		}
+		return status;
+	}
 
-			while (itr2.hasNext()) {
-				p2 = itr2.next();
-				if (equal(pts[0], p2.end)) {
-					flag2 = true;
-					break;
-				}
+	/**
+	 * Joins buffered segments with the open lists, in the order they were
+	 * buffered, and clears the buffer.
+	 * 
+	 * @param buffer
+	 *            buffered segments
+	 */
+	public void flush(SegmentBuffer buffer) {
+		double[] coords = buffer.coords;
+		for (int i = 0; i < buffer.size; i += 4) {
+			if (coords[i] > coords[i + 2]) {
+				addSegment(coords[i + 2], coords[i + 3], coords[i],
+						coords[i + 1]);
+			} else {
+				addSegment(coords[i], coords[i + 1], coords[i + 2],
+						coords[i + 3]);
 			}
+		}
+		buffer.clear();
+	}
 
-			if (flag1 && flag2) {
-				itr1.remove();
-				p2.mergeTo(p1);
-			} else if (flag1) {
-				p1.extendBack(pts[0]);
-			} else if (flag2) {
-				p2.extendFront(pts[1]);
-			} else {
-				openList.addFirst(new PointList(pts[0], pts[1]));
+	private void addSegment(double x0, double y0, double x1, double y1) {
+		int index1 = -1;
+		for (int i = openList.size() - 1; i >= 0; i--) {
+			if (openList.get(i).startsAt(x1, y1)) {
+				index1 = i;
+				break;
 			}
-			if (openList.size() > LIST_THRESHOLD) {
-				abortList();
+		}
+		int index2 = -1;
+		for (int i = openList.size() - 1; i >= 0; i--) {
+			if (openList.get(i).endsAt(x0, y0)) {
+				index2 = i;
+				break;
 			}
 		}
-		return status;
+
+		if (index1 >= 0 && index2 >= 0) {
+			PointList p2 = openList.get(index2);
+			p2.mergeTo(openList.remove(index1));
+		} else if (index1 >= 0) {
+			openList.get(index1).extendBack(x0, y0);
+		} else if (index2 >= 0) {
+			openList.get(index2).extendFront(x1, y1);
+		} else {
+			openList.add(new PointList(x0, y0, x1, y1));
+		}
+		if (openList.size() > LIST_THRESHOLD) {
+			abortList();
+		}
 	}
 
-	public int createSegment(Rect r, int factor) {
+	/**
+	 * @param r
+	 *            cell
+	 * @param factor
+	 *            squarefree factor
+	 * @param seg
+	 *            output array for coordinates of segment endpoints
+	 * @return status
+	 */
+	public int createSegment(Rect r, int factor, double[] seg) {
 		int gridType = config(r);
 		if (gridType == T0101 || gridType == T_INV) {
 			return gridType;
@@ -191,60 +219,56 @@ abstract class QuadTree {
 		switch (gridType) {
 		// one or three corners are inside / outside
 		case T0001:
-			pts[0] = new MyPoint(x1,
-					GeoImplicitCurve.interpolate(bl, tl, y2,
-					y1), SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(GeoImplicitCurve.interpolate(bl, br, x1, x2),
-					y2, SegmentType.LINE_TO);
+			seg[0] = x1;
+			seg[1] = GeoImplicitCurve.interpolate(bl, tl, y2, y1);
+			seg[2] = GeoImplicitCurve.interpolate(bl, br, x1, x2);
+			seg[3] = y2;
 			q1 = minAbs(bl, tl);
 			q2 = minAbs(bl, br);
 			break;
 
 		case T0010:
-			pts[0] = new MyPoint(x2,
-					GeoImplicitCurve.interpolate(br, tr, y2,
-					y1), SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(GeoImplicitCurve.interpolate(br, bl, x2, x1),
-					y2, SegmentType.LINE_TO);
+			seg[0] = x2;
+			seg[1] = GeoImplicitCurve.interpolate(br, tr, y2, y1);
+			seg[2] = GeoImplicitCurve.interpolate(br, bl, x2, x1);
+			seg[3] = y2;
 			q1 = minAbs(br, tr);
 			q2 = minAbs(br, bl);
 			break;
 
 		case T0100:
-			pts[0] = new MyPoint(x2, GeoImplicitCurve.interpolate(tr, br, y1,
-					y2), SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(GeoImplicitCurve.interpolate(tr, tl, x2, x1),
-					y1, SegmentType.LINE_TO);
+			seg[0] = x2;
+			seg[1] = GeoImplicitCurve.interpolate(tr, br, y1, y2);
+			seg[2] = GeoImplicitCurve.interpolate(tr, tl, x2, x1);
+			seg[3] = y1;
 			q1 = minAbs(tr, br);
 			q2 = minAbs(tr, tl);
 			break;
 
 		case T0111:
-			pts[0] = new MyPoint(x1,
-					GeoImplicitCurve.interpolate(tl, bl, y1, y2),
-					SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(GeoImplicitCurve.interpolate(tl, tr, x1, x2),
-					y1, SegmentType.LINE_TO);
+			seg[0] = x1;
+			seg[1] = GeoImplicitCurve.interpolate(tl, bl, y1, y2);
+			seg[2] = GeoImplicitCurve.interpolate(tl, tr, x1, x2);
+			seg[3] = y1;
 			q1 = minAbs(bl, tl);
 			q2 = minAbs(tl, tr);
 			break;
 
 		// two consecutive corners are inside / outside
 		case T0011:
-			pts[0] = new MyPoint(x1, GeoImplicitCurve.interpolate(tl, bl, y1,
-					y2), SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(x2,
-					GeoImplicitCurve.interpolate(tr, br, y1, y2),
-					SegmentType.LINE_TO);
+			seg[0] = x1;
+			seg[1] = GeoImplicitCurve.interpolate(tl, bl, y1, y2);
+			seg[2] = x2;
+			seg[3] = GeoImplicitCurve.interpolate(tr, br, y1, y2);
 			q1 = minAbs(tl, bl);
 			q2 = minAbs(tr, br);
 			break;
 
 		case T0110:
-			pts[0] = new MyPoint(GeoImplicitCurve.interpolate(tl, tr, x1, x2),
-					y1, SegmentType.MOVE_TO);
-			pts[1] = new MyPoint(GeoImplicitCurve.interpolate(bl, br, x1, x2),
-					y2, SegmentType.LINE_TO);
+			seg[0] = GeoImplicitCurve.interpolate(tl, tr, x1, x2);
+			seg[1] = y1;
+			seg[2] = GeoImplicitCurve.interpolate(bl, br, x1, x2);
+			seg[3] = y2;
 			q1 = minAbs(tl, tr);
 			q2 = minAbs(bl, br);
 			break;
@@ -253,9 +277,9 @@ abstract class QuadTree {
 		}
 		// check continuity of the function between P1 and P2
 		double p = Math.abs(this.geoImplicitCurve
-				.evaluateImplicitCurve(pts[0].x, pts[0].y, factor));
+				.evaluateImplicitCurve(seg[0], seg[1], factor));
 		double q = Math.abs(this.geoImplicitCurve
-				.evaluateImplicitCurve(pts[1].x, pts[1].y, factor));
+				.evaluateImplicitCurve(seg[2], seg[3], factor));
 		if ((p <= q1 && q <= q2)) {
 			return VALID;
 		}
@@ -343,60 +367,155 @@ abstract class QuadTree {
 
 	public abstract void updatePath();
 
+	/**
+	 * Runs a task for each row, on the executor if there is one.
+	 * 
+	 * @param rows
+	 *            number of rows
+	 * @param executor
+	 *            executor, null to run the rows serially
+	 * @param task
+	 *            task
+	 */
+	protected static void runRows(int rows, UpdateExecutor executor,
+			final RowTask task) {
+		if (executor == null) {
+			for (int i = 0; i < rows; i++) {
+				task.run(i);
+			}
+			return;
+		}
+		ArrayList<Runnable> tasks = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++) {
+			final int row = i;
+			tasks.add(new Runnable() {
+				@Override
+				public void run() {
+					task.run(row);
+				}
+			});
+		}
+		executor.runAll(tasks);
+	}
+
+	/**
+	 * Work on one row of the grid.
+	 */
+	interface RowTask {
+		/**
+		 * @param row
+		 *            row index
+		 */
+		void run(int row);
+	}
+
+	/**
+	 * Segments of the curve, stored as x0, y0, x1, y1 quadruples.
+	 */
+	static class SegmentBuffer {
+		/** endpoints of the segment being computed */
+		final double[] segment = new double[4];
+		double[] coords = new double[32];
+		int size;
+
+		void add() {
+			if (size + 4 > coords.length) {
+				double[] grown = new double[2 * coords.length];
+				System.arraycopy(coords, 0, grown, 0, size);
+				coords = grown;
+			}
+			System.arraycopy(segment, 0, coords, size, 4);
+			size += 4;
+		}
+
+		void clear() {
+			size = 0;
+		}
+	}
+
+	/**
+	 * Polyline stored as x, y pairs in a double array that can grow on both
+	 * ends.
+	 */
 	static class PointList {
-		MyPoint start;
-		MyPoint end;
-		LinkedList<MyPoint> pts = new LinkedList<>();
-
-		public PointList(MyPoint start, MyPoint end) {
-			this.start = start;
-			this.end = end;
-			this.start.setLineTo(false);
-			this.end.setLineTo(true);
+		private double[] coords = new double[16];
+		/** index of the first x coordinate */
+		private int head = 8;
+		/** index after the last y coordinate */
+		private int tail = 8;
+
+		public PointList(double startX, double startY, double endX,
+				double endY) {
+			append(startX, startY);
+			append(endX, endY);
+		}
+
+		boolean startsAt(double px, double py) {
+			return equal(coords[head], coords[head + 1], px, py);
+		}
+
+		boolean endsAt(double px, double py) {
+			return equal(coords[tail - 2], coords[tail - 1], px, py);
 		}
 
+		/**
+		 * Appends points of other list; if the other list is this one, the
+		 * list is closed.
+		 * 
+		 * @param pl
+		 *            following list
+		 */
 		public void mergeTo(PointList pl) {
-			this.pts.addLast(this.end);
 			if (pl == this) {
-				MyPoint startCopy = new MyPoint(this.start.x, this.start.y,
-						SegmentType.LINE_TO);
-				this.pts.addLast(startCopy);
+				append(coords[head], coords[head + 1]);
 				return;
 			}
-			pl.start.setLineTo(true);
-			this.pts.addLast(pl.start);
-			this.end = pl.end;
-			int s1 = this.pts.size(), s2 = pl.pts.size();
+			int length = pl.tail - pl.head;
+			ensureCapacity(0, length);
+			System.arraycopy(pl.coords, pl.head, coords, tail, length);
+			tail += length;
+		}
 
-			if (s2 == 0) {
-				return;
-			}
+		public void extendBack(double px, double py) {
+			ensureCapacity(2, 0);
+			head -= 2;
+			coords[head] = px;
+			coords[head + 1] = py;
+		}
 
-			if (s1 < s2) {
-				ListIterator<MyPoint> itr = this.pts.listIterator(s1 - 1);
-				while (itr.hasPrevious()) {
-					pl.pts.addFirst(itr.previous());
-				}
-				this.pts = pl.pts;
-			} else {
-				ListIterator<MyPoint> itr = pl.pts.listIterator();
-				while (itr.hasNext()) {
-					this.pts.addLast(itr.next());
-				}
-			}
+		public void extendFront(double px, double py) {
+			append(px, py);
+		}
+
+		private void append(double px, double py) {
+			ensureCapacity(0, 2);
+			coords[tail] = px;
+			coords[tail + 1] = py;
+			tail += 2;
 		}
 
-		public void extendBack(MyPoint p) {
-			p.setLineTo(false);
-			this.start.setLineTo(true);
-			this.pts.addFirst(start);
-			this.start = p;
+		private void ensureCapacity(int front, int back) {
+			if (head >= front && tail + back <= coords.length) {
+				return;
+			}
+			int length = tail - head;
+			int margin = Math.max(length, 8);
+			double[] grown = new double[length + front + back + 2 * margin];
+			System.arraycopy(coords, head, grown, front + margin, length);
+			head = front + margin;
+			tail = head + length;
+			coords = grown;
 		}
 
-		public void extendFront(MyPoint p) {
-			p.setLineTo(true);
-			this.pts.addLast(this.end);
-			this.end = p;
+		/**
+		 * @param points
+		 *            output list
+		 */
+		void addTo(ArrayList<MyPoint> points) {
+			for (int i = head; i < tail; i += 2) {
+				points.add(new MyPoint(coords[i], coords[i + 1],
+						i == head ? SegmentType.MOVE_TO : SegmentType.LINE_TO));
+			}
 		}
 	}
 }
\ No newline at end of file
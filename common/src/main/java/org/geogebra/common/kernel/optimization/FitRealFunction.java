@@ -207,9 +207,13 @@ public class FitRealFunction implements ParametricUnivariateFunction {
 			// "+mydoubles[i].toString());
 		} // for all parameters
 			// System.out.println("enf(etter replace): "+enf.toString());
+		// own variable, so that copies can be evaluated concurrently
+		FunctionVariable var = new FunctionVariable(kernel,
+				fvar.getSetVarString());
+		enf = enf.replace(fvar, var).wrap();
 		enf.resolveVariables(new EvalInfo(false));
 		// should we dispose this??? if(this.newf!=null)
-		this.newf = new Function(enf, fvar); // System.out.println("new
+		this.newf = new Function(enf, var); // System.out.println("new
 												// function: "+newf.toString());
 
 	}
@@ -0,0 +1,297 @@
+package org.geogebra.common.kernel.optimization;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.math3.analysis.MultivariateMatrixFunction;
+import org.apache.commons.math3.analysis.MultivariateVectorFunction;
+import org.apache.commons.math3.optim.InitialGuess;
+import org.apache.commons.math3.optim.MaxEval;
+import org.apache.commons.math3.optim.PointVectorValuePair;
+import org.apache.commons.math3.optim.nonlinear.vector.ModelFunction;
+import org.apache.commons.math3.optim.nonlinear.vector.ModelFunctionJacobian;
+import org.apache.commons.math3.optim.nonlinear.vector.Target;
+import org.apache.commons.math3.optim.nonlinear.vector.Weight;
+import org.apache.commons.math3.optim.nonlinear.vector.jacobian.LevenbergMarquardtOptimizer;
+import org.geogebra.common.factories.UtilFactory;
+import org.geogebra.common.kernel.UpdateExecutor;
+import org.geogebra.common.kernel.arithmetic.Function;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Least squares fit of a function with parameters to data points with the
+ * Levenberg-Marquardt method, the same way as
+ * {@link org.apache.commons.math3.fitting.CurveFitter}.
+ *
+ * With an {@link UpdateExecutor}, the values and the Jacobian for long data
+ * sets are evaluated in chunks concurrently. Several starting points may be
+ * tried (concurrently with an executor); the fit with the smallest sum of
+ * squared residuals is kept.
+ */
+@SuppressWarnings("deprecation")
+public class NonlinearFitter {
+
+	/** shorter data sets are evaluated in a single chunk */
+	public static final int MIN_PARALLEL_SIZE = 4096;
+	private static final int CHUNK_SIZE = 2048;
+	/** fixed, so that refitting the same data gives the same result */
+	private static final long SEED = 42;
+
+	private final Function function;
+	private final double[] xData;
+	private final double[] yData;
+	private final UpdateExecutor executor;
+	private int startCount = 1;
+
+	private int iterations;
+	private int evaluations;
+	private double fitTime;
+
+	private static final class Attempt {
+		double[] point;
+		double cost = Double.POSITIVE_INFINITY;
+		int iterations;
+		int evaluations;
+	}
+
+	/**
+	 * @param function
+	 *            function depending on free numbers used as parameters
+	 * @param xData
+	 *            x-coordinates of the data points
+	 * @param yData
+	 *            y-coordinates of the data points
+	 * @param executor
+	 *            executor for concurrent evaluation, may be null
+	 */
+	public NonlinearFitter(Function function, double[] xData, double[] yData,
+			UpdateExecutor executor) {
+		this.function = function;
+		this.xData = xData;
+		this.yData = yData;
+		this.executor = executor;
+	}
+
+	/**
+	 * @param startCount
+	 *            number of starting points; the first one uses the current
+	 *            parameter values, the others random perturbations of them
+	 */
+	public void setStartCount(int startCount) {
+		this.startCount = Math.max(1, startCount);
+	}
+
+	/**
+	 * Fits the function to the data.
+	 *
+	 * @return function with the parameters of the best fit, null if it has no
+	 *         parameters or no fit converged
+	 */
+	public FitRealFunction fit() {
+		double start = UtilFactory.getPrototype().getMillisecondTime();
+		FitRealFunction result = new FitRealFunction(function);
+		if (!result.isParametersOK()) {
+			return null;
+		}
+		List<double[]> startValues = getStartValues(result.getStartValues());
+		final Attempt[] attempts = new Attempt[startValues.size()];
+		if (executor != null && attempts.length > 1) {
+			List<Runnable> tasks = new ArrayList<>(attempts.length);
+			for (int i = 0; i < attempts.length; i++) {
+				final int index = i;
+				final double[] guess = startValues.get(i);
+				tasks.add(new Runnable() {
+					@Override
+					public void run() {
+						attempts[index] = optimize(guess, 1, null);
+					}
+				});
+			}
+			executor.runAll(tasks);
+		} else {
+			int chunks = executor == null ? 1 : getChunkCount();
+			for (int i = 0; i < attempts.length; i++) {
+				attempts[i] = optimize(startValues.get(i), chunks,
+						attempts.length == 1 ? result : null);
+			}
+		}
+		Attempt best = null;
+		iterations = 0;
+		evaluations = 0;
+		for (Attempt attempt : attempts) {
+			iterations += attempt.iterations;
+			evaluations += attempt.evaluations;
+			if (best == null || attempt.cost < best.cost) {
+				best = attempt;
+			}
+		}
+		fitTime = UtilFactory.getPrototype().getMillisecondTime() - start;
+		if (best == null || best.point == null) {
+			return null;
+		}
+		if (attempts.length > 1) {
+			// sets the parameters of the result; with a single start it
+			// keeps those of its last evaluation, like CurveFitter
+			result.value(0, best.point);
+		}
+		return result;
+	}
+
+	/**
+	 * @return iterations of the last fit, summed over all starting points
+	 */
+	public int getIterations() {
+		return iterations;
+	}
+
+	/**
+	 * @return model evaluations of the last fit, summed over all starting
+	 *         points
+	 */
+	public int getEvaluations() {
+		return evaluations;
+	}
+
+	/**
+	 * @return duration of the last fit in milliseconds
+	 */
+	public double getFitTime() {
+		return fitTime;
+	}
+
+	private List<double[]> getStartValues(double[] initial) {
+		List<double[]> ret = new ArrayList<>(startCount);
+		ret.add(initial);
+		Random random = new Random(SEED);
+		for (int i = 1; i < startCount; i++) {
+			double[] values = new double[initial.length];
+			for (int j = 0; j < initial.length; j++) {
+				values[j] = initial[j] + (Math.abs(initial[j]) + 1)
+						* (2 * random.nextDouble() - 1);
+			}
+			ret.add(values);
+		}
+		return ret;
+	}
+
+	private int getChunkCount() {
+		if (xData.length < MIN_PARALLEL_SIZE) {
+			return 1;
+		}
+		return (xData.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+	}
+
+	private Attempt optimize(double[] guess, int chunks,
+			FitRealFunction first) {
+		Attempt attempt = new Attempt();
+		LevenbergMarquardtOptimizer optimizer = new LevenbergMarquardtOptimizer();
+		final Model model = new Model(chunks, first);
+		double[] weights = new double[xData.length];
+		Arrays.fill(weights, 1.0);
+		try {
+			PointVectorValuePair optimum = optimizer.optimize(
+					new MaxEval(Integer.MAX_VALUE),
+					new ModelFunction(new MultivariateVectorFunction() {
+						@Override
+						public double[] value(double[] point) {
+							return model.values(point);
+						}
+					}), new ModelFunctionJacobian(
+							new MultivariateMatrixFunction() {
+								@Override
+								public double[][] value(double[] point) {
+									return model.jacobian(point);
+								}
+							}),
+					new Target(yData), new Weight(weights),
+					new InitialGuess(guess));
+			attempt.point = optimum.getPointRef();
+			attempt.cost = optimizer.getChiSquare();
+		} catch (RuntimeException e) {
+			// other starting points may still converge
+			Log.debug(e.getMessage());
+		}
+		attempt.iterations = optimizer.getIterations();
+		attempt.evaluations = optimizer.getEvaluations();
+		return attempt;
+	}
+
+	/**
+	 * Values and Jacobian of the function at the data points. Each chunk of
+	 * data points has its own copy of the function, so chunks can be
+	 * evaluated concurrently.
+	 */
+	private final class Model {
+		private final FitRealFunction[] functions;
+
+		/**
+		 * @param chunks
+		 *            number of chunks
+		 * @param first
+		 *            function for the first chunk, null to create a copy
+		 */
+		Model(int chunks, FitRealFunction first) {
+			functions = new FitRealFunction[chunks];
+			for (int i = 0; i < chunks; i++) {
+				functions[i] = i == 0 && first != null ? first
+						: new FitRealFunction(function);
+			}
+		}
+
+		double[] values(final double[] point) {
+			final double[] values = new double[xData.length];
+			forEachChunk(new ChunkTask() {
+				@Override
+				public void run(FitRealFunction fn, int from, int to) {
+					double[] pars = point.clone();
+					for (int i = from; i < to; i++) {
+						values[i] = fn.value(xData[i], pars);
+					}
+				}
+			});
+			return values;
+		}
+
+		double[][] jacobian(final double[] point) {
+			final double[][] jacobian = new double[xData.length][];
+			forEachChunk(new ChunkTask() {
+				@Override
+				public void run(FitRealFunction fn, int from, int to) {
+					// gradient changes the parameters temporarily
+					double[] pars = point.clone();
+					for (int i = from; i < to; i++) {
+						jacobian[i] = fn.gradient(xData[i], pars);
+					}
+				}
+			});
+			return jacobian;
+		}
+
+		private void forEachChunk(final ChunkTask task) {
+			int chunks = functions.length;
+			if (chunks == 1) {
+				task.run(functions[0], 0, xData.length);
+				return;
+			}
+			List<Runnable> tasks = new ArrayList<>(chunks);
+			for (int c = 0; c < chunks; c++) {
+				final FitRealFunction fn = functions[c];
+				final int from = c * xData.length / chunks;
+				final int to = (c + 1) * xData.length / chunks;
+				tasks.add(new Runnable() {
+					@Override
+					public void run() {
+						task.run(fn, from, to);
+					}
+				});
+			}
+			executor.runAll(tasks);
+		}
+	}
+
+	private interface ChunkTask {
+		void run(FitRealFunction fn, int from, int to);
+	}
+}
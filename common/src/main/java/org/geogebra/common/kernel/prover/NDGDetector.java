@@ -14,6 +14,7 @@ import java.util.TreeSet;
 
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.UpdateExecutor;
 import org.geogebra.common.kernel.algos.AlgoDependentBoolean;
 import org.geogebra.common.kernel.algos.SymbolicParametersBotanaAlgo;
 import org.geogebra.common.kernel.arithmetic.Equation;
@@ -35,6 +36,10 @@ import org.geogebra.common.util.debug.Log;
  */
 public class NDGDetector {
 
+	/** minimal number of candidate conditions to check them concurrently */
+	private static final int PARALLEL_MIN_CANDIDATES = 32;
+	private static final int CANDIDATES_PER_TASK = 16;
+
 	private HashMap<String, NDGCondition> lookupTable;
 	private Prover prover;
 	private HashMap<PVariable, BigInteger> substitutions;
@@ -202,23 +207,95 @@ public class NDGDetector {
 				.getFreePoints(statement);
 		HashSet<GeoElement> freePointsSet = new HashSet<>(freePoints);
 
-		// CHECKING COLLINEARITY
+		/*
+		 * The candidates are independent of each other, so they can be
+		 * compared with the polynomial concurrently. The first matching one
+		 * in the order of creation wins in any case.
+		 */
+		ArrayList<Candidate> candidates = new ArrayList<>();
+		boolean complete = addCollinearities(freePointsSet, candidates)
+				&& addEqualities(freePointsSet, candidates)
+				&& addCoordinateEqualities(candidates)
+				&& addLineConditions(freePointsSet, candidates);
+		Candidate found = findCandidate(p, candidates,
+				statement.getKernel().getUpdateExecutor());
+		if (found != null) {
+			Log.debug(p + " means " + found.getMeaning());
+			ndgc = found.toCondition();
+			lookupTable.put(keyString, ndgc);
+			return ndgc;
+		}
+		if (!complete) {
+			Log.debug("Cannot get Botana vars during NDG detection");
+			return null;
+		}
+
+		// Unsuccessful run:
+		Log.debug("No human readable geometrical meaning found for " + p);
+		lookupTable.put(keyString, null);
+
+		return null;
+	}
+
+	private Candidate findCandidate(final PPolynomial p,
+			final List<Candidate> candidates, UpdateExecutor executor) {
+		if (executor == null
+				|| candidates.size() < PARALLEL_MIN_CANDIDATES) {
+			for (Candidate candidate : candidates) {
+				if (candidate.matches(p, substitutions)) {
+					return candidate;
+				}
+			}
+			return null;
+		}
+		final boolean[] matches = new boolean[candidates.size()];
+		List<Runnable> tasks = new ArrayList<>();
+		for (int i = 0; i < candidates.size(); i += CANDIDATES_PER_TASK) {
+			final int first = i;
+			final int last = Math.min(i + CANDIDATES_PER_TASK,
+					candidates.size());
+			tasks.add(new Runnable() {
+				@Override
+				public void run() {
+					for (int j = first; j < last; j++) {
+						matches[j] = candidates.get(j).matches(p,
+								substitutions);
+					}
+				}
+			});
+		}
+		executor.runAll(tasks);
+		for (int i = 0; i < matches.length; i++) {
+			if (matches[i]) {
+				return candidates.get(i);
+			}
+		}
+		return null;
+	}
+
+	private static GeoElement[] toArray(Set<GeoElement> set) {
+		// GeoElement[] points = (GeoElement[]) set.toArray();
+		// This is not working directly, so we have to do it manually:
+		GeoElement[] points = new GeoElement[set.size()];
+		int i = 0;
+		for (GeoElement geo : set) {
+			points[i++] = geo;
+		}
+		return points;
+	}
 
+	/**
+	 * @return false if the Botana variables of some point are not available
+	 */
+	private static boolean addCollinearities(
+			HashSet<GeoElement> freePointsSet, List<Candidate> candidates) {
 		Combinations<GeoElement> triplets = new Combinations<>(freePointsSet,
 				3);
 
 		while (triplets.hasNext()) {
 			Set<GeoElement> triplet = triplets.next();
-			Iterator<GeoElement> it = triplet.iterator();
-			// GeoElement[] points = (GeoElement[]) triplet.toArray();
-			// This is not working directly, so we have to do it manually:
-			int i = 0;
-			GeoElement[] points = new GeoElement[triplet.size()];
-			while (it.hasNext()) {
-				points[i] = it.next();
-				i++;
-			}
-			PVariable[] fv1, fv2, fv3;
+			GeoElement[] points = toArray(triplet);
+			final PVariable[] fv1, fv2, fv3;
 			try {
 				fv1 = ((SymbolicParametersBotanaAlgo) points[0])
 						.getBotanaVars(points[0]);
@@ -226,68 +303,63 @@ public class NDGDetector {
 						.getBotanaVars(points[1]);
 				fv3 = ((SymbolicParametersBotanaAlgo) points[2])
 						.getBotanaVars(points[2]);
-
 			} catch (NoSymbolicParametersException e) {
-				Log.debug("Cannot get Botana vars during NDG detection");
-				return null;
+				return false;
 			}
 			// Creating the polynomial for collinearity:
-			PPolynomial coll = PPolynomial
-					.collinear(fv1[0], fv1[1], fv2[0], fv2[1], fv3[0], fv3[1])
-					.substitute(substitutions);
-			if (PPolynomial.areAssociates1(p, coll)) {
-				Log.debug(p + " means collinearity for " + triplet);
-				ndgc = new NDGCondition();
-				ndgc.setGeos(points);
-				Arrays.sort(ndgc.getGeos());
-				ndgc.setCondition("AreCollinear");
-				lookupTable.put(keyString, ndgc);
-				return ndgc;
-			}
+			candidates.add(new Candidate("AreCollinear", 1, points, true,
+					"collinearity", triplet, null, new ConditionPolynomial() {
+						@Override
+						public PPolynomial create() {
+							return PPolynomial.collinear(fv1[0], fv1[1],
+									fv2[0], fv2[1], fv3[0], fv3[1]);
+						}
+					}));
 		}
+		return true;
+	}
 
-		// CHECKING STRONG EQUALITY
-
+	/**
+	 * Strong equality of points.
+	 * 
+	 * @return false if the Botana variables of some point are not available
+	 */
+	private static boolean addEqualities(HashSet<GeoElement> freePointsSet,
+			List<Candidate> candidates) {
 		Combinations<GeoElement> pairs = new Combinations<>(freePointsSet, 2);
 
 		while (pairs.hasNext()) {
 			Set<GeoElement> pair = pairs.next();
-			Iterator<GeoElement> it = pair.iterator();
-			// GeoElement[] points = (GeoElement[]) pair.toArray();
-			// This is not working directly, so we have to do it manually:
-			int i = 0;
-			GeoElement[] points = new GeoElement[pair.size()];
-			while (it.hasNext()) {
-				points[i] = it.next();
-				i++;
-			}
-			PVariable[] fv1, fv2;
+			GeoElement[] points = toArray(pair);
+			final PVariable[] fv1, fv2;
 			try {
 				fv1 = ((SymbolicParametersBotanaAlgo) points[0])
 						.getBotanaVars(points[0]);
 				fv2 = ((SymbolicParametersBotanaAlgo) points[1])
 						.getBotanaVars(points[1]);
 			} catch (NoSymbolicParametersException e) {
-				Log.debug("Cannot get Botana vars during NDG detection");
-				return null;
+				return false;
 			}
 
 			// Creating the polynomial for equality:
-			PPolynomial eq = PPolynomial
-					.sqrDistance(fv1[0], fv1[1], fv2[0], fv2[1])
-					.substitute(substitutions);
-			if (PPolynomial.areAssociates1(p, eq)) {
-				Log.debug(p + " means equality for " + pair);
-				ndgc = new NDGCondition();
-				ndgc.setGeos(points);
-				Arrays.sort(ndgc.getGeos());
-				ndgc.setCondition("AreEqual");
-				ndgc.setReadability(0.5);
-				lookupTable.put(keyString, ndgc);
-				return ndgc;
-			}
+			candidates.add(new Candidate("AreEqual", 0.5, points, true,
+					"equality", pair, null, new ConditionPolynomial() {
+						@Override
+						public PPolynomial create() {
+							return PPolynomial.sqrDistance(fv1[0], fv1[1],
+									fv2[0], fv2[1]);
+						}
+					}));
 		}
+		return true;
+	}
 
+	/**
+	 * Equality of x or y coordinates, we can give sufficient conditions only.
+	 * 
+	 * @return false if the Botana variables of some point are not available
+	 */
+	private boolean addCoordinateEqualities(List<Candidate> candidates) {
 		HashSet<PVariable> freeXvars = new HashSet<>();
 		HashMap<PVariable, GeoElement> xvarGeo = new HashMap<>();
 		HashSet<PVariable> freeYvars = new HashSet<>();
@@ -313,108 +385,69 @@ public class NDGDetector {
 						yvarGeo.put(y, geo);
 					}
 				} catch (NoSymbolicParametersException e) {
-					Log.debug("Cannot get Botana vars during NDG detection");
-					return null;
+					return false;
 				}
 			}
 		}
 
-		// CHECKING EQUALITY (WHERE WE CAN GIVE SUFFICIENT CONDITIONS ONLY)
-
-		Combinations<PVariable> pairs2 = new Combinations<>(freeXvars, 2);
-
-		while (pairs2.hasNext()) {
-			Set<PVariable> pair = pairs2.next();
-			Iterator<PVariable> itc = pair.iterator();
-			// GeoElement[] points = (GeoElement[]) pair.toArray();
-			// This is not working directly, so we have to do it manually:
-			int i = 0;
-			PVariable[] coords = new PVariable[pair.size()];
-			GeoElement[] points = new GeoElement[pair.size()];
-			while (itc.hasNext()) {
-				coords[i] = itc.next();
-				points[i] = xvarGeo.get(coords[i]);
-				i++;
-			}
-			PPolynomial xeq = (new PPolynomial(coords[0])
-					.subtract(new PPolynomial(coords[1])))
-							.substitute(substitutions);
-			if (PPolynomial.areAssociates1(p, xeq)) {
-				Log.debug(p + " means x-equality for " + pair);
-				ndgc = new NDGCondition();
-				ndgc.setGeos(points);
-				Arrays.sort(ndgc.getGeos());
-				ndgc.setCondition("xAreEqual");
-				ndgc.setReadability(Double.POSITIVE_INFINITY); // we don't want
-																// this
-																// condition
-				lookupTable.put(keyString, ndgc);
-				return ndgc;
-			}
-		}
+		addCoordinateEqualities(freeXvars, xvarGeo, "xAreEqual",
+				"x-equality", candidates);
+		addCoordinateEqualities(freeYvars, yvarGeo, "yAreEqual",
+				"y-equality", candidates);
+		return true;
+	}
 
-		pairs2 = new Combinations<>(freeYvars, 2);
+	private static void addCoordinateEqualities(HashSet<PVariable> vars,
+			HashMap<PVariable, GeoElement> varGeo, String condition,
+			String meaning, List<Candidate> candidates) {
+		Combinations<PVariable> pairs = new Combinations<>(vars, 2);
 
-		while (pairs2.hasNext()) {
-			Set<PVariable> pair = pairs2.next();
+		while (pairs.hasNext()) {
+			Set<PVariable> pair = pairs.next();
 			Iterator<PVariable> itc = pair.iterator();
-			// GeoElement[] points = (GeoElement[]) pair.toArray();
-			// This is not working directly, so we have to do it manually:
 			int i = 0;
-			PVariable[] coords = new PVariable[pair.size()];
+			final PVariable[] coords = new PVariable[pair.size()];
 			GeoElement[] points = new GeoElement[pair.size()];
 			while (itc.hasNext()) {
 				coords[i] = itc.next();
-				points[i] = yvarGeo.get(coords[i]);
+				points[i] = varGeo.get(coords[i]);
 				i++;
 			}
-			PPolynomial yeq = (new PPolynomial(coords[0])
-					.subtract(new PPolynomial(coords[1])))
-							.substitute(substitutions);
-			if (PPolynomial.areAssociates1(p, yeq)) {
-				Log.debug(p + " means y-equality for " + pair);
-				ndgc = new NDGCondition();
-				ndgc.setGeos(points);
-				Arrays.sort(ndgc.getGeos());
-				ndgc.setCondition("yAreEqual");
-				ndgc.setReadability(Double.POSITIVE_INFINITY); // we don't want
-																// this
-																// condition
-				lookupTable.put(keyString, ndgc);
-				return ndgc;
-			}
+			// we don't want this condition
+			candidates.add(new Candidate(condition, Double.POSITIVE_INFINITY,
+					points, true, meaning, pair, null,
+					new ConditionPolynomial() {
+						@Override
+						public PPolynomial create() {
+							return new PPolynomial(coords[0])
+									.subtract(new PPolynomial(coords[1]));
+						}
+					}));
 		}
+	}
 
-		// CHECKING PERPENDICULARITY, PARALLELISM AND CONGRUENCE
-
+	/**
+	 * Perpendicularity, parallelism and congruence.
+	 * 
+	 * @return false if the Botana variables of some point are not available
+	 */
+	private static boolean addLineConditions(
+			HashSet<GeoElement> freePointsSet, List<Candidate> candidates) {
 		Combinations<GeoElement> pairs1 = new Combinations<>(freePointsSet, 2);
 
 		while (pairs1.hasNext()) {
 			Set<GeoElement> pair1 = pairs1.next();
-			Iterator<GeoElement> it1 = pair1.iterator();
-			// GeoElement[] points = (GeoElement[]) pair.toArray();
-			// This is not working directly, so we have to do it manually:
-			int i = 0;
-			GeoElement[] points = new GeoElement[4];
-			while (it1.hasNext()) {
-				points[i] = it1.next();
-				i++;
-			}
+			GeoElement[] points1 = toArray(pair1);
 
 			Combinations<GeoElement> pairs3 = new Combinations<>(freePointsSet,
 					2);
 			while (pairs3.hasNext()) {
 				Set<GeoElement> pair2 = pairs3.next();
-				Iterator<GeoElement> it2 = pair2.iterator();
-				// GeoElement[] points = (GeoElement[]) pair.toArray();
-				// This is not working directly, so we have to do it manually:
-				i = 2;
-				while (it2.hasNext()) {
-					points[i] = it2.next();
-					i++;
-				}
+				GeoElement[] points2 = toArray(pair2);
+				GeoElement[] points = { points1[0], points1[1], points2[0],
+						points2[1] };
 
-				PVariable[] fv1, fv2, fv3, fv4;
+				final PVariable[] fv1, fv2, fv3, fv4;
 				try {
 					fv1 = ((SymbolicParametersBotanaAlgo) points[0])
 							.getBotanaVars(points[0]);
@@ -425,63 +458,113 @@ public class NDGDetector {
 					fv4 = ((SymbolicParametersBotanaAlgo) points[3])
 							.getBotanaVars(points[1]);
 				} catch (NoSymbolicParametersException e) {
-					Log.debug("Cannot get Botana vars during NDG detection");
-					return null;
+					return false;
 				}
-
 				// Creating the polynomial for perpendicularity:
-				PPolynomial eq = PPolynomial
-						.perpendicular(fv1[0], fv1[1], fv2[0], fv2[1], fv3[0],
-								fv3[1], fv4[0], fv4[1])
-						.substitute(substitutions);
-				if (PPolynomial.areAssociates1(p, eq)) {
-					Log.debug(p + " means perpendicularity for " + pair1
-							+ " and " + pair2);
-					ndgc = new NDGCondition();
-					ndgc.setGeos(points);
-					ndgc.setCondition("ArePerpendicular");
-					ndgc.setReadability(0.75);
-					lookupTable.put(keyString, ndgc);
-					return ndgc;
-				}
+				candidates.add(new Candidate("ArePerpendicular", 0.75, points,
+						false, "perpendicularity", pair1, pair2,
+						new ConditionPolynomial() {
+							@Override
+							public PPolynomial create() {
+								return PPolynomial.perpendicular(fv1[0],
+										fv1[1], fv2[0], fv2[1], fv3[0], fv3[1],
+										fv4[0], fv4[1]);
+							}
+						}));
 				// Creating the polynomial for parallelism:
-				eq = PPolynomial
-						.parallel(fv1[0], fv1[1], fv2[0], fv2[1], fv3[0],
-								fv3[1], fv4[0], fv4[1])
-						.substitute(substitutions);
-				if (PPolynomial.areAssociates1(p, eq)) {
-					Log.debug(p + " means parallelism for " + pair1 + " and "
-							+ pair2);
-					ndgc = new NDGCondition();
-					ndgc.setGeos(points);
-					ndgc.setCondition("AreParallel");
-					ndgc.setReadability(0.75);
-					lookupTable.put(keyString, ndgc);
-					return ndgc;
-				}
+				candidates.add(new Candidate("AreParallel", 0.75, points,
+						false, "parallelism", pair1, pair2,
+						new ConditionPolynomial() {
+							@Override
+							public PPolynomial create() {
+								return PPolynomial.parallel(fv1[0], fv1[1],
+										fv2[0], fv2[1], fv3[0], fv3[1], fv4[0],
+										fv4[1]);
+							}
+						}));
 				// Creating the polynomial for congruence:
-				eq = PPolynomial.sqrDistance(fv1[0], fv1[1], fv2[0], fv2[1])
-						.subtract(PPolynomial.sqrDistance(fv3[0], fv3[1],
-								fv4[0], fv4[1]))
-						.substitute(substitutions);
-				if (PPolynomial.areAssociates1(p, eq)) {
-					Log.debug(p + " means congruence for " + pair1 + " and "
-							+ pair2);
-					ndgc = new NDGCondition();
-					ndgc.setGeos(points);
-					ndgc.setCondition("AreCongruent");
-					ndgc.setReadability(0.75);
-					lookupTable.put(keyString, ndgc);
-					return ndgc;
-				}
+				candidates.add(new Candidate("AreCongruent", 0.75, points,
+						false, "congruence", pair1, pair2,
+						new ConditionPolynomial() {
+							@Override
+							public PPolynomial create() {
+								return PPolynomial
+										.sqrDistance(fv1[0], fv1[1], fv2[0],
+												fv2[1])
+										.subtract(PPolynomial.sqrDistance(
+												fv3[0], fv3[1], fv4[0],
+												fv4[1]));
+							}
+						}));
 			}
 		}
+		return true;
+	}
 
-		// Unsuccessful run:
-		Log.debug("No human readable geometrical meaning found for " + p);
-		lookupTable.put(keyString, null);
+	/**
+	 * Creates the polynomial of a geometric condition.
+	 */
+	private interface ConditionPolynomial {
+		PPolynomial create();
+	}
 
-		return null;
+	/**
+	 * Geometric condition which may be the meaning of the input polynomial.
+	 */
+	private static final class Candidate {
+		private final String condition;
+		private final double readability;
+		private final GeoElement[] geos;
+		private final boolean sortGeos;
+		private final String meaning;
+		private final Set<?> objects;
+		private final Set<?> otherObjects;
+		private final ConditionPolynomial polynomial;
+
+		/**
+		 * @param meaning
+		 *            description of the condition for objects and (if not
+		 *            null) otherObjects, only built when the condition
+		 *            matches
+		 */
+		Candidate(String condition, double readability, GeoElement[] geos,
+				boolean sortGeos, String meaning, Set<?> objects,
+				Set<?> otherObjects, ConditionPolynomial polynomial) {
+			this.condition = condition;
+			this.readability = readability;
+			this.geos = geos;
+			this.sortGeos = sortGeos;
+			this.meaning = meaning;
+			this.objects = objects;
+			this.otherObjects = otherObjects;
+			this.polynomial = polynomial;
+		}
+
+		/**
+		 * Only reads shared state, may be called from several threads.
+		 */
+		boolean matches(PPolynomial p,
+				HashMap<PVariable, BigInteger> substitutions) {
+			return PPolynomial.areAssociates1(p,
+					polynomial.create().substitute(substitutions));
+		}
+
+		String getMeaning() {
+			if (otherObjects == null) {
+				return meaning + " for " + objects;
+			}
+			return meaning + " for " + objects + " and " + otherObjects;
+		}
+
+		NDGCondition toCondition() {
+			NDGCondition ndgc = new NDGCondition();
+			ndgc.setGeos(geos);
+			if (sortGeos) {
+				Arrays.sort(ndgc.getGeos());
+			}
+			ndgc.setCondition(condition);
+			ndgc.setReadability(readability);
+			return ndgc;
+		}
 	}
 }
-
@@ -26,6 +26,12 @@ import org.geogebra.common.util.debug.Log;
  * 
  */
 public class PPolynomial implements Comparable<PPolynomial> {
+	/**
+	 * products with at least this many term products are computed by
+	 * {@link PackedPolynomial}
+	 */
+	private static final int PACKED_PRODUCT_MIN_TERMS = 8;
+
 	private TreeMap<PTerm, BigInteger> terms;
 
 	/**
@@ -45,7 +51,11 @@ public class PPolynomial implements Comparable<PPolynomial> {
 		terms = new TreeMap<>(poly.getTerms());
 	}
 
-	private PPolynomial(final TreeMap<PTerm, BigInteger> terms) {
+	/**
+	 * @param terms
+	 *            terms and their coefficients, no zero coefficients
+	 */
+	PPolynomial(final TreeMap<PTerm, BigInteger> terms) {
 		this.terms = terms;
 	}
 
@@ -220,7 +230,12 @@ public class PPolynomial implements Comparable<PPolynomial> {
 			}
 		}
 		*/
-		
+
+		if (terms.size() * poly.getTerms().size() >= PACKED_PRODUCT_MIN_TERMS) {
+			return PackedPolynomial.of(this)
+					.multiply(PackedPolynomial.of(poly)).toPPolynomial();
+		}
+
 		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
 		TreeMap<PTerm, BigInteger> terms2 = poly.getTerms();
 		Iterator<Entry<PTerm, BigInteger>> it1 = terms.entrySet().iterator();
@@ -639,37 +654,39 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	}
 		
 	/**
-	 * Calculates the determinant of a 4 times 4 matrix
-	 * @param matrix matrix
+	 * Calculates the determinant of a 4 times 4 matrix by Laplace expansion
+	 * along the first two rows
+	 * 
+	 * @param matrix
+	 *            matrix
 	 * @return the determinant
 	 */
-	public static PPolynomial det4(final PPolynomial[][] matrix){
-		return matrix[0][3].multiply(matrix[1][2].multiply(matrix[2][1].multiply(matrix[3][0]))).subtract(
-				matrix[0][2].multiply(matrix[1][3]).multiply(matrix[2][1]).multiply(matrix[3][0])).subtract(
-				matrix[0][3].multiply(matrix[1][1]).multiply(matrix[2][2]).multiply(matrix[3][0])).add(
-				matrix[0][1].multiply(matrix[1][3]).multiply(matrix[2][2]).multiply(matrix[3][0])).add(
-				matrix[0][2].multiply(matrix[1][1]).multiply(matrix[2][3]).multiply(matrix[3][0])).subtract(
-				matrix[0][1].multiply(matrix[1][2]).multiply(matrix[2][3]).multiply(matrix[3][0])).subtract(
-				matrix[0][3].multiply(matrix[1][2]).multiply(matrix[2][0]).multiply(matrix[3][1])).add(
-				matrix[0][2].multiply(matrix[1][3]).multiply(matrix[2][0]).multiply(matrix[3][1])).add(
-				matrix[0][3].multiply(matrix[1][0]).multiply(matrix[2][2]).multiply(matrix[3][1])).subtract(
-				matrix[0][0].multiply(matrix[1][3]).multiply(matrix[2][2]).multiply(matrix[3][1])).subtract(
-				matrix[0][2].multiply(matrix[1][0]).multiply(matrix[2][3]).multiply(matrix[3][1])).add(
-				matrix[0][0].multiply(matrix[1][2]).multiply(matrix[2][3]).multiply(matrix[3][1])).add(
-				matrix[0][3].multiply(matrix[1][1]).multiply(matrix[2][0]).multiply(matrix[3][2])).subtract(
-				matrix[0][1].multiply(matrix[1][3]).multiply(matrix[2][0]).multiply(matrix[3][2])).subtract(
-				matrix[0][3].multiply(matrix[1][0]).multiply(matrix[2][1]).multiply(matrix[3][2])).add(
-				matrix[0][0].multiply(matrix[1][3]).multiply(matrix[2][1]).multiply(matrix[3][2])).add(
-				matrix[0][1].multiply(matrix[1][0]).multiply(matrix[2][3]).multiply(matrix[3][2])).subtract(
-				matrix[0][0].multiply(matrix[1][1]).multiply(matrix[2][3]).multiply(matrix[3][2])).subtract(
-				matrix[0][2].multiply(matrix[1][1]).multiply(matrix[2][0]).multiply(matrix[3][3])).add(
-				matrix[0][1].multiply(matrix[1][2]).multiply(matrix[2][0]).multiply(matrix[3][3])).add(
-				matrix[0][2].multiply(matrix[1][0]).multiply(matrix[2][1]).multiply(matrix[3][3])).subtract(
-				matrix[0][0].multiply(matrix[1][2]).multiply(matrix[2][1]).multiply(matrix[3][3])).subtract(
-				matrix[0][1].multiply(matrix[1][0]).multiply(matrix[2][2]).multiply(matrix[3][3])).add(
-				matrix[0][0].multiply(matrix[1][1]).multiply(matrix[2][2]).multiply(matrix[3][3]));
+	public static PPolynomial det4(final PPolynomial[][] matrix) {
+		PackedPolynomial[][] m = new PackedPolynomial[4][4];
+		for (int i = 0; i < 4; i++) {
+			for (int j = 0; j < 4; j++) {
+				m[i][j] = PackedPolynomial.of(matrix[i][j]);
+			}
+		}
+		return minor2(m, 0, 0, 1).multiply(minor2(m, 2, 2, 3))
+				.subtract(minor2(m, 0, 0, 2).multiply(minor2(m, 2, 1, 3)))
+				.add(minor2(m, 0, 0, 3).multiply(minor2(m, 2, 1, 2)))
+				.add(minor2(m, 0, 1, 2).multiply(minor2(m, 2, 0, 3)))
+				.subtract(minor2(m, 0, 1, 3).multiply(minor2(m, 2, 0, 2)))
+				.add(minor2(m, 0, 2, 3).multiply(minor2(m, 2, 0, 1)))
+				.toPPolynomial();
 	}
-	
+
+	/**
+	 * @return determinant of the 2 times 2 submatrix of rows row, row + 1 and
+	 *         columns col1, col2
+	 */
+	private static PackedPolynomial minor2(PackedPolynomial[][] m, int row,
+			int col1, int col2) {
+		return m[row][col1].multiply(m[row + 1][col2])
+				.subtract(m[row][col2].multiply(m[row + 1][col1]));
+	}
+
 	/** 
 	 * Calculates the cross product of two vectors of dimension three.
 	 * @param a the first vector
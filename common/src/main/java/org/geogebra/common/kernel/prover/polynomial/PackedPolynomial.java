@@ -0,0 +1,428 @@
+package org.geogebra.common.kernel.prover.polynomial;
+
+import java.math.BigInteger;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * Polynomial stored in flat primitive arrays instead of maps. Terms are sorted
+ * as in {@link PPolynomial}, the variables of each term are stored highest
+ * variable first (in {@link PTerm} order) next to their exponents.
+ * Coefficients are kept as longs, only coefficients that do not fit are
+ * stored as {@link BigInteger}s.
+ *
+ * A sum or product allocates a few arrays instead of several maps per term,
+ * so longer computations should convert their input once and stay in this
+ * representation.
+ */
+public final class PackedPolynomial {
+
+	/** coefficients up to this absolute value can be multiplied as longs */
+	private static final long SMALL = Integer.MAX_VALUE;
+
+	private final int size;
+	/** variables of term i are stored at start[i], ..., start[i + 1] - 1 */
+	private final int[] start;
+	private final PVariable[] variables;
+	private final int[] exponents;
+	private final long[] coeffs;
+	/** null unless some coefficient does not fit in a long */
+	private final BigInteger[] bigCoeffs;
+
+	private PackedPolynomial(int size, int[] start, PVariable[] variables,
+			int[] exponents, long[] coeffs, BigInteger[] bigCoeffs) {
+		this.size = size;
+		this.start = start;
+		this.variables = variables;
+		this.exponents = exponents;
+		this.coeffs = coeffs;
+		this.bigCoeffs = bigCoeffs;
+	}
+
+	/**
+	 * @param poly
+	 *            polynomial
+	 * @return packed copy of the polynomial
+	 */
+	public static PackedPolynomial of(PPolynomial poly) {
+		TreeMap<PTerm, BigInteger> terms = poly.getTerms();
+		int length = 0;
+		for (PTerm term : terms.keySet()) {
+			length += term.getTerm().size();
+		}
+		Builder result = new Builder(terms.size(), length);
+		for (Entry<PTerm, BigInteger> entry : terms.entrySet()) {
+			for (Entry<PVariable, Integer> power : entry.getKey().getTerm()
+					.descendingMap().entrySet()) {
+				result.appendVariable(power.getKey(), power.getValue());
+			}
+			result.endTerm(entry.getValue());
+		}
+		return result.build();
+	}
+
+	/**
+	 * @return the polynomial in map representation
+	 */
+	public PPolynomial toPPolynomial() {
+		TreeMap<PTerm, BigInteger> terms = new TreeMap<>();
+		for (int i = 0; i < size; i++) {
+			TreeMap<PVariable, Integer> term = new TreeMap<>();
+			for (int k = start[i]; k < start[i + 1]; k++) {
+				term.put(variables[k], exponents[k]);
+			}
+			terms.put(new PTerm(term), getCoefficient(i));
+		}
+		return new PPolynomial(terms);
+	}
+
+	/**
+	 * @return number of terms
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return whether this is the zero polynomial
+	 */
+	public boolean isZero() {
+		return size == 0;
+	}
+
+	/**
+	 * @param term
+	 *            index of the term, terms are sorted as in
+	 *            {@link PPolynomial#getTerms()}
+	 * @return coefficient of the term
+	 */
+	public BigInteger getCoefficient(int term) {
+		if (isBig(term)) {
+			return bigCoeffs[term];
+		}
+		return BigInteger.valueOf(coeffs[term]);
+	}
+
+	private boolean isBig(int term) {
+		return bigCoeffs != null && bigCoeffs[term] != null;
+	}
+
+	private int length() {
+		return start[size];
+	}
+
+	/**
+	 * @return the additive inverse of the polynomial
+	 */
+	public PackedPolynomial negate() {
+		long[] negated = new long[size];
+		BigInteger[] negatedBig = null;
+		for (int i = 0; i < size; i++) {
+			if (isBig(i) || coeffs[i] == Long.MIN_VALUE) {
+				if (negatedBig == null) {
+					negatedBig = new BigInteger[size];
+				}
+				negatedBig[i] = getCoefficient(i).negate();
+			} else {
+				negated[i] = -coeffs[i];
+			}
+		}
+		// terms are immutable, they can be shared
+		return new PackedPolynomial(size, start, variables, exponents,
+				negated, negatedBig);
+	}
+
+	/**
+	 * @param poly
+	 *            the polynomial to add
+	 * @return the sum
+	 */
+	public PackedPolynomial add(PackedPolynomial poly) {
+		Builder result = new Builder(size + poly.size,
+				length() + poly.length());
+		int i = 0;
+		int j = 0;
+		while (i < size || j < poly.size) {
+			int compare = i == size ? 1
+					: j == poly.size ? -1 : compareTerms(this, i, poly, j);
+			if (compare < 0) {
+				result.appendTerm(this, i++);
+			} else if (compare > 0) {
+				result.appendTerm(poly, j++);
+			} else {
+				result.appendSum(this, i++, poly, j++);
+			}
+		}
+		return result.build();
+	}
+
+	/**
+	 * @param poly
+	 *            the polynomial which is subtracted
+	 * @return the difference
+	 */
+	public PackedPolynomial subtract(PackedPolynomial poly) {
+		return add(poly.negate());
+	}
+
+	/**
+	 * @param poly
+	 *            the polynomial which is multiplied
+	 * @return the product
+	 */
+	public PackedPolynomial multiply(PackedPolynomial poly) {
+		Builder products = new Builder(size * poly.size,
+				poly.size * length() + size * poly.length());
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < poly.size; j++) {
+				products.appendProduct(this, i, poly, j);
+			}
+		}
+		PackedPolynomial unsorted = products.build();
+		int[] order = unsorted.sortTerms();
+
+		Builder result = new Builder(unsorted.size, unsorted.length());
+		int first = 0;
+		while (first < order.length) {
+			int last = first + 1;
+			while (last < order.length && compareTerms(unsorted,
+					order[first], unsorted, order[last]) == 0) {
+				last++;
+			}
+			result.appendSum(unsorted, order, first, last);
+			first = last;
+		}
+		return result.build();
+	}
+
+	/**
+	 * Same order as {@link PTerm#compareTo(PTerm)}.
+	 */
+	private static int compareTerms(PackedPolynomial a, int i,
+			PackedPolynomial b, int j) {
+		int k = a.start[i];
+		int l = b.start[j];
+		int endA = a.start[i + 1];
+		int endB = b.start[j + 1];
+		while (k < endA && l < endB) {
+			int compare = compareVariables(a.variables[k], b.variables[l]);
+			if (compare != 0) {
+				return -compare;
+			}
+			if (a.exponents[k] != b.exponents[l]) {
+				return a.exponents[k] < b.exponents[l] ? -1 : 1;
+			}
+			k++;
+			l++;
+		}
+		if (k < endA) {
+			return 1;
+		}
+		return l < endB ? -1 : 0;
+	}
+
+	/**
+	 * @return negative if v1 is stored before v2 within a term, i.e. v1 is
+	 *         the higher variable
+	 */
+	private static int compareVariables(PVariable v1, PVariable v2) {
+		return v2.compareTo(v1);
+	}
+
+	/**
+	 * Bottom-up merge sort of the term indices, avoids boxing the indices.
+	 */
+	private int[] sortTerms() {
+		int[] order = new int[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		int[] buffer = new int[size];
+		for (int width = 1; width < size; width *= 2) {
+			for (int low = 0; low < size - width; low += 2 * width) {
+				int middle = low + width;
+				int high = Math.min(low + 2 * width, size);
+				System.arraycopy(order, low, buffer, low, high - low);
+				int left = low;
+				int right = middle;
+				for (int k = low; k < high; k++) {
+					if (right == high || left < middle && compareTerms(this,
+							buffer[left], this, buffer[right]) <= 0) {
+						order[k] = buffer[left++];
+					} else {
+						order[k] = buffer[right++];
+					}
+				}
+			}
+		}
+		return order;
+	}
+
+	@Override
+	public String toString() {
+		return toPPolynomial().toString();
+	}
+
+	private static boolean isSmall(long coeff) {
+		return coeff >= -SMALL && coeff <= SMALL;
+	}
+
+	/**
+	 * @return whether x + y = sum without overflow
+	 */
+	private static boolean isExactSum(long x, long y, long sum) {
+		return ((x ^ sum) & (y ^ sum)) >= 0;
+	}
+
+	/**
+	 * Appends terms with preallocated capacity.
+	 */
+	private static final class Builder {
+		private int size;
+		private int length;
+		private final int[] start;
+		private final PVariable[] variables;
+		private final int[] exponents;
+		private final long[] coeffs;
+		private BigInteger[] bigCoeffs;
+
+		Builder(int maxSize, int maxLength) {
+			start = new int[maxSize + 1];
+			variables = new PVariable[maxLength];
+			exponents = new int[maxLength];
+			coeffs = new long[maxSize];
+		}
+
+		void appendVariable(PVariable variable, int exponent) {
+			variables[length] = variable;
+			exponents[length++] = exponent;
+		}
+
+		private void appendVariables(PackedPolynomial poly, int term) {
+			int from = poly.start[term];
+			int count = poly.start[term + 1] - from;
+			System.arraycopy(poly.variables, from, variables, length, count);
+			System.arraycopy(poly.exponents, from, exponents, length, count);
+			length += count;
+		}
+
+		void appendTerm(PackedPolynomial poly, int term) {
+			appendVariables(poly, term);
+			if (poly.isBig(term)) {
+				endTerm(poly.bigCoeffs[term]);
+			} else {
+				endTerm(poly.coeffs[term]);
+			}
+		}
+
+		/**
+		 * Appends the sum of two equal terms unless it is zero.
+		 */
+		void appendSum(PackedPolynomial a, int i, PackedPolynomial b, int j) {
+			if (!a.isBig(i) && !b.isBig(j)) {
+				long x = a.coeffs[i];
+				long y = b.coeffs[j];
+				long sum = x + y;
+				if (isExactSum(x, y, sum)) {
+					if (sum != 0) {
+						appendVariables(a, i);
+						endTerm(sum);
+					}
+					return;
+				}
+			}
+			BigInteger sum = a.getCoefficient(i).add(b.getCoefficient(j));
+			if (sum.signum() != 0) {
+				appendVariables(a, i);
+				endTerm(sum);
+			}
+		}
+
+		/**
+		 * Appends the sum of the equal terms order[first], ...,
+		 * order[last - 1] unless it is zero.
+		 */
+		void appendSum(PackedPolynomial poly, int[] order, int first,
+				int last) {
+			long small = 0;
+			BigInteger big = null;
+			for (int k = first; k < last; k++) {
+				int term = order[k];
+				if (big == null && !poly.isBig(term)) {
+					long coeff = poly.coeffs[term];
+					long sum = small + coeff;
+					if (isExactSum(small, coeff, sum)) {
+						small = sum;
+						continue;
+					}
+				}
+				if (big == null) {
+					big = BigInteger.valueOf(small);
+				}
+				big = big.add(poly.getCoefficient(term));
+			}
+			if (big == null ? small == 0 : big.signum() == 0) {
+				return;
+			}
+			appendVariables(poly, order[first]);
+			if (big == null) {
+				endTerm(small);
+			} else {
+				endTerm(big);
+			}
+		}
+
+		/**
+		 * Appends the product of two terms, merging their variables.
+		 */
+		void appendProduct(PackedPolynomial a, int i, PackedPolynomial b,
+				int j) {
+			int k = a.start[i];
+			int l = b.start[j];
+			int endA = a.start[i + 1];
+			int endB = b.start[j + 1];
+			while (k < endA || l < endB) {
+				int compare = k == endA ? 1
+						: l == endB ? -1
+								: compareVariables(a.variables[k],
+										b.variables[l]);
+				if (compare < 0) {
+					appendVariable(a.variables[k], a.exponents[k++]);
+				} else if (compare > 0) {
+					appendVariable(b.variables[l], b.exponents[l++]);
+				} else {
+					appendVariable(a.variables[k],
+							a.exponents[k++] + b.exponents[l++]);
+				}
+			}
+			if (!a.isBig(i) && !b.isBig(j) && isSmall(a.coeffs[i])
+					&& isSmall(b.coeffs[j])) {
+				endTerm(a.coeffs[i] * b.coeffs[j]);
+			} else {
+				endTerm(a.getCoefficient(i).multiply(b.getCoefficient(j)));
+			}
+		}
+
+		void endTerm(long coeff) {
+			coeffs[size] = coeff;
+			start[++size] = length;
+		}
+
+		void endTerm(BigInteger coeff) {
+			if (coeff.bitLength() < 64) {
+				endTerm(coeff.longValue());
+				return;
+			}
+			if (bigCoeffs == null) {
+				bigCoeffs = new BigInteger[coeffs.length];
+			}
+			bigCoeffs[size] = coeff;
+			start[++size] = length;
+		}
+
+		PackedPolynomial build() {
+			return new PackedPolynomial(size, start, variables, exponents,
+					coeffs, bigCoeffs);
+		}
+	}
+}
@@ -160,6 +160,24 @@ public class CmdSetValue extends CmdScripting {
 	 *            value
 	 */
 	public static void setValue2(GeoElement arg0, GeoElement arg1) {
+		if (setValueWithoutUpdate(arg0, arg1)) {
+			arg0.updateRepaint();
+		}
+		resetInputboxes(arg0);
+	}
+
+	/**
+	 * Sets arg[0] to arg[1] like {@link #setValue2(GeoElement, GeoElement)},
+	 * but leaves updating arg[0] and its dependents to the caller.
+	 *
+	 * @param arg0
+	 *            target
+	 * @param arg1
+	 *            value
+	 * @return whether arg[0] was changed and still needs to be updated
+	 */
+	public static boolean setValueWithoutUpdate(GeoElement arg0,
+			GeoElement arg1) {
 		if (arg0.isGeoFunction() && arg1.isRealValuedFunction()) {
 			// eg f(x)=x^2
 			// SetValue[f,1]
@@ -171,7 +189,7 @@ public class CmdSetValue extends CmdScripting {
 				fun.set(arg0);
 				fun.setUndefined();
 			}
-			fun.updateRepaint();
+			return true;
 		} else if (arg0.isGeoList() && arg1.isNumberValue()) {
 			((GeoList) arg0).setSelectedIndex(
 					(int) Math.round(arg1.evaluateDouble()) - 1, true);
@@ -195,22 +213,26 @@ public class CmdSetValue extends CmdScripting {
 					}
 				}
 			}
-			arg0.updateRepaint();
+			return true;
 		} else if (arg0.getParentAlgorithm() instanceof SetRandomValue) {
 			// eg a = RandomBetween[0,10]
 			SetRandomValue algo = (SetRandomValue) arg0.getParentAlgorithm();
-			if (algo.setRandomValue(arg1)) {
-				arg0.updateRepaint();
-			}
+			return algo.setRandomValue(arg1);
 		} else if (arg0.isGeoInputBox() && arg1.isGeoText()) {
 			String textString = ((GeoText) arg1).getTextString();
 			GeoInputBox geoInputBox = (GeoInputBox) arg0;
 			geoInputBox.updateLinkedGeo(textString);
 		}
-		resetInputboxes(arg0);
+		return false;
 	}
 
-	private static void resetInputboxes(GeoElement arg0) {
+	/**
+	 * Clears user input of input boxes depending on a changed element.
+	 *
+	 * @param arg0
+	 *            changed element
+	 */
+	public static void resetInputboxes(GeoElement arg0) {
 		if (arg0.getAlgoUpdateSet() != null) {
 			for (AlgoElement childAlgo : arg0.getAlgoUpdateSet()) {
 				if (childAlgo instanceof AlgoInputBox) {
@@ -1,8 +1,5 @@
 package org.geogebra.common.kernel.statistics;
 
-import org.apache.commons.math3.analysis.ParametricUnivariateFunction;
-import org.apache.commons.math3.fitting.CurveFitter;
-import org.apache.commons.math3.optim.nonlinear.vector.jacobian.LevenbergMarquardtOptimizer;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.arithmetic.MyDouble;
@@ -12,6 +9,7 @@ import org.geogebra.common.kernel.geos.GeoFunction;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoPoint;
 import org.geogebra.common.kernel.optimization.FitRealFunction;
+import org.geogebra.common.kernel.optimization.NonlinearFitter;
 import org.geogebra.common.util.debug.Log;
 
 /*
@@ -48,7 +46,6 @@ the Free Software Foundation.
  * @author Hans-Petter Ulven
  * @version 2011-03-15
  */
-@SuppressWarnings("deprecation")
 public class AlgoFitNL extends AlgoElement implements FitAlgo {
 
 	private GeoList pointlist; // input
@@ -60,9 +57,9 @@ public class AlgoFitNL extends AlgoElement implements FitAlgo {
 	private double[] xdata = null;
 	private double[] ydata = null;
 	private FitRealFunction prfunction = null; // function for Apache lib
-	private LevenbergMarquardtOptimizer LMO = new LevenbergMarquardtOptimizer();
-	private CurveFitter<ParametricUnivariateFunction> curvefitter = new CurveFitter<>(
-			LMO);
+	private int startCount = 1;
+	private int iterations;
+	private double fitTime;
 
 	/**
 	 * @param cons
@@ -135,29 +132,21 @@ public class AlgoFitNL extends AlgoElement implements FitAlgo {
 
 			// / --- Solve :-) --- ///
 
-			// prfunction makes itself a copy of inputfunction with
+			// the fitted function is a copy of inputfunction with
 			// parameters instead of GeoNumerics
-			prfunction = new FitRealFunction(inputfunction.getFunction());
-
-			if (!prfunction.isParametersOK()) {
+			NonlinearFitter fitter = new NonlinearFitter(
+					inputfunction.getFunction(), xdata, ydata,
+					kernel.getUpdateExecutor());
+			fitter.setStartCount(startCount);
+			FitRealFunction fitted = fitter.fit();
+			iterations = fitter.getIterations();
+			fitTime = fitter.getFitTime();
+
+			if (fitted == null) {
 				outputfunction.setUndefined();
 				return;
 			}
-
-			// very important:
-			curvefitter.clearObservations();
-
-			for (int i = 0; i < datasize; i++) {
-				curvefitter.addObservedPoint(1.0, xdata[i], ydata[i]);
-			} // for all datapoints
-
-			curvefitter.fit(prfunction, prfunction.getStartValues());
-
-			// DEBUG - to be removed:
-			// int iter = LMO.getIterations();
-			// if (iter > 200) {
-			// Log.debug("More than 200 iterations...");
-			// }
+			prfunction = fitted;
 
 			outputfunction.setFunction(prfunction.getFunction());
 			outputfunction.setDefined(true);
@@ -169,6 +158,29 @@ public class AlgoFitNL extends AlgoElement implements FitAlgo {
 
 	}
 
+	/**
+	 * @param startCount
+	 *            number of starting points for the fit, see
+	 *            {@link NonlinearFitter#setStartCount(int)}
+	 */
+	public void setStartCount(int startCount) {
+		this.startCount = startCount;
+	}
+
+	/**
+	 * @return iterations of the last fit
+	 */
+	public int getIterations() {
+		return iterations;
+	}
+
+	/**
+	 * @return duration of the last fit in milliseconds
+	 */
+	public double getFitTime() {
+		return fitTime;
+	}
+
 	// Get info from lists into matrixes and functionarray
 	private final boolean makeDataArrays() {
 		GeoElement geo = null;
@@ -15,7 +15,6 @@ package org.geogebra.common.kernel.statistics;
 import org.apache.commons.math3.stat.descriptive.rank.Percentile;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.algos.AlgoElement;
-import org.geogebra.common.kernel.arithmetic.NumberValue;
 import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
@@ -102,17 +101,11 @@ public class AlgoPercentile extends AlgoElement {
 		// ==========================
 		// compute result
 
-		inputArray = new double[size];
-
-		// load input value array from geoList
-		for (int i = 0; i < size; i++) {
-			GeoElement geo = inputList.get(i);
-			if (geo instanceof NumberValue) {
-				inputArray[i] = geo.evaluateDouble();
-			} else {
-				result.setUndefined();
-				return;
-			}
+		// sorted copy, shared with other commands using this list
+		inputArray = inputList.getStatistics().getSorted();
+		if (inputArray == null) {
+			result.setUndefined();
+			return;
 		}
 
 		if (percentile == null) {
@@ -12,6 +12,7 @@ the Free Software Foundation.
 
 package org.geogebra.common.kernel.statistics;
 
+import org.apache.commons.math3.stat.correlation.PearsonsCorrelation;
 import org.apache.commons.math3.stat.correlation.SpearmansCorrelation;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.algos.AlgoElement;
@@ -159,19 +160,16 @@ public class AlgoSpearman extends AlgoElement {
 				return;
 			}
 
-			valX = new double[sizeX];
-			valY = new double[sizeX];
-
-			for (int i = 0; i < sizeX; i++) {
-				GeoElement geox = geoListX.get(i);
-				GeoElement geoy = geoListY.get(i);
-				valX[i] = geox.evaluateDouble();
-				valY[i] = geoy.evaluateDouble();
-				if (Double.isNaN(valX[i]) || Double.isNaN(valY[i])) {
-					result.setUndefined();
-					return;
-				}
+			// ranks are shared with other commands using these lists
+			ListStatistics statsX = geoListX.getStatistics();
+			ListStatistics statsY = geoListY.getStatistics();
+			if (hasNaN(statsX.getValues()) || hasNaN(statsY.getValues())) {
+				result.setUndefined();
+				return;
 			}
+			result.setValue(new PearsonsCorrelation()
+					.correlation(statsX.getRanks(), statsY.getRanks()));
+			return;
 		}
 
 		if (sp == null) {
@@ -181,4 +179,16 @@ public class AlgoSpearman extends AlgoElement {
 		result.setValue(sp.correlation(valX, valY));
 	}
 
+	private static boolean hasNaN(double[] values) {
+		if (values == null) {
+			return true;
+		}
+		for (double value : values) {
+			if (Double.isNaN(value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 }
@@ -0,0 +1,343 @@
+package org.geogebra.common.kernel.statistics;
+
+import java.util.Arrays;
+
+import org.geogebra.common.kernel.arithmetic.NumberValue;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoList;
+import org.geogebra.common.kernel.geos.PackedListValues;
+import org.geogebra.common.kernel.kernelND.GeoPointND;
+import org.geogebra.common.kernel.matrix.Coords;
+
+/**
+ * Values of a list extracted once for all statistics commands using it, with
+ * lazily computed sums, sorted values and ranks. Instances are cached by the
+ * list until it changes, see {@link GeoList#getStatistics()}.
+ *
+ * Moments of very long lists are computed in a single pass over the list
+ * without copying it; the variance then uses Welford's algorithm, which does
+ * not lose precision for large sums.
+ */
+public final class ListStatistics {
+
+	/** lists of at least this size are not copied just for the moments */
+	public static final int STREAMING_MIN_SIZE = 1 << 20;
+
+	private static final int UNKNOWN = 0;
+	private static final int YES = 1;
+	private static final int NO = 2;
+
+	private final GeoList list;
+	private final int size;
+
+	private int numeric = UNKNOWN;
+	private double[] values;
+	private boolean hasMoments;
+	private double sum;
+	private double sumSquares;
+	private double product;
+	private double m2;
+	private double[] sorted;
+	private double[] ranks;
+
+	private int points = UNKNOWN;
+	private double[] xValues;
+	private double[] yValues;
+	private boolean hasPointSums;
+	private double sumX;
+	private double sumY;
+	private double sumXX;
+	private double sumYY;
+	private double sumXY;
+
+	/**
+	 * @param list
+	 *            list
+	 */
+	public ListStatistics(GeoList list) {
+		this.list = list;
+		this.size = list.size();
+	}
+
+	/**
+	 * @return list size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return whether this was computed for a long list, see
+	 *         {@link #STREAMING_MIN_SIZE}
+	 */
+	public boolean isStreaming() {
+		return size >= STREAMING_MIN_SIZE;
+	}
+
+	/**
+	 * @return whether all elements are numbers
+	 */
+	public boolean isNumeric() {
+		if (numeric == UNKNOWN) {
+			if (isStreaming()) {
+				computeMoments();
+			} else {
+				extractValues();
+			}
+		}
+		return numeric == YES;
+	}
+
+	/**
+	 * @return values of the list, null if not all elements are numbers; must
+	 *         not be modified
+	 */
+	public double[] getValues() {
+		if (values == null && numeric != NO) {
+			extractValues();
+		}
+		return values;
+	}
+
+	/**
+	 * @return sum of values
+	 */
+	public double getSum() {
+		computeMoments();
+		return sum;
+	}
+
+	/**
+	 * @return sum of squared values
+	 */
+	public double getSumSquares() {
+		computeMoments();
+		return sumSquares;
+	}
+
+	/**
+	 * @return product of values
+	 */
+	public double getProduct() {
+		computeMoments();
+		return product;
+	}
+
+	/**
+	 * @return sum of squared deviations from the mean
+	 */
+	public double getCentralSumSquares() {
+		computeMoments();
+		return m2;
+	}
+
+	/**
+	 * @return values in ascending order, null if not all elements are
+	 *         numbers; must not be modified
+	 */
+	public double[] getSorted() {
+		if (sorted == null && getValues() != null) {
+			sorted = Arrays.copyOf(values, size);
+			Arrays.sort(sorted);
+		}
+		return sorted;
+	}
+
+	/**
+	 * @return ranks of the values (from 1), tied values get their average
+	 *         rank; null if not all elements are numbers
+	 */
+	public double[] getRanks() {
+		if (ranks == null && getSorted() != null) {
+			// rank of each position in the sorted values
+			double[] sortedRanks = new double[size];
+			int start = 0;
+			while (start < size) {
+				int end = start + 1;
+				while (end < size && sorted[end] == sorted[start]) {
+					end++;
+				}
+				Arrays.fill(sortedRanks, start, end, (start + end + 1) / 2.0);
+				start = end;
+			}
+			ranks = new double[size];
+			for (int i = 0; i < size; i++) {
+				ranks[i] = sortedRanks[Arrays.binarySearch(sorted, values[i])];
+			}
+		}
+		return ranks;
+	}
+
+	/**
+	 * @return whether all elements are points
+	 */
+	public boolean isPoints() {
+		extractPoints();
+		return points == YES;
+	}
+
+	/**
+	 * @return x-coordinates of the points, null if not all elements are
+	 *         points; must not be modified
+	 */
+	public double[] getXValues() {
+		extractPoints();
+		return xValues;
+	}
+
+	/**
+	 * @return y-coordinates of the points, null if not all elements are
+	 *         points; must not be modified
+	 */
+	public double[] getYValues() {
+		extractPoints();
+		return yValues;
+	}
+
+	/**
+	 * @return sum of x-coordinates
+	 */
+	public double getSumX() {
+		computePointSums();
+		return sumX;
+	}
+
+	/**
+	 * @return sum of y-coordinates
+	 */
+	public double getSumY() {
+		computePointSums();
+		return sumY;
+	}
+
+	/**
+	 * @return sum of squared x-coordinates
+	 */
+	public double getSumXX() {
+		computePointSums();
+		return sumXX;
+	}
+
+	/**
+	 * @return sum of squared y-coordinates
+	 */
+	public double getSumYY() {
+		computePointSums();
+		return sumYY;
+	}
+
+	/**
+	 * @return sum of products of coordinates
+	 */
+	public double getSumXY() {
+		computePointSums();
+		return sumXY;
+	}
+
+	private void extractValues() {
+		PackedListValues packed = list.getPackedValues();
+		if (packed != null && !packed.isPoints()) {
+			values = packed.toDouble(0);
+			numeric = YES;
+			return;
+		}
+		double[] ret = new double[size];
+		for (int i = 0; i < size; i++) {
+			GeoElement geo = list.get(i);
+			if (!(geo instanceof NumberValue)) {
+				numeric = NO;
+				return;
+			}
+			ret[i] = geo.evaluateDouble();
+		}
+		values = ret;
+		numeric = YES;
+	}
+
+	private void computeMoments() {
+		if (hasMoments) {
+			return;
+		}
+		hasMoments = true;
+		sum = 0;
+		sumSquares = 0;
+		product = 1;
+		m2 = 0;
+		double mean = 0;
+		PackedListValues packed = isStreaming() && values == null
+				? list.getPackedValues() : null;
+		if (packed != null && packed.isPoints()) {
+			packed = null;
+		}
+		boolean fromList = isStreaming() && values == null && packed == null;
+		if (!fromList && packed == null && getValues() == null) {
+			return;
+		}
+		for (int i = 0; i < size; i++) {
+			double val;
+			if (packed != null) {
+				val = packed.getValue(i);
+			} else if (fromList) {
+				GeoElement geo = list.get(i);
+				if (!(geo instanceof NumberValue)) {
+					numeric = NO;
+					return;
+				}
+				val = geo.evaluateDouble();
+			} else {
+				val = values[i];
+			}
+			sum += val;
+			sumSquares += val * val;
+			product *= val;
+			// Welford's update
+			double delta = val - mean;
+			mean += delta / (i + 1);
+			m2 += delta * (val - mean);
+		}
+		numeric = YES;
+	}
+
+	private void extractPoints() {
+		if (points != UNKNOWN) {
+			return;
+		}
+		PackedListValues packed = list.getPackedValues();
+		double[] xs = new double[size];
+		double[] ys = new double[size];
+		for (int i = 0; i < size; i++) {
+			if (packed != null && packed.isPoints()) {
+				xs[i] = packed.getValue(i);
+				ys[i] = packed.getY(i);
+				continue;
+			}
+			GeoElement geo = list.get(i);
+			if (!geo.isGeoPoint()) {
+				points = NO;
+				return;
+			}
+			Coords coords = ((GeoPointND) geo).getInhomCoordsInD3();
+			xs[i] = coords.getX();
+			ys[i] = coords.getY();
+		}
+		xValues = xs;
+		yValues = ys;
+		points = YES;
+	}
+
+	private void computePointSums() {
+		if (hasPointSums || !isPoints()) {
+			return;
+		}
+		hasPointSums = true;
+		for (int i = 0; i < size; i++) {
+			double x = xValues[i];
+			double y = yValues[i];
+			sumX += x;
+			sumY += y;
+			sumXX += x * x;
+			sumYY += y * y;
+			sumXY += x * y;
+		}
+	}
+}
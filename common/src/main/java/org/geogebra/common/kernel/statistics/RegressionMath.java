@@ -7,6 +7,7 @@ import org.apache.commons.math3.linear.RealMatrix;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.kernel.geos.PackedListValues;
 import org.geogebra.common.util.debug.Log;
 
 /* 
@@ -578,6 +579,14 @@ public final class RegressionMath {
 		// GeoPoint geopoint;
 		xlist = new double[size];
 		ylist = new double[size];
+		PackedListValues packed = geolist.getPackedValues();
+		if (packed != null && packed.isPoints()) {
+			for (int i = 0; i < size; i++) {
+				xlist[i] = packed.getValue(i);
+				ylist[i] = packed.getY(i);
+			}
+			return;
+		}
 		for (int i = 0; i < size; i++) {
 			geoelement = geolist.get(i);
 			if (geoelement instanceof GeoPoint) {
@@ -4739,7 +4739,7 @@ public abstract class App implements UpdateSelection, AppInterface, EuclidianHos
 	/**
 	 * @return next construction element ID
 	 */
-	public long getNextCeIDcounter() {
+	public synchronized long getNextCeIDcounter() {
 		return ceIDcounter++;
 	}
 
@@ -14,6 +14,9 @@ import org.geogebra.common.plugin.EventType;
 public class DefaultUndoManager extends UndoManager {
 
 	private ArrayList<UndoPossibleListener> mListener = new ArrayList<>();
+	/** last stored state and its XML, saves rebuilding it for the next delta */
+	private AppState lastState;
+	private String lastXml;
 
 	/**
 	 * @param cons
@@ -45,9 +48,16 @@ public class DefaultUndoManager extends UndoManager {
      *            string builder with construction XML
      */
     private synchronized void doStoreUndoInfo(final StringBuilder undoXML) {
-        AppState appStateToAdd = new StringAppState(undoXML.toString());
+        String xml = undoXML.toString();
+        AppState previous = getHistorySize() >= 0 ? getCurrentUndoInfo() : null;
+        AppState appStateToAdd = DeltaAppState.create(xml, previous,
+                previous == lastState ? lastXml : null,
+                DeltaAppState.DEFAULT_CHECKPOINT_INTERVAL);
         UndoCommand command = createUndoCommand(appStateToAdd);
-        maybeStoreUndoCommand(command);
+        if (!maybeStoreUndoCommand(command)) {
+            lastState = appStateToAdd;
+            lastXml = xml;
+        }
         pruneStateList();
         app.getEventDispatcher().dispatchEvent(new Event(EventType.STOREUNDO));
         updateUndoActions();
@@ -0,0 +1,83 @@
+package org.geogebra.common.main.undo;
+
+/**
+ * App state stored as line difference to the previous state; every few states
+ * the full XML is stored as checkpoint, so that restoring a state needs at most
+ * that many deltas to be applied.
+ */
+public class DeltaAppState implements AppState {
+
+	/** default number of states between checkpoints */
+	public static final int DEFAULT_CHECKPOINT_INTERVAL = 20;
+
+	private final String checkpoint;
+	private final DeltaAppState base;
+	private final LineDelta delta;
+	private final int depth;
+
+	private DeltaAppState(String checkpoint) {
+		this.checkpoint = checkpoint;
+		this.base = null;
+		this.delta = null;
+		this.depth = 0;
+	}
+
+	private DeltaAppState(DeltaAppState base, LineDelta delta) {
+		this.checkpoint = null;
+		this.base = base;
+		this.delta = delta;
+		this.depth = base.depth + 1;
+	}
+
+	/**
+	 * @param xml
+	 *            construction XML
+	 * @param previous
+	 *            previous state (may be null)
+	 * @param previousXml
+	 *            XML of the previous state, null to compute it
+	 * @param checkpointInterval
+	 *            maximal number of deltas between two checkpoints
+	 * @return delta to previous state if possible, checkpoint otherwise
+	 */
+	public static DeltaAppState create(String xml, AppState previous,
+			String previousXml, int checkpointInterval) {
+		if (!(previous instanceof DeltaAppState)
+				|| ((DeltaAppState) previous).depth + 1 >= checkpointInterval) {
+			return new DeltaAppState(xml);
+		}
+		String baseXml = previousXml == null ? previous.getXml() : previousXml;
+		return new DeltaAppState((DeltaAppState) previous,
+				LineDelta.create(baseXml, xml));
+	}
+
+	@Override
+	public String getXml() {
+		return base == null ? checkpoint : delta.apply(base.getXml());
+	}
+
+	/**
+	 * @return whether full XML is stored
+	 */
+	public boolean isCheckpoint() {
+		return base == null;
+	}
+
+	/**
+	 * Keeps the data: newer states may be deltas to this one, they are garbage
+	 * collected together once no longer referenced.
+	 */
+	@Override
+	public void delete() {
+		// see javadoc
+	}
+
+	@Override
+	public boolean equalsTo(AppState state) {
+		if (state instanceof DeltaAppState
+				&& ((DeltaAppState) state).base == this) {
+			return ((DeltaAppState) state).delta.isEmpty();
+		}
+		return state != null && getXml().equals(state.getXml());
+	}
+}
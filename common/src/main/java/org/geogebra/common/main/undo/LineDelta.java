@@ -0,0 +1,235 @@
+package org.geogebra.common.main.undo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Line based difference between two texts (construction XML). Lines that
+ * occur exactly once in both texts are used as anchors (patience diff),
+ * between anchors common prefix and suffix are kept and the rest replaced.
+ */
+final class LineDelta {
+
+	private static final int COPY = 0;
+	private static final int DELETE = 1;
+	private static final int INSERT = 2;
+	/** nested gaps deeper than this are replaced as a whole */
+	private static final int MAX_DEPTH = 8;
+
+	private final int[] ops;
+	private final int opsLength;
+	private final String[] inserted;
+
+	private LineDelta(Builder builder) {
+		this.opsLength = builder.opsLength;
+		this.ops = new int[opsLength];
+		System.arraycopy(builder.ops, 0, ops, 0, opsLength);
+		this.inserted = builder.inserted.toArray(new String[0]);
+	}
+
+	/**
+	 * @param base
+	 *            old text
+	 * @param target
+	 *            new text
+	 * @return delta transforming base into target
+	 */
+	static LineDelta create(String base, String target) {
+		String[] a = split(base);
+		String[] b = split(target);
+		Builder builder = new Builder();
+		diff(a, 0, a.length, b, 0, b.length, builder, 0);
+		return new LineDelta(builder);
+	}
+
+	/**
+	 * @return whether the target equals the base
+	 */
+	boolean isEmpty() {
+		for (int i = 0; i < opsLength; i += 2) {
+			if (ops[i] != COPY) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param base
+	 *            the text this delta was created from
+	 * @return target text
+	 */
+	String apply(String base) {
+		String[] a = split(base);
+		StringBuilder sb = new StringBuilder(base.length());
+		int pos = 0;
+		int insertPos = 0;
+		boolean first = true;
+		for (int i = 0; i < opsLength; i += 2) {
+			int count = ops[i + 1];
+			switch (ops[i]) {
+			case COPY:
+				for (int k = 0; k < count; k++) {
+					first = appendLine(sb, a[pos++], first);
+				}
+				break;
+			case DELETE:
+				pos += count;
+				break;
+			default:
+				for (int k = 0; k < count; k++) {
+					first = appendLine(sb, inserted[insertPos++], first);
+				}
+			}
+		}
+		return sb.toString();
+	}
+
+	private static boolean appendLine(StringBuilder sb, String line,
+			boolean first) {
+		if (!first) {
+			sb.append('\n');
+		}
+		sb.append(line);
+		return false;
+	}
+
+	private static String[] split(String text) {
+		return text.split("\n", -1);
+	}
+
+	private static void diff(String[] a, int aStart, int aEnd, String[] b,
+			int bStart, int bEnd, Builder builder, int depth) {
+		int aLo = aStart;
+		int bLo = bStart;
+		while (aLo < aEnd && bLo < bEnd && a[aLo].equals(b[bLo])) {
+			aLo++;
+			bLo++;
+		}
+		builder.add(COPY, aLo - aStart);
+		int aHi = aEnd;
+		int bHi = bEnd;
+		while (aHi > aLo && bHi > bLo && a[aHi - 1].equals(b[bHi - 1])) {
+			aHi--;
+			bHi--;
+		}
+
+		int[] anchors = depth < MAX_DEPTH
+				? findAnchors(a, aLo, aHi, b, bLo, bHi) : new int[0];
+		int aPos = aLo;
+		int bPos = bLo;
+		if (anchors.length == 0) {
+			builder.add(DELETE, aHi - aLo);
+			for (int j = bLo; j < bHi; j++) {
+				builder.insert(b[j]);
+			}
+		} else {
+			for (int i = 0; i < anchors.length; i += 2) {
+				diff(a, aPos, anchors[i], b, bPos, anchors[i + 1], builder,
+						depth + 1);
+				builder.add(COPY, 1);
+				aPos = anchors[i] + 1;
+				bPos = anchors[i + 1] + 1;
+			}
+			diff(a, aPos, aHi, b, bPos, bHi, builder, depth + 1);
+		}
+
+		builder.add(COPY, aEnd - aHi);
+	}
+
+	/**
+	 * @return pairs (index in a, index in b) of lines unique in both ranges,
+	 *         forming the longest sequence increasing in both indices
+	 */
+	private static int[] findAnchors(String[] a, int aLo, int aHi, String[] b,
+			int bLo, int bHi) {
+		if (aLo == aHi || bLo == bHi) {
+			return new int[0];
+		}
+		HashMap<String, Integer> inA = uniqueLines(a, aLo, aHi);
+		HashMap<String, Integer> inB = uniqueLines(b, bLo, bHi);
+		ArrayList<Integer> aIndex = new ArrayList<>();
+		ArrayList<Integer> bIndex = new ArrayList<>();
+		for (int i = aLo; i < aHi; i++) {
+			Integer ib = inB.get(a[i]);
+			if (inA.get(a[i]) >= 0 && ib != null && ib >= 0) {
+				aIndex.add(i);
+				bIndex.add(ib);
+			}
+		}
+		int n = bIndex.size();
+		if (n == 0) {
+			return new int[0];
+		}
+		// longest increasing subsequence of bIndex (patience sorting)
+		int[] tails = new int[n];
+		int[] previous = new int[n];
+		int length = 0;
+		for (int i = 0; i < n; i++) {
+			int value = bIndex.get(i);
+			int lo = 0;
+			int hi = length;
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (bIndex.get(tails[mid]) < value) {
+					lo = mid + 1;
+				} else {
+					hi = mid;
+				}
+			}
+			previous[i] = lo > 0 ? tails[lo - 1] : -1;
+			tails[lo] = i;
+			if (lo == length) {
+				length++;
+			}
+		}
+		int[] result = new int[2 * length];
+		int k = tails[length - 1];
+		for (int i = length - 1; i >= 0; i--) {
+			result[2 * i] = aIndex.get(k);
+			result[2 * i + 1] = bIndex.get(k);
+			k = previous[k];
+		}
+		return result;
+	}
+
+	/**
+	 * @return map line -&gt; index, or -1 if the line is not unique
+	 */
+	private static HashMap<String, Integer> uniqueLines(String[] lines,
+			int lo, int hi) {
+		HashMap<String, Integer> map = new HashMap<>();
+		for (int i = lo; i < hi; i++) {
+			map.put(lines[i], map.containsKey(lines[i]) ? -1 : i);
+		}
+		return map;
+	}
+
+	private static class Builder {
+		protected int[] ops = new int[16];
+		protected int opsLength = 0;
+		protected final ArrayList<String> inserted = new ArrayList<>();
+
+		protected void add(int op, int count) {
+			if (count == 0) {
+				return;
+			}
+			if (opsLength > 0 && ops[opsLength - 2] == op) {
+				ops[opsLength - 1] += count;
+				return;
+			}
+			if (opsLength == ops.length) {
+				int[] grown = new int[2 * ops.length];
+				System.arraycopy(ops, 0, grown, 0, opsLength);
+				ops = grown;
+			}
+			ops[opsLength++] = op;
+			ops[opsLength++] = count;
+		}
+
+		protected void insert(String line) {
+			add(INSERT, 1);
+			inserted.add(line);
+		}
+	}
+}
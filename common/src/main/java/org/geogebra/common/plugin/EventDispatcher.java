@@ -1,6 +1,8 @@
 package org.geogebra.common.plugin;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 
 import org.geogebra.common.kernel.ClientView;
 import org.geogebra.common.kernel.ModeSetter;
@@ -8,7 +10,8 @@ import org.geogebra.common.kernel.geos.GProperty;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.main.App;
-import org.geogebra.common.util.debug.GeoGebraProfiler;
+import org.geogebra.common.util.profiler.Profiler;
+import org.geogebra.common.util.profiler.Profiler.Category;
 
 import com.google.j2objc.annotations.Weak;
 
@@ -31,6 +34,8 @@ public class EventDispatcher implements ClientView {
 	@Weak
 	private App app;
 	private ArrayList<EventListener> listeners = new ArrayList<>();
+	/** labels of elements affected by collected events, null if not collecting */
+	private LinkedHashSet<String> collectedLabels;
 
 	/**
 	 * @param app
@@ -76,6 +81,10 @@ public class EventDispatcher implements ClientView {
 	 *            the event to be dispatched
 	 */
 	public void dispatchEvent(Event evt) {
+		if (collectedLabels != null && isCollected(evt)) {
+			collectedLabels.add(evt.target.getLabelSimple());
+			return;
+		}
 		boolean affectsSelfGeo = app.getKernel().getConstruction() != null
 				&& evt.target != null;
 		if (affectsSelfGeo) {
@@ -89,6 +98,56 @@ public class EventDispatcher implements ClientView {
 		}
 	}
 
+	private static boolean isCollected(Event evt) {
+		if (evt.target == null || evt.target.getLabelSimple() == null) {
+			return false;
+		}
+		switch (evt.type) {
+		case ADD:
+		case REMOVE:
+		case RENAME:
+		case UPDATE:
+		case UPDATE_STYLE:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Starts collecting add, remove, rename and update events instead of
+	 * dispatching them, see {@link #stopCollectingEvents(List)}.
+	 */
+	public void startCollectingEvents() {
+		collectedLabels = new LinkedHashSet<>();
+	}
+
+	/**
+	 * Stops collecting events.
+	 * 
+	 * @param removedLabels
+	 *            output list for labels of affected elements that no longer
+	 *            exist, may be null
+	 * @return elements affected by the collected events that still exist
+	 */
+	public ArrayList<GeoElement> stopCollectingEvents(
+			List<String> removedLabels) {
+		ArrayList<GeoElement> targets = new ArrayList<>();
+		if (collectedLabels == null) {
+			return targets;
+		}
+		for (String label : collectedLabels) {
+			GeoElement geo = app.getKernel().lookupLabel(label);
+			if (geo != null) {
+				targets.add(geo);
+			} else if (removedLabels != null) {
+				removedLabels.add(label);
+			}
+		}
+		collectedLabels = null;
+		return targets;
+	}
+
 	/**
 	 * Convenience method for dispatching an event
 	 * 
@@ -152,9 +211,10 @@ public class EventDispatcher implements ClientView {
 
 	@Override
 	public void update(GeoElement geo) {
-		long start = System.currentTimeMillis();
+		Profiler profiler = app.getKernel().getProfiler();
+		long start = profiler.start();
 		dispatchEvent(EventType.UPDATE, geo);
-		GeoGebraProfiler.addEvent(System.currentTimeMillis() - start);
+		profiler.stop(Category.EVENT, EventType.UPDATE.getName(), start);
 	}
 
 	@Override
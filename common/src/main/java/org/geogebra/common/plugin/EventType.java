@@ -182,7 +182,13 @@ public enum EventType {
 	DROPDOWN_CLOSED("dropdownClosed"),
 
 	/** dropdown item focused */
-	DROPDOWN_ITEM_FOCUSED("dropdownItemFocused");
+	DROPDOWN_ITEM_FOCUSED("dropdownItemFocused"),
+
+	/**
+	 * script batch committed; targets are the elements that were added,
+	 * changed or renamed within the batch
+	 */
+	BATCH_COMMIT("batchCommit");
 
 	private String eventName;
 
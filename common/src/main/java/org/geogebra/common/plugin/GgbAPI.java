@@ -46,10 +46,12 @@ import org.geogebra.common.kernel.geos.Traceable;
 import org.geogebra.common.kernel.kernelND.GeoAxisND;
 import org.geogebra.common.kernel.kernelND.GeoConicND;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.geogebra.common.kernel.kernelND.GeoPointND;
 import org.geogebra.common.kernel.matrix.Coords;
 import org.geogebra.common.kernel.scripting.CmdSetCoords;
 import org.geogebra.common.kernel.scripting.CmdSetValue;
 import org.geogebra.common.main.App;
+import org.geogebra.common.main.MyError;
 import org.geogebra.common.main.error.ErrorHelper;
 import org.geogebra.common.main.settings.EuclidianSettings;
 import org.geogebra.common.util.AsyncOperation;
@@ -212,6 +214,35 @@ public abstract class GgbAPI implements JavaScriptAPI {
 		return labels != null;
 	}
 
+	@Override
+	public synchronized void beginBatch() {
+		app.getScriptManager().beginBatch();
+	}
+
+	@Override
+	public synchronized boolean commitBatch() {
+		try {
+			app.getScriptManager().commitBatch();
+			return true;
+		} catch (Exception | MyError e) {
+			Log.error(e.getMessage());
+			return false;
+		}
+	}
+
+	@Override
+	public synchronized void abortBatch() {
+		app.getScriptManager().abortBatch();
+	}
+
+	/**
+	 * @return running script batch or null
+	 */
+	private ScriptBatch getActiveBatch() {
+		ScriptBatch batch = app.getScriptManager().getBatch();
+		return batch.isActive() ? batch : null;
+	}
+
 	/**
 	 * Evaluates the given string as if it was entered into GeoGebra's input
 	 * text field.
@@ -1219,6 +1250,12 @@ public abstract class GgbAPI implements JavaScriptAPI {
 		if (geo == null) {
 			return;
 		}
+		ScriptBatch batch = getActiveBatch();
+		if (batch != null && geo.isGeoPoint() && geo.isMoveable()) {
+			((GeoPointND) geo).setCoords(x, y, 1);
+			batch.deferUpdate(geo);
+			return;
+		}
 		CmdSetCoords.setCoords(geo, x, y);
 	}
 
@@ -1259,8 +1296,18 @@ public abstract class GgbAPI implements JavaScriptAPI {
 		if (geo == null || !geo.isIndependent()) {
 			return;
 		}
+		GeoNumeric value = new GeoNumeric(kernel.getConstruction(), x);
+		ScriptBatch batch = getActiveBatch();
+		if (batch != null) {
+			// same as setValue2, but dependent objects are updated on commit
+			if (CmdSetValue.setValueWithoutUpdate(geo, value)) {
+				batch.deferUpdate(geo);
+			}
+			CmdSetValue.resetInputboxes(geo);
+			return;
+		}
 
-		CmdSetValue.setValue2(geo, new GeoNumeric(kernel.getConstruction(), x));
+		CmdSetValue.setValue2(geo, value);
 	}
 
 	@Override
@@ -2361,6 +2408,26 @@ public abstract class GgbAPI implements JavaScriptAPI {
 		app.getFpsProfiler().setEnabled(false);
 	}
 
+	@Override
+	public void enableProfiling() {
+		kernel.getProfiler().setEnabled(true);
+	}
+
+	@Override
+	public void disableProfiling() {
+		kernel.getProfiler().setEnabled(false);
+	}
+
+	@Override
+	public String getProfilingData() {
+		return kernel.getProfiler().toJson().toString();
+	}
+
+	@Override
+	public void resetProfilingData() {
+		kernel.getProfiler().reset();
+	}
+
 	@Override
 	public void testDraw() {
 		app.testDraw();
@@ -98,6 +98,27 @@ public interface JavaScriptAPI {
 	 */
 	boolean evalCommand(String cmdString);
 
+	/**
+	 * Starts a batch: until {@link #commitBatch()} redefinitions are applied
+	 * together, values set by setValue and setCoords update dependent objects
+	 * only once and a single batchCommit event replaces add, remove, rename
+	 * and update events.
+	 */
+	void beginBatch();
+
+	/**
+	 * Applies the changes collected since {@link #beginBatch()}.
+	 * 
+	 * @return whether the changes were applied successfully
+	 */
+	boolean commitBatch();
+
+	/**
+	 * Ends the batch without applying collected redefinitions and without
+	 * dispatching the batchCommit event.
+	 */
+	void abortBatch();
+
 	/**
 	 * Runs command in CAS without checking GeoGebra variables
 	 * 
@@ -1099,6 +1120,27 @@ public interface JavaScriptAPI {
 	 */
 	void disableFpsMeasurement();
 
+	/**
+	 * Starts collecting timings of updates, commands, CAS calls and repaints.
+	 */
+	void enableProfiling();
+
+	/**
+	 * Stops collecting timings; collected data are kept.
+	 */
+	void disableProfiling();
+
+	/**
+	 * @return collected timings as JSON, grouped by category and algorithm
+	 *         class, command or view; times in milliseconds
+	 */
+	String getProfilingData();
+
+	/**
+	 * Removes collected timings.
+	 */
+	void resetProfilingData();
+
 	/**
 	 * Autonomously draws from the coords.json file.
 	 */
@@ -0,0 +1,170 @@
+package org.geogebra.common.plugin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.geogebra.common.factories.UtilFactory;
+import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.main.App;
+import org.geogebra.common.util.profiler.Profiler;
+import org.geogebra.common.util.profiler.Profiler.Category;
+
+import com.google.j2objc.annotations.Weak;
+
+/**
+ * Transaction for scripts that change many objects. Between
+ * {@link #begin()} and {@link #commit()}
+ * <ul>
+ * <li>redefinitions of objects with dependents are collected and applied with
+ * a single construction rebuild,</li>
+ * <li>values set through the API are stored without updating dependent
+ * objects; all of them are updated in one cascade,</li>
+ * <li>add, remove, rename and update events are replaced by a single
+ * {@link EventType#BATCH_COMMIT} event; labels of removed objects are
+ * listed in its "removed" argument.</li>
+ * </ul>
+ * Batches may be nested, only the outermost commit applies the changes.
+ * {@link #abort()} ends all nested batches, e.g. when the construction is
+ * cleared.
+ */
+public class ScriptBatch {
+
+	@Weak
+	private final App app;
+	private int depth;
+	private final LinkedHashSet<GeoElement> deferredUpdates =
+			new LinkedHashSet<>();
+	private long lastCommitNanos;
+
+	/**
+	 * @param app
+	 *            application
+	 */
+	public ScriptBatch(App app) {
+		this.app = app;
+	}
+
+	/**
+	 * Starts a batch or a nested batch.
+	 */
+	public void begin() {
+		if (depth++ > 0) {
+			return;
+		}
+		app.getKernel().getConstruction().startCollectingRedefineCalls();
+		app.getEventDispatcher().startCollectingEvents();
+	}
+
+	/**
+	 * @return whether a batch is running
+	 */
+	public boolean isActive() {
+		return depth > 0;
+	}
+
+	/**
+	 * Marks an element whose value was changed within the batch; elements
+	 * depending on it are updated on commit.
+	 *
+	 * @param geo
+	 *            changed element
+	 */
+	public void deferUpdate(GeoElement geo) {
+		deferredUpdates.add(geo);
+	}
+
+	/**
+	 * Ends a (nested) batch; for the outermost batch the collected
+	 * redefinitions and updates are applied and the batch event is
+	 * dispatched.
+	 *
+	 * @throws Exception
+	 *             if the collected redefinitions fail
+	 */
+	public void commit() throws Exception {
+		if (depth == 0 || --depth > 0) {
+			return;
+		}
+		Kernel kernel = app.getKernel();
+		Construction cons = kernel.getConstruction();
+		Profiler profiler = kernel.getProfiler();
+		long start = UtilFactory.getPrototype().getNanoTime();
+		int redefinitions = cons.getCollectedRedefineCallCount();
+		int updates = deferredUpdates.size();
+		try {
+			if (redefinitions > 0) {
+				long phase = profiler.start();
+				cons.processCollectedRedefineCalls();
+				profiler.stop(Category.BATCH, "redefine", phase);
+			} else {
+				cons.stopCollectingRedefineCalls();
+			}
+			// a full rebuild replaces all objects and contains the new values,
+			// objects kept by a local replace are still labeled
+			updateDeferred(profiler);
+		} finally {
+			deferredUpdates.clear();
+			ArrayList<String> removedLabels = new ArrayList<>();
+			ArrayList<GeoElement> targets = app.getEventDispatcher()
+					.stopCollectingEvents(removedLabels);
+			lastCommitNanos = UtilFactory.getPrototype().getNanoTime()
+					- start;
+			profiler.record(Category.BATCH, "commit", lastCommitNanos);
+			kernel.notifyRepaint();
+
+			Map<String, Object> stats = new HashMap<>();
+			stats.put("redefinitions", redefinitions);
+			stats.put("updates", updates);
+			stats.put("commitTime", lastCommitNanos / 1E6);
+			stats.put("removed",
+					removedLabels.toArray(new String[removedLabels.size()]));
+			app.getEventDispatcher().dispatchEvent(
+					new Event(EventType.BATCH_COMMIT, null, null, targets)
+							.setJsonArgument(stats));
+		}
+	}
+
+	/**
+	 * Ends all running batches without applying the collected redefinitions
+	 * and without dispatching the batch event. Objects whose values were set
+	 * within the batch still update their dependents.
+	 */
+	public void abort() {
+		if (depth == 0) {
+			return;
+		}
+		depth = 0;
+		app.getKernel().getConstruction().stopCollectingRedefineCalls();
+		app.getEventDispatcher().stopCollectingEvents(null);
+		updateDeferred(app.getKernel().getProfiler());
+		deferredUpdates.clear();
+	}
+
+	private void updateDeferred(Profiler profiler) {
+		ArrayList<GeoElement> geos = new ArrayList<>(deferredUpdates.size());
+		for (GeoElement geo : deferredUpdates) {
+			if (geo.isLabelSet()) {
+				geos.add(geo);
+			}
+		}
+		if (geos.isEmpty()) {
+			return;
+		}
+		long phase = profiler.start();
+		GeoElement.updateCascade(geos, new TreeSet<AlgoElement>(), true);
+		profiler.stop(Category.BATCH, "update", phase);
+	}
+
+	/**
+	 * @return duration of the last commit in nanoseconds
+	 */
+	public long getLastCommitNanos() {
+		return lastCommitNanos;
+	}
+}
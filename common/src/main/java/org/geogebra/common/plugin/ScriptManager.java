@@ -32,6 +32,7 @@ public abstract class ScriptManager implements EventListener {
 	protected final ArrayList<JsReference> clearListeners = new ArrayList<>();
 	protected final ArrayList<JsReference> clientListeners = new ArrayList<>();
 	private boolean keepListenersOnReset = true;
+	private ScriptBatch batch;
 
 	private ArrayList<JsReference>[] listenerLists() {
 		return new ArrayList[] { addListeners, storeUndoListeners,
@@ -151,11 +152,51 @@ public abstract class ScriptManager implements EventListener {
 		listenersEnabled = true;
 	}
 
+	/**
+	 * @return batch collecting changes made by scripts
+	 */
+	public ScriptBatch getBatch() {
+		if (batch == null) {
+			batch = new ScriptBatch(app);
+		}
+		return batch;
+	}
+
+	/**
+	 * Starts collecting redefinitions, value changes and events of scripts.
+	 */
+	public void beginBatch() {
+		getBatch().begin();
+	}
+
+	/**
+	 * Applies changes collected since {@link #beginBatch()} and dispatches a
+	 * single {@link EventType#BATCH_COMMIT} event.
+	 *
+	 * @throws Exception
+	 *             if the collected redefinitions fail
+	 */
+	public void commitBatch() throws Exception {
+		getBatch().commit();
+	}
+
+	/**
+	 * Drops changes collected since {@link #beginBatch()} that were not
+	 * applied yet, see {@link ScriptBatch#abort()}.
+	 */
+	public void abortBatch() {
+		if (batch != null) {
+			batch.abort();
+		}
+	}
+
 	/*
 	 * needed for eg File -> New
 	 */
 	@Override
 	public void reset() {
+		// a running batch must not outlive the construction
+		abortBatch();
 		if (keepListenersOnReset) {
 			return;
 		}
@@ -0,0 +1,147 @@
+package org.geogebra.common.util;
+
+/**
+ * Bounded cache of formatted numbers. Keys are the bits of the number
+ * together with a context object (e.g. the string template), so one cache
+ * can serve several templates.
+ *
+ * Each key can be stored in one of two neighbouring slots; a new entry goes
+ * to the first one and moves the previous entry to the second. Lookups only
+ * read the slots and entries are immutable, so the cache can be used from
+ * several threads without locking: a concurrent put may evict an entry too
+ * early or not be seen by other threads, which only causes a miss. The hit
+ * and miss counts are plain fields, they are only exact when the cache is
+ * used from a single thread.
+ */
+public final class FormatCache {
+
+	private final Entry[] slots;
+	private final int mask;
+	private long hits;
+	private long misses;
+
+	/**
+	 * @param capacity
+	 *            maximal number of entries, rounded up to a power of two
+	 */
+	public FormatCache(int capacity) {
+		int size = 2;
+		while (size < capacity) {
+			size <<= 1;
+		}
+		slots = new Entry[size];
+		mask = size - 2;
+	}
+
+	/**
+	 * @param context
+	 *            context of formatting
+	 * @param x
+	 *            number
+	 * @return cached string or null
+	 */
+	public String get(Object context, double x) {
+		long bits = Double.doubleToLongBits(x);
+		int index = index(context, bits);
+		Entry first = slots[index];
+		if (first != null && first.matches(context, bits)) {
+			hits++;
+			return first.value;
+		}
+		Entry second = slots[index + 1];
+		if (second != null && second.matches(context, bits)) {
+			hits++;
+			return second.value;
+		}
+		misses++;
+		return null;
+	}
+
+	/**
+	 * @param context
+	 *            context of formatting
+	 * @param x
+	 *            number
+	 * @param value
+	 *            formatted number
+	 * @return value
+	 */
+	public String put(Object context, double x, String value) {
+		long bits = Double.doubleToLongBits(x);
+		int index = index(context, bits);
+		slots[index + 1] = slots[index];
+		slots[index] = new Entry(context, bits, value);
+		return value;
+	}
+
+	/**
+	 * @return index of the first of the two slots for the key
+	 */
+	private int index(Object context, long bits) {
+		int hash = (int) (bits ^ (bits >>> 32)) * 0x9E3779B9
+				+ context.hashCode();
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+
+	/**
+	 * Removes all entries, e.g. after the number format was changed.
+	 */
+	public void clear() {
+		for (int i = 0; i < slots.length; i++) {
+			slots[i] = null;
+		}
+	}
+
+	/**
+	 * @return maximal number of entries
+	 */
+	public int getCapacity() {
+		return slots.length;
+	}
+
+	/**
+	 * @return number of successful lookups
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return number of failed lookups
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return ratio of successful lookups, 0 if there were none
+	 */
+	public double getHitRate() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : hits / (double) lookups;
+	}
+
+	/**
+	 * Resets hit and miss counts.
+	 */
+	public void resetStatistics() {
+		hits = 0;
+		misses = 0;
+	}
+
+	private static final class Entry {
+		private final Object context;
+		private final long bits;
+		private final String value;
+
+		Entry(Object context, long bits, String value) {
+			this.context = context;
+			this.bits = bits;
+			this.value = value;
+		}
+
+		boolean matches(Object otherContext, long otherBits) {
+			return bits == otherBits && context == otherContext;
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package org.geogebra.common.util.clipper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.geogebra.common.kernel.UpdateExecutor;
+import org.geogebra.common.util.clipper.Clipper.ClipType;
+import org.geogebra.common.util.clipper.Clipper.PolyFillType;
+import org.geogebra.common.util.clipper.Clipper.PolyType;
+
+/**
+ * Union of many polygons given by packed coordinates. Groups of polygons are
+ * united by a single clipper each, the partial results are then merged
+ * pairwise. With an {@link UpdateExecutor}, the groups of each round are
+ * processed concurrently, every task with its own clipper.
+ *
+ * Polygons are oriented consistently before they are added, so overlapping
+ * polygons are united regardless of the order of their vertices.
+ */
+public final class BatchUnion {
+
+	/** number of polygons united by one clipper in the first round */
+	public static final int GROUP_SIZE = 16;
+
+	private BatchUnion() {
+		// utility class
+	}
+
+	/**
+	 * @param polygons
+	 *            closed polygons, coordinates x0, y0, x1, y1, ...
+	 * @param executor
+	 *            executor for concurrent merges, may be null
+	 * @return union of the polygons
+	 */
+	public static Paths union(List<double[]> polygons,
+			UpdateExecutor executor) {
+		int groups = (polygons.size() + GROUP_SIZE - 1) / GROUP_SIZE;
+		final Paths[] results = new Paths[groups];
+		List<Runnable> tasks = new ArrayList<>(groups);
+		for (int g = 0; g < groups; g++) {
+			final int group = g;
+			final List<double[]> part = polygons.subList(g * GROUP_SIZE,
+					Math.min(polygons.size(), (g + 1) * GROUP_SIZE));
+			tasks.add(new Runnable() {
+				@Override
+				public void run() {
+					results[group] = unionGroup(part);
+				}
+			});
+		}
+		run(tasks, executor);
+
+		Paths[] current = results;
+		while (current.length > 1) {
+			final Paths[] merged = new Paths[(current.length + 1) / 2];
+			final Paths[] previous = current;
+			tasks.clear();
+			for (int i = 0; i < merged.length; i++) {
+				final int index = i;
+				if (2 * i + 1 < previous.length) {
+					tasks.add(new Runnable() {
+						@Override
+						public void run() {
+							merged[index] = merge(previous[2 * index],
+									previous[2 * index + 1]);
+						}
+					});
+				} else {
+					merged[i] = previous[2 * i];
+				}
+			}
+			run(tasks, executor);
+			current = merged;
+		}
+		return current.length == 0 ? new Paths() : current[0];
+	}
+
+	private static void run(List<Runnable> tasks, UpdateExecutor executor) {
+		if (executor == null || tasks.size() < 2) {
+			for (Runnable task : tasks) {
+				task.run();
+			}
+		} else {
+			executor.runAll(tasks);
+		}
+	}
+
+	private static Paths unionGroup(List<double[]> polygons) {
+		DefaultClipper clipper = new DefaultClipper(Clipper.STRICTLY_SIMPLE);
+		for (double[] coords : polygons) {
+			int count = coords.length / 2;
+			clipper.addPath(isCounterClockwise(coords) ? coords
+					: reverse(coords), count, PolyType.SUBJECT, true);
+		}
+		Paths solution = new Paths();
+		clipper.execute(ClipType.UNION, solution, PolyFillType.NON_ZERO,
+				PolyFillType.NON_ZERO);
+		return solution;
+	}
+
+	/**
+	 * Clipper results have holes oriented opposite to outer polygons, so the
+	 * non-zero rule keeps them.
+	 */
+	private static Paths merge(Paths first, Paths second) {
+		DefaultClipper clipper = new DefaultClipper(Clipper.STRICTLY_SIMPLE);
+		clipper.addPaths(first, PolyType.SUBJECT, true);
+		clipper.addPaths(second, PolyType.CLIP, true);
+		Paths solution = new Paths();
+		clipper.execute(ClipType.UNION, solution, PolyFillType.NON_ZERO,
+				PolyFillType.NON_ZERO);
+		return solution;
+	}
+
+	private static boolean isCounterClockwise(double[] coords) {
+		int n = coords.length / 2;
+		double area = 0;
+		for (int i = 0, j = n - 1; i < n; j = i++) {
+			area += (coords[2 * j] + coords[2 * i])
+					* (coords[2 * j + 1] - coords[2 * i + 1]);
+		}
+		// same sign convention as Path.area()
+		return area <= 0;
+	}
+
+	private static double[] reverse(double[] coords) {
+		int n = coords.length / 2;
+		double[] ret = new double[coords.length];
+		for (int i = 0; i < n; i++) {
+			ret[2 * i] = coords[2 * (n - 1 - i)];
+			ret[2 * i + 1] = coords[2 * (n - 1 - i) + 1];
+		}
+		return ret;
+	}
+}
@@ -44,6 +44,22 @@ public interface Clipper {
 
 	boolean addPath(Path pg, PolyType polyType, boolean Closed);
 
+	/**
+	 * Adds a path given by packed coordinates, without creating points.
+	 *
+	 * @param coords
+	 *            coordinates x0, y0, x1, y1, ...
+	 * @param count
+	 *            number of vertices
+	 * @param polyType
+	 *            subject or clip
+	 * @param closed
+	 *            whether the path is closed
+	 * @return whether the path was added (false for degenerate paths)
+	 */
+	boolean addPath(double[] coords, int count, PolyType polyType,
+			boolean closed);
+
 	boolean addPaths(Paths ppg, PolyType polyType, boolean closed);
 
 	void clear();
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.geogebra.common.kernel.arithmetic.MyDouble;
+import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.clipper.Point.DoublePoint;
 
 public abstract class ClipperBase implements Clipper {
@@ -15,7 +16,10 @@ public abstract class ClipperBase implements Clipper {
 
 	protected LocalMinima currentLM;
 
-	private final List<List<Edge>> edges;
+	/** edges of the added paths; kept after {@link #clear()} for reuse */
+	private final List<Edge> edgePool;
+
+	private int usedEdges;
 
 	protected boolean hasOpenPaths;
 
@@ -42,11 +46,9 @@ public abstract class ClipperBase implements Clipper {
 	/**
 	 * modified to be compatible with double
 	 */
-	private static void initEdge(Edge e, Edge eNext, Edge ePrev,
-			DoublePoint pt) {
+	private static void initEdge(Edge e, Edge eNext, Edge ePrev) {
 		e.next = eNext;
 		e.prev = ePrev;
-		e.setCurrent(new DoublePoint(pt));
 		e.outIdx = Edge.UNASSIGNED;
 	}
 
@@ -55,11 +57,11 @@ public abstract class ClipperBase implements Clipper {
 	 */
 	private static void initEdge2(Edge e, PolyType polyType) {
 		if (e.getCurrent().getY() >= e.next.getCurrent().getY()) {
-			e.setBot(new DoublePoint(e.getCurrent()));
-			e.setTop(new DoublePoint(e.next.getCurrent()));
+			e.setBot(e.getCurrent());
+			e.setTop(e.next.getCurrent());
 		} else {
-			e.setTop(new DoublePoint(e.getCurrent()));
-			e.setBot(new DoublePoint(e.next.getCurrent()));
+			e.setTop(e.getCurrent());
+			e.setBot(e.next.getCurrent());
 		}
 		e.updateDeltaX();
 		e.polyTyp = polyType;
@@ -68,12 +70,12 @@ public abstract class ClipperBase implements Clipper {
 	/**
 	 * modified to be compatible with double
 	 */
-	private static void rangeTest(DoublePoint Pt) {
+	private static void rangeTest(double x, double y) {
 
-		if (Pt.getX() > LOW_RANGE || Pt.getY() > LOW_RANGE
-				|| -Pt.getX() > LOW_RANGE || -Pt.getY() > LOW_RANGE) {
-			if (Pt.getX() > HI_RANGE || Pt.getY() > HI_RANGE
-					|| -Pt.getX() > HI_RANGE || -Pt.getY() > HI_RANGE) {
+		if (x > LOW_RANGE || y > LOW_RANGE || -x > LOW_RANGE
+				|| -y > LOW_RANGE) {
+			if (x > HI_RANGE || y > HI_RANGE || -x > HI_RANGE
+					|| -y > HI_RANGE) {
 				throw new IllegalStateException(
 						"Coordinate outside allowed range");
 			}
@@ -97,16 +99,28 @@ public abstract class ClipperBase implements Clipper {
 		minimaList = null;
 		currentLM = null;
 		hasOpenPaths = false;
-		edges = new ArrayList<>();
+		edgePool = new ArrayList<>();
+	}
+
+	/**
+	 * @return edge from the pool, reset
+	 */
+	private Edge obtainEdge() {
+		Edge e;
+		if (usedEdges < edgePool.size()) {
+			e = edgePool.get(usedEdges);
+			e.reset();
+		} else {
+			e = new Edge();
+			edgePool.add(e);
+		}
+		usedEdges++;
+		return e;
 	}
 
 	@Override
 	public boolean addPath(Path pg, PolyType polyType, boolean Closed) {
-
-		if (!Closed && polyType == PolyType.CLIP) {
-			throw new IllegalStateException(
-					"AddPath: Open paths must be subject.");
-		}
+		checkOpenPath(polyType, Closed);
 
 		int highI = pg.size() - 1;
 		if (Closed) {
@@ -121,29 +135,83 @@ public abstract class ClipperBase implements Clipper {
 			return false;
 		}
 
-		// create a new edge array ...
-		final List<Edge> edges1 = new ArrayList<>(highI + 1);
+		int first = usedEdges;
+		for (int i = 0; i <= highI; i++) {
+			DoublePoint pt = pg.get(i);
+			rangeTest(pt.getX(), pt.getY());
+			obtainEdge().setCurrent(pt);
+		}
+		return addEdges(first, highI, polyType, Closed);
+	}
+
+	@Override
+	public boolean addPath(double[] coords, int count, PolyType polyType,
+			boolean closed) {
+		checkOpenPath(polyType, closed);
+
+		int highI = count - 1;
+		if (closed) {
+			while (highI > 0 && isSamePoint(coords, highI, 0)) {
+				--highI;
+			}
+		}
+		while (highI > 0 && isSamePoint(coords, highI, highI - 1)) {
+			--highI;
+		}
+		if (closed && highI < 2 || !closed && highI < 1) {
+			return false;
+		}
+
+		int first = usedEdges;
 		for (int i = 0; i <= highI; i++) {
-			edges1.add(new Edge());
+			double x = coords[2 * i];
+			double y = coords[2 * i + 1];
+			rangeTest(x, y);
+			obtainEdge().getCurrent().set(x, y);
 		}
+		return addEdges(first, highI, polyType, closed);
+	}
 
+	private static void checkOpenPath(PolyType polyType, boolean closed) {
+		if (!closed && polyType == PolyType.CLIP) {
+			throw new IllegalStateException(
+					"AddPath: Open paths must be subject.");
+		}
+	}
+
+	/**
+	 * Same check as {@link Point#equals(Object)} for packed coordinates.
+	 */
+	private static boolean isSamePoint(double[] coords, int i, int j) {
+		return DoubleUtil.isEqual(coords[2 * i], coords[2 * j])
+				&& DoubleUtil.isEqual(coords[2 * i + 1], coords[2 * j + 1]);
+	}
+
+	/**
+	 * Links the edges of a path and adds their bounds to the local minima.
+	 *
+	 * @param first
+	 *            pool index of the edge of the first vertex
+	 * @param highI
+	 *            index of the last vertex
+	 * @param polyType
+	 *            subject or clip
+	 * @param Closed
+	 *            whether the path is closed
+	 * @return whether the path was added
+	 */
+	private boolean addEdges(int first, int highI, PolyType polyType,
+			boolean Closed) {
 		boolean IsFlat = true;
 
 		// 1. Basic (first) edge initialization ...
 
-		// edges.get( 1 ).setCurrent( new LongPoint( pg.get( 1 ) ) );
-		edges1.get(1).setCurrent(new DoublePoint(pg.get(1)));
-		rangeTest(pg.get(0));
-		rangeTest(pg.get(highI));
-		initEdge(edges1.get(0), edges1.get(1), edges1.get(highI), pg.get(0));
-		initEdge(edges1.get(highI), edges1.get(0), edges1.get(highI - 1),
-				pg.get(highI));
-		for (int i = highI - 1; i >= 1; --i) {
-			rangeTest(pg.get(i));
-			initEdge(edges1.get(i), edges1.get(i + 1), edges1.get(i - 1),
-					pg.get(i));
+		for (int i = 0; i <= highI; i++) {
+			initEdge(edgePool.get(first + i),
+					edgePool.get(first + (i == highI ? 0 : i + 1)),
+					edgePool.get(first + (i == 0 ? highI : i - 1)));
 		}
-		Edge eStart = edges1.get(0);
+		Edge eStart = edgePool.get(first);
 
 		// 2. Remove duplicate vertices, and (when closed) collinear edges ...
 
@@ -239,11 +307,9 @@ public abstract class ClipperBase implements Clipper {
 				e = e.next;
 			}
 			insertLocalMinima(locMin);
-			this.edges.add(edges1);
 			return true;
 		}
 
-		this.edges.add(edges1);
 		boolean leftBoundIsForward;
 		Edge EMin = null;
 
@@ -326,7 +392,7 @@ public abstract class ClipperBase implements Clipper {
 	@Override
 	public void clear() {
 		disposeLocalMinimaList();
-		edges.clear();
+		usedEdges = 0;
 		hasOpenPaths = false;
 	}
 
@@ -536,15 +602,13 @@ public abstract class ClipperBase implements Clipper {
 		while (lm != null) {
 			Edge e = lm.leftBound;
 			if (e != null) {
-				// e.setCurrent( new LongPoint( e.getBot() ) );
-				e.setCurrent(new DoublePoint(e.getBot()));
+				e.setCurrent(e.getBot());
 				e.side = Edge.Side.LEFT;
 				e.outIdx = Edge.UNASSIGNED;
 			}
 			e = lm.rightBound;
 			if (e != null) {
-				// e.setCurrent( new LongPoint( e.getBot() ) );
-				e.setCurrent(new DoublePoint(e.getBot()));
+				e.setCurrent(e.getBot());
 				e.side = Edge.Side.RIGHT;
 				e.outIdx = Edge.UNASSIGNED;
 			}
@@ -99,6 +99,30 @@ class Edge {
 		current = new DoublePoint();
 	}
 
+	/**
+	 * Resets all fields, so that the edge can be reused for another path.
+	 */
+	void reset() {
+		delta.set(0, 0);
+		top.set(0, 0);
+		bot.set(0, 0);
+		current.set(0, 0);
+		deltaX = 0;
+		polyTyp = null;
+		side = null;
+		windDelta = 0;
+		windCnt = 0;
+		windCnt2 = 0;
+		outIdx = 0;
+		next = null;
+		prev = null;
+		nextInLML = null;
+		nextInAEL = null;
+		prevInAEL = null;
+		nextInSEL = null;
+		prevInSEL = null;
+	}
+
 	public Edge findNextLocMin() {
 		Edge e = this;
 		Edge e2;
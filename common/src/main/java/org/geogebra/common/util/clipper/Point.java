@@ -1,19 +1,18 @@
 package org.geogebra.common.util.clipper;
 
-import java.util.Comparator;
-
 import org.geogebra.common.util.DoubleUtil;
 
-public abstract class Point<T extends Number & Comparable<T>> {
-	private final static NumberComparator NUMBER_COMPARATOR = new NumberComparator();
-
-	protected T x;
+/**
+ * Point with primitive coordinates (no boxing per coordinate).
+ */
+public abstract class Point {
+	protected double x;
 
-	protected T y;
+	protected double y;
 
-	protected T z;
+	protected double z;
 
-	public static class DoublePoint extends Point<Double> {
+	public static class DoublePoint extends Point {
 		public static double getDeltaX(DoublePoint pt1, DoublePoint pt2) {
 			if (pt1.getY() == pt2.getY()) {
 				return Edge.HORIZONTAL;
@@ -50,24 +49,13 @@ public abstract class Point<T extends Number & Comparable<T>> {
 		}
 	}
 
-	private static class NumberComparator<T extends Number & Comparable<T>>
-			implements Comparator<T> {
-
-		@Override
-		public int compare(T a, T b) throws ClassCastException {
-			return a.compareTo(b);
-		}
-	}
-
-	static boolean arePointsClose(Point<? extends Number> pt1,
-			Point<? extends Number> pt2, double distSqrd) {
-		final double dx = pt1.x.doubleValue() - pt2.x.doubleValue();
-		final double dy = pt1.y.doubleValue() - pt2.y.doubleValue();
+	static boolean arePointsClose(Point pt1, Point pt2, double distSqrd) {
+		final double dx = pt1.x - pt2.x;
+		final double dy = pt1.y - pt2.y;
 		return dx * dx + dy * dy <= distSqrd;
 	}
 
-	static double distanceFromLineSqrd(Point<? extends Number> pt,
-			Point<? extends Number> ln1, Point<? extends Number> ln2) {
+	static double distanceFromLineSqrd(Point pt, Point ln1, Point ln2) {
 		// The equation of a line in general form (a x + b y + c = 0)
 		// given 2 points (x1,y1) & (x2,y2) is ...
 		// (y1 - y2)x + (x2 - x1)y + (y2 - y1)x1 - (x2 - x1)y1 = 0
@@ -75,10 +63,10 @@ public abstract class Point<T extends Number & Comparable<T>> {
 		// perpendicular distance of point (x0,y0) is
 		// (a x0 + b y0 + c) / sqrt(a^2 + b^2)
 		// see https://en.wikipedia.org/wiki/Distance_from_a_point_to_a_line
-		final double A = ln1.y.doubleValue() - ln2.y.doubleValue();
-		final double B = ln2.x.doubleValue() - ln1.x.doubleValue();
-		double C = A * ln1.x.doubleValue() + B * ln1.y.doubleValue();
-		C = A * pt.x.doubleValue() + B * pt.y.doubleValue() - C;
+		final double A = ln1.y - ln2.y;
+		final double B = ln2.x - ln1.x;
+		double C = A * ln1.x + B * ln1.y;
+		C = A * pt.x + B * pt.y - C;
 		return C * C / (A * A + B * B);
 	}
 
@@ -158,11 +146,11 @@ public abstract class Point<T extends Number & Comparable<T>> {
 		}
 	}
 
-	protected Point(Point<T> pt) {
+	protected Point(Point pt) {
 		this(pt.x, pt.y, pt.z);
 	}
 
-	protected Point(T x, T y, T z) {
+	protected Point(double x, double y, double z) {
 		this.x = x;
 		this.y = y;
 		this.z = z;
@@ -173,39 +161,50 @@ public abstract class Point<T extends Number & Comparable<T>> {
 		if (obj == null) {
 			return false;
 		}
-		if (obj instanceof DoublePoint) {
-			final DoublePoint a = (DoublePoint) obj;
-			return DoubleUtil.isEqual((Double)x, a.getX())
-					&& DoubleUtil.isEqual((Double)y, a.getY());
-		}
-		if (obj instanceof Point<?>) {
-			final Point<?> a = (Point<?>) obj;
-			return NUMBER_COMPARATOR.compare(x, a.x) == 0
-					&& NUMBER_COMPARATOR.compare(y, a.y) == 0;
+		if (obj instanceof Point) {
+			final Point a = (Point) obj;
+			return DoubleUtil.isEqual(x, a.x) && DoubleUtil.isEqual(y, a.y);
 		}
 		return false;
 	}
 
 	@Override
 	public int hashCode() {
-		return x.hashCode() + y.hashCode() * 37 + z.hashCode() * 41;
+		return hash(x) + hash(y) * 37 + hash(z) * 41;
 	}
 
-	public void set(Point<T> other) {
+	private static int hash(double value) {
+		long bits = Double.doubleToLongBits(value);
+		return (int) (bits ^ (bits >>> 32));
+	}
+
+	public void set(Point other) {
 		x = other.x;
 		y = other.y;
 		z = other.z;
 	}
 
-	public void setX(T x) {
+	/**
+	 * @param x
+	 *            x-coordinate
+	 * @param y
+	 *            y-coordinate
+	 */
+	public void set(double x, double y) {
+		this.x = x;
+		this.y = y;
+		this.z = 0;
+	}
+
+	public void setX(double x) {
 		this.x = x;
 	}
 
-	public void setY(T y) {
+	public void setY(double y) {
 		this.y = y;
 	}
 
-	public void setZ(T z) {
+	public void setZ(double z) {
 		this.z = z;
 	}
 
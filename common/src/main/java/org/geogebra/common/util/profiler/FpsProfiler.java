@@ -1,6 +1,7 @@
 package org.geogebra.common.util.profiler;
 
 import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.profiler.Profiler.Category;
 
 public abstract class FpsProfiler {
 
@@ -17,6 +18,9 @@ public abstract class FpsProfiler {
 	private int maxFps = -1;
 	private boolean isEnabled;
 
+	private Profiler profiler;
+	private long lastRepaint = -1;
+
 	/**
 	 * Enables or disables the FpsProfiler.
 	 * @param enabled Whether the fps measuring should be enabled or disabled.
@@ -25,6 +29,15 @@ public abstract class FpsProfiler {
 		isEnabled = enabled;
 	}
 
+	/**
+	 * @param profiler
+	 *            profiler that receives the time between consecutive repaints
+	 *            (up to one second) while it is enabled
+	 */
+	public void setProfiler(Profiler profiler) {
+		this.profiler = profiler;
+	}
+
 	/**
 	 * Starts the measuring after NOT_MEASURED_TIME_AT_BEGINNING milliseconds.
 	 */
@@ -86,6 +99,9 @@ public abstract class FpsProfiler {
 	 * Counts the frames painted. Should be called on every repaint.
 	 */
 	public void notifyRepaint() {
+		if (profiler != null && profiler.isEnabled()) {
+			recordFrame(now());
+		}
 		if (!isEnabled) {
 			return;
 		}
@@ -96,6 +112,14 @@ public abstract class FpsProfiler {
 		}
 	}
 
+	private void recordFrame(long now) {
+		if (lastRepaint >= 0 && now - lastRepaint < SECOND) {
+			profiler.record(Category.FRAME, "frame",
+					(now - lastRepaint) * 1000000L);
+		}
+		lastRepaint = now;
+	}
+
 	private void measureFpsForSecond(long now) {
 		frameCountForSecond++;
 		if (startTimeForSecond <= now - SECOND) {
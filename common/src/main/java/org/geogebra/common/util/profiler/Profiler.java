@@ -0,0 +1,194 @@
+package org.geogebra.common.util.profiler;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.geogebra.common.factories.UtilFactory;
+import org.geogebra.common.move.ggtapi.models.json.JSONException;
+import org.geogebra.common.move.ggtapi.models.json.JSONObject;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Collects timings of kernel updates, commands, CAS calls and view repaints,
+ * grouped by category and key (e.g. algo class or command name).
+ *
+ * Usage:
+ *
+ * <pre>
+ * long start = profiler.start();
+ * doWork();
+ * profiler.stop(Category.ALGO, getClass(), start);
+ * </pre>
+ *
+ * When disabled, {@link #start()} returns {@link #OFF} without reading the
+ * clock and {@link #stop(Category, Object, long)} returns immediately.
+ */
+public class Profiler {
+
+	/** start time returned when profiling is disabled */
+	public static final long OFF = Long.MIN_VALUE;
+
+	/**
+	 * Kinds of measured operations
+	 */
+	public enum Category {
+		/** compute() of an algorithm, keyed by algo class */
+		ALGO,
+		/** processing of a command, keyed by command name */
+		COMMAND,
+		/** CAS evaluation, keyed by command name */
+		CAS,
+		/** update cascade started by a single element */
+		CASCADE,
+		/** dispatching of a script event */
+		EVENT,
+		/** synchronous update of a drawable, keyed by drawable class */
+		DRAWABLE,
+		/** repaint of a view, keyed by view name */
+		VIEW,
+		/** algebra view update */
+		ALGEBRA,
+		/** handling of a drag event */
+		DRAG,
+		/** time between two painted frames */
+		FRAME,
+		/** phases of loading a file, keyed by phase name */
+		LOAD,
+		/** phases of committing a script batch, keyed by phase name */
+		BATCH
+	}
+
+	private volatile boolean enabled;
+	private final EnumMap<Category, HashMap<Object, TimingStatistics>> data =
+			new EnumMap<>(Category.class);
+
+	/**
+	 * @param enabled
+	 *            whether to collect timings
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * @return whether timings are collected
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @return current time in nanoseconds or {@link #OFF} if disabled
+	 */
+	public long start() {
+		return enabled ? now() : OFF;
+	}
+
+	/**
+	 * Records the time elapsed since start; does nothing if the profiler was
+	 * disabled when the measurement started.
+	 *
+	 * @param category
+	 *            category
+	 * @param key
+	 *            class or name of the measured operation
+	 * @param start
+	 *            result of {@link #start()}
+	 */
+	public void stop(Category category, Object key, long start) {
+		if (start != OFF) {
+			record(category, key, now() - start);
+		}
+	}
+
+	/**
+	 * @param category
+	 *            category
+	 * @param key
+	 *            class or name of the measured operation
+	 * @param nanos
+	 *            duration in nanoseconds
+	 */
+	public synchronized void record(Category category, Object key,
+			long nanos) {
+		if (!enabled) {
+			return;
+		}
+		HashMap<Object, TimingStatistics> byKey = data.get(category);
+		if (byKey == null) {
+			byKey = new HashMap<>();
+			data.put(category, byKey);
+		}
+		TimingStatistics stats = byKey.get(key);
+		if (stats == null) {
+			stats = new TimingStatistics();
+			byKey.put(key, stats);
+		}
+		stats.add(nanos);
+	}
+
+	/**
+	 * @param category
+	 *            category
+	 * @param key
+	 *            class or name of the measured operation
+	 * @return statistics or null if nothing was recorded
+	 */
+	public synchronized TimingStatistics getStatistics(Category category,
+			Object key) {
+		HashMap<Object, TimingStatistics> byKey = data.get(category);
+		return byKey == null ? null : byKey.get(key);
+	}
+
+	/**
+	 * Removes all recorded timings.
+	 */
+	public synchronized void reset() {
+		data.clear();
+	}
+
+	/**
+	 * @return all recorded timings; categories in lower case, keys sorted by
+	 *         name
+	 */
+	public synchronized JSONObject toJson() {
+		JSONObject json = new JSONObject();
+		try {
+			json.put("enabled", enabled);
+			for (Map.Entry<Category, HashMap<Object, TimingStatistics>> entry
+					: data.entrySet()) {
+				TreeMap<String, TimingStatistics> sorted = new TreeMap<>();
+				for (Map.Entry<Object, TimingStatistics> stats : entry
+						.getValue().entrySet()) {
+					sorted.put(getName(stats.getKey()), stats.getValue());
+				}
+				JSONObject category = new JSONObject();
+				for (Map.Entry<String, TimingStatistics> stats : sorted
+						.entrySet()) {
+					category.put(stats.getKey(), stats.getValue().toJson());
+				}
+				json.put(entry.getKey().name().toLowerCase(), category);
+			}
+		} catch (JSONException e) {
+			Log.error("Cannot serialize profiling data: " + e.getMessage());
+		}
+		return json;
+	}
+
+	private static String getName(Object key) {
+		if (key instanceof Class) {
+			return ((Class<?>) key).getSimpleName();
+		}
+		return String.valueOf(key);
+	}
+
+	private static long now() {
+		UtilFactory factory = UtilFactory.getPrototype();
+		if (factory == null) {
+			return System.currentTimeMillis() * 1000000L;
+		}
+		return factory.getNanoTime();
+	}
+}
@@ -0,0 +1,89 @@
+package org.geogebra.common.util.profiler;
+
+import org.geogebra.common.move.ggtapi.models.json.JSONArray;
+import org.geogebra.common.move.ggtapi.models.json.JSONException;
+import org.geogebra.common.move.ggtapi.models.json.JSONObject;
+
+/**
+ * Count, total, extremes and a log2 histogram of measured durations.
+ */
+public class TimingStatistics {
+
+	/** bucket i counts durations below 2^(i+1) microseconds */
+	private static final int BUCKETS = 24;
+	private static final double NANOS_PER_MILLI = 1E6;
+
+	private long count;
+	private long total;
+	private long min = Long.MAX_VALUE;
+	private long max;
+	private final long[] histogram = new long[BUCKETS];
+
+	/**
+	 * @param nanos
+	 *            duration in nanoseconds
+	 */
+	public void add(long nanos) {
+		long duration = Math.max(nanos, 0);
+		count++;
+		total += duration;
+		min = Math.min(min, duration);
+		max = Math.max(max, duration);
+		histogram[bucket(duration)]++;
+	}
+
+	private static int bucket(long nanos) {
+		long micros = nanos / 1000;
+		int bucket = 0;
+		while (micros > 1 && bucket < BUCKETS - 1) {
+			micros >>= 1;
+			bucket++;
+		}
+		return bucket;
+	}
+
+	/**
+	 * @return number of measurements
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return sum of all durations in nanoseconds
+	 */
+	public long getTotal() {
+		return total;
+	}
+
+	/**
+	 * @return longest duration in nanoseconds
+	 */
+	public long getMax() {
+		return max;
+	}
+
+	/**
+	 * @return statistics as JSON, times in milliseconds
+	 * @throws JSONException
+	 *             if a value cannot be serialized
+	 */
+	public JSONObject toJson() throws JSONException {
+		JSONObject json = new JSONObject();
+		json.put("count", count);
+		json.put("totalMs", total / NANOS_PER_MILLI);
+		json.put("meanMs", count == 0 ? 0 : total / NANOS_PER_MILLI / count);
+		json.put("minMs", count == 0 ? 0 : min / NANOS_PER_MILLI);
+		json.put("maxMs", max / NANOS_PER_MILLI);
+		int last = BUCKETS - 1;
+		while (last > 0 && histogram[last] == 0) {
+			last--;
+		}
+		JSONArray buckets = new JSONArray();
+		for (int i = 0; i <= last; i++) {
+			buckets.put(histogram[i]);
+		}
+		json.put("log2MicrosHistogram", buckets);
+		return json;
+	}
+}
@@ -35,6 +35,8 @@ import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.util.StringUtil;
 import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.profiler.Profiler;
+import org.geogebra.common.util.profiler.Profiler.Category;
 import org.geogebra.desktop.gui.MyImageD;
 import org.geogebra.desktop.util.UtilD;
 
@@ -69,6 +71,9 @@ public class MyXMLioD extends MyXMLioJre {
 		boolean macroXMLfound = false;
 		boolean javaScriptFound = false;
 		boolean structureFound = false;
+		boolean macrosProcessed = false;
+		Profiler profiler = kernel.getProfiler();
+		long start = profiler.start();
 
 		// get all entries from the zip archive
 		while (true) {
@@ -86,10 +91,20 @@ public class MyXMLioD extends MyXMLioJre {
 			if (name.equals("structure.json")) {
 				structureFound = true;
 			} else if (name.equals(XML_FILE)) {
-				// load xml file into memory first
-				xmlFileBuffer = UtilD.loadIntoMemory(zip);
 				xmlFound = true;
 				handler = getGGBHandler();
+				if (isStreamingLoad() && !isGGTfile && macroXMLfound) {
+					// images and macros were read already; if macros are
+					// stored later, buffer so that macro commands resolve
+					startLoading(macroXmlFileBuffer, isGGTfile);
+					macrosProcessed = true;
+					app.getCompanion().resetEuclidianViewForPlaneIds();
+					processXMLEntry(zip, !macroXMLfound);
+					kernel.getConstruction().setFileLoading(false);
+				} else {
+					// load xml file into memory first
+					xmlFileBuffer = UtilD.loadIntoMemory(zip);
+				}
 			} else if (name.equals(XML_FILE_DEFAULTS_2D)) {
 				// load defaults xml file into memory first
 				defaults2dXmlFileBuffer = UtilD.loadIntoMemory(zip);
@@ -139,24 +154,13 @@ public class MyXMLioD extends MyXMLioJre {
 		}
 		zip.close();
 
-		if (!isGGTfile) {
-			// ggb file: remove all macros from kernel before processing
-			kernel.removeAllMacros();
-		}
-
-		// process macros
-		if (macroXmlFileBuffer != null) {
-			// don't clear kernel for macro files
-			kernel.getConstruction().setFileLoading(true);
-			processXMLBuffer(macroXmlFileBuffer, !isGGTfile, isGGTfile);
-			kernel.getConstruction().setFileLoading(false);
-		}
-
-		// process construction
-		if (!isGGTfile && xmlFileBuffer != null) {
-			kernel.getConstruction().setFileLoading(true);
-			app.getCompanion().resetEuclidianViewForPlaneIds();
-			processXMLBuffer(xmlFileBuffer, !macroXMLfound, isGGTfile);
+		if (!macrosProcessed) {
+			startLoading(macroXmlFileBuffer, isGGTfile);
+			// process construction
+			if (!isGGTfile && xmlFileBuffer != null) {
+				app.getCompanion().resetEuclidianViewForPlaneIds();
+				processXMLBuffer(xmlFileBuffer, !macroXMLfound, isGGTfile);
+			}
 			kernel.getConstruction().setFileLoading(false);
 		}
 
@@ -178,6 +182,7 @@ public class MyXMLioD extends MyXMLioJre {
 		if (!(macroXMLfound || xmlFound || structureFound)) {
 			throw new Exception("No XML data found in file.");
 		}
+		profiler.stop(Category.LOAD, "readZip", start);
 	}
 
 	@Override
@@ -0,0 +1,125 @@
+package org.geogebra.common.cas;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.factories.CASFactory;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.jre.kernel.ForkJoinUpdateExecutor;
+import org.geogebra.common.kernel.AsynchronousCommand;
+import org.geogebra.common.kernel.CASGenericInterface;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.geogebra.desktop.cas.giac.CASgiacD;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CasWorkQueueTest {
+
+	private AppCommon app;
+	private int giacCalls;
+
+	/**
+	 * Init app with a CAS counting Giac calls
+	 */
+	@Before
+	public void init() {
+		app = AppCommonFactory.create();
+		app.setCASFactory(new CASFactory() {
+			@Override
+			public CASGenericInterface newGiac(CASparser parser,
+					Kernel kernel) {
+				return new CASgiacD(parser) {
+					@Override
+					public String evaluateCAS(String exp) {
+						giacCalls++;
+						return super.evaluateCAS(exp);
+					}
+				};
+			}
+		});
+	}
+
+	@Test
+	public void identicalRequestsShouldBeEvaluatedOnce() {
+		CasWorkQueue queue = app.getKernel().getCasWorkQueue();
+		ArrayList<String> results = new ArrayList<>();
+		queue.submit(new Request("Expand((x+1)^2)", results));
+		queue.submit(new Request("Expand( (x+1)^2 )", results));
+		queue.submit(new Request("Factor(x^2-1)", results));
+		assertEquals(0, results.size());
+		queue.flush();
+		assertEquals(3, results.size());
+		assertNotEquals("?", results.get(0));
+		assertEquals(results.get(0), results.get(1));
+		assertNotEquals("?", results.get(2));
+		assertEquals(2, queue.getEvaluationCount());
+		assertEquals(2, giacCalls);
+		assertEquals(3, queue.getLatencyStatistics().getCount());
+	}
+
+	@Test
+	public void workersShouldBeReleasedWithExecutor() {
+		ForkJoinUpdateExecutor executor = new ForkJoinUpdateExecutor(2);
+		app.getKernel().setUpdateExecutor(executor);
+		CasWorkQueue queue = app.getKernel().getCasWorkQueue();
+		ArrayList<String> results = new ArrayList<>();
+		queue.submit(new Request("Expand((x+1)^2)", results));
+		queue.submit(new Request("Factor(x^2-1)", results));
+		queue.flush();
+		assertEquals(2, results.size());
+		assertEquals(2, queue.getWorkerCount());
+		app.getKernel().setUpdateExecutor(null);
+		executor.shutdown();
+		assertEquals(0, queue.getWorkerCount());
+	}
+
+	@Test
+	public void limitShouldBeComputedAfterLoading() {
+		app.getKernel().getConstruction().setFileLoading(true);
+		GeoElementND limit = app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand("Limit(x^2, 3)", false)[0];
+		assertEquals("?", limit.toValueString(StringTemplate.testTemplate));
+		app.getKernel().getConstruction().setFileLoading(false);
+		assertEquals("9", limit.toValueString(StringTemplate.testTemplate));
+	}
+
+	private class Request implements AsynchronousCommand {
+		private final String input;
+		private final ArrayList<String> results;
+
+		Request(String input, ArrayList<String> results) {
+			this.input = input;
+			this.results = results;
+		}
+
+		@Override
+		public void handleCASoutput(String output, int requestID) {
+			results.add(output);
+		}
+
+		@Override
+		public void handleException(Throwable exception, int requestID) {
+			results.add("?");
+		}
+
+		@Override
+		public boolean useCacheing() {
+			return false;
+		}
+
+		@Override
+		public String getCasInput() {
+			return input;
+		}
+
+		@Override
+		public Kernel getKernel() {
+			return app.getKernel();
+		}
+	}
+}
@@ -28,8 +28,9 @@ import org.geogebra.common.main.settings.AbstractSettings;
 import org.geogebra.common.main.settings.AlgebraSettings;
 import org.geogebra.common.main.settings.SettingListener;
 import org.geogebra.common.plugin.EventType;
-import org.geogebra.common.util.debug.GeoGebraProfiler;
 import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.profiler.Profiler;
+import org.geogebra.common.util.profiler.Profiler.Category;
 import org.geogebra.web.full.gui.GuiManagerW;
 import org.geogebra.web.full.gui.inputbar.WarningErrorHandler;
 import org.geogebra.web.full.gui.layout.DockSplitPaneW;
@@ -409,7 +410,8 @@ public class AlgebraViewW extends Tree implements LayerView, AlgebraView,
 	 */
 	@Override
 	public void update(GeoElement geo) {
-		long start = System.currentTimeMillis();
+		Profiler profiler = kernel.getProfiler();
+		long start = profiler.start();
 		TreeItem node = nodeTable.get(geo);
 
 		if (node != null) {
@@ -420,7 +422,7 @@ public class AlgebraViewW extends Tree implements LayerView, AlgebraView,
 				updateItemFor(geo);
 			}
 		}
-		GeoGebraProfiler.addAlgebra(System.currentTimeMillis() - start);
+		profiler.stop(Category.ALGEBRA, "update", start);
 	}
 
 	private void repaint(RadioTreeItem item) {
@@ -25,6 +25,7 @@ import org.geogebra.common.gui.inputfield.HasLastItem;
 import org.geogebra.common.gui.layout.DockPanel;
 import org.geogebra.common.gui.toolbar.ToolBar;
 import org.geogebra.common.gui.view.probcalculator.ProbabilityCalculatorView;
+import org.geogebra.common.gui.view.spreadsheet.ColumnarData;
 import org.geogebra.common.gui.view.spreadsheet.CopyPasteCut;
 import org.geogebra.common.gui.view.spreadsheet.DataImport;
 import org.geogebra.common.io.layout.DockPanelData;
@@ -524,7 +525,9 @@ public class AppWFull extends AppW implements HasKeyboard, MenuViewListener {
 
 	@Override
 	public final void openCSV(String csv) {
-		String[][] data = DataImport.parseExternalData(this, csv, true);
+		ColumnarData columnarData = DataImport.parseColumnarData(csv);
+		String[][] data = columnarData == null ? new String[0][0]
+				: columnarData.toStringArray();
 		CopyPasteCut cpc = getGuiManager().getSpreadsheetView()
 				.getSpreadsheetTable().getCopyPasteCut();
 		cpc.pasteExternal(data, 0, 0, data.length > 0 ? data[0].length - 1 : 0,
@@ -19,7 +19,6 @@ import org.geogebra.common.kernel.geos.GeoText;
 import org.geogebra.common.main.App.ExportType;
 import org.geogebra.common.main.settings.EuclidianSettings;
 import org.geogebra.common.util.DoubleUtil;
-import org.geogebra.common.util.debug.GeoGebraProfiler;
 import org.geogebra.common.util.debug.Log;
 import org.geogebra.web.geogebra3D.web.euclidian3D.openGL.RendererWInterface;
 import org.geogebra.web.geogebra3D.web.euclidian3D.openGL.RendererWithImplW;
@@ -445,6 +444,7 @@ public class EuclidianView3DW extends EuclidianView3D implements
 			return;
 		}
 		long time = System.currentTimeMillis();
+		long start = kernel.getProfiler().start();
 		// ((DrawEquationWeb) this.app.getDrawEquation()).clearLaTeXes(this);
 		this.updateBackgroundIfNecessary();
 
@@ -454,7 +454,7 @@ public class EuclidianView3DW extends EuclidianView3D implements
 		}
 
 		lastRepaint = System.currentTimeMillis() - time;
-		GeoGebraProfiler.addRepaint(lastRepaint);
+		stopRepaintProfiling(start);
 
 		if (objectsWaitingForNewRepaint > 0) {
 			kernel.notifyControllersMoveIfWaiting();
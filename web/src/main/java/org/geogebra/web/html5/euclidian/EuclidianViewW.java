@@ -32,7 +32,6 @@ import org.geogebra.common.main.App.ExportType;
 import org.geogebra.common.main.settings.EuclidianSettings;
 import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.StringUtil;
-import org.geogebra.common.util.debug.GeoGebraProfiler;
 import org.geogebra.common.util.debug.Log;
 import org.geogebra.ggbjdk.java.awt.DefaultBasicStroke;
 import org.geogebra.ggbjdk.java.awt.geom.Dimension;
@@ -292,7 +291,6 @@ public class EuclidianViewW extends EuclidianView implements
 		// if we have pen tool in action
 		// repaint the preview line
 		lastRepaint = System.currentTimeMillis() - time;
-		GeoGebraProfiler.addRepaint(lastRepaint);
 		app.getFpsProfiler().notifyRepaint();
 	}
 
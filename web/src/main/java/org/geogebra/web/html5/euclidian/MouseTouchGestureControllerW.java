@@ -9,10 +9,10 @@ import org.geogebra.common.euclidian.event.AbstractEvent;
 import org.geogebra.common.euclidian.event.PointerEventType;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
-import org.geogebra.common.util.debug.GeoGebraProfiler;
 import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.profiler.Profiler;
+import org.geogebra.common.util.profiler.Profiler.Category;
 import org.geogebra.web.html5.Browser;
-import org.geogebra.web.html5.euclidian.profiler.FpsProfilerW;
 import org.geogebra.web.html5.euclidian.profiler.drawer.DrawingEmulator;
 import org.geogebra.web.html5.euclidian.profiler.drawer.DrawingRecorder;
 import org.geogebra.web.html5.event.HasOffsets;
@@ -611,10 +611,10 @@ public class MouseTouchGestureControllerW extends MouseTouchGestureController
 	}
 
 	private void wrapMouseDraggedWithProfiling(PointerEvent event, boolean startCapture) {
-		double dragStart = FpsProfilerW.getMillisecondTimeNative();
+		Profiler profiler = app.getKernel().getProfiler();
+		long start = profiler.start();
 		ec.wrapMouseDragged(event, startCapture);
-		GeoGebraProfiler.addDrag(
-				(long) (FpsProfilerW.getMillisecondTimeNative() - dragStart));
+		profiler.stop(Category.DRAG, "drag", start);
 	}
 
 	/**
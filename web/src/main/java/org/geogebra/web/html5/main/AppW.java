@@ -3550,6 +3550,7 @@ public abstract class AppW extends App implements SetLabels, HasLanguage {
 	public FpsProfiler getFpsProfiler() {
 		if (fpsProfiler == null) {
 			fpsProfiler = new FpsProfilerW();
+			fpsProfiler.setProfiler(getKernel().getProfiler());
 		}
 		return fpsProfiler;
 	}
@@ -114,6 +114,18 @@ public class DefaultExportedApi implements ExportedApi {
 		return ggbAPI.evalCommandGetLabelsNoException(cmdString + "");
 	}
 
+	public void beginBatch() {
+		ggbAPI.beginBatch();
+	}
+
+	public boolean commitBatch() {
+		return ggbAPI.commitBatch();
+	}
+
+	public void abortBatch() {
+		ggbAPI.abortBatch();
+	}
+
 	public Promise<String> asyncEvalCommand(String cmdString) {
 		return new Promise<>((resolve, reject) -> {
 			ggbAPI.asyncEvalCommand(cmdString + "", resolve, reject);
@@ -854,6 +866,22 @@ public class DefaultExportedApi implements ExportedApi {
 		ggbAPI.disableFpsMeasurement();
 	}
 
+	public void enableProfiling() {
+		ggbAPI.enableProfiling();
+	}
+
+	public void disableProfiling() {
+		ggbAPI.disableProfiling();
+	}
+
+	public String getProfilingData() {
+		return ggbAPI.getProfilingData();
+	}
+
+	public void resetProfilingData() {
+		ggbAPI.resetProfilingData();
+	}
+
 	public void testDraw() {
 		ggbAPI.testDraw();
 	}